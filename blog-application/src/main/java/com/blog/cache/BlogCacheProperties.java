@@ -0,0 +1,225 @@
+package com.blog.cache;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 缓存配置
+ *
+ * <p>
+ * {@code defaults} 是所有缓存的默认值，{@code caches} 按缓存名覆盖其中任意一项；
+ * RedisCacheManager 启动时按此构建，未出现在 {@code caches} 中的缓存在首次使用时按默认值创建并记录告警。
+ * </p>
+ *
+ * <pre>
+ * blog:
+ *   cache:
+ *     serializer:
+ *       format: SMILE
+ *       compression-threshold: 1024
+ *       type-aliases:
+ *         user: com.blog.system.api.dto.UserDTO
+ *     defaults:
+ *       ttl: 30m
+ *       ttl-jitter: 0.1
+ *       cache-null-values: false
+ *       null-value-ttl: 60s
+ *       local-maximum-size: 0
+ *       local-ttl: 60s
+ *     caches:
+ *       "[user:roles]":
+ *         ttl: 30m
+ *         key-prefix: "user:roles:"
+ *         local-maximum-size: 10000
+ *     warmup:
+ *       default-budget: 10s
+ *       budgets:
+ *         article-pages: 5s
+ * </pre>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Data
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "blog.cache")
+public class BlogCacheProperties {
+
+    /**
+     * 序列化配置
+     */
+    private Serializer serializer = new Serializer();
+
+    /**
+     * 所有缓存的默认配置
+     */
+    @Valid
+    private Spec defaults = Spec.builtIn();
+
+    /**
+     * 缓存名 → 单个缓存的配置（为空的项沿用 {@link #defaults}）
+     */
+    private Map<String, @Valid Spec> caches = new LinkedHashMap<>();
+
+    /**
+     * 缓存预热配置
+     */
+    private Warmup warmup = new Warmup();
+
+    /**
+     * 取缓存的最终配置
+     *
+     * @param cacheName 缓存名（未配置或为 null 时只取默认值）
+     * @return 各项均已填充的配置（单独配置优先，其次 {@link #defaults}，序列化格式最后取 {@link Serializer#getFormat()}）
+     */
+    public Spec resolve(String cacheName) {
+        Spec spec = caches.getOrDefault(cacheName, new Spec());
+        Spec base = Spec.builtIn();
+        Spec resolved = new Spec();
+        resolved.setTtl(firstNonNull(spec.getTtl(), defaults.getTtl(), base.getTtl()));
+        resolved.setTtlJitter(firstNonNull(spec.getTtlJitter(), defaults.getTtlJitter(), base.getTtlJitter()));
+        resolved.setCacheNullValues(firstNonNull(spec.getCacheNullValues(), defaults.getCacheNullValues(),
+                base.getCacheNullValues()));
+        resolved.setNullValueTtl(firstNonNull(spec.getNullValueTtl(), defaults.getNullValueTtl(),
+                base.getNullValueTtl()));
+        resolved.setKeyPrefix(firstNonNull(spec.getKeyPrefix(), defaults.getKeyPrefix(), base.getKeyPrefix()));
+        resolved.setSerializer(firstNonNull(spec.getSerializer(), defaults.getSerializer(), serializer.getFormat()));
+        resolved.setLocalMaximumSize(firstNonNull(spec.getLocalMaximumSize(), defaults.getLocalMaximumSize(),
+                base.getLocalMaximumSize()));
+        resolved.setLocalTtl(firstNonNull(spec.getLocalTtl(), defaults.getLocalTtl(), base.getLocalTtl()));
+        return resolved;
+    }
+
+    @SafeVarargs
+    private static <T> T firstNonNull(T... candidates) {
+        for (T candidate : candidates) {
+            if (candidate != null) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    @Data
+    public static class Serializer {
+
+        /**
+         * Spring Cache 默认序列化格式（RedisTemplate 固定为 JSON，计数器和 Lua 脚本直接处理其中的数值）
+         */
+        private RedisValueFormat format = RedisValueFormat.SMILE;
+
+        /**
+         * Smile 数据达到该字节数时 LZ4 压缩，0 关闭
+         */
+        private int compressionThreshold = 1024;
+
+        /**
+         * Smile 类型别名 → 完整类名。别名替代完整类名写入类型信息，已写入的别名只能追加、不能改指向
+         */
+        private Map<String, String> typeAliases = new LinkedHashMap<>();
+
+        /**
+         * 待启用的 Smile 类型别名 → 完整类名：只用于读取，写入仍用完整类名。
+         * 新增别名先登记在这里，所有节点发布后再移入 {@code type-aliases}，滚动发布期间旧节点不会读到不认识的别名
+         */
+        private Map<String, String> pendingTypeAliases = new LinkedHashMap<>();
+    }
+
+    @Data
+    public static class Warmup {
+
+        /**
+         * 是否在应用启动完成后自动预热（手动触发不受影响）
+         */
+        private boolean enabled = true;
+
+        /**
+         * 单个预热项的默认时间预算
+         */
+        private Duration defaultBudget = Duration.ofSeconds(10);
+
+        /**
+         * 预热项名称 → 时间预算
+         */
+        private Map<String, Duration> budgets = new LinkedHashMap<>();
+
+        public Duration resolveBudget(String warmerName) {
+            return budgets.getOrDefault(warmerName, defaultBudget);
+        }
+    }
+
+    /**
+     * 单个缓存的配置，所有项可为空（为空时沿用默认值）
+     */
+    @Data
+    public static class Spec {
+
+        /**
+         * 过期时间
+         */
+        private Duration ttl;
+
+        /**
+         * 过期时间随机抖动比例，实际 TTL 在 {@code ttl × (1 ± ttlJitter)} 内均匀分布，避免同批写入的键同时过期
+         */
+        @DecimalMin("0.0")
+        @DecimalMax("0.9")
+        private Double ttlJitter;
+
+        /**
+         * 是否缓存 null 值（防穿透，键空间换数据库查询）
+         */
+        private Boolean cacheNullValues;
+
+        /**
+         * null 值的过期时间（仅 {@code cacheNullValues = true} 时生效）
+         */
+        private Duration nullValueTtl;
+
+        /**
+         * Redis 键前缀，为空时使用 Spring 默认的 {@code 缓存名::}
+         */
+        private String keyPrefix;
+
+        /**
+         * 序列化格式，为空时使用 {@code blog.cache.serializer.format}
+         */
+        private RedisValueFormat serializer;
+
+        /**
+         * 本地一级缓存（Caffeine）容量，0 表示不启用一级缓存
+         */
+        @PositiveOrZero
+        private Long localMaximumSize;
+
+        /**
+         * 本地一级缓存过期时间（写入后计时，限制多节点间的不一致窗口）
+         */
+        private Duration localTtl;
+
+        /**
+         * 内置默认值
+         */
+        static Spec builtIn() {
+            Spec spec = new Spec();
+            spec.setTtl(Duration.ofMinutes(30));
+            spec.setTtlJitter(0.0);
+            spec.setCacheNullValues(false);
+            spec.setNullValueTtl(Duration.ofSeconds(60));
+            spec.setLocalMaximumSize(0L);
+            spec.setLocalTtl(Duration.ofSeconds(60));
+            return spec;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.blog.cache;
+
+import com.blog.common.cache.CacheInvalidationMessage;
+import com.blog.common.cache.CacheInvalidationPublisher;
+import com.blog.common.cache.HotKeyCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 缓存失效总线订阅器
+ *
+ * <p>
+ * 订阅 {@link CacheInvalidationPublisher#CHANNEL}，收到其他节点的失效消息后清除本节点的本地（一级）缓存条目
+ * 和热点键本地副本，Redis（二级）缓存已由发布节点处理。
+ * </p>
+ *
+ * <p>
+ * Pub/Sub 最多投递一次（断线期间的消息会丢失），因此按发布节点记录已收到的最大序号：
+ * 序号不连续时视为可能丢失消息，清空全部本地缓存。订阅回调在虚拟线程上并发执行，乱序也会被当作空洞，
+ * 只多清一次本地缓存，不影响正确性。
+ * </p>
+ *
+ * <p>指标：</p>
+ * <ul>
+ *   <li>{@code cache.invalidation.lag}：发布到本节点处理的延迟（依赖节点间时钟同步），按缓存名分标签</li>
+ *   <li>{@code cache.invalidation.received}：收到的失效消息数</li>
+ *   <li>{@code cache.invalidation.gaps}：检测到序号空洞（清空本地缓存）的次数</li>
+ * </ul>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheInvalidationSubscriber implements MessageListener {
+
+    private final RedisMessageListenerContainer listenerContainer;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final CacheInvalidationPublisher publisher;
+    private final TwoLevelCacheManager cacheManager;
+    private final HotKeyCache hotKeyCache;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 发布节点ID → 已收到的最大序号
+     */
+    private final Map<String, Long> lastSequences = new ConcurrentHashMap<>();
+
+    private Counter receivedCounter;
+    private Counter gapCounter;
+
+    @PostConstruct
+    public void start() {
+        receivedCounter = meterRegistry.counter("cache.invalidation.received");
+        gapCounter = meterRegistry.counter("cache.invalidation.gaps");
+        listenerContainer.addMessageListener(this, new ChannelTopic(CacheInvalidationPublisher.CHANNEL));
+        log.info("缓存失效总线已订阅: channel={}, node={}", CacheInvalidationPublisher.CHANNEL, publisher.getNodeId());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        listenerContainer.removeMessageListener(this);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            if (redisTemplate.getValueSerializer().deserialize(message.getBody())
+                    instanceof CacheInvalidationMessage invalidation) {
+                handle(invalidation);
+            }
+        } catch (Exception e) {
+            log.warn("缓存失效消息处理失败，清空本地缓存: channel={}", new String(message.getChannel()), e);
+            clearLocal();
+        }
+    }
+
+    /**
+     * 处理一条失效消息
+     *
+     * @param message 失效消息
+     */
+    public void handle(CacheInvalidationMessage message) {
+        if (publisher.getNodeId().equals(message.getNode())) {
+            return;
+        }
+        receivedCounter.increment();
+        if (hasGap(message)) {
+            gapCounter.increment();
+            log.info("缓存失效消息序号不连续，清空本地缓存: node={}, seq={}", message.getNode(), message.getSeq());
+            clearLocal();
+        } else {
+            cacheManager.evictLocal(message.getCache(), message.getKeys());
+            hotKeyCache.evictLocal(message.getCache(), message.getKeys());
+        }
+        Timer.builder("cache.invalidation.lag")
+                .tag("cache", message.getCache())
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - message.getTs())));
+    }
+
+    private void clearLocal() {
+        cacheManager.clearLocal();
+        hotKeyCache.clearLocal();
+    }
+
+    /**
+     * 更新该节点的最大序号，返回是否存在空洞（首次收到某节点的消息不算空洞）
+     */
+    private boolean hasGap(CacheInvalidationMessage message) {
+        long seq = message.getSeq();
+        boolean[] gap = new boolean[1];
+        lastSequences.compute(message.getNode(), (node, previous) -> {
+            if (previous == null) {
+                return seq;
+            }
+            gap[0] = seq != previous + 1;
+            // 乱序到达的旧消息不回退序号
+            return Math.max(previous, seq);
+        });
+        return gap[0];
+    }
+}
@@ -0,0 +1,166 @@
+package com.blog.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.actuate.metrics.cache.RedisCacheMetrics;
+import org.springframework.cache.Cache.ValueWrapper;
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按缓存名记录的缓存指标
+ *
+ * <p>
+ * 注册到 Micrometer 的指标均带 {@code cache} 标签：
+ * </p>
+ * <ul>
+ * <li>{@code cache.gets}（{@code result=hit|miss}）、{@code cache.puts}、{@code cache.evictions}、{@code cache.size} 等：
+ * 本地一级缓存（{@code level=local}，Caffeine 统计）与 Redis 二级缓存（{@code level=remote}，RedisCacheWriter 统计）各一组</li>
+ * <li>{@code cache.load.latency}：回源耗时（{@code result=success|failure}）</li>
+ * <li>{@code cache.payload.size}：写入 Redis 的序列化后字节数</li>
+ * </ul>
+ *
+ * <p>
+ * 同一份数据也通过 {@link #snapshot} 汇总给 {@code GET /actuator/cache}，用于判断各缓存的命中收益与内存/带宽开销。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+public class CacheMetrics {
+
+    private static final String LEVEL_TAG = "level";
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, Meters> meters = new ConcurrentHashMap<>();
+
+    public CacheMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * 包装缓存的值序列化器，记录每次写入的序列化后字节数
+     *
+     * @param cacheName  缓存名
+     * @param serializer 实际的序列化器
+     * @return 记录载荷大小的序列化器
+     */
+    public RedisSerializer<Object> recordingPayloadSize(String cacheName, RedisSerializer<Object> serializer) {
+        return new PayloadSizeRecorder(serializer, meters(cacheName).payloadSize());
+    }
+
+    /**
+     * 绑定 Redis 二级缓存的命中统计（需要 RedisCacheManager 开启统计）
+     */
+    void bindRemote(RedisCache cache) {
+        new RedisCacheMetrics(cache, Tags.of(LEVEL_TAG, "remote")).bindTo(registry);
+    }
+
+    /**
+     * 绑定本地一级缓存的命中统计（需要 Caffeine 开启 {@code recordStats}）
+     */
+    void bindLocal(String cacheName, Cache<String, ValueWrapper> local) {
+        CaffeineCacheMetrics.monitor(registry, local, cacheName, LEVEL_TAG, "local");
+    }
+
+    /**
+     * 执行回源并记录耗时
+     */
+    <T> T recordLoad(String cacheName, Callable<T> loader) throws Exception {
+        Meters cacheMeters = meters(cacheName);
+        long start = System.nanoTime();
+        try {
+            T value = loader.call();
+            cacheMeters.loadSuccess().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return value;
+        } catch (Exception e) {
+            cacheMeters.loadFailure().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    /**
+     * 汇总单个缓存的统计
+     *
+     * @param cacheName 缓存名
+     * @param remote    Redis 二级缓存
+     * @param local     本地一级缓存，未启用时为 null
+     * @return 统计快照
+     */
+    CacheStatsReport snapshot(String cacheName, RedisCache remote, Cache<String, ValueWrapper> local) {
+        CacheStatsReport.Local localStats = null;
+        if (local != null) {
+            CacheStats stats = local.stats();
+            localStats = new CacheStatsReport.Local(stats.hitCount(), stats.missCount(),
+                    CacheStatsReport.hitRate(stats.hitCount(), stats.missCount()),
+                    stats.evictionCount(), local.estimatedSize());
+        }
+        CacheStatsReport.Remote remoteStats = null;
+        if (remote != null) {
+            CacheStatistics stats = remote.getStatistics();
+            remoteStats = new CacheStatsReport.Remote(stats.getHits(), stats.getMisses(),
+                    CacheStatsReport.hitRate(stats.getHits(), stats.getMisses()),
+                    stats.getPuts(), stats.getDeletes());
+        }
+        Meters cacheMeters = meters(cacheName);
+        Timer success = cacheMeters.loadSuccess();
+        DistributionSummary payloadSize = cacheMeters.payloadSize();
+        return new CacheStatsReport(cacheName, localStats, remoteStats,
+                new CacheStatsReport.Load(success.count(), cacheMeters.loadFailure().count(),
+                        success.mean(TimeUnit.MILLISECONDS), success.max(TimeUnit.MILLISECONDS)),
+                new CacheStatsReport.Payload(payloadSize.count(), payloadSize.mean(), payloadSize.max()));
+    }
+
+    private Meters meters(String cacheName) {
+        return meters.computeIfAbsent(cacheName, name -> new Meters(
+                loadTimer(name, "success"),
+                loadTimer(name, "failure"),
+                DistributionSummary.builder("cache.payload.size")
+                        .description("写入 Redis 的缓存值序列化后大小")
+                        .baseUnit("bytes")
+                        .tag("cache", name)
+                        .publishPercentileHistogram()
+                        .register(registry)));
+    }
+
+    private Timer loadTimer(String cacheName, String result) {
+        return Timer.builder("cache.load.latency")
+                .description("缓存未命中时的回源耗时")
+                .tag("cache", cacheName)
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private record Meters(Timer loadSuccess, Timer loadFailure, DistributionSummary payloadSize) {
+    }
+
+    private record PayloadSizeRecorder(RedisSerializer<Object> delegate, DistributionSummary payloadSize)
+            implements RedisSerializer<Object> {
+
+        @Override
+        public byte[] serialize(Object value) {
+            byte[] bytes = delegate.serialize(value);
+            if (bytes != null) {
+                payloadSize.record(bytes.length);
+            }
+            return bytes;
+        }
+
+        @Override
+        public Object deserialize(byte[] bytes) {
+            return delegate.deserialize(bytes);
+        }
+    }
+}
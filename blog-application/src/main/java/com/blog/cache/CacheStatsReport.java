@@ -0,0 +1,57 @@
+package com.blog.cache;
+
+/**
+ * 单个缓存的统计快照（进程启动以来的累计值）
+ *
+ * @param name    缓存名
+ * @param local   本地一级缓存，未启用时为 null
+ * @param remote  Redis 二级缓存
+ * @param load    回源
+ * @param payload 写入 Redis 的序列化后大小
+ * @author liusxml
+ * @since 1.8.0
+ */
+public record CacheStatsReport(String name, Local local, Remote remote, Load load, Payload payload) {
+
+    /**
+     * @param hits      命中次数
+     * @param misses    未命中次数
+     * @param hitRate   命中率，无读取时为 0
+     * @param evictions 容量或过期淘汰数
+     * @param size      当前条目数（估算）
+     */
+    public record Local(long hits, long misses, double hitRate, long evictions, long size) {
+    }
+
+    /**
+     * @param hits     命中次数
+     * @param misses   未命中次数
+     * @param hitRate  命中率，无读取时为 0
+     * @param puts     写入次数
+     * @param removals 删除次数
+     */
+    public record Remote(long hits, long misses, double hitRate, long puts, long removals) {
+    }
+
+    /**
+     * @param success 成功回源次数
+     * @param failure 失败回源次数
+     * @param meanMs  成功回源的平均耗时(ms)
+     * @param maxMs   近期成功回源的最大耗时(ms)
+     */
+    public record Load(long success, long failure, double meanMs, double maxMs) {
+    }
+
+    /**
+     * @param count     写入次数
+     * @param meanBytes 平均字节数
+     * @param maxBytes  近期最大字节数
+     */
+    public record Payload(long count, double meanBytes, double maxBytes) {
+    }
+
+    static double hitRate(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,57 @@
+package com.blog.cache;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 一次缓存预热的结果
+ *
+ * @param startTime  开始时间
+ * @param durationMs 总耗时(ms)，预热项并行执行，约等于最慢一项的耗时
+ * @param warmers    各预热项的结果
+ * @author liusxml
+ * @since 1.8.0
+ */
+public record CacheWarmupReport(LocalDateTime startTime, long durationMs, List<WarmerResult> warmers) {
+
+    /**
+     * 所有预热项是否都已完成
+     */
+    public boolean isSuccess() {
+        return warmers.stream().allMatch(result -> result.status() == Status.COMPLETED);
+    }
+
+    /**
+     * 单个预热项的结果
+     *
+     * @param name       预热项名称
+     * @param status     结果状态
+     * @param durationMs 耗时(ms)
+     * @param budgetMs   时间预算(ms)
+     * @param entries    预热项报告的条目数
+     * @param written    经预热批次写入 Redis 的条目数
+     * @param dropped    超出预算被丢弃的条目数
+     * @param error      失败原因
+     */
+    public record WarmerResult(String name, Status status, long durationMs, long budgetMs, int entries,
+                               int written, int dropped, String error) {
+    }
+
+    public enum Status {
+
+        /**
+         * 在预算内完成
+         */
+        COMPLETED,
+
+        /**
+         * 超出时间预算（已写入的条目保留）
+         */
+        TIMEOUT,
+
+        /**
+         * 执行异常
+         */
+        FAILED
+    }
+}
@@ -0,0 +1,150 @@
+package com.blog.cache;
+
+import com.blog.common.cache.CacheWarmupContext;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 单个预热项的缓存写入批次
+ *
+ * <p>
+ * 预热线程通过 {@link #bind} 绑定后，{@link SingleFlightCache} 对该线程强制回源，并把本应写入缓存的结果交给
+ * {@link #put}：按目标缓存的配置序列化键、值和 TTL（与 RedisCache 写入的格式一致），每 {@value #FLUSH_SIZE}
+ * 条通过一个 Pipeline 写入 Redis。只写 Redis，本地一级缓存在首次读取时回填。
+ * </p>
+ *
+ * <p>非线程安全：每个预热项在自己的线程上使用一个实例。</p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+public class CacheWarmupWriter implements CacheWarmupContext {
+
+    private static final int FLUSH_SIZE = 500;
+
+    private static final ThreadLocal<CacheWarmupWriter> CURRENT = new ThreadLocal<>();
+
+    private final TwoLevelCacheManager cacheManager;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final long deadlineNanos;
+    private final List<Entry> buffer = new ArrayList<>();
+    /**
+     * 只由预热线程修改，超时后由汇总线程读取
+     */
+    private volatile int written;
+    private volatile int dropped;
+
+    public CacheWarmupWriter(TwoLevelCacheManager cacheManager, RedisTemplate<String, Object> redisTemplate,
+                      long deadlineNanos) {
+        this.cacheManager = cacheManager;
+        this.redisTemplate = redisTemplate;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * 当前线程绑定的写入批次，未在预热时返回 null
+     */
+    static CacheWarmupWriter current() {
+        return CURRENT.get();
+    }
+
+    public void bind() {
+        CURRENT.set(this);
+    }
+
+    public void unbind() {
+        CURRENT.remove();
+    }
+
+    @Override
+    public boolean isExpired() {
+        return System.nanoTime() - deadlineNanos > 0;
+    }
+
+    @Override
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+    }
+
+    /**
+     * 加入一条 Spring Cache 条目（null 值与超出预算后的写入被丢弃）
+     *
+     * @param cacheName 缓存名
+     * @param key       缓存键（与 RedisCache 一致按字符串形式拼接前缀）
+     * @param value     缓存值
+     */
+    void put(String cacheName, Object key, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (isExpired()) {
+            dropped++;
+            return;
+        }
+        RedisCache cache = cacheManager.getRedisCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        RedisCacheConfiguration config = cache.getCacheConfiguration();
+        byte[] rawKey = bytes(config.getKeySerializationPair().write(config.getKeyPrefixFor(cacheName) + key));
+        byte[] rawValue = bytes(config.getValueSerializationPair().write(value));
+        Duration ttl = config.getTtlFunction().getTimeToLive(key, value);
+        buffer.add(new Entry(rawKey, rawValue, ttl));
+        if (buffer.size() >= FLUSH_SIZE) {
+            flush();
+        }
+    }
+
+    /**
+     * 写出缓冲的条目（超出预算后不再写出）
+     */
+    public void flush() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        if (isExpired()) {
+            dropped += buffer.size();
+            buffer.clear();
+            return;
+        }
+        List<Entry> batch = List.copyOf(buffer);
+        buffer.clear();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Entry entry : batch) {
+                Expiration expiration = entry.ttl() == null || entry.ttl().isZero() || entry.ttl().isNegative()
+                        ? Expiration.persistent()
+                        : Expiration.from(entry.ttl());
+                connection.stringCommands().set(entry.key(), entry.value(), expiration,
+                        RedisStringCommands.SetOption.upsert());
+            }
+            return null;
+        });
+        written += batch.size();
+    }
+
+    public int getWritten() {
+        return written;
+    }
+
+    public int getDropped() {
+        return dropped;
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private record Entry(byte[] key, byte[] value, Duration ttl) {
+    }
+}
@@ -0,0 +1,170 @@
+package com.blog.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileConstants;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+/**
+ * 可按格式切换的 Redis 值序列化器
+ *
+ * <p>
+ * <b>写入</b>按构造时选定的 {@link RedisValueFormat}：
+ * </p>
+ * <ul>
+ *   <li>{@code JSON} — 与 {@link GenericJackson2JsonRedisSerializer} 字节完全一致</li>
+ *   <li>{@code SMILE} — Smile 二进制（自带 {@code :)\n} 头）；不小于压缩阈值时 LZ4 压缩，
+ *       格式为 {@code 0xFE + 原始长度(4字节) + LZ4 块}，压缩后没有变小则保留原文</li>
+ * </ul>
+ *
+ * <p>
+ * <b>读取</b>按首字节识别格式，与写入格式无关：切换某个缓存的格式、或多节点滚动发布期间，
+ * 新旧格式的数据都能正常读取，无需清空缓存。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    /**
+     * LZ4 压缩标记（不是合法的 UTF-8 字节，也不是 Smile 头，不会与其他格式混淆）
+     */
+    private static final byte LZ4_MARKER = (byte) 0xFE;
+
+    private static final int LZ4_HEADER_LENGTH = 5;
+
+    /**
+     * 解压后允许的最大长度，防止损坏数据导致超大内存分配
+     */
+    private static final int MAX_DECOMPRESSED_LENGTH = 64 * 1024 * 1024;
+
+    private static final LZ4Compressor COMPRESSOR = LZ4Factory.fastestInstance().fastCompressor();
+    private static final LZ4SafeDecompressor DECOMPRESSOR = LZ4Factory.fastestInstance().safeDecompressor();
+
+    private final RedisValueFormat format;
+    private final GenericJackson2JsonRedisSerializer jsonSerializer;
+    private final ObjectMapper smileMapper;
+    private final int compressionThreshold;
+
+    /**
+     * @param format               写入格式
+     * @param typeAliases          Smile 类型别名表（别名 → 完整类名）
+     * @param compressionThreshold Smile 数据达到该字节数时压缩，0 或负数关闭压缩
+     */
+    public CompactRedisSerializer(RedisValueFormat format, Map<String, String> typeAliases,
+                                  int compressionThreshold) {
+        this(format, typeAliases, Map.of(), compressionThreshold);
+    }
+
+    /**
+     * @param format               写入格式
+     * @param typeAliases          Smile 类型别名表（别名 → 完整类名）
+     * @param pendingAliases       待启用的 Smile 类型别名（只用于读取，写入仍用完整类名）
+     * @param compressionThreshold Smile 数据达到该字节数时压缩，0 或负数关闭压缩
+     */
+    public CompactRedisSerializer(RedisValueFormat format, Map<String, String> typeAliases,
+                                  Map<String, String> pendingAliases, int compressionThreshold) {
+        this.format = format;
+        this.jsonSerializer = new GenericJackson2JsonRedisSerializer(RedisObjectMappers.json());
+        this.smileMapper = RedisObjectMappers.smile(typeAliases, pendingAliases);
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    /**
+     * 写入格式
+     */
+    public RedisValueFormat getFormat() {
+        return format;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (format == RedisValueFormat.JSON) {
+            return jsonSerializer.serialize(value);
+        }
+        if (value == null) {
+            return new byte[0];
+        }
+        byte[] smile;
+        try {
+            smile = smileMapper.writeValueAsBytes(value);
+        } catch (Exception e) {
+            throw new SerializationException("Smile 序列化失败: " + e.getMessage(), e);
+        }
+        return compressionThreshold > 0 && smile.length >= compressionThreshold ? compress(smile) : smile;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] == LZ4_MARKER) {
+            return readSmile(decompress(bytes));
+        }
+        if (isSmile(bytes)) {
+            return readSmile(bytes);
+        }
+        return jsonSerializer.deserialize(bytes);
+    }
+
+    private Object readSmile(byte[] bytes) {
+        try {
+            return smileMapper.readValue(bytes, Object.class);
+        } catch (Exception e) {
+            throw new SerializationException("Smile 反序列化失败: " + e.getMessage(), e);
+        }
+    }
+
+    private static boolean isSmile(byte[] bytes) {
+        return bytes.length >= 3
+                && bytes[0] == SmileConstants.HEADER_BYTE_1
+                && bytes[1] == SmileConstants.HEADER_BYTE_2
+                && bytes[2] == SmileConstants.HEADER_BYTE_3;
+    }
+
+    private static byte[] compress(byte[] raw) {
+        int maxLength = COMPRESSOR.maxCompressedLength(raw.length);
+        byte[] buffer = new byte[LZ4_HEADER_LENGTH + maxLength];
+        int compressedLength = COMPRESSOR.compress(raw, 0, raw.length, buffer, LZ4_HEADER_LENGTH, maxLength);
+        if (LZ4_HEADER_LENGTH + compressedLength >= raw.length) {
+            return raw;
+        }
+        buffer[0] = LZ4_MARKER;
+        ByteBuffer.wrap(buffer, 1, 4).putInt(raw.length);
+        byte[] result = new byte[LZ4_HEADER_LENGTH + compressedLength];
+        System.arraycopy(buffer, 0, result, 0, result.length);
+        return result;
+    }
+
+    private static byte[] decompress(byte[] bytes) {
+        if (bytes.length < LZ4_HEADER_LENGTH) {
+            throw new SerializationException("LZ4 数据不完整: length=" + bytes.length);
+        }
+        int length = ByteBuffer.wrap(bytes, 1, 4).getInt();
+        if (length <= 0 || length > MAX_DECOMPRESSED_LENGTH) {
+            throw new SerializationException("LZ4 原始长度非法: " + length);
+        }
+        byte[] raw = new byte[length];
+        try {
+            int written = DECOMPRESSOR.decompress(bytes, LZ4_HEADER_LENGTH, bytes.length - LZ4_HEADER_LENGTH,
+                    raw, 0, length);
+            if (written != length) {
+                throw new SerializationException("LZ4 解压长度不一致: expected=" + length + ", actual=" + written);
+            }
+        } catch (SerializationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new SerializationException("LZ4 解压失败: " + e.getMessage(), e);
+        }
+        return raw;
+    }
+}
@@ -0,0 +1,227 @@
+package com.blog.cache;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DatabindContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.cfg.MapperConfig;
+import com.fasterxml.jackson.databind.jsontype.NamedType;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.TypeIdResolver;
+import com.fasterxml.jackson.databind.jsontype.impl.ClassNameIdResolver;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Redis 序列化使用的 ObjectMapper 工厂
+ *
+ * <p>
+ * JSON 与 Smile 两种格式共用同一套配置：字段可见、NON_FINAL 默认类型信息、Java 8 时间 ISO-8601 字符串。
+ * Smile 额外支持<b>类型别名表</b>：已注册的类以短别名写入类型信息，代替完整类名；
+ * 未注册的类仍写完整类名，读取时两种写法都能识别。
+ * </p>
+ *
+ * <p>
+ * 新增别名需要分两次发布：先登记为<b>待启用别名</b>（只用于读取，写入仍用完整类名），
+ * 所有节点都能识别后再移入别名表开始写入，滚动发布期间旧节点不会读到不认识的别名。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+public final class RedisObjectMappers {
+
+    /**
+     * 别名前缀：Java 类名不能以 {@code ~} 开头，不会与完整类名冲突
+     */
+    static final String ALIAS_PREFIX = "~";
+
+    private RedisObjectMappers() {
+    }
+
+    /**
+     * 创建 JSON ObjectMapper（{@code @class} 写完整类名）
+     *
+     * @return ObjectMapper 实例
+     */
+    public static ObjectMapper json() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        configure(objectMapper);
+        objectMapper.activateDefaultTyping(
+                LaissezFaireSubTypeValidator.instance,
+                ObjectMapper.DefaultTyping.NON_FINAL,
+                JsonTypeInfo.As.PROPERTY);
+        return objectMapper;
+    }
+
+    /**
+     * 创建 Smile ObjectMapper（没有待启用别名）
+     *
+     * @param typeAliases 别名 → 完整类名（别名写入后不可修改含义，只能追加）
+     * @return ObjectMapper 实例
+     * @throws IllegalStateException 别名对应的类不存在或同一个类注册了多个别名
+     */
+    public static ObjectMapper smile(Map<String, String> typeAliases) {
+        return smile(typeAliases, Map.of());
+    }
+
+    /**
+     * 创建 Smile ObjectMapper
+     *
+     * @param typeAliases    别名 → 完整类名，读写都使用（别名写入后不可修改含义，只能追加）
+     * @param pendingAliases 待启用别名 → 完整类名，只用于读取，写入时仍写完整类名
+     * @return ObjectMapper 实例
+     * @throws IllegalStateException 别名对应的类不存在、同一个类注册了多个别名，或同一个别名指向不同的类
+     */
+    public static ObjectMapper smile(Map<String, String> typeAliases, Map<String, String> pendingAliases) {
+        SmileFactory smileFactory = SmileFactory.builder()
+                // 列表中重复的字符串值（类型名、枚举名等）写为回引用
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        ObjectMapper objectMapper = new ObjectMapper(smileFactory);
+        configure(objectMapper);
+        Map<String, String> writeAliases = resolveAliases(typeAliases);
+        Map<String, String> readAliases = new HashMap<>(writeAliases);
+        resolveAliases(pendingAliases).forEach((className, alias) -> {
+            String previous = readAliases.putIfAbsent(className, alias);
+            if (previous != null && !previous.equals(alias)) {
+                throw new IllegalStateException("Redis 类型别名重复注册: " + className);
+            }
+        });
+        objectMapper.setDefaultTyping(new AliasingTypeResolverBuilder(writeAliases, invert(readAliases))
+                .init(JsonTypeInfo.Id.CLASS, null)
+                .inclusion(JsonTypeInfo.As.PROPERTY));
+        return objectMapper;
+    }
+
+    private static void configure(ObjectMapper objectMapper) {
+        // 设置所有字段可见
+        objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+        // 注册 Java 8 时间模块
+        objectMapper.registerModule(new JavaTimeModule());
+        // 禁用时间戳格式，使用 ISO-8601 字符串格式
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    /**
+     * 校验别名表，返回 完整类名 → 带前缀别名
+     */
+    private static Map<String, String> resolveAliases(Map<String, String> typeAliases) {
+        Map<String, String> aliasByClassName = new HashMap<>();
+        typeAliases.forEach((alias, className) -> {
+            try {
+                Class.forName(className, false, RedisObjectMappers.class.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("Redis 类型别名对应的类不存在: " + alias + " -> " + className, e);
+            }
+            String previous = aliasByClassName.put(className, ALIAS_PREFIX + alias);
+            if (previous != null) {
+                throw new IllegalStateException("Redis 类型别名重复注册: " + className);
+            }
+        });
+        return aliasByClassName;
+    }
+
+    /**
+     * 完整类名 → 别名 转为 别名 → 完整类名
+     */
+    private static Map<String, String> invert(Map<String, String> aliasByClassName) {
+        Map<String, String> classNameByAlias = new HashMap<>();
+        aliasByClassName.forEach((className, alias) -> {
+            if (classNameByAlias.put(alias, className) != null) {
+                throw new IllegalStateException("Redis 类型别名指向多个类: " + alias);
+            }
+        });
+        return classNameByAlias;
+    }
+
+    /**
+     * 与 {@code activateDefaultTyping(NON_FINAL)} 行为一致，只替换类型ID的写法
+     */
+    private static final class AliasingTypeResolverBuilder extends ObjectMapper.DefaultTypeResolverBuilder {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Map<String, String> aliasByClassName;
+        private final Map<String, String> classNameByAlias;
+
+        AliasingTypeResolverBuilder(Map<String, String> aliasByClassName, Map<String, String> classNameByAlias) {
+            super(ObjectMapper.DefaultTyping.NON_FINAL, LaissezFaireSubTypeValidator.instance);
+            this.aliasByClassName = aliasByClassName;
+            this.classNameByAlias = classNameByAlias;
+        }
+
+        private AliasingTypeResolverBuilder(AliasingTypeResolverBuilder base, Class<?> defaultImpl) {
+            super(base, defaultImpl);
+            this.aliasByClassName = base.aliasByClassName;
+            this.classNameByAlias = base.classNameByAlias;
+        }
+
+        @Override
+        public ObjectMapper.DefaultTypeResolverBuilder withDefaultImpl(Class<?> defaultImpl) {
+            return new AliasingTypeResolverBuilder(this, defaultImpl);
+        }
+
+        @Override
+        protected TypeIdResolver idResolver(MapperConfig<?> config, JavaType baseType,
+                                            PolymorphicTypeValidator subtypeValidator,
+                                            Collection<NamedType> subtypes, boolean forSer, boolean forDeser) {
+            return new AliasingClassNameIdResolver(baseType, config.getTypeFactory(), subtypeValidator,
+                    aliasByClassName, classNameByAlias);
+        }
+    }
+
+    /**
+     * 写入时已启用别名的类输出别名，读取时别名（含待启用别名）还原为完整类名后交给 {@link ClassNameIdResolver}
+     */
+    private static final class AliasingClassNameIdResolver extends ClassNameIdResolver {
+
+        private final Map<String, String> aliasByClassName;
+        private final Map<String, String> classNameByAlias;
+
+        AliasingClassNameIdResolver(JavaType baseType, TypeFactory typeFactory, PolymorphicTypeValidator ptv,
+                                    Map<String, String> aliasByClassName, Map<String, String> classNameByAlias) {
+            super(baseType, typeFactory, ptv);
+            this.aliasByClassName = aliasByClassName;
+            this.classNameByAlias = classNameByAlias;
+        }
+
+        @Override
+        public String idFromValue(Object value) {
+            return toAlias(super.idFromValue(value));
+        }
+
+        @Override
+        public String idFromValueAndType(Object value, Class<?> type) {
+            return toAlias(super.idFromValueAndType(value, type));
+        }
+
+        @Override
+        public JavaType typeFromId(DatabindContext context, String id) throws IOException {
+            if (id.startsWith(ALIAS_PREFIX)) {
+                String className = classNameByAlias.get(id);
+                if (className == null) {
+                    throw new IllegalStateException("未注册的 Redis 类型别名: " + id
+                            + "（新增别名应先登记为 pending-type-aliases，所有节点发布后再启用）");
+                }
+                return super.typeFromId(context, className);
+            }
+            return super.typeFromId(context, id);
+        }
+
+        private String toAlias(String id) {
+            return id == null ? null : aliasByClassName.getOrDefault(id, id);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.blog.cache;
+
+/**
+ * Redis 值的序列化格式
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+public enum RedisValueFormat {
+
+    /**
+     * Jackson JSON + 完整类名（与历史数据兼容，Lua 脚本和 INCRBY 可直接处理数值）
+     */
+    JSON,
+
+    /**
+     * Jackson Smile 二进制 + 类型别名表，超过阈值时 LZ4 压缩
+     */
+    SMILE
+}
@@ -0,0 +1,191 @@
+package com.blog.cache;
+
+import com.blog.common.cache.CacheStampedeGuard;
+import com.blog.common.cache.HotKeyCache;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 为 {@code @Cacheable(sync = true)} 提供进程内 + 集群级回源合并的缓存装饰器
+ *
+ * <p>
+ * Spring 在 {@code sync = true} 时调用 {@link #get(Object, Callable)}。RedisCache 自带的实现
+ * 只在本进程内对整个缓存加锁；这里交给 {@link CacheStampedeGuard} 按键合并，并通过 Redis 锁
+ * 避免多个节点同时回源。回源结果为 null 时不写入缓存，回源耗时记录为 {@code cache.load.latency}。其余操作直接委托。
+ * </p>
+ *
+ * <p>
+ * 缓存预热期间（当前线程绑定了 {@link CacheWarmupWriter}）读取一律视为未命中，写入交给预热批次通过 Pipeline 写出。
+ * </p>
+ *
+ * <p>
+ * 读取计入热点探测。没有本地一级缓存的缓存，热点键优先读本节点的短期副本（见 {@link HotKeyCache}），
+ * 写入和失效时清除副本；两级缓存的热点键已在一级缓存中，只做探测。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+public class SingleFlightCache implements Cache {
+
+    private final Cache delegate;
+    private final CacheStampedeGuard stampedeGuard;
+    private final CacheMetrics cacheMetrics;
+    private final HotKeyCache hotKeyCache;
+
+    /**
+     * 是否为热点键保存本地副本（已有本地一级缓存时不需要）
+     */
+    private final boolean promoteHotKeys;
+
+    public SingleFlightCache(Cache delegate, CacheStampedeGuard stampedeGuard, CacheMetrics cacheMetrics,
+                             HotKeyCache hotKeyCache) {
+        this.delegate = delegate;
+        this.stampedeGuard = stampedeGuard;
+        this.cacheMetrics = cacheMetrics;
+        this.hotKeyCache = hotKeyCache;
+        this.promoteHotKeys = !(delegate instanceof TwoLevelCache);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    /**
+     * 被装饰的缓存
+     */
+    public Cache getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return CacheWarmupWriter.current() != null ? null : lookup(key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        if (CacheWarmupWriter.current() != null) {
+            return null;
+        }
+        ValueWrapper wrapper = lookup(key);
+        Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("缓存值类型不匹配: required=" + type.getName()
+                    + ", actual=" + value.getClass().getName());
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        CacheWarmupWriter warmupWriter = CacheWarmupWriter.current();
+        if (warmupWriter != null) {
+            T value = call(key, valueLoader);
+            warmupWriter.put(getName(), key, value);
+            return value;
+        }
+        ValueWrapper wrapper = lookup(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        return stampedeGuard.load(getName() + "::" + key,
+                () -> {
+                    ValueWrapper cached = delegate.get(key);
+                    return cached == null ? null : (T) cached.get();
+                },
+                () -> call(key, valueLoader),
+                value -> {
+                    // 回源结果不是业务修改，两级缓存下不广播失效
+                    if (delegate instanceof TwoLevelCache twoLevelCache) {
+                        twoLevelCache.putLoaded(key, value);
+                    } else {
+                        delegate.put(key, value);
+                    }
+                });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        CacheWarmupWriter warmupWriter = CacheWarmupWriter.current();
+        if (warmupWriter != null) {
+            warmupWriter.put(getName(), key, value);
+        } else {
+            delegate.put(key, value);
+            invalidateHotKey(key);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null) {
+            invalidateHotKey(key);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        invalidateHotKey(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = delegate.evictIfPresent(key);
+        invalidateHotKey(key);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        if (promoteHotKeys) {
+            hotKeyCache.invalidateAll(getName());
+        }
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = delegate.invalidate();
+        if (promoteHotKeys) {
+            hotKeyCache.invalidateAll(getName());
+        }
+        return invalidated;
+    }
+
+    /**
+     * 读取委托缓存，计入热点探测；热点键优先读本地副本
+     */
+    private ValueWrapper lookup(Object key) {
+        if (!promoteHotKeys) {
+            hotKeyCache.recordAccess(getName(), String.valueOf(key));
+            return delegate.get(key);
+        }
+        return hotKeyCache.get(getName(), String.valueOf(key), () -> delegate.get(key));
+    }
+
+    private void invalidateHotKey(Object key) {
+        if (promoteHotKeys) {
+            hotKeyCache.invalidate(getName(), String.valueOf(key));
+        }
+    }
+
+    private <T> T call(Object key, Callable<T> valueLoader) {
+        try {
+            return cacheMetrics.recordLoad(getName(), valueLoader);
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.blog.cache;
+
+import com.blog.common.cache.CacheInvalidationPublisher;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.Collection;
+import java.util.concurrent.Callable;
+
+/**
+ * 两级缓存：本地 Caffeine（一级）+ Redis（二级）
+ *
+ * <p>
+ * 读取先查本地，未命中再查 Redis 并回填本地；写入和失效同时作用于两级。
+ * 写入和失效还会通过 {@link CacheInvalidationPublisher} 广播，其他节点收到后清除本地条目
+ * （见 {@link CacheInvalidationSubscriber}）；消息丢失时本地条目按 {@code local-ttl} 过期兜底。
+ * </p>
+ *
+ * <p>
+ * 本地缓存以键的字符串形式为键，与失效消息中的键一致。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+public class TwoLevelCache implements org.springframework.cache.Cache {
+
+    private final org.springframework.cache.Cache remote;
+
+    /**
+     * 缓存键 → 值包装（包装为 null 值时表示已缓存的 null）
+     */
+    private final Cache<String, ValueWrapper> local;
+
+    private final CacheInvalidationPublisher invalidationPublisher;
+
+    public TwoLevelCache(org.springframework.cache.Cache remote, Cache<String, ValueWrapper> local,
+                         CacheInvalidationPublisher invalidationPublisher) {
+        this.remote = remote;
+        this.local = local;
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    @Override
+    public String getName() {
+        return remote.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    /**
+     * 本地一级缓存
+     */
+    public Cache<String, ValueWrapper> getLocalCache() {
+        return local;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper wrapper = local.getIfPresent(localKey(key));
+        if (wrapper != null) {
+            return wrapper;
+        }
+        wrapper = remote.get(key);
+        if (wrapper != null) {
+            local.put(localKey(key), new SimpleValueWrapper(wrapper.get()));
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("缓存值类型不匹配: required=" + type.getName()
+                    + ", actual=" + value.getClass().getName());
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = local.getIfPresent(localKey(key));
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        T value = remote.get(key, valueLoader);
+        local.put(localKey(key), new SimpleValueWrapper(value));
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        putLoaded(key, value);
+        invalidationPublisher.publish(getName(), key);
+    }
+
+    /**
+     * 写入回源结果（值来自数据库而非业务修改，不广播失效）
+     */
+    public void putLoaded(Object key, Object value) {
+        remote.put(key, value);
+        local.put(localKey(key), new SimpleValueWrapper(value));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        local.put(localKey(key), existing != null ? new SimpleValueWrapper(existing.get()) : new SimpleValueWrapper(value));
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        local.invalidate(localKey(key));
+        invalidationPublisher.publish(getName(), key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        local.invalidate(localKey(key));
+        boolean evicted = remote.evictIfPresent(key);
+        invalidationPublisher.publish(getName(), key);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        invalidationPublisher.publishAll(getName());
+    }
+
+    @Override
+    public boolean invalidate() {
+        local.invalidateAll();
+        boolean invalidated = remote.invalidate();
+        invalidationPublisher.publishAll(getName());
+        return invalidated;
+    }
+
+    /**
+     * 清除本节点的本地条目（收到其他节点的失效消息时调用，不再广播）
+     *
+     * @param keys 缓存键的字符串形式
+     */
+    public void evictLocal(Collection<String> keys) {
+        local.invalidateAll(keys);
+    }
+
+    /**
+     * 清空本节点的本地缓存（不再广播）
+     */
+    public void clearLocal() {
+        local.invalidateAll();
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,152 @@
+package com.blog.cache;
+
+import com.blog.common.cache.CacheInvalidationPublisher;
+import com.blog.common.cache.CacheStampedeGuard;
+import com.blog.common.cache.HotKeyCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 按 {@code blog.cache.*} 配置为缓存加上本地一级缓存的 CacheManager
+ *
+ * <p>
+ * Redis 缓存由内部的 {@link RedisCacheManager} 创建；{@code local-maximum-size > 0} 的缓存包装为
+ * {@link TwoLevelCache}；所有缓存最外层再包装为 {@link SingleFlightCache}，为 {@code @Cacheable(sync = true)}
+ * 提供按键合并回源。各缓存的指标见 {@link CacheMetrics}。未在 {@code blog.cache.caches} 中配置的缓存名
+ * 首次使用时按默认值创建并记录告警。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final RedisCacheManager redisCacheManager;
+    private final BlogCacheProperties cacheProperties;
+    private final CacheStampedeGuard stampedeGuard;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final CacheMetrics cacheMetrics;
+    private final HotKeyCache hotKeyCache;
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(RedisCacheManager redisCacheManager, BlogCacheProperties cacheProperties,
+                                CacheStampedeGuard stampedeGuard, CacheInvalidationPublisher invalidationPublisher,
+                                CacheMetrics cacheMetrics, HotKeyCache hotKeyCache) {
+        this.redisCacheManager = redisCacheManager;
+        this.cacheProperties = cacheProperties;
+        this.stampedeGuard = stampedeGuard;
+        this.invalidationPublisher = invalidationPublisher;
+        this.cacheMetrics = cacheMetrics;
+        this.hotKeyCache = hotKeyCache;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return redisCacheManager.getCacheNames();
+    }
+
+    /**
+     * 缓存对应的 Redis（二级）缓存
+     *
+     * @param name 缓存名
+     * @return RedisCache，无法创建时返回 null
+     */
+    public RedisCache getRedisCache(String name) {
+        return redisCacheManager.getCache(name) instanceof RedisCache redisCache ? redisCache : null;
+    }
+
+    /**
+     * 缓存的命中、回源与载荷统计
+     *
+     * @param name 缓存名
+     * @return 统计快照，缓存无法创建时返回 null
+     */
+    public CacheStatsReport getStatistics(String name) {
+        Cache cache = getCache(name);
+        if (cache == null) {
+            return null;
+        }
+        TwoLevelCache twoLevelCache = localCache(cache);
+        return cacheMetrics.snapshot(name, getRedisCache(name),
+                twoLevelCache == null ? null : twoLevelCache.getLocalCache());
+    }
+
+    /**
+     * 清除本节点已创建缓存中的本地条目（收到失效消息时调用，未创建或无本地缓存时忽略）
+     *
+     * @param name 缓存名
+     * @param keys 缓存键的字符串形式，为空表示清空
+     */
+    public void evictLocal(String name, List<String> keys) {
+        TwoLevelCache cache = localCache(caches.get(name));
+        if (cache == null) {
+            return;
+        }
+        if (keys == null || keys.isEmpty()) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(keys);
+        }
+    }
+
+    /**
+     * 清空本节点所有本地缓存
+     */
+    public void clearLocal() {
+        caches.values().forEach(cache -> {
+            TwoLevelCache twoLevelCache = localCache(cache);
+            if (twoLevelCache != null) {
+                twoLevelCache.clearLocal();
+            }
+        });
+    }
+
+    private static TwoLevelCache localCache(Cache cache) {
+        Cache target = cache instanceof SingleFlightCache singleFlightCache ? singleFlightCache.getDelegate() : cache;
+        return target instanceof TwoLevelCache twoLevelCache ? twoLevelCache : null;
+    }
+
+    private Cache createCache(String name) {
+        Cache remote = redisCacheManager.getCache(name);
+        if (remote == null) {
+            return null;
+        }
+        if (!cacheProperties.getCaches().containsKey(name)) {
+            log.warn("缓存未在 blog.cache.caches 中配置，使用默认配置: name={}", name);
+        }
+        if (remote instanceof RedisCache redisCache) {
+            cacheMetrics.bindRemote(redisCache);
+        }
+        BlogCacheProperties.Spec spec = cacheProperties.resolve(name);
+        Cache cache = remote;
+        if (spec.getLocalMaximumSize() > 0) {
+            com.github.benmanes.caffeine.cache.Cache<String, Cache.ValueWrapper> local = Caffeine.newBuilder()
+                    .maximumSize(spec.getLocalMaximumSize())
+                    .expireAfterWrite(spec.getLocalTtl())
+                    .recordStats()
+                    .build();
+            cacheMetrics.bindLocal(name, local);
+            cache = new TwoLevelCache(remote, local, invalidationPublisher);
+        }
+        return new SingleFlightCache(cache, stampedeGuard, cacheMetrics, hotKeyCache);
+    }
+}
@@ -1,11 +1,15 @@
 package com.blog.config;
 
+import com.blog.common.constants.SchedulerNames;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 import java.util.Arrays;
 import java.util.concurrent.Executor;
@@ -15,7 +19,7 @@ import java.util.concurrent.ThreadPoolExecutor;
  * 异步任务配置
  *
  * <p>
- * 用于 @Async 注解的异步任务执行
+ * 用于 @Async 注解的异步任务执行，以及各组件共享的后台定时任务调度器和批处理任务调度器
  * </p>
  *
  * @author liusxml
@@ -40,6 +44,50 @@ public class AsyncConfig implements AsyncConfigurer {
         return executor;
     }
 
+    /**
+     * 共享定时任务调度器
+     * <p>
+     * 刷盘、词库热加载、热点窗口轮换等短周期任务都提交到这里，各组件不再单独创建调度线程。
+     * 依赖它的组件先于它销毁，关闭时各自取消任务并完成最后一次刷盘。
+     * 可能持续数分钟的任务提交到 {@link #batchTaskScheduler()}，避免占满线程拖慢毫秒级的刷盘。
+     *
+     * @return ThreadPoolTaskScheduler 实例
+     */
+    @Bean
+    @Primary
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(4);
+        scheduler.setThreadNamePrefix("blog-scheduler-");
+        scheduler.setRemoveOnCancelPolicy(true);
+        scheduler.setErrorHandler(ex -> log.error("定时任务执行失败", ex));
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(5);
+
+        log.info("共享定时任务调度器已初始化: poolSize=4");
+        return scheduler;
+    }
+
+    /**
+     * 批处理任务调度器
+     * <p>
+     * 评论归档、计数对账、布隆过滤器构建等长时间运行的任务使用，通过 {@code @Qualifier(SchedulerNames.BATCH)} 注入。
+     * 关闭时中断正在执行的任务，各任务在当前批次提交后停止。
+     *
+     * @return ThreadPoolTaskScheduler 实例
+     */
+    @Bean(SchedulerNames.BATCH)
+    public ThreadPoolTaskScheduler batchTaskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(2);
+        scheduler.setThreadNamePrefix("blog-batch-");
+        scheduler.setRemoveOnCancelPolicy(true);
+        scheduler.setErrorHandler(ex -> log.error("批处理任务执行失败", ex));
+
+        log.info("批处理任务调度器已初始化: poolSize=2");
+        return scheduler;
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return (ex, method, params) -> {
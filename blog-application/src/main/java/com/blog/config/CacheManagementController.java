@@ -1,14 +1,23 @@
 package com.blog.config;
 
+import com.blog.cache.CacheStatsReport;
+import com.blog.cache.CacheWarmupReport;
+import com.blog.cache.TwoLevelCacheManager;
+import com.blog.common.cache.HotKeyCache;
+import com.blog.common.cache.HotKeyDetector;
+import com.blog.common.constants.CacheKeys;
+import com.blog.common.constants.CacheNames;
 import com.blog.common.model.Result;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -16,7 +25,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -36,17 +50,22 @@ import java.util.stream.Collectors;
 @Tag(name = "缓存管理", description = "提供缓存查询、清除、预热等运维管理功能")
 public class CacheManagementController {
 
-    private final CacheManager cacheManager;
+    private final TwoLevelCacheManager cacheManager;
     private final RedisTemplate<String, Object> redisTemplate;
     private final CacheWarmup cacheWarmup;
+    private final MeterRegistry meterRegistry;
+    private final HotKeyCache hotKeyCache;
 
     /**
      * 获取所有缓存名称和统计信息
+     * <p>
+     * 统计为本节点启动以来的累计值：两级各自的命中率、回源次数与耗时、写入 Redis 的平均大小，
+     * 用于判断缓存是否值得其内存和带宽开销
      *
      * @return 缓存信息
      */
     @GetMapping
-    @Operation(summary = "获取所有缓存", description = "查询当前应用中所有注册的缓存名称和统计信息")
+    @Operation(summary = "获取所有缓存", description = "查询当前应用中所有注册的缓存名称，以及各缓存的命中率、回源耗时和写入大小")
     public Result<CacheInfoVO> getCaches() {
         Map<String, CacheDetailVO> cacheInfo = cacheManager.getCacheNames().stream()
                 .collect(Collectors.toMap(
@@ -57,6 +76,7 @@ public class CacheManagementController {
                             detail.setName(name);
                             if (cache != null) {
                                 detail.setNativeCache(cache.getNativeCache().getClass().getSimpleName());
+                                detail.setStats(cacheManager.getStatistics(name));
                             }
                             return detail;
                         }));
@@ -72,6 +92,8 @@ public class CacheManagementController {
 
     /**
      * 清除指定缓存
+     * <p>
+     * 两级缓存会通过缓存失效总线通知其他节点清除本地副本
      *
      * @param cacheName 缓存名称
      * @return 操作结果
@@ -136,16 +158,16 @@ public class CacheManagementController {
 
         int clearedCount = 0;
 
-        // 1. 清除用户角色缓存 (使用 CacheKeys 常量)
-        Cache rolesCache = cacheManager.getCache("user:roles");
+        // 1. 清除用户角色缓存（两级缓存，会广播失效）
+        Cache rolesCache = cacheManager.getCache(CacheNames.USER_ROLES);
         if (rolesCache != null) {
             rolesCache.evict(userId);
             clearedCount++;
             log.info("清除用户角色缓存: userId={}", userId);
         }
 
-        // 2. 清除用户详情缓存 (暂时保留，待后续统一管理)
-        String userDetailKey = "user:detail:" + userId;
+        // 2. 清除用户详情缓存（仅存于 Redis）
+        String userDetailKey = CacheKeys.userDetailKey(userId);
         Boolean deleted = redisTemplate.delete(userDetailKey);
         if (deleted) {
             clearedCount++;
@@ -169,24 +191,18 @@ public class CacheManagementController {
 
     /**
      * 触发缓存预热
+     * <p>
+     * 并行执行所有预热项，返回各项的状态、耗时与写入条目数
      *
      * @return 操作结果
      */
     @PostMapping("/warmup")
-    @Operation(summary = "触发缓存预热", description = "手动触发缓存预热，加载常用数据到缓存中")
+    @Operation(summary = "触发缓存预热", description = "手动触发缓存预热，并行执行所有预热项并返回各项耗时")
     public Result<CacheWarmupVO> warmupCache() {
-        long startTime = System.currentTimeMillis();
-
         try {
-            cacheWarmup.warmupCache();
-            long duration = System.currentTimeMillis() - startTime;
-
-            CacheWarmupVO result = new CacheWarmupVO();
-            result.setSuccess(true);
-            result.setMessage("缓存预热完成");
-            result.setDuration(duration + "ms");
-
-            log.info("✅ 缓存预热完成，耗时: {}ms", duration);
+            CacheWarmupReport report = cacheWarmup.warmupCache();
+            CacheWarmupVO result = toWarmupVO(report);
+            log.info("✅ 缓存预热完成，耗时: {}ms", report.durationMs());
             return Result.success(result);
         } catch (Exception e) {
             log.error("缓存预热失败", e);
@@ -199,6 +215,34 @@ public class CacheManagementController {
         }
     }
 
+    /**
+     * 查询最近一次缓存预热结果（含启动预热）
+     *
+     * @return 预热结果
+     */
+    @GetMapping("/warmup")
+    @Operation(summary = "查询缓存预热结果", description = "查询最近一次缓存预热各预热项的状态与耗时")
+    public Result<CacheWarmupVO> getWarmupReport() {
+        CacheWarmupReport report = cacheWarmup.getLastReport();
+        if (report == null) {
+            CacheWarmupVO result = new CacheWarmupVO();
+            result.setSuccess(false);
+            result.setMessage("尚未执行缓存预热");
+            return Result.success(result);
+        }
+        return Result.success(toWarmupVO(report));
+    }
+
+    private CacheWarmupVO toWarmupVO(CacheWarmupReport report) {
+        CacheWarmupVO result = new CacheWarmupVO();
+        result.setSuccess(report.isSuccess());
+        result.setMessage(report.isSuccess() ? "缓存预热完成" : "部分预热项超时或失败");
+        result.setDuration(report.durationMs() + "ms");
+        result.setStartTime(report.startTime());
+        result.setWarmers(report.warmers());
+        return result;
+    }
+
     /**
      * 获取 Redis 信息
      *
@@ -247,6 +291,55 @@ public class CacheManagementController {
         }
     }
 
+    /**
+     * 查询本节点当前的热点键
+     * <p>
+     * 命名空间为缓存名，或 {@code redis}（经 RedisUtils 读取的键）；读取次数为本统计窗口内按采样比例放大的估算值。
+     * 返回内容包含业务键名，仅管理员可访问（见 {@link SecurityConfig#adminActuatorChain}）
+     *
+     * @return 热点键，按估算读取次数降序
+     */
+    @GetMapping("/hot-keys")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "获取热点键", description = "查询本节点探测到的热点键及其在当前统计窗口内的估算读取次数")
+    public Result<List<HotKeyDetector.HotKey>> getHotKeys() {
+        return Result.success(hotKeyCache.getHotKeys());
+    }
+
+    /**
+     * 按命令汇总 Redis 命令延迟
+     * <p>
+     * 数据来自 Lettuce 记录的 {@code lettuce.command.completion}（按连接合并），按总耗时降序；仅管理员可访问
+     *
+     * @return 各命令的调用次数与耗时
+     */
+    @GetMapping("/redis/latency")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "获取 Redis 命令延迟", description = "按命令汇总本节点 Lettuce 客户端记录的调用次数、平均与最大耗时")
+    public Result<List<CommandLatencyVO>> getRedisLatency() {
+        Map<String, List<Timer>> timersByCommand = meterRegistry.find("lettuce.command.completion").timers().stream()
+                .collect(Collectors.groupingBy(
+                        timer -> Objects.requireNonNullElse(timer.getId().getTag("command"), "UNKNOWN")));
+
+        List<CommandLatencyVO> latencies = timersByCommand.entrySet().stream()
+                .map(entry -> {
+                    long count = entry.getValue().stream().mapToLong(Timer::count).sum();
+                    double totalMs = entry.getValue().stream()
+                            .mapToDouble(timer -> timer.totalTime(TimeUnit.MILLISECONDS)).sum();
+                    CommandLatencyVO latency = new CommandLatencyVO();
+                    latency.setCommand(entry.getKey());
+                    latency.setCount(count);
+                    latency.setTotalMs(totalMs);
+                    latency.setMeanMs(count == 0 ? 0 : totalMs / count);
+                    latency.setMaxMs(entry.getValue().stream()
+                            .mapToDouble(timer -> timer.max(TimeUnit.MILLISECONDS)).max().orElse(0));
+                    return latency;
+                })
+                .sorted(Comparator.comparingDouble(CommandLatencyVO::getTotalMs).reversed())
+                .toList();
+        return Result.success(latencies);
+    }
+
     // ========================== 内部 VO 类 ==========================
 
     /**
@@ -266,6 +359,7 @@ public class CacheManagementController {
     public static class CacheDetailVO {
         private String name;
         private String nativeCache;
+        private CacheStatsReport stats;
     }
 
     /**
@@ -298,6 +392,20 @@ public class CacheManagementController {
         private boolean success;
         private String message;
         private String duration;
+        private LocalDateTime startTime;
+        private List<CacheWarmupReport.WarmerResult> warmers;
+    }
+
+    /**
+     * Redis 命令延迟 VO
+     */
+    @lombok.Data
+    public static class CommandLatencyVO {
+        private String command;
+        private long count;
+        private double totalMs;
+        private double meanMs;
+        private double maxMs;
     }
 
     /**
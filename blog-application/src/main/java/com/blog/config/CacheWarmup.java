@@ -1,23 +1,43 @@
 package com.blog.config;
 
-import com.blog.system.domain.entity.RoleEntity;
-import com.blog.system.infrastructure.mapper.RoleMapper;
+import com.blog.cache.BlogCacheProperties;
+import com.blog.cache.CacheWarmupReport;
+import com.blog.cache.CacheWarmupReport.Status;
+import com.blog.cache.CacheWarmupReport.WarmerResult;
+import com.blog.cache.CacheWarmupWriter;
+import com.blog.cache.TwoLevelCacheManager;
+import com.blog.common.cache.CacheWarmer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.CollectionUtils;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
-import org.springframework.cache.CacheManager;
 import org.springframework.context.event.EventListener;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * 缓存预热组件
  * <p>
- * 在应用启动完成后自动预加载热点数据到 Redis，避免冷启动和缓存击穿。
+ * 在应用启动完成后（{@code blog.cache.warmup.enabled}）或通过管理接口执行所有 {@link CacheWarmer}：
+ * <ul>
+ * <li>每个预热项一个虚拟线程，并行执行</li>
+ * <li>预热项调用的 {@code @Cacheable} 方法强制回源，结果按批通过 Pipeline 写入 Redis（见 {@link CacheWarmupWriter}）</li>
+ * <li>每个预热项有独立的时间预算（{@code blog.cache.warmup.budgets}），超出后中断并丢弃后续写入</li>
+ * </ul>
+ * 各预热项的耗时记录为 {@code cache.warmup.duration}，最近一次结果见 {@link #getLastReport()}。
  *
  * @author liusxml
  * @since 1.0.0
@@ -27,9 +47,13 @@ import java.util.concurrent.TimeUnit;
 @RequiredArgsConstructor
 public class CacheWarmup {
 
-    private final RoleMapper roleMapper;
+    private final ObjectProvider<CacheWarmer> warmers;
+    private final TwoLevelCacheManager cacheManager;
     private final RedisTemplate<String, Object> redisTemplate;
-    private final CacheManager cacheManager;
+    private final BlogCacheProperties cacheProperties;
+    private final MeterRegistry meterRegistry;
+
+    private volatile CacheWarmupReport lastReport;
 
     /**
      * 应用启动完成后执行缓存预热
@@ -37,46 +61,58 @@ public class CacheWarmup {
      * 监听 {@link ApplicationReadyEvent} 事件，确保所有 Bean 已初始化完成
      */
     @EventListener(ApplicationReadyEvent.class)
-    public void warmupCache() {
-        long startTime = System.currentTimeMillis();
-        log.info("🔥 开始缓存预热...");
-
+    public void onApplicationReady() {
+        if (!cacheProperties.getWarmup().isEnabled()) {
+            log.info("启动缓存预热已关闭");
+            return;
+        }
         try {
-            // 1. 预加载所有启用的角色
-            warmupRoles();
-
-            // 2. 可扩展：预加载其他热点数据
-
-            long duration = System.currentTimeMillis() - startTime;
-            log.info("✅ 缓存预热完成，耗时: {}ms", duration);
+            warmupCache();
         } catch (Exception e) {
-            log.error("❌ 缓存预热失败: {}", e.getMessage(), e);
             // 不抛出异常，避免影响应用启动
+            log.error("❌ 缓存预热失败: {}", e.getMessage(), e);
         }
     }
 
     /**
-     * 预热角色数据
+     * 并行执行所有预热项，等待全部完成或超出预算
+     *
+     * @return 预热结果
      */
-    private void warmupRoles() {
-        try {
-            List<RoleEntity> roles = roleMapper.selectAllActive();
+    public CacheWarmupReport warmupCache() {
+        List<CacheWarmer> all = warmers.orderedStream().toList();
+        LocalDateTime startTime = LocalDateTime.now();
+        long start = System.nanoTime();
+        log.info("🔥 开始缓存预热: warmers={}", all.stream().map(CacheWarmer::getName).toList());
 
-            if (CollectionUtils.isEmpty(roles)) {
-                log.warn("⚠️  没有找到启用的角色数据，跳过角色缓存预热");
-                return;
+        List<Task> tasks = new ArrayList<>(all.size());
+        ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("cache-warmup-", 0).factory());
+        try {
+            for (CacheWarmer warmer : all) {
+                Duration budget = cacheProperties.getWarmup().resolveBudget(warmer.getName());
+                CacheWarmupWriter writer = new CacheWarmupWriter(cacheManager, redisTemplate,
+                        start + budget.toNanos());
+                tasks.add(new Task(warmer, budget, writer, executor.submit(() -> run(warmer, writer))));
             }
+        } finally {
+            // 不等待超时未结束的任务，它们在预算外的写入会被丢弃
+            executor.shutdown();
+        }
 
-            // 存入 Redis，过期时间 1 小时
-            for (RoleEntity role : roles) {
-                String key = "role:detail:" + role.getId();
-                redisTemplate.opsForValue().set(key, role, 1, TimeUnit.HOURS);
-            }
+        List<WarmerResult> results = tasks.stream().map(task -> await(task, start)).toList();
+        CacheWarmupReport report = new CacheWarmupReport(startTime,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), results);
+        lastReport = report;
+        log.info("✅ 缓存预热结束: 耗时={}ms, 结果={}", report.durationMs(), results);
+        return report;
+    }
 
-            log.info("✅ 角色缓存预热完成: 预加载 {} 个角色", roles.size());
-        } catch (Exception e) {
-            log.error("❌ 角色缓存预热失败: {}", e.getMessage());
-        }
+    /**
+     * 最近一次预热结果，尚未执行时返回 null
+     */
+    public CacheWarmupReport getLastReport() {
+        return lastReport;
     }
 
     /**
@@ -94,4 +130,55 @@ public class CacheWarmup {
             }
         });
     }
+
+    private Outcome run(CacheWarmer warmer, CacheWarmupWriter writer) {
+        long start = System.nanoTime();
+        writer.bind();
+        try {
+            int entries = warmer.warm(writer);
+            writer.flush();
+            return new Outcome(entries, System.nanoTime() - start);
+        } finally {
+            writer.unbind();
+        }
+    }
+
+    private WarmerResult await(Task task, long start) {
+        String name = task.warmer().getName();
+        long budgetMs = task.budget().toMillis();
+        WarmerResult result;
+        try {
+            long remaining = start + task.budget().toNanos() - System.nanoTime();
+            Outcome outcome = task.future().get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+            result = new WarmerResult(name, Status.COMPLETED, TimeUnit.NANOSECONDS.toMillis(outcome.durationNanos()),
+                    budgetMs, outcome.entries(), task.writer().getWritten(), task.writer().getDropped(), null);
+        } catch (TimeoutException e) {
+            task.future().cancel(true);
+            log.warn("缓存预热项超出时间预算，已中断: name={}, budget={}", name, task.budget());
+            result = new WarmerResult(name, Status.TIMEOUT, budgetMs, budgetMs, 0,
+                    task.writer().getWritten(), task.writer().getDropped(), null);
+        } catch (ExecutionException e) {
+            log.error("缓存预热项失败: name={}", name, e.getCause());
+            result = new WarmerResult(name, Status.FAILED, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                    budgetMs, 0, task.writer().getWritten(), task.writer().getDropped(),
+                    String.valueOf(e.getCause().getMessage()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            task.future().cancel(true);
+            result = new WarmerResult(name, Status.FAILED, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                    budgetMs, 0, task.writer().getWritten(), task.writer().getDropped(), "interrupted");
+        }
+        Timer.builder("cache.warmup.duration")
+                .tag("warmer", name)
+                .tag("status", result.status().name())
+                .register(meterRegistry)
+                .record(Duration.ofMillis(result.durationMs()));
+        return result;
+    }
+
+    private record Task(CacheWarmer warmer, Duration budget, CacheWarmupWriter writer, Future<Outcome> future) {
+    }
+
+    private record Outcome(int entries, long durationNanos) {
+    }
 }
@@ -1,29 +1,37 @@
 package com.blog.config;
 
-import com.fasterxml.jackson.annotation.JsonAutoDetect;
-import com.fasterxml.jackson.annotation.JsonTypeInfo;
-import com.fasterxml.jackson.annotation.PropertyAccessor;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import io.micrometer.core.instrument.binder.MeterBinder;
+import com.blog.cache.BlogCacheProperties;
+import com.blog.cache.CacheMetrics;
+import com.blog.cache.CompactRedisSerializer;
+import com.blog.cache.RedisValueFormat;
+import com.blog.cache.TwoLevelCacheManager;
+import com.blog.common.cache.CacheInvalidationPublisher;
+import com.blog.common.cache.CacheStampedeGuard;
+import com.blog.common.cache.HotKeyCache;
+import io.lettuce.core.metrics.MicrometerOptions;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.NullValue;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.BatchStrategies;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Redis 配置类
@@ -34,14 +42,16 @@ import java.util.Set;
  * <b>核心配置：</b>
  * <ul>
  * <li><b>RedisTemplate</b>：使用 Jackson 序列化，支持 Java 8 时间类型</li>
- * <li><b>RedisCacheManager</b>：支持 Spring Cache 注解，默认 TTL 30 分钟</li>
- * <li><b>Micrometer Metrics</b>：暴露 Lettuce 连接状态到 /actuator/metrics</li>
+ * <li><b>CacheManager</b>：支持 Spring Cache 注解，按 {@code blog.cache.*} 逐个缓存配置 TTL、序列化和本地一级缓存</li>
+ * <li><b>RedisMessageListenerContainer</b>：Pub/Sub 订阅容器，回调运行在虚拟线程上</li>
+ * <li><b>Micrometer Metrics</b>：按缓存名的命中/回源/载荷指标（见 {@link CacheMetrics}），Lettuce 命令延迟直方图</li>
  * </ul>
  * <p>
  * <b>序列化策略：</b>
  * <ul>
  * <li>Key：{@link StringRedisSerializer} - 可读的字符串格式</li>
- * <li>Value：{@link GenericJackson2JsonRedisSerializer} - JSON 格式 + 类型信息</li>
+ * <li>Value：{@link CompactRedisSerializer} - RedisTemplate 为 JSON 格式 + 类型信息；
+ * Spring Cache 按缓存名选择 JSON 或 Smile 二进制（超过阈值 LZ4 压缩）</li>
  * </ul>
  * <p>
  * <b>防穿透机制：</b> 禁止缓存 null 值
@@ -57,36 +67,23 @@ import java.util.Set;
 public class RedisConfig {
 
     /**
-     * 创建 ObjectMapper 用于 Redis JSON 序列化
+     * 创建 Redis 值序列化器
      * <p>
      * <b>关键配置：</b>
      * <ul>
-     * <li>保留类型信息（@class 属性）：避免反序列化类型丢失</li>
+     * <li>保留类型信息：JSON 写完整类名，Smile 优先写 {@code blog.cache.serializer.type-aliases} 中的短别名</li>
      * <li>支持 Java 8 时间：LocalDateTime、LocalDate 等使用 ISO-8601 格式</li>
-     * <li>禁用时间戳：2025-12-07T23:00:00 而非 1733584800000</li>
+     * <li>读取时按首字节识别格式，JSON / Smile / LZ4 压缩数据都能读取</li>
      * </ul>
      *
-     * @return 配置好的 ObjectMapper 实例
+     * @param cacheProperties 缓存配置
+     * @param format          写入格式
+     * @return 序列化器实例
      */
-    private ObjectMapper createRedisObjectMapper() {
-        ObjectMapper objectMapper = new ObjectMapper();
-
-        // 设置所有字段可见
-        objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
-
-        // 启用默认类型信息，防止反序列化时类型丢失
-        objectMapper.activateDefaultTyping(
-                LaissezFaireSubTypeValidator.instance,
-                ObjectMapper.DefaultTyping.NON_FINAL,
-                JsonTypeInfo.As.PROPERTY);
-
-        // 注册 Java 8 时间模块
-        objectMapper.registerModule(new JavaTimeModule());
-
-        // 禁用时间戳格式，使用 ISO-8601 字符串格式
-        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-
-        return objectMapper;
+    private CompactRedisSerializer createValueSerializer(BlogCacheProperties cacheProperties, RedisValueFormat format) {
+        BlogCacheProperties.Serializer serializer = cacheProperties.getSerializer();
+        return new CompactRedisSerializer(format, serializer.getTypeAliases(), serializer.getPendingTypeAliases(),
+                serializer.getCompressionThreshold());
     }
 
     /**
@@ -94,13 +91,16 @@ public class RedisConfig {
      * <p>
      * 作为 {@link com.blog.common.utils.RedisUtils} 的底层操作模板。
      * <p>
-     * <b>序列化策略：</b> Key 使用 String，Value 使用 Jackson JSON
+     * <b>序列化策略：</b> Key 使用 String，Value 写入固定为 Jackson JSON（计数器的 INCRBY 和 Lua 脚本直接处理其中的数值），
+     * 读取时兼容 Spring Cache 写入的 Smile 数据
      *
      * @param connectionFactory Redis 连接工厂（由 Spring Boot 自动配置）
+     * @param cacheProperties   缓存配置
      * @return RedisTemplate 实例
      */
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory,
+                                                       BlogCacheProperties cacheProperties) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
@@ -109,89 +109,151 @@ public class RedisConfig {
         template.setKeySerializer(stringRedisSerializer);
         template.setHashKeySerializer(stringRedisSerializer);
 
-        // Value 序列化器（Jackson）
-        GenericJackson2JsonRedisSerializer jackson2JsonRedisSerializer = new GenericJackson2JsonRedisSerializer(
-                createRedisObjectMapper());
-        template.setValueSerializer(jackson2JsonRedisSerializer);
-        template.setHashValueSerializer(jackson2JsonRedisSerializer);
+        // Value 序列化器（Jackson JSON）
+        CompactRedisSerializer valueSerializer = createValueSerializer(cacheProperties, RedisValueFormat.JSON);
+        template.setValueSerializer(valueSerializer);
+        template.setHashValueSerializer(valueSerializer);
 
         template.afterPropertiesSet();
         return template;
     }
 
     /**
-     * 配置 RedisCacheManager Bean
-     * <p>
-     * 支持 Spring Cache 注解（@Cacheable、@CacheEvict、@CachePut）。
+     * 配置 CacheManager Bean
      * <p>
-     * <b>默认配置：</b>
+     * 支持 Spring Cache 注解（@Cacheable、@CacheEvict、@CachePut）。启动时按 {@code blog.cache.*} 为每个缓存构建配置：
      * <ul>
-     * <li>TTL：30 分钟</li>
-     * <li>Key 序列化：String</li>
-     * <li>Value 序列化：Jackson JSON</li>
-     * <li>Null 值：禁止缓存（防穿透）</li>
+     * <li>TTL：{@code ttl}（默认 30 分钟），按 {@code ttl-jitter} 随机抖动</li>
+     * <li>Key 序列化：String，前缀为 {@code key-prefix}（默认 {@code 缓存名::}）</li>
+     * <li>Value 序列化：{@code serializer}（默认 Smile + LZ4）</li>
+     * <li>Null 值：默认禁止缓存；开启 {@code cache-null-values} 时以 {@code null-value-ttl} 缓存（防穿透）</li>
+     * <li>本地一级缓存：{@code local-maximum-size > 0} 时启用，见 {@link TwoLevelCacheManager}</li>
+     * <li>击穿防护：{@code @Cacheable(sync = true)} 按键合并回源（进程内 + Redis 锁）</li>
+     * <li>失效广播：两级缓存的写入与失效经 Redis Pub/Sub 通知其他节点清除本地条目</li>
+     * <li>指标：两级的命中统计、回源耗时、写入大小按缓存名注册到 Micrometer（未配置的缓存不记录写入大小）</li>
+     * <li>热点键：读取计入热点探测，未启用本地一级缓存的缓存为热点键保存短期本地副本</li>
      * </ul>
      *
      * @param connectionFactory Redis 连接工厂
-     * @return RedisCacheManager 实例
+     * @param cacheProperties   缓存配置
+     * @param stampedeGuard     缓存击穿防护
+     * @param invalidationPublisher 缓存失效总线发布器
+     * @param meterRegistry     指标注册表
+     * @param hotKeyCache       热点键本地副本
+     * @return CacheManager 实例
      */
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        // 序列化配置
-        GenericJackson2JsonRedisSerializer jackson2JsonRedisSerializer = new GenericJackson2JsonRedisSerializer(
-                createRedisObjectMapper());
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                             BlogCacheProperties cacheProperties,
+                                             CacheStampedeGuard stampedeGuard,
+                                             CacheInvalidationPublisher invalidationPublisher,
+                                             MeterRegistry meterRegistry,
+                                             HotKeyCache hotKeyCache) {
+        CacheMetrics cacheMetrics = new CacheMetrics(meterRegistry);
+
+        // 序列化配置（同一格式的缓存共用一个序列化器）
+        Map<RedisValueFormat, CompactRedisSerializer> serializers = new EnumMap<>(RedisValueFormat.class);
+        for (RedisValueFormat format : RedisValueFormat.values()) {
+            serializers.put(format, createValueSerializer(cacheProperties, format));
+        }
+
+        // 每个已配置缓存的 TTL、前缀、序列化等
+        Map<String, RedisCacheConfiguration> cacheConfigurations = new LinkedHashMap<>();
+        cacheProperties.getCaches().keySet().forEach(cacheName -> {
+            BlogCacheProperties.Spec spec = cacheProperties.resolve(cacheName);
+            cacheConfigurations.put(cacheName, createCacheConfiguration(spec,
+                    cacheMetrics.recordingPayloadSize(cacheName, serializers.get(spec.getSerializer()))));
+            log.info("Redis 缓存已注册: name={}, ttl={}, jitter={}, nullValues={}, serializer={}, localSize={}",
+                    cacheName, spec.getTtl(), spec.getTtlJitter(), spec.getCacheNullValues(),
+                    spec.getSerializer(), spec.getLocalMaximumSize());
+        });
+
+        // allEntries 失效（如文章列表）按 SCAN 分批删除，避免 KEYS 阻塞 Redis
+        RedisCacheWriter cacheWriter = RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory,
+                BatchStrategies.scan(1000));
+        BlogCacheProperties.Spec defaults = cacheProperties.resolve(null);
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(cacheWriter)
+                // 未配置的缓存名使用 defaults
+                .cacheDefaults(createCacheConfiguration(defaults, serializers.get(defaults.getSerializer())))
+                .withInitialCacheConfigurations(cacheConfigurations)
+                // 命中/未命中/写入/删除计数，由 CacheMetrics 绑定为 cache.gets{level=remote} 等指标
+                .enableStatistics()
+                .build();
+        redisCacheManager.afterPropertiesSet();
+        return new TwoLevelCacheManager(redisCacheManager, cacheProperties, stampedeGuard, invalidationPublisher,
+                cacheMetrics, hotKeyCache);
+    }
+
+    /**
+     * 按单个缓存的配置构建 RedisCacheConfiguration
+     */
+    private RedisCacheConfiguration createCacheConfiguration(BlogCacheProperties.Spec spec,
+                                                             RedisSerializer<Object> valueSerializer) {
+        Duration ttl = spec.getTtl();
+        double jitter = spec.getTtlJitter();
+        Duration nullValueTtl = spec.getNullValueTtl();
 
-        // 缓存配置
         RedisCacheConfiguration config = RedisCacheConfiguration
                 .defaultCacheConfig()
-                // 设置默认过期时间为 30 分钟
-                .entryTtl(Duration.ofMinutes(30))
+                // 过期时间：null 值使用单独的 TTL，其余按比例随机抖动，避免同批写入的键同时过期
+                .entryTtl((key, value) -> value == null || value instanceof NullValue
+                        ? nullValueTtl
+                        : jitter(ttl, jitter))
                 // Key 序列化器
                 .serializeKeysWith(RedisSerializationContext.SerializationPair
                         .fromSerializer(new StringRedisSerializer()))
                 // Value 序列化器
                 .serializeValuesWith(RedisSerializationContext.SerializationPair
-                        .fromSerializer(jackson2JsonRedisSerializer))
-                // 禁止缓存 null 值，避免缓存穿透
-                .disableCachingNullValues();
-
-        // 为特定缓存配置不同的 TTL（可选）
-        Map<String, RedisCacheConfiguration> cacheConfigurations = new java.util.HashMap<>();
-
-        // user:roles 缓存：30 分钟
-        cacheConfigurations.put("user:roles", config);
-
-        // 如果需要为其他缓存配置不同的 TTL，可以在这里添加
+                        .fromSerializer(valueSerializer));
+        if (spec.getKeyPrefix() != null) {
+            String keyPrefix = spec.getKeyPrefix();
+            config = config.computePrefixWith(cacheName -> keyPrefix);
+        }
+        if (!spec.getCacheNullValues()) {
+            // 禁止缓存 null 值
+            config = config.disableCachingNullValues();
+        }
+        return config;
+    }
 
-        return RedisCacheManager.builder(connectionFactory)
-                .cacheDefaults(config)
-                .initialCacheNames(Set.of("user:roles")) // 预先注册缓存名称
-                .withInitialCacheConfigurations(cacheConfigurations) // 配置每个缓存的 TTL
-                .build();
+    private static Duration jitter(Duration ttl, double jitter) {
+        if (jitter <= 0) {
+            return ttl;
+        }
+        double factor = 1 + ThreadLocalRandom.current().nextDouble(-jitter, jitter);
+        return Duration.ofMillis(Math.max(1, (long) (ttl.toMillis() * factor)));
     }
 
     /**
-     * 配置 Lettuce 监控指标
-     * <p>
-     * 暴露 Redis 客户端监控指标到 Micrometer，可通过
-     * {@code /actuator/metrics/redis.lettuce.factory.active} 查看。
+     * 配置 Redis Pub/Sub 订阅容器
      * <p>
-     * <b>指标说明：</b> redis.lettuce.factory.active = 1.0 表示连接工厂正常
+     * 各订阅方（如 SSE 推送网关）在启动时自行注册监听器。消息回调运行在虚拟线程上，
+     * 回调中的阻塞操作不会占用平台线程。
      *
      * @param connectionFactory Redis 连接工厂
-     * @return MeterBinder 指标绑定器
+     * @return RedisMessageListenerContainer 实例
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.setTaskExecutor(new VirtualThreadTaskExecutor("redis-listener-"));
+        return container;
+    }
+
+    /**
+     * 配置 Lettuce 命令延迟指标
+     * <p>
+     * Spring Boot 的 Lettuce 指标自动配置使用该选项创建 {@code MicrometerCommandLatencyRecorder}，按命令记录
+     * {@code lettuce.command.completion}（发出到完成）和 {@code lettuce.command.firstresponse}（发出到首个响应）。
+     * 开启直方图后可在 Prometheus 中按任意分位数聚合，汇总结果见 {@code GET /actuator/cache/redis/latency}。
+     *
+     * @return Lettuce 指标选项
      */
     @Bean
-    public MeterBinder redisMetrics(
-            RedisConnectionFactory connectionFactory) {
-        return (registry) -> {
-            // 注册 Lettuce 连接状态指标
-            if (connectionFactory instanceof LettuceConnectionFactory) {
-                registry.gauge("redis.lettuce.factory.active",
-                        connectionFactory, f -> 1.0); // 连接工厂存在即为活跃
-
-                log.info("✅ Redis Lettuce 监控指标已启用");
-            }
-        };
+    public MicrometerOptions lettuceMicrometerOptions() {
+        return MicrometerOptions.builder()
+                .histogram(true)
+                .build();
     }
 }
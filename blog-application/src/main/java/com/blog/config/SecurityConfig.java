@@ -32,6 +32,8 @@ import java.util.Objects;
  * <li><strong>最小权限原则</strong>：仅放行必要端点，禁止默认全放行 <code>*</code></li>
  * <li><strong>多过滤链设计模式</strong>：使用 <code>@Order</code> 实现“白名单优先 →
  * 默认认证”双链架构，天然支持后期微服务拆分</li>
+ * <li><strong>敏感运维端点</strong>：白名单下暴露键名或 Redis 运行数据的端点由管理员链
+ * (<code>@Order(0)</code>) 先行拦截，仅允许管理员访问</li>
  * <li><strong>配置驱动</strong>：白名单路径从 <code>application.yaml</code> 动态注入，支持
  * profile 隔离</li>
  * <li><strong>无状态 API</strong>：禁用 CSRF + STATELESS，适配 RESTful 风格</li>
@@ -58,6 +60,14 @@ import java.util.Objects;
 @EnableMethodSecurity // 启用方法级安全注解（@PreAuthorize, @Secured等）
 public class SecurityConfig {
 
+    /**
+     * 位于 <code>/actuator/**</code> 白名单之下、仅允许管理员访问的端点
+     */
+    private static final String[] ADMIN_ACTUATOR_URLS = {
+            "/actuator/cache/hot-keys",
+            "/actuator/cache/redis/latency"
+    };
+
     /**
      * 安全属性配置（从 application.yaml 绑定）
      */
@@ -80,6 +90,34 @@ public class SecurityConfig {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
     }
 
+    // ===================================================================
+    // 0. 管理员运维端点过滤链 (@Order(0)) - 先于白名单匹配
+    // ===================================================================
+
+    /**
+     * <h3>管理员运维端点过滤链</h3>
+     * <p>
+     * 热点键、Redis 命令延迟等端点会暴露业务键名和 Redis 运行状况，不能随 <code>/actuator/**</code>
+     * 白名单匿名放行。本链在白名单链之前精确匹配这些路径，要求 <code>ROLE_ADMIN</code>。
+     * <p>
+     * <strong>认证方式</strong>：JWT Bearer Token 或 HTTP Basic
+     *
+     * @param http HttpSecurity 构建器
+     * @return 配置好的管理员端点过滤链
+     * @throws Exception 配置异常
+     */
+    @Bean
+    @Order(0)
+    public SecurityFilterChain adminActuatorChain(HttpSecurity http) throws Exception {
+        http.securityMatcher(ADMIN_ACTUATOR_URLS)
+                .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(s -> s.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(auth -> auth.anyRequest().hasRole("ADMIN"))
+                .httpBasic(Customizer.withDefaults())
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        return http.build();
+    }
+
     // ===================================================================
     // 1. 白名单过滤链 (@Order(1)) - 最高优先级
     // ===================================================================
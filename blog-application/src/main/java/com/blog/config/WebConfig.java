@@ -1,8 +1,12 @@
 package com.blog.config;
 
+import com.blog.ratelimit.RateLimitInterceptor;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 /**
  * Web相关配置
@@ -11,7 +15,10 @@ import org.springframework.web.client.RestTemplate;
  * @since 1.0.0
  */
 @Configuration
-public class WebConfig {
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final RateLimitInterceptor rateLimitInterceptor;
 
     /**
      * RestTemplate Bean
@@ -22,4 +29,12 @@ public class WebConfig {
     public RestTemplate restTemplate() {
         return new RestTemplate();
     }
+
+    /**
+     * 注册接口限流拦截器（仅对标注 {@code @RateLimit} 的方法生效）
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/api/**");
+    }
 }
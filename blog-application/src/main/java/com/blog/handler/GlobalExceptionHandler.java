@@ -3,9 +3,11 @@ package com.blog.handler;
 import com.blog.common.exception.BusinessException;
 import com.blog.common.exception.EntityNotFoundException;
 import com.blog.common.exception.OperationFailedException;
+import com.blog.common.exception.RateLimitExceededException;
 import com.blog.common.exception.SystemErrorCode;
 import com.blog.common.model.Result;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.springframework.http.HttpStatus;
@@ -33,6 +35,7 @@ import java.util.stream.Collectors;
  * <li><b>403 Forbidden</b> - 无权访问（AuthorizationDeniedException）</li>
  * <li><b>404 Not Found</b> - 资源未找到（EntityNotFoundException,
  * NoResourceFoundException）</li>
+ * <li><b>429 Too Many Requests</b> - 请求被限流（RateLimitExceededException）</li>
  * <li><b>500 Internal Server Error</b> -
  * 操作失败（OperationFailedException）、未知异常（Exception）</li>
  * </ul>
@@ -173,6 +176,26 @@ public class GlobalExceptionHandler {
         return Result.error(ex.getErrorCode());
     }
 
+    /**
+     * 处理限流异常
+     * <p>
+     * 通过 {@code Retry-After} 响应头（秒，向上取整）告知客户端何时重试。
+     *
+     * @param ex       限流异常
+     * @param response HTTP 响应
+     * @return 错误响应，429 Too Many Requests
+     */
+    @ExceptionHandler(RateLimitExceededException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public Result<?> handleRateLimitExceededException(RateLimitExceededException ex, HttpServletResponse response) {
+        log.warn(LOG_TEMPLATE_WITH_CODE, "请求被限流",
+                getCurrentRequest().getRequestURI(),
+                getCurrentRequest().getMethod(),
+                ex.getErrorCode().getCode());
+        response.setHeader("Retry-After", String.valueOf(Math.max(1, (ex.getRetryAfterMs() + 999) / 1000)));
+        return Result.error(ex.getErrorCode());
+    }
+
     /**
      * 处理静态资源未找到异常
      * <p>
@@ -0,0 +1,85 @@
+package com.blog.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 本地滑动窗口限流器（单节点快速路径）
+ *
+ * <p>
+ * 采用滑动窗口计数近似：{@code 估计值 = 上一窗口计数 × 上一窗口在滑动窗口内的占比 + 当前窗口计数}，
+ * 每个键只保存两个计数，不记录请求时间戳。
+ * </p>
+ *
+ * <p>
+ * 由 {@link RateLimitInterceptor} 在访问 Redis 之前调用：阈值取令牌桶在一个窗口内最多可放行的请求数，
+ * 超过阈值的请求无论集群状态如何都会被令牌桶拒绝，因此可以直接在本地拒绝，刷接口的客户端不会给 Redis 带来额外压力。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Component
+public class LocalSlidingWindowRateLimiter {
+
+    private final long windowMs;
+    private final Cache<String, Window> windows;
+
+    public LocalSlidingWindowRateLimiter(RateLimitProperties properties) {
+        this.windowMs = properties.getLocalWindowMs();
+        this.windows = Caffeine.newBuilder()
+                .maximumSize(properties.getLocalMaxKeys())
+                .expireAfterAccess(Duration.ofMillis(windowMs * 2))
+                .build();
+    }
+
+    /**
+     * 尝试在当前滑动窗口内计入一次请求
+     *
+     * @param key   限流键
+     * @param limit 窗口内允许的请求数
+     * @return {@code true} 表示放行
+     */
+    public boolean tryAcquire(String key, int limit) {
+        return tryAcquire(key, limit, System.currentTimeMillis());
+    }
+
+    boolean tryAcquire(String key, int limit, long now) {
+        return windows.get(key, k -> new Window()).tryAcquire(now, limit, windowMs);
+    }
+
+    /**
+     * 窗口长度(ms)
+     */
+    public long getWindowMs() {
+        return windowMs;
+    }
+
+    /**
+     * 单个键的两段窗口计数
+     */
+    private static final class Window {
+
+        private long currentIndex = -1;
+        private int current;
+        private int previous;
+
+        synchronized boolean tryAcquire(long now, int limit, long windowMs) {
+            long index = now / windowMs;
+            if (index != currentIndex) {
+                previous = index == currentIndex + 1 ? current : 0;
+                current = 0;
+                currentIndex = index;
+            }
+            double previousWeight = 1.0 - (double) (now % windowMs) / windowMs;
+            if (previous * previousWeight + current >= limit) {
+                return false;
+            }
+            current++;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.blog.ratelimit;
+
+import com.blog.common.constants.CacheKeys;
+import com.blog.common.exception.RateLimitExceededException;
+import com.blog.common.ratelimit.RateLimit;
+import com.blog.common.utils.SecurityUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * 接口限流拦截器
+ *
+ * <p>
+ * 对标注了 {@link RateLimit} 的 Controller 方法，在进入方法前依次执行：
+ * </p>
+ * <ol>
+ *   <li><b>本地快速路径</b> — {@link LocalSlidingWindowRateLimiter}，阈值为令牌桶在一个窗口内的放行上限
+ *       （{@code capacity + refillPerSecond × 窗口秒数}），超出直接拒绝，不访问 Redis</li>
+ *   <li><b>集群令牌桶</b> — {@link RedisTokenBucketRateLimiter}，所有节点共享同一个桶</li>
+ * </ol>
+ *
+ * <p>
+ * 被拒绝的请求抛出 {@link RateLimitExceededException}（429 + Retry-After），并计入
+ * {@code blog.ratelimit.rejected{rule, source}} 指标。Redis 不可用时仅依靠本地快速路径限流，不影响正常请求。
+ * </p>
+ *
+ * <p>
+ * <b>客户端 IP</b>：取 {@code request.getRemoteAddr()}。部署在反向代理之后时需配置
+ * {@code server.forward-headers-strategy}，由容器从受信代理头解析真实地址，避免伪造 X-Forwarded-For 绕过限流。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final String SOURCE_LOCAL = "local";
+    private static final String SOURCE_REDIS = "redis";
+
+    private final RateLimitProperties properties;
+    private final LocalSlidingWindowRateLimiter localLimiter;
+    private final RedisTokenBucketRateLimiter redisLimiter;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!properties.isEnabled() || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        RateLimit rateLimit = handlerMethod.getMethodAnnotation(RateLimit.class);
+        if (rateLimit == null) {
+            return true;
+        }
+
+        String key = CacheKeys.rateLimitKey(rateLimit.name(), resolveSubject(rateLimit, request),
+                resolveTarget(rateLimit, request));
+
+        long windowMs = localLimiter.getWindowMs();
+        int localLimit = (int) Math.ceil(rateLimit.capacity() + rateLimit.refillPerSecond() * windowMs / 1000.0);
+        if (!localLimiter.tryAcquire(key, localLimit)) {
+            reject(rateLimit, key, SOURCE_LOCAL, windowMs);
+        }
+
+        long retryAfterMs;
+        try {
+            retryAfterMs = redisLimiter.tryAcquire(key, rateLimit.capacity(), rateLimit.refillPerSecond());
+        } catch (Exception e) {
+            log.warn("Redis 限流不可用，仅使用本地限流: key={}", key, e);
+            return true;
+        }
+        if (retryAfterMs > 0) {
+            reject(rateLimit, key, SOURCE_REDIS, retryAfterMs);
+        }
+        return true;
+    }
+
+    private void reject(RateLimit rateLimit, String key, String source, long retryAfterMs) {
+        Counter.builder("blog.ratelimit.rejected")
+                .description("被限流拒绝的请求数")
+                .tag("rule", rateLimit.name())
+                .tag("source", source)
+                .register(meterRegistry)
+                .increment();
+        log.debug("请求被限流: key={}, source={}, retryAfterMs={}", key, source, retryAfterMs);
+        throw new RateLimitExceededException(retryAfterMs);
+    }
+
+    private static String resolveSubject(RateLimit rateLimit, HttpServletRequest request) {
+        if (rateLimit.keyBy() == RateLimit.KeyType.USER) {
+            Long userId = SecurityUtils.getCurrentUserId();
+            if (userId != null) {
+                return "u" + userId;
+            }
+        }
+        return "ip" + request.getRemoteAddr();
+    }
+
+    private static String resolveTarget(RateLimit rateLimit, HttpServletRequest request) {
+        if (StringUtils.isEmpty(rateLimit.target())) {
+            return null;
+        }
+        Object uriVariables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (uriVariables instanceof Map<?, ?> variables && variables.get(rateLimit.target()) != null) {
+            return String.valueOf(variables.get(rateLimit.target()));
+        }
+        return request.getParameter(rateLimit.target());
+    }
+}
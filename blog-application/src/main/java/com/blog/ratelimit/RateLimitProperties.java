@@ -0,0 +1,40 @@
+package com.blog.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 接口限流配置
+ *
+ * <pre>
+ * app:
+ *   rate-limit:
+ *     enabled: true
+ *     local-window-ms: 1000
+ *     local-max-keys: 100000
+ * </pre>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * 是否启用 {@link com.blog.common.ratelimit.RateLimit} 限流
+     */
+    private boolean enabled = true;
+
+    /**
+     * 本地滑动窗口长度(ms)
+     */
+    private long localWindowMs = 1_000L;
+
+    /**
+     * 本地滑动窗口最多跟踪的限流键数量（超出后淘汰最久未访问的键）
+     */
+    private long localMaxKeys = 100_000L;
+}
@@ -0,0 +1,61 @@
+package com.blog.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Redis 令牌桶限流器（集群共享）
+ *
+ * <p>
+ * 令牌桶状态保存在 Hash（tokens, ts）中，补充与扣减在一个 Lua 脚本内原子完成；
+ * 时间取自 Redis 服务器 {@code TIME}，不受各节点时钟偏差影响。桶在补满所需时间之后自动过期。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Component
+@RequiredArgsConstructor
+public class RedisTokenBucketRateLimiter {
+
+    /**
+     * ARGV: 容量, 每秒补充令牌数；放行返回 0，拒绝返回令牌补足所需的毫秒数
+     */
+    private static final RedisScript<Long> TOKEN_BUCKET = new DefaultRedisScript<>(
+            "local capacity = tonumber(ARGV[1]) "
+                    + "local rate = tonumber(ARGV[2]) "
+                    + "local time = redis.call('TIME') "
+                    + "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000) "
+                    + "local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts') "
+                    + "local tokens = tonumber(bucket[1]) "
+                    + "local ts = tonumber(bucket[2]) "
+                    + "if tokens == nil or ts == nil then tokens = capacity ts = now end "
+                    + "tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate / 1000) "
+                    + "local waitMs = 0 "
+                    + "if tokens >= 1 then tokens = tokens - 1 "
+                    + "else waitMs = math.ceil((1 - tokens) * 1000 / rate) end "
+                    + "redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now) "
+                    + "redis.call('PEXPIRE', KEYS[1], math.ceil(capacity * 1000 / rate) + 1000) "
+                    + "return waitMs",
+            Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    /**
+     * 尝试从令牌桶取出一个令牌
+     *
+     * @param key             限流键
+     * @param capacity        桶容量
+     * @param refillPerSecond 每秒补充令牌数
+     * @return 0 表示放行；大于 0 表示被拒绝，值为建议的重试等待毫秒数
+     */
+    public long tryAcquire(String key, int capacity, double refillPerSecond) {
+        Long waitMs = redisTemplate.execute(TOKEN_BUCKET, List.of(key), capacity, refillPerSecond);
+        return waitMs == null ? 0 : waitMs;
+    }
+}
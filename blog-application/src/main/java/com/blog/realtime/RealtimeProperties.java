@@ -0,0 +1,46 @@
+package com.blog.realtime;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * SSE 实时推送配置
+ *
+ * <pre>
+ * app:
+ *   realtime:
+ *     emitter-timeout-ms: 1800000
+ *     heartbeat-interval-ms: 25000
+ *     queue-capacity: 64
+ *     max-connections: 10000
+ * </pre>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.realtime")
+public class RealtimeProperties {
+
+    /**
+     * SSE 连接超时时间(ms)，超时后客户端 EventSource 自动重连
+     */
+    private long emitterTimeoutMs = 30 * 60 * 1000L;
+
+    /**
+     * 心跳间隔(ms)，连接空闲时发送 SSE 注释行，防止被代理/负载均衡断开
+     */
+    private long heartbeatIntervalMs = 25_000L;
+
+    /**
+     * 每个连接的待发送队列容量，写满后丢弃最旧的消息（背压）
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * 单节点最大连接数，超出后拒绝新连接
+     */
+    private int maxConnections = 10_000;
+}
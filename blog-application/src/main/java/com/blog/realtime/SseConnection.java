@@ -0,0 +1,130 @@
+package com.blog.realtime;
+
+import com.blog.common.realtime.RealtimeMessage;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 单个 SSE 连接
+ *
+ * <p>
+ * 每个连接持有一个有界待发送队列和一个虚拟线程：
+ * </p>
+ * <ul>
+ *   <li>投递线程（Redis 订阅线程）只做非阻塞入队，慢客户端不会拖慢其他连接</li>
+ *   <li>虚拟线程阻塞地取出消息并写出，空闲超过心跳间隔时发送注释行</li>
+ *   <li>队列写满时丢弃最旧的消息，下次写出前先发送 {@code lagged} 事件告知丢弃条数，客户端可据此重新拉取</li>
+ * </ul>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Slf4j
+public class SseConnection {
+
+    /**
+     * 消息丢弃提示事件名
+     */
+    static final String EVENT_LAGGED = "lagged";
+
+    @Getter
+    private final long id;
+
+    @Getter
+    private final Set<String> topics;
+
+    @Getter
+    private final SseEmitter emitter;
+
+    private final BlockingQueue<RealtimeMessage> queue;
+    private final long heartbeatIntervalMs;
+    private final AtomicInteger dropped = new AtomicInteger();
+    private volatile boolean closed;
+    private volatile Thread writer;
+
+    SseConnection(long id, Set<String> topics, SseEmitter emitter, int queueCapacity, long heartbeatIntervalMs) {
+        this.id = id;
+        this.topics = Set.copyOf(topics);
+        this.emitter = emitter;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+    }
+
+    /**
+     * 非阻塞入队，队列已满时丢弃最旧的消息
+     *
+     * @param message 推送消息
+     */
+    public void offer(RealtimeMessage message) {
+        if (closed) {
+            return;
+        }
+        while (!queue.offer(message)) {
+            if (queue.poll() != null) {
+                dropped.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 在虚拟线程上启动写出循环
+     *
+     * @param onClose 连接结束回调（用于从注册表移除）
+     */
+    void start(Consumer<SseConnection> onClose) {
+        writer = Thread.ofVirtual().name("sse-connection-" + id).start(() -> {
+            try {
+                writeLoop();
+            } finally {
+                closed = true;
+                onClose.accept(this);
+            }
+        });
+    }
+
+    /**
+     * 关闭连接（客户端断开、超时或节点关闭时调用），中断写出线程使其立即退出
+     */
+    public void close() {
+        closed = true;
+        Thread thread = writer;
+        if (thread != null && thread != Thread.currentThread()) {
+            thread.interrupt();
+        }
+    }
+
+    private void writeLoop() {
+        try {
+            while (!closed) {
+                RealtimeMessage message = queue.poll(heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+                if (closed) {
+                    break;
+                }
+                if (message == null) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                    continue;
+                }
+                int lagged = dropped.getAndSet(0);
+                if (lagged > 0) {
+                    emitter.send(SseEmitter.event().name(EVENT_LAGGED).data(Map.of("dropped", lagged)));
+                }
+                emitter.send(SseEmitter.event().name(message.getEvent()).data(message.getPayload()));
+            }
+        } catch (IOException | IllegalStateException e) {
+            // 客户端已断开或 emitter 已完成
+            log.debug("SSE 连接写出结束: id={}, reason={}", id, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.blog.realtime;
+
+import com.blog.common.exception.BusinessException;
+import com.blog.common.exception.SystemErrorCode;
+import com.blog.common.realtime.RealtimeMessage;
+import com.blog.common.realtime.RealtimeTopics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * SSE 实时推送网关
+ *
+ * <p>
+ * 业务模块通过 {@link com.blog.common.realtime.RealtimePublisher} 把消息发布到 Redis 频道
+ * {@link RealtimeTopics#CHANNEL}，每个节点的网关都订阅该频道，再按主题投递给本节点上的连接，
+ * 因此无论客户端连接落在哪个节点都能收到推送。
+ * </p>
+ *
+ * <p>线程模型：</p>
+ * <ul>
+ *   <li>Redis 订阅回调运行在虚拟线程上，只负责反序列化和非阻塞入队</li>
+ *   <li>每个连接一个虚拟线程负责阻塞写出和心跳，背压策略见 {@link SseConnection}</li>
+ * </ul>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SseGateway implements MessageListener {
+
+    private final RedisMessageListenerContainer listenerContainer;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RealtimeProperties properties;
+
+    /**
+     * 主题 → 订阅该主题的本地连接
+     */
+    private final Map<String, Set<SseConnection>> subscriptions = new ConcurrentHashMap<>();
+
+    private final AtomicLong connectionIds = new AtomicLong();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+
+    @PostConstruct
+    public void start() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(RealtimeTopics.CHANNEL));
+        log.info("SSE 推送网关已启动: channel={}, queueCapacity={}, maxConnections={}",
+                RealtimeTopics.CHANNEL, properties.getQueueCapacity(), properties.getMaxConnections());
+    }
+
+    /**
+     * 节点关闭时结束所有连接，客户端会自动重连到其他节点
+     */
+    @PreDestroy
+    public void shutdown() {
+        listenerContainer.removeMessageListener(this);
+        subscriptions.values().forEach(connections -> connections.forEach(SseConnection::close));
+    }
+
+    /**
+     * 建立 SSE 连接并订阅主题
+     *
+     * @param topics 订阅的主题（见 {@link RealtimeTopics}）
+     * @return SseEmitter
+     */
+    public SseEmitter open(Set<String> topics) {
+        return open(topics, () -> new SseEmitter(properties.getEmitterTimeoutMs()));
+    }
+
+    /**
+     * 建立 SSE 连接并订阅主题
+     *
+     * @param topics         订阅的主题
+     * @param emitterFactory 创建 SseEmitter（连接数未超限时才调用）
+     * @return SseEmitter
+     */
+    SseEmitter open(Set<String> topics, Supplier<SseEmitter> emitterFactory) {
+        if (connectionCount.incrementAndGet() > properties.getMaxConnections()) {
+            connectionCount.decrementAndGet();
+            throw new BusinessException(SystemErrorCode.TOO_MANY_REQUESTS, "实时推送连接数已达上限，请稍后重试");
+        }
+
+        SseEmitter emitter = emitterFactory.get();
+        SseConnection connection = new SseConnection(connectionIds.incrementAndGet(), topics, emitter,
+                properties.getQueueCapacity(), properties.getHeartbeatIntervalMs());
+        emitter.onCompletion(connection::close);
+        emitter.onTimeout(connection::close);
+        emitter.onError(e -> connection.close());
+
+        // compute 与 unregister 中的 computeIfPresent 对同一主题互斥，避免加入已被移除的空集合
+        topics.forEach(topic -> subscriptions.compute(topic, (key, connections) -> {
+            Set<SseConnection> subscribed = connections != null ? connections : ConcurrentHashMap.newKeySet();
+            subscribed.add(connection);
+            return subscribed;
+        }));
+        connection.start(this::unregister);
+        log.debug("SSE 连接已建立: id={}, topics={}", connection.getId(), topics);
+        return emitter;
+    }
+
+    /**
+     * 投递给本节点上订阅了该主题的连接
+     *
+     * @param message 推送消息
+     */
+    public void dispatch(RealtimeMessage message) {
+        Set<SseConnection> connections = subscriptions.get(message.getTopic());
+        if (connections != null) {
+            connections.forEach(connection -> connection.offer(message));
+        }
+    }
+
+    /**
+     * 当前节点的连接数
+     */
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            if (redisTemplate.getValueSerializer().deserialize(message.getBody()) instanceof RealtimeMessage realtimeMessage) {
+                dispatch(realtimeMessage);
+            }
+        } catch (Exception e) {
+            log.warn("实时推送消息解析失败: channel={}", new String(message.getChannel()), e);
+        }
+    }
+
+    private void unregister(SseConnection connection) {
+        connection.getTopics().forEach(topic -> subscriptions.computeIfPresent(topic, (key, connections) -> {
+            connections.remove(connection);
+            return connections.isEmpty() ? null : connections;
+        }));
+        connectionCount.decrementAndGet();
+        try {
+            connection.getEmitter().complete();
+        } catch (Exception e) {
+            log.debug("SSE 连接结束异常: id={}", connection.getId(), e);
+        }
+        log.debug("SSE 连接已关闭: id={}", connection.getId());
+    }
+}
@@ -0,0 +1,71 @@
+package com.blog.realtime.controller;
+
+import com.blog.comment.api.enums.CommentTargetType;
+import com.blog.common.exception.BusinessException;
+import com.blog.common.exception.SystemErrorCode;
+import com.blog.common.realtime.RealtimeTopics;
+import com.blog.common.utils.SecurityUtils;
+import com.blog.realtime.SseGateway;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+
+/**
+ * 实时推送订阅接口
+ *
+ * <p>
+ * <b>注意：此接口不遵循项目统一 {@code Result<T>} 响应规范（特殊豁免）。</b><br>
+ * {@code text/event-stream} 响应必须是原始事件流格式，浏览器的 {@code EventSource} 才能解析。
+ * </p>
+ *
+ * <p>SSE 事件说明：</p>
+ * <ul>
+ *   <li>{@code event: notification} — 新通知（id、type、sourceId、sourceType），内容通过通知接口拉取</li>
+ *   <li>{@code event: comment}      — 新的已通过评论（commentId、parentId、targetType、targetId）</li>
+ *   <li>{@code event: lagged}       — 客户端消费过慢，有消息被丢弃（dropped），建议重新拉取</li>
+ * </ul>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Tag(name = "实时推送", description = "基于 SSE 的通知与评论实时推送")
+@RestController
+@RequestMapping("/api/v1/stream")
+@RequiredArgsConstructor
+public class RealtimeStreamController {
+
+    private final SseGateway sseGateway;
+
+    /**
+     * 订阅当前用户的新通知
+     */
+    @GetMapping(value = "/notifications", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "订阅通知推送", description = "需要登录，推送当前用户的新通知")
+    public SseEmitter streamNotifications() {
+        Long userId = SecurityUtils.getCurrentUserId();
+        if (userId == null) {
+            throw new BusinessException(SystemErrorCode.UNAUTHORIZED);
+        }
+        return sseGateway.open(Set.of(RealtimeTopics.userTopic(userId)));
+    }
+
+    /**
+     * 订阅评论目标下新的已通过评论
+     */
+    @GetMapping(value = "/comments", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "订阅评论推送", description = "公开接口，推送目标下新审核通过的评论")
+    public SseEmitter streamComments(
+            @Parameter(description = "目标类型", example = "ARTICLE") @RequestParam CommentTargetType targetType,
+            @Parameter(description = "目标ID") @RequestParam Long targetId) {
+        return sseGateway.open(Set.of(RealtimeTopics.commentTargetTopic(targetType.getCode(), targetId)));
+    }
+}
@@ -0,0 +1,27 @@
+-- V1.8.0: 评论敏感词词库表
+-- 敏感词过滤器（Aho-Corasick 自动机）启动及热加载时从此表读取词条，与 classpath 词库文件合并
+
+USE blog_db;
+
+CREATE TABLE IF NOT EXISTS `cmt_sensitive_word`
+(
+    `id`          BIGINT       NOT NULL COMMENT '主键ID（雪花算法）',
+
+    -- ── 业务字段 ─────────────────────────────────────────────────────────────
+    `word`        VARCHAR(100) NOT NULL COMMENT '敏感词（加载时统一做全角→半角、大写→小写归一化）',
+    `enabled`     TINYINT      NOT NULL DEFAULT 1 COMMENT '是否启用：0-停用，1-启用',
+
+    -- ── 公共审计字段 ─────────────────────────────────────────────────────────
+    `version`     INT          NOT NULL DEFAULT 0 COMMENT '乐观锁版本号',
+    `create_by`   BIGINT       DEFAULT NULL COMMENT '创建人ID',
+    `create_time` DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    `update_by`   BIGINT       DEFAULT NULL COMMENT '更新人ID',
+    `update_time` DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    `is_deleted`  TINYINT      NOT NULL DEFAULT 0 COMMENT '逻辑删除：0-未删除，1-已删除',
+
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_word` (`word`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4
+  COLLATE = utf8mb4_unicode_ci
+  COMMENT = '评论敏感词词库表';
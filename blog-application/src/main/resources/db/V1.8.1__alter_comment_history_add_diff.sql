@@ -0,0 +1,10 @@
+-- V1.8.1: 评论编辑历史改为行级差异存储
+-- 每条历史记录保存"编辑后内容 → 编辑前内容"的逆向补丁，从当前内容逐条回放即可还原任意修订版本；
+-- 补丁不比原文小（整体重写）或到达关键帧间隔时仍保存完整的编辑前内容，旧数据（仅有 old_content）按关键帧处理
+
+USE blog_db;
+
+ALTER TABLE `cmt_comment_history`
+    MODIFY COLUMN `old_content` TEXT NULL COMMENT '编辑前的完整Markdown内容（关键帧；差异记录为空）',
+    ADD COLUMN `base_version` INT NULL COMMENT '编辑前评论的版本号（用于排序修订链）' AFTER `comment_id`,
+    ADD COLUMN `diff_patch` TEXT NULL COMMENT '编辑后内容还原为编辑前内容的行级逆向补丁' AFTER `old_content_html`;
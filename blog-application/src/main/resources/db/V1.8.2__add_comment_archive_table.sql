@@ -0,0 +1,45 @@
+-- V1.8.2: 评论归档表
+-- 已拒绝/已删除且超过保留期的评论、已归档文章下的评论，由 CommentArchiver 分批从 cmt_comment 迁移至此表，
+-- 缩小 cmt_comment 及其 idx_target / idx_root_depth 索引；字段与 cmt_comment 一致，另加归档时间
+
+USE blog_db;
+
+CREATE TABLE IF NOT EXISTS `cmt_comment_archive`
+(
+    `id`                 BIGINT       NOT NULL COMMENT '评论ID（与 cmt_comment 相同）',
+
+    -- ── 业务字段 ─────────────────────────────────────────────────────────────
+    `target_type`        VARCHAR(20)  NOT NULL COMMENT '评论目标类型',
+    `target_id`          BIGINT       NOT NULL COMMENT '目标ID',
+    `parent_id`          BIGINT       NULL COMMENT '父评论ID',
+    `content`            TEXT         NOT NULL COMMENT '评论原始内容',
+    `content_html`       TEXT         NULL COMMENT '渲染后的 HTML 内容',
+    `status`             TINYINT      NOT NULL COMMENT '归档时的状态',
+    `like_count`         INT          NOT NULL DEFAULT 0 COMMENT '点赞数',
+    `reply_count`        INT          NOT NULL DEFAULT 0 COMMENT '回复数',
+    `path`               VARCHAR(500) NULL COMMENT '物化路径',
+    `depth`              TINYINT      NOT NULL DEFAULT 0 COMMENT '评论深度',
+    `root_id`            BIGINT       NULL COMMENT '根评论ID',
+    `audit_reason`       VARCHAR(500) NULL COMMENT '审核/删除原因',
+    `is_edited`          TINYINT      NOT NULL DEFAULT 0 COMMENT '是否已编辑',
+    `edit_time`          DATETIME     NULL COMMENT '最后编辑时间',
+    `mentioned_user_ids` VARCHAR(500) NULL COMMENT '被@提及的用户ID列表',
+
+    -- ── 公共审计字段（原样保留） ───────────────────────────────────────────────
+    `version`            INT          NOT NULL DEFAULT 1 COMMENT '版本号',
+    `create_by`          BIGINT       NOT NULL COMMENT '创建者ID',
+    `create_time`        DATETIME     NOT NULL COMMENT '创建时间',
+    `update_by`          BIGINT       NULL COMMENT '更新者ID',
+    `update_time`        DATETIME     NOT NULL COMMENT '更新时间',
+    `is_deleted`         TINYINT      NOT NULL DEFAULT 0 COMMENT '逻辑删除',
+
+    -- ── 归档字段 ─────────────────────────────────────────────────────────────
+    `archive_time`       DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '归档时间',
+
+    PRIMARY KEY (`id`),
+    KEY `idx_target` (`target_type`, `target_id`, `status`),
+    KEY `idx_archive_time` (`archive_time`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4
+  COLLATE = utf8mb4_unicode_ci
+  COMMENT = '评论归档表';
@@ -0,0 +1,7 @@
+-- V1.8.3: 评论表增加父评论索引
+-- 回复数对账按主键区间分批执行，每批按 parent_id 范围统计已通过的直接回复，需要该索引避免整表扫描
+
+USE blog_db;
+
+ALTER TABLE `cmt_comment`
+    ADD KEY `idx_parent` (`parent_id`, `status`);
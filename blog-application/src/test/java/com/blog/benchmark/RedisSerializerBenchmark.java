@@ -0,0 +1,239 @@
+package com.blog.benchmark;
+
+import com.blog.article.api.vo.ArticleDetailVO;
+import com.blog.cache.CompactRedisSerializer;
+import com.blog.cache.RedisValueFormat;
+import com.blog.comment.api.enums.CommentStatus;
+import com.blog.comment.api.enums.CommentTargetType;
+import com.blog.comment.api.vo.CommentTreeVO;
+import com.blog.system.api.dto.UserDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 值序列化基准测试：Jackson JSON vs Smile + 类型别名 vs Smile + LZ4
+ *
+ * <p>
+ * 不参与常规 {@code mvn test}，需要时直接运行 {@link #main(String[])}。
+ * 运行前先打印各样本在三种格式下的字节数，再测量序列化和反序列化耗时。
+ * 样本覆盖短对象（用户）、长正文（文章详情）和嵌套列表（两层评论树）。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedisSerializerBenchmark {
+
+    /**
+     * 与 application.yaml 中 {@code blog.cache.serializer.type-aliases} 保持一致
+     */
+    private static final Map<String, String> TYPE_ALIASES = new LinkedHashMap<>();
+
+    static {
+        TYPE_ALIASES.put("user", UserDTO.class.getName());
+        TYPE_ALIASES.put("article", ArticleDetailVO.class.getName());
+        TYPE_ALIASES.put("article-author", ArticleDetailVO.AuthorVO.class.getName());
+        TYPE_ALIASES.put("article-category", ArticleDetailVO.CategoryVO.class.getName());
+        TYPE_ALIASES.put("article-tag", ArticleDetailVO.TagVO.class.getName());
+        TYPE_ALIASES.put("article-stats", ArticleDetailVO.ArticleStatsVO.class.getName());
+        TYPE_ALIASES.put("comment-tree", CommentTreeVO.class.getName());
+        TYPE_ALIASES.put("list", ArrayList.class.getName());
+        TYPE_ALIASES.put("map", LinkedHashMap.class.getName());
+        TYPE_ALIASES.put("set", HashSet.class.getName());
+    }
+
+    @Param({"JSON", "SMILE", "SMILE_LZ4"})
+    private String serializer;
+
+    @Param({"user", "article", "commentTree"})
+    private String payload;
+
+    private CompactRedisSerializer redisSerializer;
+
+    private Object value;
+
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        redisSerializer = createSerializer(serializer);
+        value = createPayload(payload);
+        encoded = redisSerializer.serialize(value);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return redisSerializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return redisSerializer.deserialize(encoded);
+    }
+
+    private static CompactRedisSerializer createSerializer(String name) {
+        return switch (name) {
+            case "JSON" -> new CompactRedisSerializer(RedisValueFormat.JSON, TYPE_ALIASES, 0);
+            case "SMILE" -> new CompactRedisSerializer(RedisValueFormat.SMILE, TYPE_ALIASES, 0);
+            case "SMILE_LZ4" -> new CompactRedisSerializer(RedisValueFormat.SMILE, TYPE_ALIASES, 1024);
+            default -> throw new IllegalArgumentException("未知序列化器: " + name);
+        };
+    }
+
+    private static Object createPayload(String name) {
+        return switch (name) {
+            case "user" -> createUser();
+            case "article" -> createArticle();
+            case "commentTree" -> createCommentTree();
+            default -> throw new IllegalArgumentException("未知样本: " + name);
+        };
+    }
+
+    private static UserDTO createUser() {
+        UserDTO user = new UserDTO();
+        user.setId(1_871_234_567_890_123_456L);
+        user.setUsername("zhangsan");
+        user.setNickname("张三");
+        user.setEmail("zhangsan@example.com");
+        user.setAvatar("https://cdn.example.com/avatar/zhangsan.jpg");
+        user.setStatus(1);
+        user.setRoles(new ArrayList<>(List.of("ROLE_USER", "ROLE_AUTHOR")));
+        user.setCreateTime(LocalDateTime.of(2025, 12, 7, 23, 0));
+        user.setRemark("普通用户");
+        return user;
+    }
+
+    private static ArticleDetailVO createArticle() {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 60; i++) {
+            content.append("## 第").append(i + 1).append("节 缓存一致性\n\n")
+                    .append("先更新数据库再删除缓存，删除失败时通过消息重试；读路径回源后以 SET NX 写入，")
+                    .append("避免覆盖并发写入的新值。`redisTemplate.opsForValue().set(key, value)`\n\n");
+        }
+
+        ArticleDetailVO.AuthorVO author = new ArticleDetailVO.AuthorVO();
+        author.setId("1871234567890123456");
+        author.setUsername("zhangsan");
+        author.setNickname("张三");
+        author.setAvatar("https://cdn.example.com/avatar/zhangsan.jpg");
+
+        ArticleDetailVO.CategoryVO category = new ArticleDetailVO.CategoryVO();
+        category.setId("1871234567890120001");
+        category.setName("后端");
+        category.setSlug("backend");
+
+        List<ArticleDetailVO.TagVO> tags = new ArrayList<>();
+        for (String name : List.of("Redis", "Spring", "缓存", "性能")) {
+            ArticleDetailVO.TagVO tag = new ArticleDetailVO.TagVO();
+            tag.setId(String.valueOf(1_871_234_567_890_130_000L + tags.size()));
+            tag.setName(name);
+            tag.setSlug(name.toLowerCase());
+            tag.setColor("#409EFF");
+            tags.add(tag);
+        }
+
+        ArticleDetailVO.ArticleStatsVO stats = new ArticleDetailVO.ArticleStatsVO();
+        stats.setViewCount(12_345L);
+        stats.setLikeCount(321);
+        stats.setCommentCount(45);
+        stats.setCollectCount(67);
+        stats.setShareCount(8);
+
+        ArticleDetailVO article = new ArticleDetailVO();
+        article.setId("1871234567890140001");
+        article.setTitle("Redis 缓存一致性实践");
+        article.setSummary("总结缓存更新策略、删除重试和回源写入的常见做法。");
+        article.setContent(content.toString());
+        article.setCoverImage("https://cdn.example.com/cover/redis.png");
+        article.setAuthor(author);
+        article.setCategory(category);
+        article.setTags(tags);
+        article.setStatus(2);
+        article.setType(1);
+        article.setIsTop(false);
+        article.setIsFeatured(true);
+        article.setIsCommentDisabled(false);
+        article.setPublishTime(LocalDateTime.of(2025, 12, 1, 10, 0));
+        article.setStats(stats);
+        article.setCreateTime(LocalDateTime.of(2025, 11, 30, 21, 15));
+        article.setUpdateTime(LocalDateTime.of(2025, 12, 1, 9, 58));
+        return article;
+    }
+
+    private static ArrayList<CommentTreeVO> createCommentTree() {
+        ArrayList<CommentTreeVO> roots = new ArrayList<>();
+        long id = 1_871_234_567_890_150_000L;
+        for (int i = 0; i < 20; i++) {
+            CommentTreeVO root = createComment(id++, null, 0, "写得很清楚，第" + i + "节的例子很实用。");
+            for (int j = 0; j < 3; j++) {
+                root.addChild(createComment(id++, root.getId(), 1, "@zhangsan 同意，补充一点：删除缓存要考虑重试。"));
+            }
+            roots.add(root);
+        }
+        return roots;
+    }
+
+    private static CommentTreeVO createComment(long id, String parentId, int depth, String content) {
+        CommentTreeVO comment = new CommentTreeVO();
+        comment.setId(String.valueOf(id));
+        comment.setTargetType(CommentTargetType.ARTICLE);
+        comment.setTargetId("1871234567890140001");
+        comment.setParentId(parentId);
+        comment.setContent(content);
+        comment.setStatus(CommentStatus.APPROVED);
+        comment.setLikeCount(3);
+        comment.setReplyCount(depth == 0 ? 3 : 0);
+        comment.setCreateBy("1871234567890123456");
+        comment.setAuthorNickname("张三");
+        comment.setAuthorAvatar("https://cdn.example.com/avatar/zhangsan.jpg");
+        comment.setCreateTime(LocalDateTime.of(2025, 12, 15, 12, 0));
+        comment.setPath(parentId == null ? "/" + id + "/" : "/" + parentId + "/" + id + "/");
+        comment.setDepth(depth);
+        comment.setRootId(parentId == null ? String.valueOf(id) : parentId);
+        return comment;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (String name : List.of("user", "article", "commentTree")) {
+            Object sample = createPayload(name);
+            StringBuilder sizes = new StringBuilder(name).append(':');
+            for (String format : List.of("JSON", "SMILE", "SMILE_LZ4")) {
+                sizes.append(' ').append(format).append('=')
+                        .append(createSerializer(format).serialize(sample).length).append('B');
+            }
+            System.out.println(sizes);
+        }
+
+        Options options = new OptionsBuilder()
+                .include(RedisSerializerBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,146 @@
+package com.blog.cache;
+
+import com.blog.common.cache.CacheInvalidationMessage;
+import com.blog.common.cache.CacheInvalidationPublisher;
+import com.blog.common.cache.HotKeyCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * CacheInvalidationSubscriber 功能测试
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationSubscriberTest {
+
+    private static final List<String> KEYS = List.of("1");
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private CacheInvalidationPublisher publisher;
+
+    @Mock
+    private TwoLevelCacheManager cacheManager;
+
+    @Mock
+    private HotKeyCache hotKeyCache;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CacheInvalidationSubscriber subscriber;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(publisher.getNodeId()).thenReturn("self");
+        subscriber = new CacheInvalidationSubscriber(listenerContainer, redisTemplate, publisher,
+                cacheManager, hotKeyCache, meterRegistry);
+        subscriber.start();
+    }
+
+    @Test
+    @DisplayName("首条消息与连续序号只清除对应条目")
+    void should_evictKeys_when_sequenceIsContiguous() {
+        // When
+        subscriber.handle(message("a", 5));
+        subscriber.handle(message("a", 6));
+
+        // Then
+        verify(cacheManager, times(2)).evictLocal("user:roles", KEYS);
+        verify(hotKeyCache, times(2)).evictLocal("user:roles", KEYS);
+        verify(cacheManager, never()).clearLocal();
+        assertThat(gaps()).isZero();
+        assertThat(meterRegistry.counter("cache.invalidation.received").count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("序号跳跃视为丢失消息，清空全部本地缓存")
+    void should_clearLocal_when_sequenceSkips() {
+        // Given
+        subscriber.handle(message("a", 1));
+
+        // When
+        subscriber.handle(message("a", 3));
+
+        // Then
+        verify(cacheManager).clearLocal();
+        verify(hotKeyCache).clearLocal();
+        verify(cacheManager, times(1)).evictLocal(anyString(), any());
+        assertThat(gaps()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("乱序到达的旧消息按空洞处理，且不回退已记录的最大序号")
+    void should_keepMaxSequence_when_messageArrivesOutOfOrder() {
+        // Given
+        subscriber.handle(message("a", 1));
+        subscriber.handle(message("a", 3));
+
+        // When
+        subscriber.handle(message("a", 2));
+        subscriber.handle(message("a", 4));
+
+        // Then
+        assertThat(gaps()).isEqualTo(2);
+        verify(cacheManager, times(2)).clearLocal();
+        verify(cacheManager, times(2)).evictLocal(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("不同发布节点的序号分别跟踪")
+    void should_trackSequencePerNode_when_multipleNodesPublish() {
+        // When
+        subscriber.handle(message("a", 1));
+        subscriber.handle(message("b", 7));
+        subscriber.handle(message("a", 2));
+        subscriber.handle(message("b", 8));
+
+        // Then
+        assertThat(gaps()).isZero();
+        verify(cacheManager, never()).clearLocal();
+    }
+
+    @Test
+    @DisplayName("忽略本节点发布的消息")
+    void should_ignoreMessage_when_publishedBySelf() {
+        // When
+        subscriber.handle(message("self", 1));
+        subscriber.handle(message("self", 9));
+
+        // Then
+        verifyNoInteractions(cacheManager, hotKeyCache);
+        assertThat(meterRegistry.counter("cache.invalidation.received").count()).isZero();
+    }
+
+    private double gaps() {
+        return meterRegistry.counter("cache.invalidation.gaps").count();
+    }
+
+    private static CacheInvalidationMessage message(String node, long seq) {
+        return new CacheInvalidationMessage(node, seq, "user:roles", KEYS, System.currentTimeMillis());
+    }
+}
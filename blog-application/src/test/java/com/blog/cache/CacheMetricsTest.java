@@ -0,0 +1,160 @@
+package com.blog.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.when;
+
+/**
+ * CacheMetrics 功能测试
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@ExtendWith(MockitoExtension.class)
+class CacheMetricsTest {
+
+    private static final String NAME = "article:detail";
+
+    @Mock
+    private RedisCache remote;
+
+    @Mock
+    private CacheStatistics remoteStatistics;
+
+    private SimpleMeterRegistry registry;
+    private CacheMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new CacheMetrics(registry);
+    }
+
+    @Test
+    @DisplayName("回源成功与失败分别计数，失败时原样抛出异常")
+    void should_countLoadsByOutcome_when_loading() throws Exception {
+        // When
+        String value = metrics.recordLoad(NAME, () -> "v");
+        assertThatThrownBy(() -> metrics.recordLoad(NAME, () -> {
+            throw new IllegalStateException("db down");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("db down");
+        metrics.recordLoad(NAME, () -> null);
+
+        // Then
+        assertThat(value).isEqualTo("v");
+        CacheStatsReport.Load load = metrics.snapshot(NAME, null, null).load();
+        assertThat(load.success()).isEqualTo(2);
+        assertThat(load.failure()).isEqualTo(1);
+        assertThat(registry.get("cache.load.latency").tags("cache", NAME, "result", "failure").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("包装后的序列化器记录每次写入的字节数，null 不计入，反序列化直接委托")
+    void should_recordPayloadSize_when_serializing() {
+        // Given
+        RedisSerializer<Object> serializer = metrics.recordingPayloadSize(NAME, stringSerializer());
+
+        // When
+        byte[] small = serializer.serialize("ab");
+        serializer.serialize("abcdef");
+        serializer.serialize(null);
+
+        // Then
+        assertThat(serializer.deserialize(small)).isEqualTo("ab");
+        CacheStatsReport.Payload payload = metrics.snapshot(NAME, null, null).payload();
+        assertThat(payload.count()).isEqualTo(2);
+        assertThat(payload.meanBytes()).isEqualTo(4.0);
+        assertThat(payload.maxBytes()).isEqualTo(6.0);
+    }
+
+    @Test
+    @DisplayName("快照汇总本地与 Redis 两级的命中、未命中和命中率")
+    void should_reportHitRatesOfBothLevels_when_snapshotting() {
+        // Given
+        Cache<String, org.springframework.cache.Cache.ValueWrapper> local = Caffeine.newBuilder()
+                .recordStats()
+                .build();
+        local.put("1", new SimpleValueWrapper("v"));
+        local.getIfPresent("1");
+        local.getIfPresent("2");
+        local.getIfPresent("3");
+        local.getIfPresent("4");
+        when(remote.getStatistics()).thenReturn(remoteStatistics);
+        when(remoteStatistics.getHits()).thenReturn(3L);
+        when(remoteStatistics.getMisses()).thenReturn(1L);
+        when(remoteStatistics.getPuts()).thenReturn(2L);
+        when(remoteStatistics.getDeletes()).thenReturn(5L);
+
+        // When
+        CacheStatsReport report = metrics.snapshot(NAME, remote, local);
+
+        // Then
+        assertThat(report.name()).isEqualTo(NAME);
+        assertThat(report.local().hits()).isEqualTo(1);
+        assertThat(report.local().misses()).isEqualTo(3);
+        assertThat(report.local().hitRate()).isCloseTo(0.25, within(1e-9));
+        assertThat(report.local().size()).isEqualTo(1);
+        assertThat(report.remote()).isEqualTo(new CacheStatsReport.Remote(3, 1, 0.75, 2, 5));
+    }
+
+    @Test
+    @DisplayName("没有读取时命中率为 0，未启用的缓存级别不出现在快照中")
+    void should_reportZeroHitRate_when_noReads() {
+        // Given
+        Cache<String, org.springframework.cache.Cache.ValueWrapper> local = Caffeine.newBuilder()
+                .recordStats()
+                .build();
+
+        // When
+        CacheStatsReport report = metrics.snapshot(NAME, null, local);
+
+        // Then
+        assertThat(report.local().hitRate()).isZero();
+        assertThat(report.remote()).isNull();
+        assertThat(report.load().success()).isZero();
+        assertThat(report.payload().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("本地缓存的命中统计以 level=local 标签注册到 Micrometer")
+    void should_exposeLocalHitsWithLevelTag_when_bound() {
+        // Given
+        Cache<String, org.springframework.cache.Cache.ValueWrapper> local = Caffeine.newBuilder()
+                .recordStats()
+                .build();
+        metrics.bindLocal(NAME, local);
+        local.put("1", new SimpleValueWrapper("v"));
+
+        // When
+        local.getIfPresent("1");
+        local.getIfPresent("2");
+        local.getIfPresent("3");
+
+        // Then
+        assertThat(registry.get("cache.gets").tags("cache", NAME, "level", "local", "result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.gets").tags("cache", NAME, "level", "local", "result", "miss")
+                .functionCounter().count()).isEqualTo(2);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static RedisSerializer<Object> stringSerializer() {
+        return (RedisSerializer) RedisSerializer.string();
+    }
+}
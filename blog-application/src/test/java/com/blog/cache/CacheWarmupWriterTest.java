@@ -0,0 +1,185 @@
+package com.blog.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * CacheWarmupWriter 功能测试
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@ExtendWith(MockitoExtension.class)
+class CacheWarmupWriterTest {
+
+    private static final long ONE_MINUTE = Duration.ofMinutes(1).toNanos();
+
+    @Mock
+    private TwoLevelCacheManager cacheManager;
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private RedisCache articleCache;
+
+    @Mock
+    private RedisCache tagCache;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisStringCommands stringCommands;
+
+    @Test
+    @DisplayName("按目标缓存的前缀、序列化器和 TTL 生成条目，flush 时一次 Pipeline 写出")
+    void should_pipelineSerializedEntries_when_flushing() {
+        // Given
+        register("article", articleCache, Duration.ofMinutes(5));
+        register("tag", tagCache, Duration.ZERO);
+        runPipelines();
+        CacheWarmupWriter writer = new CacheWarmupWriter(cacheManager, redisTemplate, System.nanoTime() + ONE_MINUTE);
+
+        // When
+        writer.put("article", 1L, "a1");
+        writer.put("article", 2L, null);
+        writer.put("tag", "cloud", "t");
+        verifyNoInteractions(redisTemplate);
+        writer.flush();
+
+        // Then
+        ArgumentCaptor<Expiration> expirations = ArgumentCaptor.forClass(Expiration.class);
+        verify(stringCommands).set(eq(utf8("article::1")), eq(utf8("a1")), expirations.capture(),
+                eq(RedisStringCommands.SetOption.upsert()));
+        verify(stringCommands).set(eq(utf8("tag::cloud")), eq(utf8("t")), expirations.capture(),
+                eq(RedisStringCommands.SetOption.upsert()));
+        assertThat(expirations.getAllValues().get(0).getExpirationTimeInMilliseconds())
+                .isEqualTo(Duration.ofMinutes(5).toMillis());
+        assertThat(expirations.getAllValues().get(1).isPersistent()).isTrue();
+        verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+        assertThat(writer.getWritten()).isEqualTo(2);
+        assertThat(writer.getDropped()).isZero();
+    }
+
+    @Test
+    @DisplayName("缓冲达到批大小时自动写出，未满的部分等待 flush")
+    void should_flushAutomatically_when_bufferReachesBatchSize() {
+        // Given
+        register("article", articleCache, Duration.ofMinutes(5));
+        runPipelines();
+        CacheWarmupWriter writer = new CacheWarmupWriter(cacheManager, redisTemplate, System.nanoTime() + ONE_MINUTE);
+
+        // When
+        for (long id = 1; id <= 501; id++) {
+            writer.put("article", id, "a" + id);
+        }
+
+        // Then
+        verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+        assertThat(writer.getWritten()).isEqualTo(500);
+        writer.flush();
+        assertThat(writer.getWritten()).isEqualTo(501);
+    }
+
+    @Test
+    @DisplayName("超出时间预算后写入与未写出的缓冲全部丢弃并计数，不访问 Redis")
+    void should_dropWrites_when_budgetExceeded() throws InterruptedException {
+        // Given
+        register("article", articleCache, Duration.ofMinutes(5));
+        CacheWarmupWriter writer = new CacheWarmupWriter(cacheManager, redisTemplate,
+                System.nanoTime() + Duration.ofMillis(50).toNanos());
+        writer.put("article", 1L, "a1");
+        writer.put("article", 2L, "a2");
+
+        // When
+        Thread.sleep(100);
+        writer.put("article", 3L, "a3");
+        writer.flush();
+
+        // Then
+        assertThat(writer.isExpired()).isTrue();
+        assertThat(writer.remaining()).isZero();
+        assertThat(writer.getWritten()).isZero();
+        assertThat(writer.getDropped()).isEqualTo(3);
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("未知缓存的条目忽略，不计入丢弃")
+    void should_ignoreEntry_when_cacheUnknown() {
+        // Given
+        CacheWarmupWriter writer = new CacheWarmupWriter(cacheManager, redisTemplate, System.nanoTime() + ONE_MINUTE);
+
+        // When
+        writer.put("unknown", 1L, "v");
+        writer.flush();
+
+        // Then
+        assertThat(writer.getWritten()).isZero();
+        assertThat(writer.getDropped()).isZero();
+        verify(redisTemplate, never()).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    @DisplayName("bind 后当前线程可取到写入批次，unbind 后清除")
+    void should_exposeCurrentWriter_when_bound() {
+        // Given
+        CacheWarmupWriter writer = new CacheWarmupWriter(cacheManager, redisTemplate, System.nanoTime() + ONE_MINUTE);
+
+        // When
+        writer.bind();
+        CacheWarmupWriter bound = CacheWarmupWriter.current();
+        writer.unbind();
+
+        // Then
+        assertThat(bound).isSameAs(writer);
+        assertThat(CacheWarmupWriter.current()).isNull();
+    }
+
+    private void register(String cacheName, RedisCache cache, Duration ttl) {
+        when(cacheManager.getRedisCache(cacheName)).thenReturn(cache);
+        when(cache.getCacheConfiguration()).thenReturn(RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(ttl)
+                .serializeValuesWith(SerializationPair.fromSerializer(RedisSerializer.string())));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runPipelines() {
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            invocation.<RedisCallback<Object>>getArgument(0).doInRedis(connection);
+            return List.of();
+        });
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,242 @@
+package com.blog.cache;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * CompactRedisSerializer 功能测试
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+class CompactRedisSerializerTest {
+
+    private static final Map<String, String> ALIASES = Map.of("sample", Sample.class.getName());
+    private static final int THRESHOLD = 1024;
+
+    @Test
+    @DisplayName("JSON 格式输出与 GenericJackson2JsonRedisSerializer 字节完全一致")
+    void should_matchGenericJacksonBytes_when_formatIsJson() {
+        // Given
+        CompactRedisSerializer serializer = new CompactRedisSerializer(RedisValueFormat.JSON, Map.of(), THRESHOLD);
+        GenericJackson2JsonRedisSerializer baseline = new GenericJackson2JsonRedisSerializer(baselineMapper());
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("id", 42L);
+        map.put("createdAt", LocalDateTime.of(2025, 12, 7, 23, 0));
+        map.put("sample", sample("a"));
+
+        // When & Then
+        assertThat(serializer.serialize(sample("a"))).isEqualTo(baseline.serialize(sample("a")));
+        assertThat(serializer.serialize(map)).isEqualTo(baseline.serialize(map));
+        assertThat(serializer.serialize(List.of(1L, 2L))).isEqualTo(baseline.serialize(List.of(1L, 2L)));
+        assertThat(serializer.deserialize(baseline.serialize(sample("a")))).isEqualTo(sample("a"));
+    }
+
+    @Test
+    @DisplayName("Smile 格式用别名代替完整类名，往返后对象不变")
+    void should_writeAlias_when_classIsRegistered() {
+        // Given
+        CompactRedisSerializer serializer = new CompactRedisSerializer(RedisValueFormat.SMILE, ALIASES, THRESHOLD);
+
+        // When
+        byte[] bytes = serializer.serialize(sample("a"));
+
+        // Then
+        assertThat(isSmile(bytes)).isTrue();
+        assertThat(latin1(bytes)).contains("~sample").doesNotContain(Sample.class.getName());
+        assertThat(serializer.deserialize(bytes)).isEqualTo(sample("a"));
+    }
+
+    @Test
+    @DisplayName("Smile 数据达到阈值且可压缩时以 0xFE 标记写入 LZ4 块，往返后对象不变")
+    void should_compressWithLz4_when_aboveThresholdAndCompressible() {
+        // Given
+        CompactRedisSerializer serializer = new CompactRedisSerializer(RedisValueFormat.SMILE, ALIASES, THRESHOLD);
+        Sample value = sample("x".repeat(4 * THRESHOLD));
+
+        // When
+        byte[] bytes = serializer.serialize(value);
+
+        // Then
+        assertThat(bytes[0]).isEqualTo((byte) 0xFE);
+        assertThat(bytes.length).isLessThan(THRESHOLD);
+        assertThat(serializer.deserialize(bytes)).isEqualTo(value);
+    }
+
+    @Test
+    @DisplayName("压缩后没有变小时保留 Smile 原文")
+    void should_keepRawSmile_when_compressionDoesNotShrink() {
+        // Given
+        CompactRedisSerializer serializer = new CompactRedisSerializer(RedisValueFormat.SMILE, ALIASES, THRESHOLD);
+        Sample value = sample(randomLetters(2 * THRESHOLD));
+
+        // When
+        byte[] bytes = serializer.serialize(value);
+
+        // Then
+        assertThat(bytes.length).isGreaterThanOrEqualTo(THRESHOLD);
+        assertThat(isSmile(bytes)).isTrue();
+        assertThat(serializer.deserialize(bytes)).isEqualTo(value);
+    }
+
+    @Test
+    @DisplayName("切换为 Smile 后仍能读取旧的 JSON 数据，回退为 JSON 后仍能读取 Smile 数据")
+    void should_readEitherFormat_when_formatIsSwitched() {
+        // Given
+        CompactRedisSerializer json = new CompactRedisSerializer(RedisValueFormat.JSON, Map.of(), THRESHOLD);
+        CompactRedisSerializer smile = new CompactRedisSerializer(RedisValueFormat.SMILE, ALIASES, THRESHOLD);
+        Sample small = sample("a");
+        Sample large = sample("x".repeat(4 * THRESHOLD));
+
+        // When & Then
+        assertThat(smile.deserialize(json.serialize(small))).isEqualTo(small);
+        assertThat(smile.deserialize(json.serialize(large))).isEqualTo(large);
+        assertThat(new CompactRedisSerializer(RedisValueFormat.JSON, ALIASES, THRESHOLD)
+                .deserialize(smile.serialize(large))).isEqualTo(large);
+    }
+
+    @Test
+    @DisplayName("待启用别名只用于读取：写入完整类名，未登记别名的节点也能读取")
+    void should_writeFullClassName_when_aliasIsPending() {
+        // Given
+        CompactRedisSerializer pending = new CompactRedisSerializer(RedisValueFormat.SMILE, Map.of(), ALIASES,
+                THRESHOLD);
+        CompactRedisSerializer withoutAlias = new CompactRedisSerializer(RedisValueFormat.SMILE, Map.of(),
+                THRESHOLD);
+        CompactRedisSerializer enabled = new CompactRedisSerializer(RedisValueFormat.SMILE, ALIASES, THRESHOLD);
+
+        // When
+        byte[] bytes = pending.serialize(sample("a"));
+
+        // Then
+        assertThat(latin1(bytes)).contains(Sample.class.getName()).doesNotContain("~sample");
+        assertThat(withoutAlias.deserialize(bytes)).isEqualTo(sample("a"));
+        assertThat(pending.deserialize(enabled.serialize(sample("a")))).isEqualTo(sample("a"));
+    }
+
+    @Test
+    @DisplayName("读取未登记的别名时抛出 SerializationException")
+    void should_throwSerializationException_when_aliasIsUnknown() {
+        // Given
+        CompactRedisSerializer enabled = new CompactRedisSerializer(RedisValueFormat.SMILE, ALIASES, THRESHOLD);
+        CompactRedisSerializer withoutAlias = new CompactRedisSerializer(RedisValueFormat.SMILE, Map.of(),
+                THRESHOLD);
+        byte[] bytes = enabled.serialize(sample("a"));
+
+        // When & Then
+        assertThatThrownBy(() -> withoutAlias.deserialize(bytes))
+                .isInstanceOf(SerializationException.class)
+                .hasMessageContaining("~sample");
+    }
+
+    @Test
+    @DisplayName("别名对应的类不存在时构造失败")
+    void should_failFast_when_aliasClassIsMissing() {
+        // When & Then
+        assertThatThrownBy(() -> new CompactRedisSerializer(RedisValueFormat.SMILE,
+                Map.of("missing", "com.blog.NoSuchClass"), THRESHOLD))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("missing");
+    }
+
+    @Test
+    @DisplayName("Smile 格式 null 写为空字节数组，空字节数组读为 null")
+    void should_mapNullToEmptyBytes_when_formatIsSmile() {
+        // Given
+        CompactRedisSerializer serializer = new CompactRedisSerializer(RedisValueFormat.SMILE, ALIASES, THRESHOLD);
+
+        // When & Then
+        assertThat(serializer.serialize(null)).isEmpty();
+        assertThat(serializer.deserialize(new byte[0])).isNull();
+        assertThat(serializer.deserialize(null)).isNull();
+    }
+
+    /**
+     * 引入 Smile 之前 RedisConfig 使用的 JSON 配置
+     */
+    private static ObjectMapper baselineMapper() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+        objectMapper.activateDefaultTyping(
+                LaissezFaireSubTypeValidator.instance,
+                ObjectMapper.DefaultTyping.NON_FINAL,
+                JsonTypeInfo.As.PROPERTY);
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return objectMapper;
+    }
+
+    private static Sample sample(String name) {
+        Sample sample = new Sample();
+        sample.name = name;
+        sample.createdAt = LocalDateTime.of(2025, 12, 7, 23, 0);
+        sample.tags = new ArrayList<>(List.of("java", "redis"));
+        return sample;
+    }
+
+    private static String randomLetters(int length) {
+        Random random = new Random(42);
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('a' + random.nextInt(26)));
+        }
+        return builder.toString();
+    }
+
+    private static boolean isSmile(byte[] bytes) {
+        return bytes.length >= 3 && bytes[0] == ':' && bytes[1] == ')' && bytes[2] == '\n';
+    }
+
+    private static String latin1(byte[] bytes) {
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * 非 final：NON_FINAL 默认类型只给非 final 类写类型信息
+     */
+    static class Sample {
+
+        private String name;
+        private LocalDateTime createdAt;
+        private List<String> tags;
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Sample other)) {
+                return false;
+            }
+            return Objects.equals(name, other.name)
+                    && Objects.equals(createdAt, other.createdAt)
+                    && Objects.equals(tags, other.tags);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, createdAt, tags);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.blog.cache;
+
+import com.blog.common.cache.CacheInvalidationPublisher;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * TwoLevelCache 功能测试
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheTest {
+
+    private static final String NAME = "user:roles";
+
+    @Mock
+    private Cache remote;
+
+    @Mock
+    private CacheInvalidationPublisher invalidationPublisher;
+
+    private com.github.benmanes.caffeine.cache.Cache<String, Cache.ValueWrapper> local;
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        local = Caffeine.newBuilder().build();
+        cache = new TwoLevelCache(remote, local, invalidationPublisher);
+    }
+
+    @Test
+    @DisplayName("本地未命中时读取 Redis 并回填本地，之后直接命中本地")
+    void should_backfillLocal_when_remoteHits() {
+        // Given
+        when(remote.get(1L)).thenReturn(new SimpleValueWrapper("v"));
+
+        // When
+        Cache.ValueWrapper first = cache.get(1L);
+        Cache.ValueWrapper second = cache.get(1L);
+
+        // Then
+        assertThat(first.get()).isEqualTo("v");
+        assertThat(second.get()).isEqualTo("v");
+        assertThat(local.getIfPresent("1")).isNotNull();
+        verify(remote, times(1)).get(1L);
+    }
+
+    @Test
+    @DisplayName("Redis 中缓存的 null 回填本地，再次读取不回源")
+    void should_cacheNullLocally_when_remoteHoldsNull() {
+        // Given
+        when(remote.get("k")).thenReturn(new SimpleValueWrapper(null));
+
+        // When
+        Cache.ValueWrapper first = cache.get("k");
+        String second = cache.get("k", String.class);
+
+        // Then
+        assertThat(first).isNotNull();
+        assertThat(first.get()).isNull();
+        assertThat(second).isNull();
+        assertThat(local.getIfPresent("k")).isNotNull();
+        verify(remote, times(1)).get("k");
+    }
+
+    @Test
+    @DisplayName("Redis 未命中时不回填本地，每次读取都查询 Redis")
+    void should_notBackfill_when_remoteMisses() {
+        // When
+        Cache.ValueWrapper first = cache.get("k");
+        Cache.ValueWrapper second = cache.get("k");
+
+        // Then
+        assertThat(first).isNull();
+        assertThat(second).isNull();
+        assertThat(local.getIfPresent("k")).isNull();
+        verify(remote, times(2)).get("k");
+    }
+
+    @Test
+    @DisplayName("带加载器读取时回源结果（包括 null）回填本地")
+    @SuppressWarnings("unchecked")
+    void should_backfillLoadedNull_when_loadingThroughRemote() throws Exception {
+        // Given
+        Callable<String> loader = () -> null;
+        when(remote.get(eq("k"), any(Callable.class))).thenAnswer(invocation ->
+                invocation.<Callable<String>>getArgument(1).call());
+
+        // When
+        String first = cache.get("k", loader);
+        String second = cache.get("k", loader);
+
+        // Then
+        assertThat(first).isNull();
+        assertThat(second).isNull();
+        assertThat(local.getIfPresent("k")).isNotNull();
+        verify(remote, times(1)).get(eq("k"), any(Callable.class));
+    }
+
+    @Test
+    @DisplayName("缓存值类型不匹配时抛出异常")
+    void should_throw_when_typeMismatches() {
+        // Given
+        local.put("k", new SimpleValueWrapper(1L));
+
+        // When & Then
+        assertThatThrownBy(() -> cache.get("k", String.class))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("java.lang.String");
+        verifyNoInteractions(remote);
+    }
+
+    @Test
+    @DisplayName("put 写入两级并广播失效，putLoaded 写入两级但不广播")
+    void should_broadcastOnlyOnPut_when_writing() {
+        // Given
+        when(remote.getName()).thenReturn(NAME);
+
+        // When
+        cache.putLoaded("a", "loaded");
+        cache.put("b", "changed");
+
+        // Then
+        verify(remote).put("a", "loaded");
+        verify(remote).put("b", "changed");
+        assertThat(local.getIfPresent("a").get()).isEqualTo("loaded");
+        assertThat(local.getIfPresent("b").get()).isEqualTo("changed");
+        verify(invalidationPublisher, never()).publish(NAME, "a");
+        verify(invalidationPublisher).publish(NAME, "b");
+    }
+
+    @Test
+    @DisplayName("evict 同时清除两级条目并广播失效")
+    void should_evictBothLevels_when_evicting() {
+        // Given
+        local.put("a", new SimpleValueWrapper("v"));
+        local.put("b", new SimpleValueWrapper("v"));
+        when(remote.getName()).thenReturn(NAME);
+
+        // When
+        cache.evict("a");
+
+        // Then
+        verify(remote).evict("a");
+        assertThat(local.getIfPresent("a")).isNull();
+        assertThat(local.getIfPresent("b")).isNotNull();
+        verify(invalidationPublisher).publish(NAME, "a");
+    }
+
+    @Test
+    @DisplayName("clear 同时清空两级并广播整个缓存失效")
+    void should_clearBothLevels_when_clearing() {
+        // Given
+        local.put("a", new SimpleValueWrapper("v"));
+        when(remote.getName()).thenReturn(NAME);
+
+        // When
+        cache.clear();
+
+        // Then
+        verify(remote).clear();
+        assertThat(local.asMap()).isEmpty();
+        verify(invalidationPublisher).publishAll(NAME);
+    }
+
+    @Test
+    @DisplayName("收到失效消息时只清除本地条目，不访问 Redis、不再广播")
+    void should_onlyTouchLocal_when_evictingLocally() {
+        // Given
+        local.put("a", new SimpleValueWrapper("v"));
+        local.put("b", new SimpleValueWrapper("v"));
+        local.put("c", new SimpleValueWrapper("v"));
+
+        // When
+        cache.evictLocal(List.of("a", "b"));
+
+        // Then
+        assertThat(local.asMap()).containsOnlyKeys("c");
+        cache.clearLocal();
+        assertThat(local.asMap()).isEmpty();
+        verifyNoInteractions(remote, invalidationPublisher);
+    }
+}
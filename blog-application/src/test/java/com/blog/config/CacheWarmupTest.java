@@ -0,0 +1,180 @@
+package com.blog.config;
+
+import com.blog.cache.BlogCacheProperties;
+import com.blog.cache.CacheWarmupReport;
+import com.blog.cache.CacheWarmupReport.Status;
+import com.blog.cache.CacheWarmupReport.WarmerResult;
+import com.blog.cache.TwoLevelCacheManager;
+import com.blog.common.cache.CacheWarmer;
+import com.blog.common.cache.CacheWarmupContext;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * CacheWarmup 功能测试
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@ExtendWith(MockitoExtension.class)
+class CacheWarmupTest {
+
+    private static final String TIMER_NAME = "cache.warmup.duration";
+
+    @Mock
+    private ObjectProvider<CacheWarmer> warmers;
+
+    @Mock
+    private TwoLevelCacheManager cacheManager;
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    private BlogCacheProperties cacheProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private CacheWarmup cacheWarmup;
+
+    @BeforeEach
+    void setUp() {
+        cacheProperties = new BlogCacheProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        cacheWarmup = new CacheWarmup(warmers, cacheManager, redisTemplate, cacheProperties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("超出时间预算的预热项被中断并记为超时，不影响其他预热项完成")
+    void should_interruptAndReportTimeout_when_budgetExceeded() throws InterruptedException {
+        // Given
+        cacheProperties.getWarmup().getBudgets().put("slow", Duration.ofMillis(100));
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(warmers.orderedStream()).thenReturn(Stream.of(
+                new StubWarmer("slow", context -> {
+                    try {
+                        Thread.sleep(Duration.ofSeconds(10));
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                    }
+                    return 0;
+                }),
+                new StubWarmer("fast", context -> 3)));
+
+        // When
+        CacheWarmupReport report = cacheWarmup.warmupCache();
+
+        // Then
+        assertThat(report.isSuccess()).isFalse();
+        assertThat(report.warmers()).extracting(WarmerResult::name, WarmerResult::status)
+                .containsExactly(tuple("slow", Status.TIMEOUT),
+                        tuple("fast", Status.COMPLETED));
+        WarmerResult slow = report.warmers().get(0);
+        assertThat(slow.durationMs()).isEqualTo(100);
+        assertThat(slow.budgetMs()).isEqualTo(100);
+        assertThat(report.warmers().get(1).entries()).isEqualTo(3);
+        assertThat(report.durationMs()).isLessThan(Duration.ofSeconds(5).toMillis());
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(cacheWarmup.getLastReport()).isSameAs(report);
+        assertThat(timerCount("slow", Status.TIMEOUT)).isEqualTo(1);
+        assertThat(timerCount("fast", Status.COMPLETED)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("每个预热项使用自己的时间预算，未配置时使用默认预算")
+    void should_resolveBudgetPerWarmer_when_running() {
+        // Given
+        cacheProperties.getWarmup().setDefaultBudget(Duration.ofSeconds(30));
+        cacheProperties.getWarmup().getBudgets().put("tags", Duration.ofSeconds(2));
+        AtomicReference<Duration> tagsRemaining = new AtomicReference<>();
+        AtomicReference<Duration> articlesRemaining = new AtomicReference<>();
+        when(warmers.orderedStream()).thenReturn(Stream.of(
+                new StubWarmer("tags", context -> {
+                    tagsRemaining.set(context.remaining());
+                    return 1;
+                }),
+                new StubWarmer("articles", context -> {
+                    articlesRemaining.set(context.remaining());
+                    return 1;
+                })));
+
+        // When
+        CacheWarmupReport report = cacheWarmup.warmupCache();
+
+        // Then
+        assertThat(report.isSuccess()).isTrue();
+        assertThat(report.warmers()).extracting(WarmerResult::budgetMs).containsExactly(2_000L, 30_000L);
+        assertThat(tagsRemaining.get()).isPositive().isLessThanOrEqualTo(Duration.ofSeconds(2));
+        assertThat(articlesRemaining.get()).isGreaterThan(Duration.ofSeconds(2))
+                .isLessThanOrEqualTo(Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("预热项抛出异常时记为失败并带上错误信息")
+    void should_reportFailure_when_warmerThrows() {
+        // Given
+        when(warmers.orderedStream()).thenReturn(Stream.of(new StubWarmer("broken", context -> {
+            throw new IllegalStateException("db down");
+        })));
+
+        // When
+        CacheWarmupReport report = cacheWarmup.warmupCache();
+
+        // Then
+        assertThat(report.warmers()).singleElement().satisfies(result -> {
+            assertThat(result.status()).isEqualTo(Status.FAILED);
+            assertThat(result.error()).isEqualTo("db down");
+            assertThat(result.entries()).isZero();
+        });
+        assertThat(timerCount("broken", Status.FAILED)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("关闭启动预热时应用就绪后不执行预热")
+    void should_skipWarmup_when_disabledOnStartup() {
+        // Given
+        cacheProperties.getWarmup().setEnabled(false);
+
+        // When
+        cacheWarmup.onApplicationReady();
+
+        // Then
+        verifyNoInteractions(warmers);
+        assertThat(cacheWarmup.getLastReport()).isNull();
+    }
+
+    private long timerCount(String warmer, Status status) {
+        Timer timer = meterRegistry.find(TIMER_NAME).tags("warmer", warmer, "status", status.name()).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private record StubWarmer(String name, ToIntFunction<CacheWarmupContext> body) implements CacheWarmer {
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public int warm(CacheWarmupContext context) {
+            return body.applyAsInt(context);
+        }
+    }
+}
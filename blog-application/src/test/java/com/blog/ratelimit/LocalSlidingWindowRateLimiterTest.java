@@ -0,0 +1,101 @@
+package com.blog.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * LocalSlidingWindowRateLimiter 功能测试
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+class LocalSlidingWindowRateLimiterTest {
+
+    private static final String KEY = "comment:create:1";
+    private static final int LIMIT = 3;
+
+    /**
+     * 窗口 1000ms，10_000 为第 10 个窗口的起点
+     */
+    private static final long WINDOW_START = 10_000L;
+
+    private LocalSlidingWindowRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setLocalWindowMs(1_000L);
+        limiter = new LocalSlidingWindowRateLimiter(properties);
+    }
+
+    @Test
+    @DisplayName("窗口内放行至上限，第 limit+1 个请求被拒绝")
+    void should_denyRequest_when_limitReachedWithinWindow() {
+        // When & Then
+        assertThat(limiter.tryAcquire(KEY, LIMIT, WINDOW_START)).isTrue();
+        assertThat(limiter.tryAcquire(KEY, LIMIT, WINDOW_START + 100)).isTrue();
+        assertThat(limiter.tryAcquire(KEY, LIMIT, WINDOW_START + 999)).isTrue();
+        assertThat(limiter.tryAcquire(KEY, LIMIT, WINDOW_START + 999)).isFalse();
+    }
+
+    @Test
+    @DisplayName("被拒绝的请求不计数")
+    void should_notCountDeniedRequests_when_overLimit() {
+        // Given
+        fill(WINDOW_START);
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire(KEY, LIMIT, WINDOW_START + 500);
+        }
+
+        // When & Then：下一窗口过半时上一窗口按 3 × 0.5 计入，而不是 13 × 0.5
+        assertThat(limiter.tryAcquire(KEY, LIMIT, WINDOW_START + 1_500)).isTrue();
+    }
+
+    @Test
+    @DisplayName("新窗口起点上一窗口按满权重计入，随时间推移按比例释放额度")
+    void should_weightPreviousWindow_when_windowSlides() {
+        // Given
+        fill(WINDOW_START);
+
+        // When & Then：新窗口起点 3 × 1.0 ≥ 3，拒绝
+        assertThat(limiter.tryAcquire(KEY, LIMIT, WINDOW_START + 1_000)).isFalse();
+
+        // 新窗口过半：3 × 0.5 + 0 < 3 放行，3 × 0.5 + 1 < 3 放行，3 × 0.5 + 2 ≥ 3 拒绝
+        assertThat(limiter.tryAcquire(KEY, LIMIT, WINDOW_START + 1_500)).isTrue();
+        assertThat(limiter.tryAcquire(KEY, LIMIT, WINDOW_START + 1_500)).isTrue();
+        assertThat(limiter.tryAcquire(KEY, LIMIT, WINDOW_START + 1_500)).isFalse();
+    }
+
+    @Test
+    @DisplayName("跳过一个完整窗口后计数全部过期")
+    void should_resetCounts_when_windowExpires() {
+        // Given
+        fill(WINDOW_START);
+
+        // When & Then
+        assertThat(limiter.tryAcquire(KEY, LIMIT, WINDOW_START + 2_000)).isTrue();
+        assertThat(limiter.tryAcquire(KEY, LIMIT, WINDOW_START + 2_000)).isTrue();
+        assertThat(limiter.tryAcquire(KEY, LIMIT, WINDOW_START + 2_000)).isTrue();
+        assertThat(limiter.tryAcquire(KEY, LIMIT, WINDOW_START + 2_000)).isFalse();
+    }
+
+    @Test
+    @DisplayName("不同限流键分别计数")
+    void should_countSeparately_when_keysDiffer() {
+        // Given
+        fill(WINDOW_START);
+
+        // When & Then
+        assertThat(limiter.tryAcquire("comment:create:2", LIMIT, WINDOW_START)).isTrue();
+        assertThat(limiter.tryAcquire(KEY, LIMIT, WINDOW_START)).isFalse();
+    }
+
+    private void fill(long now) {
+        for (int i = 0; i < LIMIT; i++) {
+            assertThat(limiter.tryAcquire(KEY, LIMIT, now)).isTrue();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.blog.ratelimit;
+
+import com.blog.BlogApplication;
+import jakarta.annotation.Resource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * RedisTokenBucketRateLimiter 集成测试（需要 test 环境的 Redis）
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@SpringBootTest(classes = BlogApplication.class)
+@ActiveProfiles("test")
+@DisplayName("Redis 令牌桶限流集成测试")
+class RedisTokenBucketRateLimiterTest {
+
+    private final String key = "rate:limit:test:" + UUID.randomUUID();
+
+    @Resource
+    private RedisTokenBucketRateLimiter limiter;
+
+    @Resource
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @AfterEach
+    void tearDown() {
+        redisTemplate.delete(key);
+    }
+
+    @Test
+    @DisplayName("满桶放行 capacity 个请求，之后拒绝并返回补足一个令牌所需的等待时间")
+    void should_denyWithWaitTime_when_bucketIsEmpty() {
+        // When & Then
+        assertThat(limiter.tryAcquire(key, 2, 10)).isZero();
+        assertThat(limiter.tryAcquire(key, 2, 10)).isZero();
+        assertThat(limiter.tryAcquire(key, 2, 10)).isBetween(1L, 100L);
+    }
+
+    @Test
+    @DisplayName("等待补充后再次放行")
+    void should_allowAgain_when_tokensRefilled() throws InterruptedException {
+        // Given
+        limiter.tryAcquire(key, 2, 10);
+        limiter.tryAcquire(key, 2, 10);
+        long waitMs = limiter.tryAcquire(key, 2, 10);
+
+        // When
+        Thread.sleep(waitMs + 50);
+
+        // Then
+        assertThat(limiter.tryAcquire(key, 2, 10)).isZero();
+    }
+
+    @Test
+    @DisplayName("长时间空闲后令牌数不超过容量")
+    void should_capTokensAtCapacity_when_idleForLong() throws InterruptedException {
+        // Given
+        limiter.tryAcquire(key, 2, 10);
+
+        // When：空闲 500ms 可补充 5 个令牌，但桶容量为 2
+        Thread.sleep(500);
+
+        // Then
+        assertThat(limiter.tryAcquire(key, 2, 10)).isZero();
+        assertThat(limiter.tryAcquire(key, 2, 10)).isZero();
+        assertThat(limiter.tryAcquire(key, 2, 10)).isPositive();
+    }
+
+    @Test
+    @DisplayName("桶在补满所需时间之后自动过期")
+    void should_setExpiry_when_bucketUsed() {
+        // When
+        limiter.tryAcquire(key, 2, 10);
+
+        // Then：补满 200ms + 1000ms
+        assertThat(redisTemplate.getExpire(key, TimeUnit.MILLISECONDS)).isBetween(1L, 1_200L);
+    }
+}
@@ -0,0 +1,123 @@
+package com.blog.realtime;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * 记录写出内容与回调的 SseEmitter（不依赖 Servlet 容器）
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+class RecordingEmitter extends SseEmitter {
+
+    private final List<String> events = new CopyOnWriteArrayList<>();
+    private final AtomicInteger completions = new AtomicInteger();
+    private final CountDownLatch sending = new CountDownLatch(1);
+    private volatile Runnable completionCallback;
+    private volatile Runnable timeoutCallback;
+    private volatile Consumer<Throwable> errorCallback;
+    private volatile CountDownLatch blocker;
+    private volatile IOException failure;
+
+    @Override
+    public void onCompletion(Runnable callback) {
+        this.completionCallback = callback;
+    }
+
+    @Override
+    public void onTimeout(Runnable callback) {
+        this.timeoutCallback = callback;
+    }
+
+    @Override
+    public void onError(Consumer<Throwable> callback) {
+        this.errorCallback = callback;
+    }
+
+    @Override
+    public void send(SseEventBuilder builder) throws IOException {
+        sending.countDown();
+        if (failure != null) {
+            throw failure;
+        }
+        CountDownLatch latch = blocker;
+        if (latch != null) {
+            try {
+                latch.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("interrupted", e);
+            }
+        }
+        events.add(builder.build().stream()
+                .map(data -> String.valueOf(data.getData()))
+                .collect(Collectors.joining()));
+    }
+
+    @Override
+    public void complete() {
+        completions.incrementAndGet();
+    }
+
+    /**
+     * 之后的写出阻塞到 {@code latch} 释放（模拟慢客户端）
+     */
+    void blockSends(CountDownLatch latch) {
+        this.blocker = latch;
+    }
+
+    /**
+     * 之后的写出抛出异常（模拟客户端断开）
+     */
+    void failSends(IOException failure) {
+        this.failure = failure;
+    }
+
+    boolean awaitFirstSend() throws InterruptedException {
+        return sending.await(5, TimeUnit.SECONDS);
+    }
+
+    void fireCompletion() {
+        completionCallback.run();
+    }
+
+    void fireTimeout() {
+        timeoutCallback.run();
+    }
+
+    void fireError(Throwable error) {
+        errorCallback.accept(error);
+    }
+
+    List<String> getEvents() {
+        return events;
+    }
+
+    int getCompletions() {
+        return completions.get();
+    }
+
+    /**
+     * 轮询等待条件成立（最多 5 秒）
+     */
+    static boolean awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(5);
+        }
+        return true;
+    }
+}
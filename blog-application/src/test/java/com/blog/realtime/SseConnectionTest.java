@@ -0,0 +1,130 @@
+package com.blog.realtime;
+
+import com.blog.common.realtime.RealtimeMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.blog.realtime.RecordingEmitter.awaitUntil;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SseConnection 功能测试
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+class SseConnectionTest {
+
+    private static final long NO_HEARTBEAT = 60_000L;
+
+    @Test
+    @DisplayName("队列写满时丢弃最旧的消息，写出前先发送 lagged 事件告知丢弃条数")
+    void should_dropOldestAndReportLag_when_queueIsFull() throws Exception {
+        // Given
+        RecordingEmitter emitter = new RecordingEmitter();
+        SseConnection connection = new SseConnection(1, Set.of("t"), emitter, 2, NO_HEARTBEAT);
+        for (int i = 1; i <= 5; i++) {
+            connection.offer(message("m" + i));
+        }
+
+        // When
+        connection.start(closed -> { });
+
+        // Then
+        assertThat(awaitUntil(() -> emitter.getEvents().size() == 3)).isTrue();
+        assertThat(emitter.getEvents().get(0)).contains("event:" + SseConnection.EVENT_LAGGED, "dropped=3");
+        assertThat(emitter.getEvents().get(1)).contains("event:comment", "m4");
+        assertThat(emitter.getEvents().get(2)).contains("event:comment", "m5");
+        connection.close();
+    }
+
+    @Test
+    @DisplayName("慢客户端写出阻塞时入队不阻塞，积压按队列容量丢弃")
+    void should_notBlockProducer_when_clientIsSlow() throws Exception {
+        // Given
+        RecordingEmitter emitter = new RecordingEmitter();
+        CountDownLatch release = new CountDownLatch(1);
+        emitter.blockSends(release);
+        SseConnection connection = new SseConnection(1, Set.of("t"), emitter, 4, NO_HEARTBEAT);
+        connection.start(closed -> { });
+        connection.offer(message("first"));
+        assertThat(emitter.awaitFirstSend()).isTrue();
+
+        // When
+        long start = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            connection.offer(message("m" + i));
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        emitter.blockSends(null);
+        release.countDown();
+
+        // Then
+        assertThat(elapsedMs).isLessThan(1000);
+        assertThat(awaitUntil(() -> emitter.getEvents().size() == 6)).isTrue();
+        assertThat(emitter.getEvents().get(0)).contains("first");
+        assertThat(emitter.getEvents().get(1)).contains("dropped=96");
+        assertThat(emitter.getEvents().get(5)).contains("m99");
+        connection.close();
+    }
+
+    @Test
+    @DisplayName("关闭后写出线程立即退出并回调，之后的消息不再入队")
+    void should_stopWriterAndNotify_when_closed() throws Exception {
+        // Given
+        RecordingEmitter emitter = new RecordingEmitter();
+        SseConnection connection = new SseConnection(1, Set.of("t"), emitter, 4, NO_HEARTBEAT);
+        AtomicInteger closedCount = new AtomicInteger();
+        connection.start(closed -> closedCount.incrementAndGet());
+
+        // When
+        connection.close();
+        connection.offer(message("late"));
+
+        // Then
+        assertThat(awaitUntil(() -> closedCount.get() == 1)).isTrue();
+        assertThat(emitter.getEvents()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("写出失败（客户端断开）时结束连接并回调")
+    void should_notifyClose_when_sendFails() throws Exception {
+        // Given
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.failSends(new IOException("Broken pipe"));
+        SseConnection connection = new SseConnection(1, Set.of("t"), emitter, 4, NO_HEARTBEAT);
+        AtomicInteger closedCount = new AtomicInteger();
+        connection.start(closed -> closedCount.incrementAndGet());
+
+        // When
+        connection.offer(message("m1"));
+
+        // Then
+        assertThat(awaitUntil(() -> closedCount.get() == 1)).isTrue();
+    }
+
+    @Test
+    @DisplayName("空闲超过心跳间隔时发送注释行")
+    void should_sendHeartbeat_when_idle() throws Exception {
+        // Given
+        RecordingEmitter emitter = new RecordingEmitter();
+        SseConnection connection = new SseConnection(1, Set.of("t"), emitter, 4, 20);
+
+        // When
+        connection.start(closed -> { });
+
+        // Then
+        assertThat(awaitUntil(() -> !emitter.getEvents().isEmpty())).isTrue();
+        assertThat(emitter.getEvents().get(0)).startsWith(":heartbeat");
+        connection.close();
+    }
+
+    private static RealtimeMessage message(String payload) {
+        return new RealtimeMessage("t", "comment", payload);
+    }
+}
@@ -0,0 +1,187 @@
+package com.blog.realtime;
+
+import com.blog.common.exception.BusinessException;
+import com.blog.common.realtime.RealtimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static com.blog.realtime.RecordingEmitter.awaitUntil;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * SseGateway 功能测试
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@ExtendWith(MockitoExtension.class)
+class SseGatewayTest {
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    private RealtimeProperties properties;
+    private SseGateway gateway;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RealtimeProperties();
+        properties.setHeartbeatIntervalMs(60_000L);
+        properties.setQueueCapacity(8);
+        gateway = new SseGateway(listenerContainer, redisTemplate, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        gateway.shutdown();
+    }
+
+    @Test
+    @DisplayName("消息只投递给订阅了该主题的连接")
+    void should_dispatchToSubscribers_when_topicMatches() throws Exception {
+        // Given
+        RecordingEmitter a = new RecordingEmitter();
+        RecordingEmitter b = new RecordingEmitter();
+        gateway.open(Set.of("topic:a"), () -> a);
+        gateway.open(Set.of("topic:b"), () -> b);
+
+        // When
+        gateway.dispatch(new RealtimeMessage("topic:a", "comment", "hello"));
+
+        // Then
+        assertThat(awaitUntil(() -> a.getEvents().size() == 1)).isTrue();
+        assertThat(a.getEvents().get(0)).contains("event:comment", "hello");
+        assertThat(b.getEvents()).isEmpty();
+        assertThat(gateway.getConnectionCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("连接完成时注销订阅并结束 emitter")
+    void should_unregister_when_emitterCompletes() throws Exception {
+        assertCleanedUp(RecordingEmitter::fireCompletion);
+    }
+
+    @Test
+    @DisplayName("连接超时时注销订阅并结束 emitter")
+    void should_unregister_when_emitterTimesOut() throws Exception {
+        assertCleanedUp(RecordingEmitter::fireTimeout);
+    }
+
+    @Test
+    @DisplayName("连接出错时注销订阅并结束 emitter")
+    void should_unregister_when_emitterFails() throws Exception {
+        assertCleanedUp(emitter -> emitter.fireError(new IOException("Broken pipe")));
+    }
+
+    @Test
+    @DisplayName("客户端断开导致写出失败时注销订阅")
+    void should_unregister_when_sendFails() throws Exception {
+        // Given
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.failSends(new IOException("Broken pipe"));
+        gateway.open(Set.of("topic:a"), () -> emitter);
+
+        // When
+        gateway.dispatch(new RealtimeMessage("topic:a", "comment", "hello"));
+
+        // Then
+        assertThat(awaitUntil(() -> gateway.getConnectionCount() == 0)).isTrue();
+        assertThat(subscriptions()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("连接数达到上限时拒绝新连接，且不创建 emitter")
+    void should_rejectConnection_when_maxConnectionsReached() {
+        // Given
+        properties.setMaxConnections(1);
+        gateway.open(Set.of("topic:a"), RecordingEmitter::new);
+        AtomicInteger created = new AtomicInteger();
+
+        // When & Then
+        assertThatThrownBy(() -> gateway.open(Set.of("topic:a"), () -> {
+            created.incrementAndGet();
+            return new RecordingEmitter();
+        })).isInstanceOf(BusinessException.class);
+        assertThat(created).hasValue(0);
+        assertThat(gateway.getConnectionCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("并发建立与关闭连接后注册表为空、连接数归零")
+    void should_leaveNoSubscriptions_when_connectionsChurnConcurrently() throws Exception {
+        // Given
+        List<String> topics = List.of("topic:0", "topic:1", "topic:2", "topic:3");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        for (int worker = 0; worker < 8; worker++) {
+            futures.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 50; i++) {
+                    RecordingEmitter emitter = new RecordingEmitter();
+                    Set<String> subscribed = new HashSet<>(List.of(
+                            topics.get(random.nextInt(4)), topics.get(random.nextInt(4))));
+                    gateway.open(subscribed, () -> emitter);
+                    gateway.dispatch(new RealtimeMessage(topics.get(random.nextInt(4)), "comment", i));
+                    emitter.fireCompletion();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(awaitUntil(() -> gateway.getConnectionCount() == 0)).isTrue();
+        assertThat(subscriptions()).isEmpty();
+    }
+
+    private void assertCleanedUp(Consumer<RecordingEmitter> trigger) throws Exception {
+        // Given
+        RecordingEmitter emitter = new RecordingEmitter();
+        RecordingEmitter other = new RecordingEmitter();
+        gateway.open(Set.of("topic:a", "topic:b"), () -> emitter);
+        gateway.open(Set.of("topic:b"), () -> other);
+
+        // When
+        trigger.accept(emitter);
+
+        // Then
+        assertThat(awaitUntil(() -> emitter.getCompletions() == 1)).isTrue();
+        assertThat(gateway.getConnectionCount()).isEqualTo(1);
+        assertThat(subscriptions()).containsOnlyKeys("topic:b");
+        assertThat(subscriptions().get("topic:b")).hasSize(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Set<SseConnection>> subscriptions() {
+        return (Map<String, Set<SseConnection>>) ReflectionTestUtils.getField(gateway, "subscriptions");
+    }
+}
@@ -16,7 +16,9 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.io.Serializable;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -265,6 +267,84 @@ public class RedisUtilsTest {
         log.info("✅ 测试通过 (7/7): 参数校验机制工作正常，工具类健壮性得到验证。");
     }
 
+    @Test
+    @Order(8)
+    @DisplayName("8. 批量操作 (Pipeline / 分片 / SCAN) 测试")
+    void testBatchOperations() {
+        log.info("▶️ 开始测试 (8/8): 批量操作...");
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (int i = 0; i < 250; i++) {
+            values.put(track("test:batch:string:" + i), "value-" + i);
+        }
+
+        log.info("   - 步骤1: [PIPELINED SET PX] 测试逐键过期时间（偶数键 60s，奇数键不过期）");
+        redisUtils.pipelinedMSet(values, key -> key.hashCode() % 2 == 0 ? Duration.ofSeconds(60) : null);
+
+        log.info("   - 步骤2: [MGET] 超过 100 个键时自动分片，结果顺序与输入一致");
+        List<String> keys = new ArrayList<>(values.keySet());
+        keys.add(2, "test:batch:string:non-existent");
+        List<Object> fetched = redisUtils.mGet(keys);
+        assertEquals(keys.size(), fetched.size(), "结果数量应与键数量一致");
+        assertEquals("value-0", fetched.get(0));
+        assertNull(fetched.get(2), "不存在的键应对应 null");
+        assertEquals("value-249", fetched.get(fetched.size() - 1));
+
+        log.info("   - 步骤3: [PIPELINED HGETALL] 测试批量读取 Hash");
+        final String hashKey = track("test:batch:hash:1");
+        redisUtils.hSetAll(hashKey, Map.of("name", "test-user"));
+        List<Map<Object, Object>> hashes = redisUtils.pipelinedHGetAll(List.of("test:batch:hash:missing", hashKey));
+        assertTrue(hashes.get(0).isEmpty(), "不存在的 Hash 应返回空 Map");
+        assertEquals("test-user", hashes.get(1).get("name"));
+
+        log.info("   - 步骤4: [SCAN + UNLINK] 测试按模式删除");
+        assertEquals(250L, redisUtils.deleteByPattern("test:batch:string:*"), "应删除全部 250 个键");
+        assertFalse(redisUtils.hasKey("test:batch:string:0"));
+        assertThrows(IllegalArgumentException.class, () -> redisUtils.deleteByPattern("*"), "只有通配符的模式应被拒绝");
+
+        log.info("✅ 测试通过 (8/8): 批量操作均符合预期。");
+    }
+
+    @Test
+    @Order(9)
+    @DisplayName("9. Lua 脚本原子操作测试")
+    void testScriptOperations() {
+        log.info("▶️ 开始测试 (9/9): Lua 脚本原子操作...");
+
+        log.info("   - 步骤1: [INCR IF EXISTS] 键不存在时不创建，存在时递增");
+        final String counterKey = track("test:script:counter");
+        assertNull(redisUtils.incrementIfPresent(counterKey, 5));
+        assertFalse(redisUtils.hasKey(counterKey), "键不存在时不应被创建");
+        redisUtils.set(counterKey, 10);
+        assertEquals(15L, redisUtils.incrementIfPresent(counterKey, 5));
+
+        log.info("   - 步骤2: [INCR WITH TTL] 递增并在新建时设置过期时间");
+        final String windowKey = track("test:script:window");
+        assertEquals(1L, redisUtils.incrementWithTtl(windowKey, 1, Duration.ofSeconds(60)));
+        assertEquals(3L, redisUtils.incrementWithTtl(windowKey, 2, Duration.ofSeconds(60)));
+
+        log.info("   - 步骤3: [MSET TTL] 批量写入值与过期时间");
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put(track("test:script:mset:1"), "value-1");
+        values.put(track("test:script:mset:2"), "value-2");
+        redisUtils.mSetWithRandomTTL(values, 60, TimeUnit.SECONDS, 10);
+        assertEquals(List.of("value-1", "value-2"), redisUtils.mGet(values.keySet()));
+
+        log.info("   - 步骤4: [COMPARE AND DELETE] 值不一致时不删除");
+        final String lockKey = track("test:script:lock");
+        redisUtils.setIfAbsent(lockKey, "token-a", 60, TimeUnit.SECONDS);
+        assertFalse(redisUtils.deleteIfEquals(lockKey, "token-b"));
+        assertTrue(redisUtils.deleteIfEquals(lockKey, "token-a"));
+        assertFalse(redisUtils.hasKey(lockKey));
+
+        log.info("   - 步骤5: [SLIDING WINDOW] 达到上限后不再记录");
+        final String slidingKey = track("test:script:sliding");
+        assertEquals(1L, redisUtils.slidingWindowIncrement(slidingKey, Duration.ofSeconds(60), 2));
+        assertEquals(2L, redisUtils.slidingWindowIncrement(slidingKey, Duration.ofSeconds(60), 2));
+        assertEquals(-1L, redisUtils.slidingWindowIncrement(slidingKey, Duration.ofSeconds(60), 2));
+
+        log.info("✅ 测试通过 (9/9): Lua 脚本操作均符合预期。");
+    }
+
     // 定义一个可序列化的内部记录(Record)，用于测试对象缓存。
     private record TestUser(Long id, String username) implements Serializable {
     }
@@ -18,6 +18,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -49,6 +50,9 @@ public class SecurityIntegrationTest {
     // SpringDoc OpenAPI (Swagger) 的路径，这是我们在白名单中配置的。
     private static final String SWAGGER_UI_URL = "/swagger-ui.html";
     private static final String API_DOCS_URL = "/v3/api-docs";
+    // 位于 /actuator/** 白名单之下、仅允许管理员访问的运维端点
+    private static final String HOT_KEYS_URL = "/actuator/cache/hot-keys";
+    private static final String REDIS_LATENCY_URL = "/actuator/cache/redis/latency";
     @Resource
     private MockMvc mockMvc;
 
@@ -145,4 +149,35 @@ public class SecurityIntegrationTest {
 
         log.info("✅ 测试通过 (4/4): 认证系统成功拒绝了使用错误密码的请求。");
     }
+
+    /**
+     * 【第5步】验证白名单下的敏感运维端点不会被匿名访问或普通用户访问。
+     * <p>
+     * 热点键和 Redis 命令延迟会暴露业务键名与 Redis 运行状况，由管理员链先于白名单链拦截。
+     */
+    @Test
+    @Order(5)
+    @WithAnonymousUser
+    @DisplayName("5. 管理员运维端点 - 匿名用户访问应被拒绝 (401)")
+    void whenAnonymousAccessAdminActuatorUrls_thenUnauthorized() throws Exception {
+        mockMvc.perform(get(HOT_KEYS_URL))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get(REDIS_LATENCY_URL))
+                .andExpect(status().isUnauthorized());
+    }
+
+    /**
+     * 【第6步】验证敏感运维端点只对管理员角色开放。
+     */
+    @Test
+    @Order(6)
+    @DisplayName("6. 管理员运维端点 - 普通用户 403，管理员 200")
+    void whenAccessAdminActuatorUrls_thenOnlyAdminAllowed() throws Exception {
+        mockMvc.perform(get(HOT_KEYS_URL).with(user("user").roles("USER")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get(HOT_KEYS_URL).with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(REDIS_LATENCY_URL).with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk());
+    }
 }
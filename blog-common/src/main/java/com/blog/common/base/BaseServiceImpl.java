@@ -1,12 +1,15 @@
 package com.blog.common.base;
 
 import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.core.metadata.TableInfo;
 import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.blog.common.cache.BloomFilterRegistry;
+import com.blog.common.cache.IdBloomFilter;
 import com.blog.common.exception.BusinessException;
 import com.blog.common.exception.EntityNotFoundException;
 import com.blog.common.exception.OperationFailedException;
@@ -50,10 +53,23 @@ public abstract class BaseServiceImpl<M extends BaseMapper<E>, E, V, D extends I
     @Autowired(required = false)
     private Validator validator;
 
+    /**
+     * 实体ID布隆过滤器，{@link #bloomFilterName()} 返回 null 或未启用时为 null
+     */
+    private IdBloomFilter idFilter;
+
     protected BaseServiceImpl(C converter) {
         this.converter = converter;
     }
 
+    @Autowired(required = false)
+    void setBloomFilterRegistry(BloomFilterRegistry bloomFilterRegistry) {
+        String name = bloomFilterName();
+        if (name != null) {
+            this.idFilter = bloomFilterRegistry.register(name, this::listIdsAfter);
+        }
+    }
+
     /**
      * 校验 DTO 对象，如果校验失败则抛出 BusinessException。
      * 如果未配置 Validator Bean（例如测试环境），则跳过校验。
@@ -76,6 +92,9 @@ public abstract class BaseServiceImpl<M extends BaseMapper<E>, E, V, D extends I
     @Override
     @Transactional(readOnly = true)
     public Optional<V> getVoById(Serializable id) {
+        if (!mightExist(id)) {
+            return Optional.empty();
+        }
         E entity = this.getById(id);
         return Optional.ofNullable(entity).map(converter::entityToVo);
     }
@@ -116,7 +135,9 @@ public abstract class BaseServiceImpl<M extends BaseMapper<E>, E, V, D extends I
             throw new OperationFailedException("实体保存失败", entity);
         }
         // 使用通用的 getEntityId 方法返回主键
-        return getEntityId(entity);
+        Serializable id = getEntityId(entity);
+        recordInserted(id);
+        return id;
     }
 
     @Override
@@ -146,7 +167,11 @@ public abstract class BaseServiceImpl<M extends BaseMapper<E>, E, V, D extends I
 
     @Override
     public boolean removeById(Serializable id) {
-        return super.removeById(id);
+        boolean removed = super.removeById(id);
+        if (removed) {
+            recordRemoved(1);
+        }
+        return removed;
     }
 
     @Override
@@ -160,7 +185,9 @@ public abstract class BaseServiceImpl<M extends BaseMapper<E>, E, V, D extends I
         if (!this.saveBatch(entities)) {
             throw new OperationFailedException("实体批量保存失败");
         }
-        return entities.stream().map(this::getEntityId).collect(Collectors.toList());
+        List<Serializable> ids = entities.stream().map(this::getEntityId).collect(Collectors.toList());
+        ids.forEach(this::recordInserted);
+        return ids;
     }
 
     @Override
@@ -196,7 +223,11 @@ public abstract class BaseServiceImpl<M extends BaseMapper<E>, E, V, D extends I
         // 注意：批量删除通常无法像单条删除一样精确抛出 EntityNotFoundException
         // 因为 MP 的 removeByIds 返回的是一个布尔值，而不是影响的行数。
         // 这里的实现是直接透传 MP 的行为。
-        return super.removeByIds(idList);
+        boolean removed = super.removeByIds(idList);
+        if (removed) {
+            recordRemoved(idList.size());
+        }
+        return removed;
     }
 
     // 注意：流式查询的实现需要自定义 Mapper 方法，因为它依赖 @Options 注解。
@@ -251,6 +282,56 @@ public abstract class BaseServiceImpl<M extends BaseMapper<E>, E, V, D extends I
         return dto.getId();
     }
 
+    /**
+     * 实体ID布隆过滤器名称（对应 {@code blog.cache.bloom.filters} 的键），返回 null 表示不启用。
+     * <p>
+     * 启用后 {@link #getVoById} 直接拒绝一定不存在的ID；{@link #saveByDto}、{@link #batchSaveByDto}、
+     * {@link #removeById}、{@link #removeByIds} 自动同步，不经过这些方法的插入须调用 {@link #recordInserted}。
+     */
+    protected String bloomFilterName() {
+        return null;
+    }
+
+    /**
+     * ID 是否可能存在（未启用布隆过滤器时恒为 true）
+     */
+    protected boolean mightExist(Serializable id) {
+        return idFilter == null || idFilter.mightContain(id);
+    }
+
+    /**
+     * 将新插入的ID写入布隆过滤器，在插入所在事务内调用
+     */
+    protected void recordInserted(Serializable id) {
+        if (idFilter != null) {
+            idFilter.put(id);
+        }
+    }
+
+    /**
+     * 记录物理或逻辑删除的实体数，用于判断何时重建布隆过滤器
+     */
+    protected void recordRemoved(long count) {
+        if (idFilter != null) {
+            idFilter.recordRemoval(count);
+        }
+    }
+
+    /**
+     * 按主键升序分批读取ID（自动带上逻辑删除条件），用于构建布隆过滤器
+     */
+    protected List<Long> listIdsAfter(long afterId, int limit) {
+        TableInfo tableInfo = TableInfoHelper.getTableInfo(this.getEntityClass());
+        Assert.notNull(tableInfo, "无法获取 " + this.getEntityClass().getName() + " 的实体表信息。");
+        String keyColumn = tableInfo.getKeyColumn();
+        QueryWrapper<E> wrapper = new QueryWrapper<E>()
+                .select(keyColumn)
+                .gt(keyColumn, afterId)
+                .orderByAsc(keyColumn)
+                .last("LIMIT " + limit);
+        return this.listObjs(wrapper, value -> ((Number) value).longValue());
+    }
+
     /**
      * 预保存钩子，可覆盖以添加自定义逻辑（如设置创建人/时间）。
      *
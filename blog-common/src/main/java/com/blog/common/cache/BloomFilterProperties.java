@@ -0,0 +1,119 @@
+package com.blog.common.cache;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 实体ID布隆过滤器配置
+ *
+ * <pre>
+ * blog:
+ *   cache:
+ *     bloom:
+ *       enabled: true
+ *       mode: REDIS
+ *       filters:
+ *         article:
+ *           expected-insertions: 100000
+ *           fpp: 0.01
+ * </pre>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Data
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "blog.cache.bloom")
+public class BloomFilterProperties {
+
+    /**
+     * 是否启用（关闭后所有ID均视为可能存在）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 部署模式
+     */
+    private Mode mode = Mode.REDIS;
+
+    /**
+     * 启动构建时每批读取的ID数
+     */
+    @Min(100)
+    private int buildBatchSize = 1000;
+
+    /**
+     * 删除数超过上次构建元素数的该比例时重建
+     */
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    private double rebuildStaleRatio = 0.2;
+
+    /**
+     * 检查是否需要重建的间隔
+     */
+    private Duration rebuildCheckInterval = Duration.ofMinutes(10);
+
+    /**
+     * 单次构建的超时时间（Redis 重建锁与临时位图的过期时间）
+     */
+    private Duration buildTimeout = Duration.ofMinutes(30);
+
+    /**
+     * 未单独配置的过滤器使用的默认值
+     */
+    @Valid
+    private Filter defaults = new Filter();
+
+    /**
+     * 实体名 → 过滤器配置
+     */
+    private Map<String, @Valid Filter> filters = new LinkedHashMap<>();
+
+    public Filter resolve(String name) {
+        return filters.getOrDefault(name, defaults);
+    }
+
+    public enum Mode {
+
+        /**
+         * 每个节点独立从数据库构建，本地未命中时仍判定为可能存在（不拒绝任何ID）；
+         * 只用于开发环境或观察过滤器规模，不能拦截不存在的ID
+         */
+        LOCAL,
+
+        /**
+         * 以 Redis 位图为准，本地位数组只做加速；唯一会拒绝不存在ID的模式，单节点和多节点部署均使用
+         */
+        REDIS
+    }
+
+    @Data
+    public static class Filter {
+
+        /**
+         * 预期元素数（超过后误判率上升，重建时会记录告警）
+         */
+        @Positive
+        private long expectedInsertions = 100_000;
+
+        /**
+         * 期望误判率
+         */
+        @DecimalMin(value = "0.0", inclusive = false)
+        @DecimalMax(value = "0.5")
+        private double fpp = 0.01;
+    }
+}
@@ -0,0 +1,228 @@
+package com.blog.common.cache;
+
+import com.blog.common.constants.SchedulerNames;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 实体ID布隆过滤器注册中心
+ *
+ * <p>
+ * Service 通过 {@link #register(String, IdSource)} 登记过滤器及其ID来源，应用启动完成后在批处理调度器上按主键顺序
+ * 分批读取ID构建（构建完成前所有ID视为可能存在，不影响启动）。之后每隔 {@code rebuild-check-interval}
+ * 检查一次，删除数超过阈值时重建。
+ * </p>
+ *
+ * <p>
+ * {@code REDIS} 模式下过滤器以 Redis 位图为准：启动时位图已存在则直接加载，否则由抢到重建锁的节点构建并上传，
+ * 其他节点在后续检查中加载。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BloomFilterRegistry implements DisposableBean {
+
+    private final BloomFilterProperties properties;
+    private final RedisTemplate<String, Object> redisTemplate;
+    @Qualifier(SchedulerNames.BATCH)
+    private final TaskScheduler taskScheduler;
+
+    private final Map<String, Registration> registrations = new ConcurrentHashMap<>();
+
+    private ScheduledFuture<?> checkTask;
+
+    /**
+     * 登记实体ID布隆过滤器
+     *
+     * @param name   实体名（对应 {@code blog.cache.bloom.filters} 的键）
+     * @param source ID来源
+     * @return 过滤器；未启用时返回 null
+     */
+    public IdBloomFilter register(String name, IdSource source) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        return registrations.computeIfAbsent(name, key -> {
+            BloomFilterProperties.Filter config = properties.resolve(key);
+            RedisBloomBitmap.Factory mirrorFactory = properties.getMode() == BloomFilterProperties.Mode.REDIS
+                    ? (filterName, numBits, numHashes) -> new RedisBloomBitmap(redisTemplate, filterName, numBits,
+                    numHashes, properties.getBuildTimeout())
+                    : null;
+            IdBloomFilter filter = new IdBloomFilter(key, config.getExpectedInsertions(), config.getFpp(),
+                    mirrorFactory);
+            log.info("登记布隆过滤器: name={}, bits={}, hashes={}, mode={}",
+                    key, filter.getNumBits(), filter.getNumHashes(), properties.getMode());
+            return new Registration(filter, source);
+        }).filter();
+    }
+
+    /**
+     * ID 是否可能存在（未登记该实体时视为可能存在）
+     */
+    public boolean mightContain(String name, Serializable id) {
+        Registration registration = registrations.get(name);
+        return registration == null || registration.filter().mightContain(id);
+    }
+
+    /**
+     * 记录不经过 Service 的删除（如归档任务的物理删除），用于判断何时重建
+     */
+    public void recordRemoval(String name, long count) {
+        Registration registration = registrations.get(name);
+        if (registration != null) {
+            registration.filter().recordRemoval(count);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (registrations.isEmpty()) {
+            return;
+        }
+        // 首次构建与定时检查可能并发，refresh 对每个过滤器 tryLock，不会重复构建
+        taskScheduler.schedule(() -> registrations.values().forEach(registration -> refresh(registration, false)),
+                Instant.now());
+        checkTask = taskScheduler.scheduleWithFixedDelay(this::checkAll,
+                Instant.now().plus(properties.getRebuildCheckInterval()), properties.getRebuildCheckInterval());
+    }
+
+    @Override
+    public void destroy() {
+        if (checkTask != null) {
+            checkTask.cancel(true);
+        }
+    }
+
+    /**
+     * 从数据库重建指定过滤器
+     *
+     * @param name 实体名
+     * @return 是否执行了重建（未登记或其他线程/节点正在重建时返回 false）
+     */
+    public boolean rebuild(String name) {
+        Registration registration = registrations.get(name);
+        return registration != null && refresh(registration, true);
+    }
+
+    private void checkAll() {
+        registrations.values().forEach(registration -> {
+            IdBloomFilter filter = registration.filter();
+            if (!filter.isReady()) {
+                refresh(registration, false);
+            } else if (filter.needsRebuild(properties.getRebuildStaleRatio())) {
+                log.info("布隆过滤器删除数超过阈值，开始重建: name={}", filter.getName());
+                refresh(registration, true);
+            }
+        });
+    }
+
+    /**
+     * 加载或构建过滤器
+     *
+     * @param force true 时忽略已有的 Redis 位图，从数据库重建
+     */
+    private boolean refresh(Registration registration, boolean force) {
+        IdBloomFilter filter = registration.filter();
+        if (!registration.lock().tryLock()) {
+            return false;
+        }
+        try {
+            RedisBloomBitmap mirror = filter.getMirror();
+            if (mirror == null) {
+                build(registration);
+                return true;
+            }
+            if (!force) {
+                byte[] bitmap = mirror.load();
+                if (bitmap != null) {
+                    filter.loadFrom(bitmap);
+                    log.info("布隆过滤器已从 Redis 加载: name={}, key={}", filter.getName(), mirror.getKey());
+                    return true;
+                }
+            }
+            String token = UUID.randomUUID().toString();
+            if (!mirror.tryLock(token)) {
+                log.info("其他节点正在构建布隆过滤器，稍后加载: name={}", filter.getName());
+                return false;
+            }
+            try {
+                mirror.beginBuild();
+                build(registration);
+                mirror.publish(filter.toRedisBytes());
+                return true;
+            } finally {
+                mirror.unlock(token);
+            }
+        } catch (Exception e) {
+            filter.abortBuild();
+            log.error("布隆过滤器构建失败，暂时视所有ID为可能存在: name={}", filter.getName(), e);
+            return false;
+        } finally {
+            registration.lock().unlock();
+        }
+    }
+
+    private void build(Registration registration) {
+        IdBloomFilter filter = registration.filter();
+        long start = System.currentTimeMillis();
+        int batchSize = properties.getBuildBatchSize();
+        long count = 0;
+        long afterId = Long.MIN_VALUE;
+        filter.beginBuild();
+        while (true) {
+            List<Long> ids = registration.source().nextIds(afterId, batchSize);
+            for (Long id : ids) {
+                filter.addBuilt(id);
+            }
+            count += ids.size();
+            if (ids.size() < batchSize) {
+                break;
+            }
+            afterId = ids.get(ids.size() - 1);
+        }
+        filter.completeBuild(count);
+        log.info("布隆过滤器构建完成: name={}, count={}, cost={}ms",
+                filter.getName(), count, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 按主键升序分批提供实体ID
+     */
+    @FunctionalInterface
+    public interface IdSource {
+
+        /**
+         * @param afterId 上一批的最后一个ID（首批为 {@link Long#MIN_VALUE}）
+         * @param limit   本批最多返回的ID数
+         * @return 大于 {@code afterId} 的ID，按升序排列
+         */
+        List<Long> nextIds(long afterId, int limit);
+    }
+
+    private record Registration(IdBloomFilter filter, IdSource source, ReentrantLock lock) {
+
+        Registration(IdBloomFilter filter, IdSource source) {
+            this(filter, source, new ReentrantLock());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.blog.common.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 缓存失效消息
+ * <p>
+ * 由 {@link CacheInvalidationPublisher} 发布到 Redis 频道 {@link CacheInvalidationPublisher#CHANNEL}，
+ * 各节点收到后清除本地缓存中的对应条目。
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidationMessage implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 发布节点ID（节点忽略自己发布的消息）
+     */
+    private String node;
+
+    /**
+     * 发布节点内的递增序号，订阅方据此发现丢失的消息
+     */
+    private long seq;
+
+    /**
+     * 缓存名（见 {@link com.blog.common.constants.CacheNames}）
+     */
+    private String cache;
+
+    /**
+     * 失效的键，为空表示整个缓存失效
+     */
+    private List<String> keys;
+
+    /**
+     * 发布时间戳(ms)，用于统计传播延迟
+     */
+    private long ts;
+}
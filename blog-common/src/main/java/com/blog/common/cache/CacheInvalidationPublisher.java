@@ -0,0 +1,112 @@
+package com.blog.common.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 缓存失效总线发布器
+ *
+ * <p>
+ * 写路径按缓存名 + 键发布 {@link CacheInvalidationMessage}，各节点订阅后清除本地（一级）缓存，
+ * 把多节点间的不一致窗口从本地缓存 TTL 缩短到一次 Pub/Sub 传播延迟。
+ * </p>
+ *
+ * <ul>
+ *   <li>在事务中调用时延迟到提交后发布，避免其他节点在提交前重新加载到旧值；回滚则不发布</li>
+ *   <li>序号在实际发送时分配，回滚不会产生序号空洞，订阅方可据此判断消息丢失</li>
+ *   <li>Pub/Sub 最多投递一次：Redis 不可用时只记录日志，本地缓存依赖自身 TTL 兜底</li>
+ * </ul>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheInvalidationPublisher {
+
+    /**
+     * Redis Pub/Sub 频道
+     */
+    public static final String CHANNEL = "blog:cache:invalidation";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    /**
+     * 本节点ID（每次启动重新生成）
+     */
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 13);
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * 发布单个键失效
+     *
+     * @param cacheName 缓存名
+     * @param key       缓存键
+     */
+    public void publish(String cacheName, Object key) {
+        publish(cacheName, List.of(key));
+    }
+
+    /**
+     * 发布多个键失效
+     *
+     * @param cacheName 缓存名
+     * @param keys      缓存键（为空时不发布）
+     */
+    public void publish(String cacheName, Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        send(cacheName, keys.stream().filter(Objects::nonNull).map(String::valueOf).distinct().toList());
+    }
+
+    /**
+     * 发布整个缓存失效
+     *
+     * @param cacheName 缓存名
+     */
+    public void publishAll(String cacheName) {
+        send(cacheName, List.of());
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private void send(String cacheName, List<String> keys) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doSend(cacheName, keys);
+                }
+            });
+        } else {
+            doSend(cacheName, keys);
+        }
+    }
+
+    private void doSend(String cacheName, List<String> keys) {
+        // 值序列化器带类型信息，不可变 List 的实现类无法反序列化，统一使用 ArrayList
+        CacheInvalidationMessage message = new CacheInvalidationMessage(nodeId, sequence.incrementAndGet(),
+                cacheName, new ArrayList<>(keys), System.currentTimeMillis());
+        try {
+            redisTemplate.convertAndSend(CHANNEL, message);
+        } catch (Exception e) {
+            log.warn("缓存失效消息发布失败，其他节点的本地缓存将在过期后更新: cache={}, keys={}", cacheName, keys, e);
+        }
+    }
+}
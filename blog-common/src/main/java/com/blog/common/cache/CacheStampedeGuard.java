@@ -0,0 +1,359 @@
+package com.blog.common.cache;
+
+import com.blog.common.constants.CacheKeys;
+import com.blog.common.utils.RedisUtils;
+import com.google.common.base.Preconditions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 缓存击穿防护
+ *
+ * <p>
+ * 热点键过期时只允许一个请求回源，其余请求复用其结果：
+ * </p>
+ * <ul>
+ *   <li><b>进程内合并</b> — 同一缓存键的并发回源合并为一次（{@code ConcurrentHashMap<键, CompletableFuture>}），
+ *       由最先到达的调用线程执行加载，其余线程等待同一个结果</li>
+ *   <li><b>集群互斥</b> — 回源前以 SET NX 获取短期锁 {@code cache:lock:{键}}；未抢到锁的节点轮询缓存，
+ *       超过等待时间仍未写入时自行回源（锁只用于削峰，不保证绝对互斥）</li>
+ *   <li><b>提前刷新</b>（XFetch）— 以 {@code 剩余有效期 ≤ 回源耗时 × beta × -ln(rand)} 的概率在过期前异步刷新，
+ *       越接近过期、回源越慢，刷新概率越高</li>
+ *   <li><b>过期后仍可读</b>（stale-while-revalidate）— 实际写入的 TTL 比逻辑 TTL 多出 {@code stale-ratio}，
+ *       逻辑过期后先返回旧值，再异步刷新</li>
+ * </ul>
+ *
+ * <p>
+ * 缓存值按原样写入（不包装元数据），其他直接读取该键的代码不受影响；逻辑剩余有效期由 PTTL 推算，
+ * 与 GET 在同一个 Pipeline 中读取。Redis 不可用时跳过缓存回源，仍经过进程内合并。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheStampedeGuard implements DisposableBean {
+
+    private final RedisUtils redisUtils;
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    /**
+     * 缓存键 → 正在进行的回源
+     */
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * 正在异步刷新的缓存键
+     */
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 键命名空间（最后一个冒号之前的部分）→ 最近回源耗时的滑动平均(ns)，用于 XFetch
+     */
+    private final ConcurrentHashMap<String, Long> loadNanos = new ConcurrentHashMap<>();
+
+    /**
+     * 异步刷新使用虚拟线程，回源中的阻塞 IO 不占用平台线程
+     */
+    private final ExecutorService refreshExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${blog.cache.stampede.lock-ttl-ms:3000}")
+    private long lockTtlMs;
+
+    @Value("${blog.cache.stampede.lock-wait-ms:1000}")
+    private long lockWaitMs;
+
+    @Value("${blog.cache.stampede.poll-interval-ms:20}")
+    private long pollIntervalMs;
+
+    @Value("${blog.cache.stampede.stale-ratio:0.2}")
+    private double staleRatio;
+
+    @Value("${blog.cache.stampede.beta:1.0}")
+    private double beta;
+
+    @Value("${blog.cache.stampede.ttl-jitter:0.1}")
+    private double ttlJitter;
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * 读取缓存，未命中或需要刷新时通过 {@code loader} 回源并写入
+     *
+     * @param key     缓存键
+     * @param timeout 逻辑过期时间（写入时叠加 ±{@code ttl-jitter} 随机抖动）
+     * @param unit    时间单位
+     * @param loader  回源加载，返回 null 时不写入缓存
+     * @param <T>     值类型
+     * @return 缓存值或回源结果
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getOrLoad(String key, long timeout, TimeUnit unit, Supplier<T> loader) {
+        Preconditions.checkArgument(timeout > 0, "过期时间必须大于0。");
+        long ttlMs = unit.toMillis(timeout);
+        Supplier<Object> probe = () -> redisUtils.get(key);
+        Consumer<Object> writer = value -> write(key, value, ttlMs);
+
+        Object cached = null;
+        long remainingMs = -1;
+        try {
+            List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                    ops.opsForValue().get(key);
+                    ops.getExpire(key, TimeUnit.MILLISECONDS);
+                    return null;
+                }
+            });
+            cached = results.get(0);
+            remainingMs = results.get(1) instanceof Long expire ? expire : -1;
+        } catch (Exception e) {
+            log.warn("读取缓存失败，直接回源: key={}", key, e);
+            return (T) load(key, probe, (Supplier<Object>) loader, writer);
+        }
+
+        if (cached == null) {
+            return (T) load(key, probe, (Supplier<Object>) loader, writer);
+        }
+
+        // 逻辑剩余有效期 = 实际剩余 - 过期后可读窗口；无过期时间的键（-1）不刷新
+        long freshMs = remainingMs - (long) (ttlMs * staleRatio);
+        if (remainingMs >= 0 && shouldRefresh(key, freshMs, ThreadLocalRandom.current().nextDouble())) {
+            refreshAsync(key, (Supplier<Object>) loader, writer);
+        }
+        return (T) cached;
+    }
+
+    /**
+     * 合并同一缓存键的并发回源（进程内 + 集群），不涉及过期策略
+     * <p>
+     * 供不直接操作 Redis 键的缓存（如 Spring Cache）使用：{@code probe} 查询当前缓存值，
+     * {@code writer} 写入回源结果。
+     *
+     * @param flightKey 合并回源的键（同时用于集群锁）
+     * @param probe     查询缓存，未命中返回 null
+     * @param loader    回源加载
+     * @param writer    写入回源结果（结果为 null 时不调用）
+     * @param <T>       值类型
+     * @return 缓存值或回源结果
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T load(String flightKey, Supplier<T> probe, Supplier<T> loader, Consumer<? super T> writer) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, mine);
+        if (existing != null) {
+            return (T) await(existing);
+        }
+        try {
+            T value = loadWithLock(flightKey, probe, loader, writer);
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, mine);
+        }
+    }
+
+    /**
+     * 获取集群锁后回源；未抢到锁时等待持有者写入缓存，超时后自行回源
+     */
+    private <T> T loadWithLock(String flightKey, Supplier<T> probe, Supplier<T> loader,
+                               Consumer<? super T> writer) {
+        String lockKey = CacheKeys.cacheLockKey(flightKey);
+        String token = UUID.randomUUID().toString();
+        boolean locked = tryLock(lockKey, token);
+        try {
+            if (locked) {
+                // 本次 GET 与抢锁之间可能已有其他节点写入
+                T cached = probeQuietly(flightKey, probe);
+                if (cached != null) {
+                    return cached;
+                }
+            } else {
+                T cached = waitForValue(flightKey, probe);
+                if (cached != null) {
+                    return cached;
+                }
+                log.debug("等待回源锁超时，自行回源: key={}", flightKey);
+            }
+
+            long start = System.nanoTime();
+            T value = loader.get();
+            recordLoadTime(flightKey, System.nanoTime() - start);
+            if (value != null) {
+                try {
+                    writer.accept(value);
+                } catch (Exception e) {
+                    log.warn("回源结果写入缓存失败: key={}", flightKey, e);
+                }
+            }
+            return value;
+        } finally {
+            if (locked) {
+                unlock(lockKey, token);
+            }
+        }
+    }
+
+    /**
+     * 异步刷新：本节点已在刷新该键或其他节点持有锁时跳过，当前请求直接返回旧值
+     */
+    private void refreshAsync(String key, Supplier<Object> loader, Consumer<Object> writer) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                String lockKey = CacheKeys.cacheLockKey(key);
+                String token = UUID.randomUUID().toString();
+                try {
+                    if (!tryLock(lockKey, token)) {
+                        return;
+                    }
+                    try {
+                        long start = System.nanoTime();
+                        Object value = loader.get();
+                        recordLoadTime(key, System.nanoTime() - start);
+                        if (value != null) {
+                            writer.accept(value);
+                        }
+                        log.debug("缓存已提前刷新: key={}", key);
+                    } finally {
+                        unlock(lockKey, token);
+                    }
+                } catch (Exception e) {
+                    log.warn("缓存异步刷新失败，继续使用旧值: key={}", key, e);
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (Exception e) {
+            refreshing.remove(key);
+            log.warn("提交缓存异步刷新失败: key={}", key, e);
+        }
+    }
+
+    /**
+     * XFetch：{@code -delta × beta × ln(rand) ≥ 逻辑剩余有效期} 时刷新，逻辑过期后必定刷新
+     *
+     * @param rand [0, 1) 区间的随机数
+     */
+    boolean shouldRefresh(String key, long freshMs, double rand) {
+        if (freshMs <= 0) {
+            return true;
+        }
+        Long deltaNanos = loadNanos.get(namespace(key));
+        if (deltaNanos == null) {
+            return false;
+        }
+        double deltaMs = deltaNanos / 1_000_000.0;
+        return -deltaMs * beta * Math.log(rand) >= freshMs;
+    }
+
+    private void write(String key, Object value, long ttlMs) {
+        long physicalMs = (long) (ttlMs * (1 + staleRatio));
+        if (ttlJitter > 0) {
+            physicalMs = (long) (physicalMs * (1 + ThreadLocalRandom.current().nextDouble(-ttlJitter, ttlJitter)));
+        }
+        redisUtils.set(key, value, Math.max(1, physicalMs), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Redis 不可用时视为获得锁（直接回源，不再等待其他节点）
+     */
+    private boolean tryLock(String lockKey, String token) {
+        try {
+            return redisUtils.setIfAbsent(lockKey, token, lockTtlMs, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            log.warn("获取回源锁失败，直接回源: key={}", lockKey, e);
+            return true;
+        }
+    }
+
+    private void unlock(String lockKey, String token) {
+        try {
+            // 令牌一致时才删除，避免误删其他节点在锁过期后重新获取的锁
+            redisUtils.deleteIfEquals(lockKey, token);
+        } catch (Exception e) {
+            log.warn("释放回源锁失败，等待自动过期: key={}", lockKey, e);
+        }
+    }
+
+    private <T> T waitForValue(String key, Supplier<T> probe) {
+        long deadline = System.currentTimeMillis() + lockWaitMs;
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(pollIntervalMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            T cached = probeQuietly(key, probe);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        return null;
+    }
+
+    private static <T> T probeQuietly(String key, Supplier<T> probe) {
+        try {
+            return probe.get();
+        } catch (Exception e) {
+            log.warn("查询缓存失败: key={}", key, e);
+            return null;
+        }
+    }
+
+    void recordLoadTime(String key, long nanos) {
+        // 滑动平均：新样本权重 1/4
+        loadNanos.merge(namespace(key), nanos, (old, sample) -> old + (sample - old) / 4);
+    }
+
+    private static String namespace(String key) {
+        int index = key.lastIndexOf(':');
+        return index > 0 ? key.substring(0, index) : key;
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
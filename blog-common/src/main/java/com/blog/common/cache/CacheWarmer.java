@@ -0,0 +1,34 @@
+package com.blog.common.cache;
+
+/**
+ * 缓存预热项（SPI）
+ *
+ * <p>
+ * 各模块以 Spring Bean 的形式提供实现，应用启动完成后（或通过 {@code POST /actuator/cache/warmup}）
+ * 所有预热项在虚拟线程上并行执行，每项有独立的时间预算。
+ * </p>
+ *
+ * <p>
+ * 实现直接调用带 {@code @Cacheable} 的业务方法即可：预热期间缓存层对当前线程强制回源，
+ * 回源结果不逐条写入，而是收集后按批通过 Pipeline 写入 Redis。超出时间预算后的写入会被丢弃，
+ * 实现应在循环中检查 {@link CacheWarmupContext#isExpired()} 尽早结束。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+public interface CacheWarmer {
+
+    /**
+     * 预热项名称（用于报告、指标和 {@code blog.cache.warmup.budgets} 的键）
+     */
+    String getName();
+
+    /**
+     * 执行预热
+     *
+     * @param context 预热上下文
+     * @return 预热的条目数
+     */
+    int warm(CacheWarmupContext context);
+}
@@ -0,0 +1,22 @@
+package com.blog.common.cache;
+
+import java.time.Duration;
+
+/**
+ * 单个预热项的执行上下文
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+public interface CacheWarmupContext {
+
+    /**
+     * 是否已超出时间预算（超出后的缓存写入会被丢弃）
+     */
+    boolean isExpired();
+
+    /**
+     * 剩余时间预算
+     */
+    Duration remaining();
+}
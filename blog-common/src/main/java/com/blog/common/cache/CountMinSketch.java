@@ -0,0 +1,82 @@
+package com.blog.common.cache;
+
+import com.google.common.base.Preconditions;
+import com.google.common.hash.Hashing;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 线程安全的 Count-Min Sketch
+ *
+ * <p>
+ * {@code depth} 行、每行 {@code width} 个计数器，哈希为 murmur3_128 的双哈希（与 {@link IdBloomFilter} 相同）。
+ * 估算值只会偏大不会偏小，偏差上限约为 {@code 总计数 × e / width}。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+final class CountMinSketch {
+
+    private final int depth;
+    private final int mask;
+    private final AtomicLongArray counters;
+
+    CountMinSketch(int depth, int width) {
+        Preconditions.checkArgument(depth > 0, "行数必须大于0。");
+        Preconditions.checkArgument(width > 0 && width <= 1 << 24, "每行计数器数必须在 (0, 2^24] 之间。");
+        int roundedWidth = Integer.highestOneBit(width) == width ? width : Integer.highestOneBit(width) << 1;
+        this.depth = depth;
+        this.mask = roundedWidth - 1;
+        this.counters = new AtomicLongArray(depth * roundedWidth);
+    }
+
+    /**
+     * 计数加一
+     *
+     * @return 加一后的估算值
+     */
+    long increment(String item) {
+        long[] hash = hash(item);
+        long estimate = Long.MAX_VALUE;
+        long combined = hash[0];
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(index(row, combined)));
+            combined += hash[1];
+        }
+        return estimate;
+    }
+
+    long estimate(String item) {
+        long[] hash = hash(item);
+        long estimate = Long.MAX_VALUE;
+        long combined = hash[0];
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, combined)));
+            combined += hash[1];
+        }
+        return estimate;
+    }
+
+    /**
+     * 清零（与并发的计数之间不保证原子性，少量计数可能计入下一个窗口）
+     */
+    void clear() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+    }
+
+    private int index(int row, long hash) {
+        return row * (mask + 1) + (int) ((hash & Long.MAX_VALUE) & mask);
+    }
+
+    private static long[] hash(String item) {
+        ByteBuffer hash = ByteBuffer.wrap(Hashing.murmur3_128().hashString(item, StandardCharsets.UTF_8).asBytes())
+                .order(ByteOrder.LITTLE_ENDIAN);
+        return new long[]{hash.getLong(), hash.getLong()};
+    }
+}
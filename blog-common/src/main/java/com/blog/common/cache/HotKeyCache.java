@@ -0,0 +1,153 @@
+package com.blog.common.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 热点键本地副本
+ *
+ * <p>
+ * 读取经 {@link HotKeyDetector} 计数；键为热点时优先返回本节点的短期副本（{@code blog.cache.hot-key.local-ttl}），
+ * 未命中时读取 Redis 并保存副本，同一热点键在每个节点上每个 TTL 最多读取 Redis 一次左右。
+ * 副本只用于显式选择的读取：没有一级缓存的 Spring Cache，以及 {@code RedisUtils.getHot}。
+ * </p>
+ *
+ * <p>
+ * 写入方通过 {@link #invalidate} 清除本节点副本，键为热点时经 {@link CacheInvalidationPublisher} 通知其他节点；
+ * 绕过写入方直接修改 Redis 的数据最多在 {@code local-ttl} 内读到旧值。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Component
+public class HotKeyCache {
+
+    /**
+     * {@code RedisUtils} 读写的键所在的命名空间
+     */
+    public static final String REDIS = "redis";
+
+    private final HotKeyDetector detector;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final Cache<String, Object> local;
+    private final Counter localHits;
+    private final Counter localMisses;
+
+    public HotKeyCache(HotKeyDetector detector, HotKeyProperties properties,
+                       CacheInvalidationPublisher invalidationPublisher, MeterRegistry meterRegistry) {
+        this.detector = detector;
+        this.invalidationPublisher = invalidationPublisher;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxHotKeys() * 2L)
+                .expireAfterWrite(properties.getLocalTtl())
+                .build();
+        this.localHits = Counter.builder("cache.hot.local.gets")
+                .description("热点键本地副本读取")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.localMisses = Counter.builder("cache.hot.local.gets")
+                .description("热点键本地副本读取")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 读取：记录访问，热点键优先返回本地副本
+     *
+     * @param namespace 命名空间
+     * @param key       键
+     * @param reader    从 Redis 读取，返回 null 时不保存副本
+     * @return 值
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String namespace, String key, Supplier<T> reader) {
+        if (!detector.record(namespace, key)) {
+            return reader.get();
+        }
+        String id = HotKeyDetector.id(namespace, key);
+        Object cached = local.getIfPresent(id);
+        if (cached != null) {
+            localHits.increment();
+            return (T) cached;
+        }
+        localMisses.increment();
+        T value = reader.get();
+        if (value != null) {
+            local.put(id, value);
+        }
+        return value;
+    }
+
+    /**
+     * 只记录访问（批量读取等不使用本地副本的场景）
+     */
+    public void recordAccess(String namespace, String key) {
+        detector.record(namespace, key);
+    }
+
+    /**
+     * 数据已变更：清除本节点副本，键为热点时通知其他节点
+     */
+    public void invalidate(String namespace, String key) {
+        local.invalidate(HotKeyDetector.id(namespace, key));
+        if (detector.isHot(namespace, key)) {
+            invalidationPublisher.publish(namespace, key);
+        }
+    }
+
+    /**
+     * 批量变更：清除本节点副本，其中的热点键合并为一条消息通知其他节点
+     */
+    public void invalidate(String namespace, Collection<String> keys) {
+        keys.forEach(key -> local.invalidate(HotKeyDetector.id(namespace, key)));
+        List<String> hot = keys.stream().filter(key -> detector.isHot(namespace, key)).toList();
+        invalidationPublisher.publish(namespace, hot);
+    }
+
+    /**
+     * 命名空间整体变更（如清空缓存）：清除本节点该命名空间的副本，有热点键时通知其他节点
+     */
+    public void invalidateAll(String namespace) {
+        evictLocal(namespace, List.of());
+        if (detector.hasHotKeys(namespace)) {
+            invalidationPublisher.publishAll(namespace);
+        }
+    }
+
+    /**
+     * 清除本节点副本（收到其他节点的失效消息时调用，不再广播）
+     *
+     * @param namespace 命名空间
+     * @param keys      键，为空表示整个命名空间
+     */
+    public void evictLocal(String namespace, Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            String prefix = HotKeyDetector.id(namespace, "");
+            local.asMap().keySet().removeIf(id -> id.startsWith(prefix));
+        } else {
+            keys.forEach(key -> local.invalidate(HotKeyDetector.id(namespace, key)));
+        }
+    }
+
+    /**
+     * 清空本节点所有副本
+     */
+    public void clearLocal() {
+        local.invalidateAll();
+    }
+
+    /**
+     * 当前热点键
+     */
+    public List<HotKeyDetector.HotKey> getHotKeys() {
+        return detector.getHotKeys();
+    }
+}
@@ -0,0 +1,200 @@
+package com.blog.common.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 热点键探测
+ *
+ * <p>
+ * 读取按 {@code sample-rate} 采样计入 {@link CountMinSketch}，按 {@code window} 划分为不重叠的统计窗口：
+ * </p>
+ * <ul>
+ *   <li>窗口内估算读取次数达到 {@code threshold} 的键立即成为热点（突发流量不必等到窗口结束）</li>
+ *   <li>窗口结束时，只保留本窗口内再次达到阈值的键（最多 {@code max-hot-keys} 个），其余降级；随后计数清零</li>
+ * </ul>
+ *
+ * <p>
+ * 键以命名空间区分：Spring Cache 为缓存名，{@code RedisUtils} 为 {@link HotKeyCache#REDIS}。
+ * 未采样的读取只做一次热点集合查询，热点集合为空时不拼接键。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Slf4j
+@Component
+public class HotKeyDetector implements DisposableBean {
+
+    private final HotKeyProperties properties;
+    private final CountMinSketch sketch;
+    private final long sampledThreshold;
+    private final Counter promotions;
+    private final TaskScheduler taskScheduler;
+
+    /**
+     * 当前热点键：命名空间 + 键 → 热点信息（窗口结束时整体替换）
+     */
+    private volatile Map<String, Tracked> hotKeys = new ConcurrentHashMap<>();
+
+    /**
+     * 本窗口内达到阈值的键
+     */
+    private final Map<String, Tracked> crossed = new ConcurrentHashMap<>();
+
+    private ScheduledFuture<?> rotateTask;
+
+    public HotKeyDetector(HotKeyProperties properties, MeterRegistry meterRegistry, TaskScheduler taskScheduler) {
+        this.properties = properties;
+        this.taskScheduler = taskScheduler;
+        this.sketch = new CountMinSketch(properties.getSketchDepth(), properties.getSketchWidth());
+        this.sampledThreshold = Math.max(1, Math.round(properties.getThreshold() * properties.getSampleRate()));
+        this.promotions = Counter.builder("cache.hot.promotions")
+                .description("晋升为热点的键数")
+                .register(meterRegistry);
+        Gauge.builder("cache.hot.keys", this, detector -> detector.hotKeys.size())
+                .description("当前热点键数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 记录一次读取
+     *
+     * @param namespace 命名空间
+     * @param key       键
+     * @return 该键当前是否为热点
+     */
+    public boolean record(String namespace, String key) {
+        if (!properties.isEnabled()) {
+            return false;
+        }
+        String id = null;
+        boolean hot = false;
+        if (!hotKeys.isEmpty()) {
+            id = id(namespace, key);
+            hot = hotKeys.containsKey(id);
+        }
+        if (ThreadLocalRandom.current().nextDouble() >= properties.getSampleRate()) {
+            return hot;
+        }
+        if (id == null) {
+            id = id(namespace, key);
+        }
+        if (sketch.increment(id) >= sampledThreshold && !crossed.containsKey(id)) {
+            Tracked tracked = new Tracked(namespace, key, System.currentTimeMillis());
+            crossed.putIfAbsent(id, tracked);
+            Map<String, Tracked> current = hotKeys;
+            if (!hot && current.size() < properties.getMaxHotKeys() && current.putIfAbsent(id, tracked) == null) {
+                promotions.increment();
+                log.info("发现热点键: namespace={}, key={}", namespace, key);
+            }
+            return current.containsKey(id);
+        }
+        return hot;
+    }
+
+    /**
+     * 键当前是否为热点（不计入读取）
+     */
+    public boolean isHot(String namespace, String key) {
+        return !hotKeys.isEmpty() && hotKeys.containsKey(id(namespace, key));
+    }
+
+    /**
+     * 命名空间下是否有热点键
+     */
+    public boolean hasHotKeys(String namespace) {
+        return hotKeys.values().stream().anyMatch(tracked -> tracked.namespace().equals(namespace));
+    }
+
+    /**
+     * 当前热点键，按本窗口估算读取次数降序
+     */
+    public List<HotKey> getHotKeys() {
+        double scale = 1 / properties.getSampleRate();
+        return hotKeys.entrySet().stream()
+                .map(entry -> {
+                    Tracked tracked = entry.getValue();
+                    return new HotKey(tracked.namespace(), tracked.key(),
+                            Math.round(sketch.estimate(entry.getKey()) * scale),
+                            LocalDateTime.ofInstant(Instant.ofEpochMilli(tracked.promotedAt()), ZoneId.systemDefault()));
+                })
+                .sorted(Comparator.comparingLong(HotKey::estimatedReads).reversed())
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        rotateTask = taskScheduler.scheduleAtFixedRate(this::rotate,
+                Instant.now().plus(properties.getWindow()), properties.getWindow());
+    }
+
+    @Override
+    public void destroy() {
+        if (rotateTask != null) {
+            rotateTask.cancel(false);
+        }
+    }
+
+    /**
+     * 结束当前窗口：保留本窗口内达到阈值的键，计数清零
+     */
+    void rotate() {
+        try {
+            Map<String, Tracked> previous = hotKeys;
+            Map<String, Tracked> next = new ConcurrentHashMap<>();
+            crossed.entrySet().stream()
+                    .sorted(Comparator.comparingLong((Map.Entry<String, Tracked> entry) ->
+                            sketch.estimate(entry.getKey())).reversed())
+                    .limit(properties.getMaxHotKeys())
+                    .forEach(entry -> next.put(entry.getKey(), previous.getOrDefault(entry.getKey(), entry.getValue())));
+            int demoted = (int) previous.keySet().stream().filter(id -> !next.containsKey(id)).count();
+            hotKeys = next;
+            crossed.clear();
+            sketch.clear();
+            if (demoted > 0) {
+                log.info("热点键降级: demoted={}, remaining={}", demoted, next.size());
+            }
+        } catch (Exception e) {
+            log.error("热点键窗口切换失败", e);
+        }
+    }
+
+    static String id(String namespace, String key) {
+        return namespace + '\u0000' + key;
+    }
+
+    /**
+     * 热点键
+     *
+     * @param namespace      命名空间（缓存名，或 {@link HotKeyCache#REDIS}）
+     * @param key            键
+     * @param estimatedReads 本窗口内的估算读取次数
+     * @param promotedAt     成为热点的时间
+     */
+    public record HotKey(String namespace, String key, long estimatedReads, LocalDateTime promotedAt) {
+    }
+
+    private record Tracked(String namespace, String key, long promotedAt) {
+    }
+}
@@ -0,0 +1,82 @@
+package com.blog.common.cache;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * 热点键探测与本地副本配置
+ *
+ * <pre>
+ * blog:
+ *   cache:
+ *     hot-key:
+ *       enabled: true
+ *       sample-rate: 0.1
+ *       window: 10s
+ *       threshold: 1000
+ *       local-ttl: 3s
+ * </pre>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Data
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "blog.cache.hot-key")
+public class HotKeyProperties {
+
+    /**
+     * 是否启用（关闭后不采样，也不使用本地副本）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 读取采样比例，计数按比例放大后与阈值比较
+     */
+    @DecimalMin(value = "0.0", inclusive = false)
+    @DecimalMax("1.0")
+    private double sampleRate = 0.1;
+
+    /**
+     * 统计窗口，每个窗口结束时按本窗口的计数重新确定热点键
+     */
+    private Duration window = Duration.ofSeconds(10);
+
+    /**
+     * 单个窗口内读取次数（估算）达到该值的键视为热点
+     */
+    @Positive
+    private long threshold = 1000;
+
+    /**
+     * 同时保留的热点键上限（超出时按读取次数取前 N 个）
+     */
+    @Min(1)
+    private int maxHotKeys = 100;
+
+    /**
+     * Count-Min Sketch 每行的计数器数（向上取整为 2 的幂）
+     */
+    @Min(64)
+    private int sketchWidth = 4096;
+
+    /**
+     * Count-Min Sketch 的行数（哈希函数个数）
+     */
+    @Min(1)
+    private int sketchDepth = 4;
+
+    /**
+     * 热点键本地副本的过期时间（其他节点绕过失效广播直接写 Redis 时的最大不一致窗口）
+     */
+    private Duration localTtl = Duration.ofSeconds(3);
+}
@@ -0,0 +1,363 @@
+package com.blog.common.cache;
+
+import com.google.common.base.Preconditions;
+import com.google.common.hash.Hashing;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 实体ID布隆过滤器
+ *
+ * <p>
+ * 判定为"不存在"的ID一定不存在，可直接拒绝而不查询缓存和数据库；判定为"可能存在"时按原流程查询，
+ * 误判率由 {@code fpp} 控制。构建完成前（{@link #isReady()} 为 false）一律判定为可能存在。
+ * </p>
+ *
+ * <p>
+ * 只有 Redis 位图镜像才能判定"不存在"：其他节点的插入、不经过 {@link #put} 的插入（SQL 导入等）只体现在数据库或
+ * Redis 位图中，单节点模式（无镜像）的本地位数组未命中时无法断定不存在，一律判定为可能存在。
+ * </p>
+ *
+ * <p>
+ * 位数与哈希函数个数按预期元素数和误判率计算；哈希为 murmur3_128 的双哈希
+ * （{@code h1 + i × h2}），位序与 Redis 位图一致（位 0 为首字节最高位），本地位数组可直接上传为 Redis 位图。
+ * </p>
+ *
+ * <p>
+ * 布隆过滤器不支持删除：删除实体只计数，删除数超过上次构建元素数的一定比例后由
+ * {@link BloomFilterRegistry} 从数据库重建。已删除的ID在重建前仍判定为可能存在，只影响误判率，不影响正确性。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Slf4j
+public final class IdBloomFilter {
+
+    /**
+     * 重建期间需要补写的近期插入的保留时间：插入所在事务可能在构建扫描经过该ID时尚未提交
+     */
+    private static final long RECENT_INSERT_RETENTION_MS = 5 * 60 * 1000L;
+
+    private final String name;
+    private final long expectedInsertions;
+    private final long numBits;
+    private final int numHashes;
+
+    /**
+     * Redis 位图镜像，单节点模式为 null
+     */
+    private final RedisBloomBitmap mirror;
+
+    private final Object buildMonitor = new Object();
+    private volatile BitArray bits;
+    private volatile boolean ready;
+
+    /**
+     * 正在构建的位数组，构建期间的插入同时写入（由 {@link #buildMonitor} 保护）
+     */
+    private BitArray building;
+
+    /**
+     * 近期插入的ID → 插入时间戳(ms)
+     */
+    private final Map<Long, Long> recentInserts = new ConcurrentHashMap<>();
+
+    private final AtomicLong insertions = new AtomicLong();
+    private final AtomicLong removals = new AtomicLong();
+    private volatile long builtCount;
+
+    IdBloomFilter(String name, long expectedInsertions, double fpp, RedisBloomBitmap.Factory mirrorFactory) {
+        Preconditions.checkArgument(expectedInsertions > 0, "预期元素数必须大于0。");
+        Preconditions.checkArgument(fpp > 0 && fpp < 1, "误判率必须在 (0, 1) 之间。");
+        this.name = name;
+        this.expectedInsertions = expectedInsertions;
+        this.numBits = optimalNumBits(expectedInsertions, fpp);
+        this.numHashes = optimalNumHashes(expectedInsertions, numBits);
+        this.bits = new BitArray(numBits);
+        this.mirror = mirrorFactory == null ? null : mirrorFactory.create(name, numBits, numHashes);
+    }
+
+    /**
+     * ID 是否可能存在
+     *
+     * @param id 实体ID（非数字ID无法判定，视为可能存在）
+     * @return false 表示一定不存在
+     */
+    public boolean mightContain(Serializable id) {
+        Long value = toLong(id);
+        if (value == null) {
+            return true;
+        }
+        long[] offsets = offsets(value);
+        if (ready && bits.getAll(offsets)) {
+            return true;
+        }
+        if (mirror == null) {
+            // 本地位数组看不到其他节点及绕过 put 的插入，未命中不能作为"一定不存在"的依据
+            return true;
+        }
+        // 多节点：其他节点插入的ID只写入 Redis 位图，本地判定不存在时以 Redis 为准并回填本地
+        if (mirror.mightContain(offsets)) {
+            bits.setAll(offsets);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 记录新插入的ID（在插入所在事务中调用，提交前写入，避免提交后短暂误判为不存在）
+     *
+     * @param id 实体ID
+     */
+    public void put(Serializable id) {
+        Long value = toLong(id);
+        if (value == null) {
+            return;
+        }
+        long[] offsets = offsets(value);
+        synchronized (buildMonitor) {
+            bits.setAll(offsets);
+            if (building != null) {
+                building.setAll(offsets);
+            }
+        }
+        if (mirror != null) {
+            mirror.put(offsets);
+        }
+        long now = System.currentTimeMillis();
+        recentInserts.put(value, now);
+        if (recentInserts.size() > 1024) {
+            recentInserts.values().removeIf(time -> now - time > RECENT_INSERT_RETENTION_MS);
+        }
+        insertions.incrementAndGet();
+    }
+
+    /**
+     * 记录删除（位不可清除，只计入重建判断）
+     *
+     * @param count 删除的实体数
+     */
+    public void recordRemoval(long count) {
+        if (count > 0) {
+            removals.addAndGet(count);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getNumBits() {
+        return numBits;
+    }
+
+    public int getNumHashes() {
+        return numHashes;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 上次构建的元素数 + 之后的插入数
+     */
+    public long approximateCount() {
+        return builtCount + insertions.get();
+    }
+
+    RedisBloomBitmap getMirror() {
+        return mirror;
+    }
+
+    /**
+     * 删除数超过上次构建元素数的 {@code staleRatio} 时需要重建
+     */
+    boolean needsRebuild(double staleRatio) {
+        return removals.get() > Math.max(builtCount, 1) * staleRatio;
+    }
+
+    /**
+     * 开始构建：之后的插入同时写入新位数组
+     */
+    void beginBuild() {
+        synchronized (buildMonitor) {
+            building = new BitArray(numBits);
+        }
+    }
+
+    /**
+     * 写入构建中扫描到的ID
+     */
+    void addBuilt(long id) {
+        synchronized (buildMonitor) {
+            building.setAll(offsets(id));
+        }
+    }
+
+    /**
+     * 完成构建：补写近期插入后替换当前位数组
+     *
+     * @param count 扫描到的ID数
+     */
+    void completeBuild(long count) {
+        synchronized (buildMonitor) {
+            long now = System.currentTimeMillis();
+            recentInserts.forEach((id, time) -> {
+                if (now - time <= RECENT_INSERT_RETENTION_MS) {
+                    building.setAll(offsets(id));
+                }
+            });
+            bits = building;
+            building = null;
+            builtCount = count;
+            insertions.set(0);
+            removals.set(0);
+            ready = true;
+        }
+        if (count > expectedInsertions) {
+            log.warn("布隆过滤器元素数超过预期，误判率将上升，请调大 expected-insertions: name={}, count={}, expected={}",
+                    name, count, expectedInsertions);
+        }
+    }
+
+    void abortBuild() {
+        synchronized (buildMonitor) {
+            building = null;
+        }
+    }
+
+    /**
+     * 以 Redis 位图内容替换本地位数组
+     */
+    void loadFrom(byte[] redisBitmap) {
+        synchronized (buildMonitor) {
+            BitArray loaded = BitArray.fromRedisBytes(redisBitmap, numBits);
+            loaded.or(bits);
+            bits = loaded;
+            ready = true;
+        }
+    }
+
+    /**
+     * 当前位数组的 Redis 位图表示
+     */
+    byte[] toRedisBytes() {
+        return bits.toRedisBytes();
+    }
+
+    long[] offsets(long id) {
+        ByteBuffer hash = ByteBuffer.wrap(Hashing.murmur3_128().hashLong(id).asBytes())
+                .order(ByteOrder.LITTLE_ENDIAN);
+        long h1 = hash.getLong();
+        long h2 = hash.getLong();
+        long[] offsets = new long[numHashes];
+        long combined = h1;
+        for (int i = 0; i < numHashes; i++) {
+            offsets[i] = (combined & Long.MAX_VALUE) % numBits;
+            combined += h2;
+        }
+        return offsets;
+    }
+
+    static long optimalNumBits(long n, double fpp) {
+        return Math.max(64, (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2))));
+    }
+
+    static int optimalNumHashes(long n, long m) {
+        return Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+    }
+
+    private static Long toLong(Serializable id) {
+        if (id instanceof Number number) {
+            return number.longValue();
+        }
+        if (id instanceof CharSequence text) {
+            try {
+                return Long.parseLong(text.toString());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 线程安全的位数组
+     */
+    static final class BitArray {
+
+        private final AtomicLongArray words;
+        private final long numBits;
+
+        BitArray(long numBits) {
+            Preconditions.checkArgument(numBits <= (long) Integer.MAX_VALUE * Long.SIZE, "位数过大: %s", numBits);
+            this.numBits = numBits;
+            this.words = new AtomicLongArray((int) ((numBits + Long.SIZE - 1) / Long.SIZE));
+        }
+
+        boolean getAll(long[] offsets) {
+            for (long offset : offsets) {
+                if ((words.get((int) (offset >>> 6)) & (1L << offset)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void setAll(long[] offsets) {
+            for (long offset : offsets) {
+                long mask = 1L << offset;
+                int index = (int) (offset >>> 6);
+                if ((words.get(index) & mask) == 0) {
+                    words.getAndUpdate(index, word -> word | mask);
+                }
+            }
+        }
+
+        void or(BitArray other) {
+            for (int i = 0; i < words.length(); i++) {
+                long word = other.words.get(i);
+                if (word != 0) {
+                    words.getAndUpdate(i, current -> current | word);
+                }
+            }
+        }
+
+        /**
+         * Redis 位图：偏移量 i 对应第 i/8 个字节的第 (7 - i%8) 位
+         */
+        byte[] toRedisBytes() {
+            byte[] bytes = new byte[(int) ((numBits + 7) / 8)];
+            for (int i = 0; i < words.length(); i++) {
+                long word = words.get(i);
+                while (word != 0) {
+                    long offset = (long) i * Long.SIZE + Long.numberOfTrailingZeros(word);
+                    bytes[(int) (offset >>> 3)] |= (byte) (0x80 >>> (offset & 7));
+                    word &= word - 1;
+                }
+            }
+            return bytes;
+        }
+
+        static BitArray fromRedisBytes(byte[] bytes, long numBits) {
+            BitArray array = new BitArray(numBits);
+            long limit = Math.min(numBits, (long) bytes.length * 8);
+            for (long offset = 0; offset < limit; offset++) {
+                if ((bytes[(int) (offset >>> 3)] & (0x80 >>> (offset & 7))) != 0) {
+                    int index = (int) (offset >>> 6);
+                    array.words.set(index, array.words.get(index) | (1L << offset));
+                }
+            }
+            return array;
+        }
+    }
+}
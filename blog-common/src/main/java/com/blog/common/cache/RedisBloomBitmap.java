@@ -0,0 +1,176 @@
+package com.blog.common.cache;
+
+import com.blog.common.constants.CacheKeys;
+import com.blog.common.utils.RedisScripts;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 布隆过滤器的 Redis 位图镜像（多节点共享）
+ *
+ * <p>
+ * 正式位图为 {@code bloom:{实体名}:{位数}:{哈希函数个数}}。重建时先创建 {@code 正式键:building}，
+ * 重建期间各节点的插入同时写入两个键；扫描完成后上传本地位数组并与 {@code building} 按位或，再原子替换正式键，
+ * 期间其他节点的插入不会丢失。正式键不存在时一律判定为可能存在，也不写入（避免不完整的位图被当作完整数据）。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Slf4j
+final class RedisBloomBitmap {
+
+    /**
+     * 正式位图不存在时返回 1；任一位为 0 时返回 0
+     */
+    private static final RedisScript<Long> CHECK = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return 1 end "
+                    + "for i = 1, #ARGV do "
+                    + "if redis.call('GETBIT', KEYS[1], ARGV[i]) == 0 then return 0 end "
+                    + "end "
+                    + "return 1",
+            Long.class);
+
+    /**
+     * 只写入已存在的键（正式位图、重建中的位图）
+     */
+    private static final RedisScript<Long> PUT = new DefaultRedisScript<>(
+            "local written = 0 "
+                    + "for k = 1, #KEYS do "
+                    + "if redis.call('EXISTS', KEYS[k]) == 1 then "
+                    + "for i = 1, #ARGV do redis.call('SETBIT', KEYS[k], ARGV[i], 1) end "
+                    + "written = written + 1 "
+                    + "end "
+                    + "end "
+                    + "return written",
+            Long.class);
+
+    /**
+     * 合并上传的位图与重建期间的插入，替换正式位图
+     */
+    private static final RedisScript<Long> PUBLISH = new DefaultRedisScript<>(
+            "redis.call('BITOP', 'OR', KEYS[1], KEYS[1], KEYS[2]) "
+                    + "redis.call('DEL', KEYS[2]) "
+                    + "redis.call('RENAME', KEYS[1], KEYS[3]) "
+                    + "redis.call('PERSIST', KEYS[3]) "
+                    + "return 1",
+            Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final String key;
+    private final String buildingKey;
+    private final String uploadKey;
+    private final String lockKey;
+    private final long numBits;
+    private final Duration buildTimeout;
+
+    RedisBloomBitmap(RedisTemplate<String, Object> redisTemplate, String name, long numBits, int numHashes,
+                     Duration buildTimeout) {
+        this.redisTemplate = redisTemplate;
+        this.key = CacheKeys.bloomFilterKey(name, numBits, numHashes);
+        this.buildingKey = key + ":building";
+        this.uploadKey = key + ":upload";
+        this.lockKey = CacheKeys.cacheLockKey(key);
+        this.numBits = numBits;
+        this.buildTimeout = buildTimeout;
+    }
+
+    /**
+     * Redis 不可用时视为可能存在
+     */
+    boolean mightContain(long[] offsets) {
+        try {
+            Long result = redisTemplate.execute(CHECK, List.of(key), toArgs(offsets));
+            return result == null || result != 0;
+        } catch (Exception e) {
+            log.warn("查询布隆过滤器位图失败，视为可能存在: key={}", key, e);
+            return true;
+        }
+    }
+
+    void put(long[] offsets) {
+        try {
+            redisTemplate.execute(PUT, List.of(key, buildingKey), toArgs(offsets));
+        } catch (Exception e) {
+            // 未写入的ID在其他节点上会被误判为不存在，直到下次重建
+            log.error("写入布隆过滤器位图失败: key={}", key, e);
+        }
+    }
+
+    /**
+     * 读取正式位图
+     *
+     * @return 位图内容，不存在时返回 null
+     */
+    byte[] load() {
+        return redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.stringCommands().get(raw(key)));
+    }
+
+    /**
+     * 获取重建锁（锁与 building 键的过期时间均为构建超时时间）
+     */
+    boolean tryLock(String token) {
+        Boolean locked = redisTemplate.opsForValue().setIfAbsent(lockKey, token, buildTimeout);
+        return Boolean.TRUE.equals(locked);
+    }
+
+    void unlock(String token) {
+        try {
+            redisTemplate.execute(RedisScripts.COMPARE_AND_DELETE, List.of(lockKey), token);
+        } catch (Exception e) {
+            log.warn("释放布隆过滤器重建锁失败，等待自动过期: key={}", lockKey, e);
+        }
+    }
+
+    /**
+     * 创建全零的 building 键，之后的插入同时写入该键
+     */
+    void beginBuild() {
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            byte[] raw = raw(buildingKey);
+            connection.stringCommands().setBit(raw, numBits - 1, false);
+            connection.keyCommands().pExpire(raw, buildTimeout.toMillis());
+            return null;
+        });
+    }
+
+    /**
+     * 上传本地构建结果并替换正式位图
+     */
+    void publish(byte[] bitmap) {
+        redisTemplate.execute((RedisCallback<Object>) connection -> connection.stringCommands().set(
+                raw(uploadKey), bitmap, Expiration.from(buildTimeout), RedisStringCommands.SetOption.upsert()));
+        redisTemplate.execute(PUBLISH, List.of(buildingKey, uploadKey, key));
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    private static Object[] toArgs(long[] offsets) {
+        return Arrays.stream(offsets).boxed().toArray();
+    }
+
+    private static byte[] raw(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 按过滤器参数创建位图镜像
+     */
+    @FunctionalInterface
+    interface Factory {
+
+        RedisBloomBitmap create(String name, long numBits, int numHashes);
+    }
+}
@@ -26,6 +26,15 @@ public final class CacheKeys {
      */
     public static final String USER_ROLES_PREFIX = "user:roles:";
 
+    /**
+     * 用户详情缓存键前缀
+     * <p>
+     * 完整键格式：user:detail:{userId}
+     * <p>
+     * 存储内容：用户的详细信息
+     */
+    public static final String USER_DETAIL_PREFIX = "user:detail:";
+
     // ============================= User Module (用户模块)
     // =============================
     /**
@@ -40,6 +49,80 @@ public final class CacheKeys {
     // ============================= Role Module (角色模块)
     // =============================
 
+    /**
+     * 评论数镜像缓存键前缀
+     * <p>
+     * 完整键格式：comment:count:{targetType}:{targetId}
+     * <p>
+     * 存储内容：目标（如文章）下已通过的评论数，数据库为准，缓存仅做镜像
+     */
+    public static final String COMMENT_COUNT_PREFIX = "comment:count:";
+
+    /**
+     * 评论 SimHash 指纹 LSH 分桶键前缀
+     * <p>
+     * 完整键格式：comment:simhash:{主体}:{段序号}:{段取值}，主体为 u{userId} 或 ip{地址}
+     * <p>
+     * 存储内容：ZSET（成员为指纹，分值为发布时间戳），只保留时间窗口内的指纹
+     */
+    public static final String COMMENT_SIMHASH_PREFIX = "comment:simhash:";
+
+    /**
+     * 评论热度排行键前缀
+     * <p>
+     * 完整键格式：comment:hot:{targetType}:{targetId}
+     * <p>
+     * 存储内容：ZSET（成员为已通过的评论ID，分值为时间衰减热度的对数）
+     */
+    public static final String COMMENT_HOT_PREFIX = "comment:hot:";
+
+    // ============================= Comment Module (评论模块)
+    // =============================
+
+    /**
+     * 用户未读通知数缓存键前缀
+     * <p>
+     * 完整键格式：notification:unread:{userId}
+     * <p>
+     * 存储内容：用户的未读通知数，数据库为准，缓存仅做镜像
+     */
+    public static final String NOTIFICATION_UNREAD_PREFIX = "notification:unread:";
+
+    // ============================= Notification Module (通知模块)
+    // =============================
+    /**
+     * 接口限流令牌桶键前缀
+     * <p>
+     * 完整键格式：rate:limit:{规则名}:{主体}[:{目标}]，主体为 u{userId} 或 ip{地址}
+     * <p>
+     * 存储内容：Hash（tokens 剩余令牌数, ts 上次补充时间），空闲后自动过期
+     */
+    public static final String RATE_LIMIT_PREFIX = "rate:limit:";
+
+    // ============================= Rate Limit (接口限流)
+    // =============================
+
+    /**
+     * 缓存回源锁键前缀
+     * <p>
+     * 完整键格式：cache:lock:{缓存键}
+     * <p>
+     * 存储内容：持有者令牌，短过期时间；同一缓存键同一时刻只允许一个节点回源
+     */
+    public static final String CACHE_LOCK_PREFIX = "cache:lock:";
+
+    /**
+     * 实体ID布隆过滤器位图键前缀
+     * <p>
+     * 完整键格式：bloom:{实体名}:{位数}:{哈希函数个数}，参数变化后自动换用新键
+     * <p>
+     * 存储内容：位图（SETBIT/GETBIT），多节点共享同一份过滤器
+     */
+    public static final String BLOOM_FILTER_PREFIX = "bloom:";
+
+    // ============================= Cache (缓存基础设施)
+    // =============================
+
     private CacheKeys() {
         throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
     }
@@ -57,6 +140,16 @@ public final class CacheKeys {
         return USER_ROLES_PREFIX + userId;
     }
 
+    /**
+     * 构建用户详情缓存键
+     *
+     * @param userId 用户ID
+     * @return 完整的缓存键，例如：user:detail:1
+     */
+    public static String userDetailKey(Long userId) {
+        return USER_DETAIL_PREFIX + userId;
+    }
+
     /**
      * 构建角色详情缓存键
      *
@@ -66,4 +159,83 @@ public final class CacheKeys {
     public static String roleDetailKey(Long roleId) {
         return ROLE_DETAIL_PREFIX + roleId;
     }
+
+    /**
+     * 构建评论数镜像缓存键
+     *
+     * @param targetType 目标类型，例如：ARTICLE
+     * @param targetId   目标ID
+     * @return 完整的缓存键，例如：comment:count:ARTICLE:1
+     */
+    public static String commentCountKey(String targetType, Long targetId) {
+        return COMMENT_COUNT_PREFIX + targetType + ":" + targetId;
+    }
+
+    /**
+     * 构建评论热度排行键
+     *
+     * @param targetType 目标类型编码，例如：ARTICLE
+     * @param targetId   目标ID
+     * @return 完整的缓存键，例如：comment:hot:ARTICLE:1
+     */
+    public static String commentHotKey(String targetType, Long targetId) {
+        return COMMENT_HOT_PREFIX + targetType + ":" + targetId;
+    }
+
+    /**
+     * 构建评论指纹 LSH 分桶键
+     *
+     * @param subject 发布主体，例如：u1、ip127.0.0.1
+     * @param band    段序号
+     * @param value   段取值
+     * @return 完整的缓存键，例如：comment:simhash:u1:0:3f2a
+     */
+    public static String commentSimHashKey(String subject, int band, long value) {
+        return COMMENT_SIMHASH_PREFIX + subject + ":" + band + ":" + Long.toHexString(value);
+    }
+
+    /**
+     * 构建用户未读通知数缓存键
+     *
+     * @param userId 用户ID
+     * @return 完整的缓存键，例如：notification:unread:1
+     */
+    public static String notificationUnreadKey(Long userId) {
+        return NOTIFICATION_UNREAD_PREFIX + userId;
+    }
+
+    /**
+     * 构建接口限流令牌桶键
+     *
+     * @param rule    限流规则名
+     * @param subject 限流主体，例如：u1、ip127.0.0.1
+     * @param target  目标维度取值（可为 null）
+     * @return 完整的缓存键，例如：rate:limit:comment-like:u1:100
+     */
+    public static String rateLimitKey(String rule, String subject, String target) {
+        String key = RATE_LIMIT_PREFIX + rule + ":" + subject;
+        return target == null ? key : key + ":" + target;
+    }
+
+    /**
+     * 构建缓存回源锁键
+     *
+     * @param cacheKey 被保护的缓存键
+     * @return 完整的缓存键，例如：cache:lock:user:detail:1
+     */
+    public static String cacheLockKey(String cacheKey) {
+        return CACHE_LOCK_PREFIX + cacheKey;
+    }
+
+    /**
+     * 构建布隆过滤器位图键
+     *
+     * @param name      实体名，例如：article
+     * @param numBits   位数
+     * @param numHashes 哈希函数个数
+     * @return 完整的缓存键，例如：bloom:article:958506:7
+     */
+    public static String bloomFilterKey(String name, long numBits, int numHashes) {
+        return BLOOM_FILTER_PREFIX + name + ":" + numBits + ":" + numHashes;
+    }
 }
@@ -0,0 +1,50 @@
+package com.blog.common.constants;
+
+/**
+ * 缓存名常量（缓存失效总线使用）
+ * <p>
+ * 缓存名与 Redis 键前缀一致：缓存 {@code user:roles} 中键为 {@code 1} 的条目对应 Redis 键
+ * {@code user:roles:1}。写路径通过 {@link com.blog.common.cache.CacheInvalidationPublisher} 按缓存名 + 键
+ * 发布失效消息，各节点据此清除本地缓存。
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+public final class CacheNames {
+
+    /**
+     * 用户角色列表（Spring Cache，键为用户ID）
+     */
+    public static final String USER_ROLES = "user:roles";
+
+    /**
+     * 文章详情（键为文章ID）
+     */
+    public static final String ARTICLE_DETAIL = "article:detail";
+
+    /**
+     * 文章列表（分页、热门等，任一文章变更时整体失效）
+     */
+    public static final String ARTICLE_LIST = "article:list";
+
+    /**
+     * 文章分类树（任一分类变更时整体失效）
+     */
+    public static final String ARTICLE_CATEGORY_TREE = "article:category:tree";
+
+    /**
+     * 标签云（键为 {orderBy}:{limit}，任一标签变更时整体失效）
+     */
+    public static final String ARTICLE_TAG_CLOUD = "article:tag:cloud";
+
+    private CacheNames() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * 已发布文章列表页缓存键：published:{current}:{size}
+     */
+    public static String articleListPageKey(Long current, Long size) {
+        return "published:" + current + ":" + size;
+    }
+}
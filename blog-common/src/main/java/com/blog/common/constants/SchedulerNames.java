@@ -0,0 +1,22 @@
+package com.blog.common.constants;
+
+/**
+ * 定时任务调度器 Bean 名称常量
+ * <p>
+ * 短周期任务注入默认的共享调度器（{@code taskScheduler}，按类型注入即可）；
+ * 可能持续数分钟的批处理任务通过 {@code @Qualifier(SchedulerNames.BATCH)} 注入批处理调度器，
+ * 避免占满共享调度器的线程。
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+public final class SchedulerNames {
+
+    /**
+     * 批处理任务调度器（评论归档、计数对账、布隆过滤器构建）
+     */
+    public static final String BATCH = "batchTaskScheduler";
+
+    private SchedulerNames() {
+    }
+}
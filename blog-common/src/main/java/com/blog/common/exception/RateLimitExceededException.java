@@ -0,0 +1,26 @@
+package com.blog.common.exception;
+
+import lombok.Getter;
+
+/**
+ * 请求被限流异常
+ * <p>
+ * 由全局异常处理器转换为 429 Too Many Requests，并通过 {@code Retry-After} 响应头告知客户端重试等待时间。
+ *
+ * @author liusxml
+ * @see SystemErrorCode#TOO_MANY_REQUESTS
+ * @since 1.8.0
+ */
+@Getter
+public class RateLimitExceededException extends BusinessException {
+
+    /**
+     * 建议的重试等待时间（毫秒）
+     */
+    private final long retryAfterMs;
+
+    public RateLimitExceededException(long retryAfterMs) {
+        super(SystemErrorCode.TOO_MANY_REQUESTS);
+        this.retryAfterMs = retryAfterMs;
+    }
+}
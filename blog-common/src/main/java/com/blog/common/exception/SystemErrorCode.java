@@ -43,7 +43,10 @@ public enum SystemErrorCode implements ErrorCode {
 
     // 权限相关错误 (403xx)
     ACCESS_DENIED(40301, "无权访问该资源"),
-    INSUFFICIENT_PERMISSIONS(40302, "权限不足");
+    INSUFFICIENT_PERMISSIONS(40302, "权限不足"),
+
+    // 限流相关错误 (429xx)
+    TOO_MANY_REQUESTS(42900, "请求过于频繁，请稍后再试");
 
     private final Integer code;
     private final String message;
@@ -0,0 +1,73 @@
+package com.blog.common.ratelimit;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 接口限流注解（令牌桶）
+ *
+ * <p>
+ * 标注在 Controller 方法上，由 blog-application 中的限流拦截器在进入方法前校验。
+ * 每个限流键对应一个令牌桶：桶容量 {@link #capacity()} 决定允许的突发请求数，
+ * {@link #refillPerSecond()} 决定长期平均速率。
+ * </p>
+ *
+ * <pre>{@code
+ * // 每个用户（未登录按 IP）针对同一评论：最多连续 5 次，之后每 2 秒 1 次
+ * @RateLimit(name = "comment-like", target = "id", capacity = 5, refillPerSecond = 0.5)
+ * @PostMapping("/{id}/like")
+ * public Result<Void> like(@PathVariable Long id) { ... }
+ * }</pre>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RateLimit {
+
+    /**
+     * 限流规则名，用于组成限流键和指标标签
+     */
+    String name();
+
+    /**
+     * 限流主体
+     */
+    KeyType keyBy() default KeyType.USER;
+
+    /**
+     * 目标维度：路径变量或请求参数名，取值后拼入限流键（如同一用户对同一评论的点赞）；为空表示不区分目标
+     */
+    String target() default "";
+
+    /**
+     * 令牌桶容量（允许的突发请求数）
+     */
+    int capacity();
+
+    /**
+     * 每秒补充的令牌数（长期平均速率）
+     */
+    double refillPerSecond();
+
+    /**
+     * 限流主体类型
+     */
+    enum KeyType {
+
+        /**
+         * 按登录用户限流，未登录时退化为按 IP
+         */
+        USER,
+
+        /**
+         * 按客户端 IP 限流
+         */
+        IP
+    }
+}
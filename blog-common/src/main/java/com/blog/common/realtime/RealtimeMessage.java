@@ -0,0 +1,39 @@
+package com.blog.common.realtime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 实时推送消息
+ * <p>
+ * 业务模块通过 {@link RealtimePublisher} 发布到 Redis 频道 {@link RealtimeTopics#CHANNEL}，
+ * 各节点的 SSE 网关订阅该频道，再投递给订阅了 {@link #topic} 的本地连接。
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RealtimeMessage implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 推送主题（见 {@link RealtimeTopics}）
+     */
+    private String topic;
+
+    /**
+     * SSE 事件名（前端 {@code EventSource.addEventListener} 的事件类型）
+     */
+    private String event;
+
+    /**
+     * 事件数据（序列化为 JSON）
+     */
+    private Object payload;
+}
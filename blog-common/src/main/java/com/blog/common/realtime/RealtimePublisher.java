@@ -0,0 +1,38 @@
+package com.blog.common.realtime;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 实时推送发布器
+ * <p>
+ * 将 {@link RealtimeMessage} 发布到 Redis 频道，由各节点的 SSE 网关投递。
+ * 推送是尽力而为的：Redis 不可用时只记录日志，不影响业务流程（客户端重连后会重新拉取）。
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RealtimePublisher {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    /**
+     * 发布推送消息
+     *
+     * @param topic   推送主题
+     * @param event   SSE 事件名
+     * @param payload 事件数据
+     */
+    public void publish(String topic, String event, Object payload) {
+        try {
+            redisTemplate.convertAndSend(RealtimeTopics.CHANNEL, new RealtimeMessage(topic, event, payload));
+        } catch (Exception e) {
+            log.warn("实时推送发布失败: topic={}, event={}", topic, event, e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.blog.common.realtime;
+
+/**
+ * 实时推送频道与主题常量
+ * <p>
+ * 所有节点共用一个 Redis 频道，消息内的主题决定投递给哪些 SSE 连接：
+ * <ul>
+ * <li>{@code user:{userId}} — 用户私有事件（新通知）</li>
+ * <li>{@code comment:{targetType}:{targetId}} — 评论目标公开事件（新的已通过评论）</li>
+ * </ul>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+public final class RealtimeTopics {
+
+    /**
+     * Redis Pub/Sub 频道
+     */
+    public static final String CHANNEL = "blog:realtime";
+
+    /**
+     * 新通知事件
+     */
+    public static final String EVENT_NOTIFICATION = "notification";
+
+    /**
+     * 新的已通过评论事件
+     */
+    public static final String EVENT_COMMENT = "comment";
+
+    private RealtimeTopics() {
+    }
+
+    /**
+     * 用户私有主题：user:{userId}
+     */
+    public static String userTopic(Long userId) {
+        return "user:" + userId;
+    }
+
+    /**
+     * 评论目标主题：comment:{targetType}:{targetId}
+     */
+    public static String commentTargetTopic(String targetType, Long targetId) {
+        return "comment:" + targetType + ":" + targetId;
+    }
+}
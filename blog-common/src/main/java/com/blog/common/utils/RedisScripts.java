@@ -0,0 +1,141 @@
+package com.blog.common.utils;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 通用 Redis Lua 脚本
+ *
+ * <p>
+ * 多步操作合并为一个脚本，一次网络往返、服务端原子执行，不会出现只执行了一半的中间状态。
+ * {@link RedisTemplate#execute(RedisScript, List, Object...)} 按 SHA1 发送 EVALSHA，
+ * 服务端未缓存脚本时才回退为 EVAL；应用启动后预先 SCRIPT LOAD，首次调用也不必传输脚本正文。
+ * Redis 重启或 SCRIPT FLUSH 后由 EVAL 回退自动恢复。
+ * </p>
+ *
+ * <p>
+ * 参数经 RedisTemplate 的值序列化器（JSON）写入，数值参数在脚本中以 {@code tonumber} 读取；
+ * 一般通过 {@link RedisUtils} 的对应方法调用，而不是直接使用这里的脚本。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisScripts {
+
+    /**
+     * 键存在时执行 INCRBY 并返回新值，不存在时返回 nil（避免用增量凭空创建出错误的计数）
+     * <p>
+     * KEYS[1] 计数键；ARGV[1] 增量
+     */
+    public static final RedisScript<Long> INCR_IF_EXISTS = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then "
+                    + "return redis.call('INCRBY', KEYS[1], ARGV[1]) "
+                    + "end "
+                    + "return nil",
+            Long.class);
+
+    /**
+     * INCRBY 并在键没有过期时间时（新建的键）设置过期时间，返回新值
+     * <p>
+     * KEYS[1] 计数键；ARGV[1] 增量，ARGV[2] 过期毫秒数
+     */
+    public static final RedisScript<Long> INCR_WITH_TTL = new DefaultRedisScript<>(
+            "local value = redis.call('INCRBY', KEYS[1], ARGV[1]) "
+                    + "if redis.call('PTTL', KEYS[1]) == -1 then "
+                    + "redis.call('PEXPIRE', KEYS[1], ARGV[2]) "
+                    + "end "
+                    + "return value",
+            Long.class);
+
+    /**
+     * 批量 SET，每个键单独指定过期时间，返回写入的键数
+     * <p>
+     * KEYS[1..n] 键；ARGV[1..n] 值，ARGV[n+1..2n] 对应键的过期毫秒数（不大于 0 表示不过期）
+     */
+    public static final RedisScript<Long> MSET_WITH_TTL = new DefaultRedisScript<>(
+            "local n = #KEYS "
+                    + "for i = 1, n do "
+                    + "local ttl = tonumber(ARGV[n + i]) "
+                    + "if ttl > 0 then "
+                    + "redis.call('SET', KEYS[i], ARGV[i], 'PX', ttl) "
+                    + "else "
+                    + "redis.call('SET', KEYS[i], ARGV[i]) "
+                    + "end "
+                    + "end "
+                    + "return n",
+            Long.class);
+
+    /**
+     * 值与预期一致时才删除，返回删除的键数（用于释放锁：避免误删其他节点在锁过期后重新获取的锁）
+     * <p>
+     * KEYS[1] 键；ARGV[1] 预期值（锁的持有者令牌）
+     */
+    public static final RedisScript<Long> COMPARE_AND_DELETE = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then "
+                    + "return redis.call('DEL', KEYS[1]) "
+                    + "end "
+                    + "return 0",
+            Long.class);
+
+    /**
+     * 滑动窗口计数：以有序集合记录窗口内的事件（分数为服务端时间），先移除窗口外的事件，
+     * 未达到上限时记录本次事件并返回窗口内事件数，达到上限时不记录并返回 -1
+     * <p>
+     * KEYS[1] 窗口键；ARGV[1] 窗口毫秒数，ARGV[2] 上限（不大于 0 表示不限），ARGV[3] 事件成员（需唯一）
+     */
+    public static final RedisScript<Long> SLIDING_WINDOW_INCR = new DefaultRedisScript<>(
+            "local window = tonumber(ARGV[1]) "
+                    + "local limit = tonumber(ARGV[2]) "
+                    + "local time = redis.call('TIME') "
+                    + "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000) "
+                    + "redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window) "
+                    + "local count = redis.call('ZCARD', KEYS[1]) "
+                    + "if limit > 0 and count >= limit then "
+                    + "return -1 "
+                    + "end "
+                    + "redis.call('ZADD', KEYS[1], now, ARGV[3]) "
+                    + "redis.call('PEXPIRE', KEYS[1], window) "
+                    + "return count + 1",
+            Long.class);
+
+    private static final List<RedisScript<?>> SCRIPTS = List.of(
+            INCR_IF_EXISTS, INCR_WITH_TTL, MSET_WITH_TTL, COMPARE_AND_DELETE, SLIDING_WINDOW_INCR);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    /**
+     * 预加载脚本（失败不影响启动，首次调用时由 EVAL 回退加载）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        try {
+            redisTemplate.execute((RedisCallback<Object>) connection -> {
+                for (RedisScript<?> script : SCRIPTS) {
+                    String sha = connection.scriptingCommands()
+                            .scriptLoad(script.getScriptAsString().getBytes(StandardCharsets.UTF_8));
+                    if (!script.getSha1().equals(sha)) {
+                        log.warn("Lua 脚本 SHA1 不一致: expected={}, actual={}", script.getSha1(), sha);
+                    }
+                }
+                return null;
+            });
+            log.info("Redis Lua 脚本已预加载: {}", SCRIPTS.size());
+        } catch (Exception e) {
+            log.warn("Redis Lua 脚本预加载失败，首次调用时加载", e);
+        }
+    }
+}
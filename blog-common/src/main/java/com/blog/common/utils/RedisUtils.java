@@ -1,18 +1,33 @@
 package com.blog.common.utils;
 
+import com.blog.common.cache.HotKeyCache;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Redis 通用工具类
@@ -24,8 +39,13 @@ import java.util.concurrent.TimeUnit;
  * <li><b>参数校验</b>：使用 Guava Preconditions 和 Commons Lang3 保证输入合法性</li>
  * <li><b>日志记录</b>：SLF4J 参数化日志，便于问题排查</li>
  * <li><b>类型安全</b>：{@link Optional} 包装返回值，避免空指针异常</li>
- * <li><b>批量操作</b>：支持 MGET/MSET 批量操作，提升性能</li>
+ * <li><b>批量操作</b>：支持 MGET/MSET 批量操作，超过 100 个键自动分片并经 Pipeline 发送；
+ * 支持逐键 TTL 的批量写入、批量 HGETALL、基于 SCAN 的按模式删除，耗时按批量大小记录直方图</li>
  * <li><b>防雪崩</b>：setWithRandomTTL 方法支持随机 TTL，避免缓存雪崩</li>
+ * <li><b>原子复合操作</b>：条件递增、带过期时间的递增与批量写入、比较后删除、滑动窗口计数经 Lua 脚本
+ * 一次往返原子执行（见 {@link RedisScripts}）</li>
+ * <li><b>热点键</b>：读取计入热点探测；{@code getHot} 对热点键优先返回本节点短期副本（见 {@link HotKeyCache}），
+ * 经本类的写入与删除会清除副本。{@code get} 始终读取 Redis</li>
  * </ul>
  * <p>
  * <b>使用示例：</b>
@@ -51,7 +71,24 @@ import java.util.concurrent.TimeUnit;
 @RequiredArgsConstructor
 public final class RedisUtils {
 
+    /**
+     * 单条 MGET / 单个 Pipeline 分片包含的最大键数，超出后拆分为多条命令
+     */
+    private static final int BATCH_CHUNK_SIZE = 100;
+
+    /**
+     * 单个 Pipeline 包含的最大命令数，超出后分多次往返发送
+     */
+    private static final int PIPELINE_CHUNK_SIZE = 1000;
+
+    /**
+     * 按模式删除时每次 SCAN 的 COUNT 提示值及每批 UNLINK 的键数
+     */
+    private static final int SCAN_BATCH_SIZE = 500;
+
     private final RedisTemplate<String, Object> redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final HotKeyCache hotKeyCache;
 
     // ============================= Private Helpers =============================
 
@@ -105,7 +142,9 @@ public final class RedisUtils {
             return 0L;
         }
         log.debug("准备批量删除 Redis 键: {}", keys);
-        return redisTemplate.delete(keys);
+        Long deleted = redisTemplate.delete(keys);
+        hotKeyCache.invalidate(HotKeyCache.REDIS, keys);
+        return deleted;
     }
 
     /**
@@ -117,7 +156,9 @@ public final class RedisUtils {
     public boolean delete(final String key) {
         checkKey(key);
         log.debug("准备删除 Redis 键: '{}'", key);
-        return redisTemplate.delete(key);
+        boolean deleted = redisTemplate.delete(key);
+        hotKeyCache.invalidate(HotKeyCache.REDIS, key);
+        return deleted;
     }
 
     // ============================ String (字符串) =============================
@@ -132,6 +173,7 @@ public final class RedisUtils {
         checkKey(key);
         Preconditions.checkNotNull(value, "缓存的值不能为空。");
         redisTemplate.opsForValue().set(key, value);
+        hotKeyCache.invalidate(HotKeyCache.REDIS, key);
         log.debug("Redis [SET] - 键: '{}', 值: '{}'", key, value);
     }
 
@@ -149,6 +191,7 @@ public final class RedisUtils {
         Preconditions.checkNotNull(unit, "时间单位不能为空。");
         Preconditions.checkArgument(timeout > 0, "过期时间必须大于0。");
         redisTemplate.opsForValue().set(key, value, timeout, unit);
+        hotKeyCache.invalidate(HotKeyCache.REDIS, key);
         log.debug("Redis [setEX] - 键: '{}', 值: '{}', 过期时间: {} {}", key, value, timeout, unit.toString().toLowerCase());
     }
 
@@ -168,6 +211,7 @@ public final class RedisUtils {
         Preconditions.checkArgument(timeout > 0, "过期时间必须大于0。");
         boolean success = Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, value, timeout, unit));
         if (success) {
+            hotKeyCache.invalidate(HotKeyCache.REDIS, key);
             log.debug("Redis [setNX] 成功 - 键: '{}', 值: '{}', 过期时间: {} {}", key, value, timeout,
                     unit.toString().toLowerCase());
         }
@@ -182,6 +226,7 @@ public final class RedisUtils {
      */
     public Object get(final String key) {
         checkKey(key);
+        hotKeyCache.recordAccess(HotKeyCache.REDIS, key);
         return redisTemplate.opsForValue().get(key);
     }
 
@@ -196,7 +241,36 @@ public final class RedisUtils {
     public <T> T get(final String key, final Class<T> clazz) {
         checkKey(key);
         Preconditions.checkNotNull(clazz, "目标 Class 类型不能为空。");
-        Object value = redisTemplate.opsForValue().get(key);
+        Object value = get(key);
+        return value == null ? null : clazz.cast(value);
+    }
+
+    /**
+     * 读多写少、可容忍短暂旧值的缓存获取 (GET)
+     * <p>
+     * 热点键优先返回本节点的短期副本：经本类写入或删除的变更会清除各节点副本，
+     * 绕过本类直接修改 Redis 的变更最多在 {@code blog.cache.hot-key.local-ttl} 内读到旧值。
+     * 计数器等要求读到最新值的键应使用 {@link #get(String)}。
+     *
+     * @param key 键, 非空
+     * @return 缓存的值, 可能为 {@code null}
+     */
+    public Object getHot(final String key) {
+        checkKey(key);
+        return hotKeyCache.get(HotKeyCache.REDIS, key, () -> redisTemplate.opsForValue().get(key));
+    }
+
+    /**
+     * 读多写少、可容忍短暂旧值的缓存获取并转换为指定类型，见 {@link #getHot(String)}
+     *
+     * @param key   键, 非空
+     * @param clazz 目标类型的 Class 对象, 非空
+     * @param <T>   目标类型
+     * @return 转换后的对象, 如果 key 不存在则返回 {@code null}
+     */
+    public <T> T getHot(final String key, final Class<T> clazz) {
+        Preconditions.checkNotNull(clazz, "目标 Class 类型不能为空。");
+        Object value = getHot(key);
         return value == null ? null : clazz.cast(value);
     }
 
@@ -220,7 +294,9 @@ public final class RedisUtils {
      */
     public Long increment(final String key) {
         checkKey(key);
-        return redisTemplate.opsForValue().increment(key);
+        Long value = redisTemplate.opsForValue().increment(key);
+        hotKeyCache.invalidate(HotKeyCache.REDIS, key);
+        return value;
     }
 
     /**
@@ -231,7 +307,9 @@ public final class RedisUtils {
      */
     public Long decrement(final String key) {
         checkKey(key);
-        return redisTemplate.opsForValue().decrement(key);
+        Long value = redisTemplate.opsForValue().decrement(key);
+        hotKeyCache.invalidate(HotKeyCache.REDIS, key);
+        return value;
     }
 
     // ================================ Hash (哈希) =================================
@@ -388,7 +466,7 @@ public final class RedisUtils {
     /**
      * 批量获取（MGET）
      * <p>
-     * 性能优化：将 N 次网络请求合并为 1 次
+     * 性能优化：将 N 次网络请求合并为 1 次；超过 {@value #BATCH_CHUNK_SIZE} 个键时按 {@link #pipelinedMGet} 分片
      *
      * @param keys 键集合，非空
      * @return 值列表，顺序与 keys 一致，不存在的键对应 null
@@ -398,17 +476,20 @@ public final class RedisUtils {
         if (keys.isEmpty()) {
             return List.of();
         }
-        // 限制批量大小，防止慢查询
-        Preconditions.checkArgument(keys.size() <= 100, "批量获取的 key 数量不能超过 100。");
+        if (keys.size() > BATCH_CHUNK_SIZE) {
+            return pipelinedMGet(List.copyOf(keys));
+        }
 
+        keys.forEach(key -> hotKeyCache.recordAccess(HotKeyCache.REDIS, key));
         log.debug("Redis [MGET] - 批量获取 {} 个键", keys.size());
-        return redisTemplate.opsForValue().multiGet(keys);
+        return timed("mget", keys.size(), () -> redisTemplate.opsForValue().multiGet(keys));
     }
 
     /**
      * 批量设置（MSET）
      * <p>
-     * 性能优化：将 N 次网络请求合并为 1 次
+     * 性能优化：将 N 次网络请求合并为 1 次；超过 {@value #BATCH_CHUNK_SIZE} 个键值对时拆分为多条 MSET，
+     * 在同一个 Pipeline 中发送。MSET 不支持过期时间，需要过期时间时使用 {@link #pipelinedMSet(Map, Function)}
      *
      * @param map 键值对 Map，非空
      */
@@ -417,11 +498,241 @@ public final class RedisUtils {
         if (map.isEmpty()) {
             return;
         }
-        // 限制批量大小
-        Preconditions.checkArgument(map.size() <= 100, "批量设置的键值对数量不能超过 100。");
+        if (map.size() <= BATCH_CHUNK_SIZE) {
+            log.debug("Redis [MSET] - 批量设置 {} 个键值对", map.size());
+            timed("mset", map.size(), () -> {
+                redisTemplate.opsForValue().multiSet(map);
+                return null;
+            });
+            hotKeyCache.invalidate(HotKeyCache.REDIS, map.keySet());
+            return;
+        }
+
+        List<List<Map.Entry<String, Object>>> chunks = Lists.partition(List.copyOf(map.entrySet()), BATCH_CHUNK_SIZE);
+        timed("mset", map.size(), () -> redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                chunks.forEach(chunk -> {
+                    Map<String, Object> chunkMap = new LinkedHashMap<>();
+                    chunk.forEach(entry -> chunkMap.put(entry.getKey(), entry.getValue()));
+                    ops.opsForValue().multiSet(chunkMap);
+                });
+                return null;
+            }
+        }));
+        hotKeyCache.invalidate(HotKeyCache.REDIS, map.keySet());
+        log.debug("Redis [PIPELINED MSET] - 批量设置 {} 个键值对，{} 条命令", map.size(), chunks.size());
+    }
+
+    /**
+     * 批量获取（不限数量）
+     * <p>
+     * 按 {@value #BATCH_CHUNK_SIZE} 个键一组拆分为多条 MGET，在同一个 Pipeline 中发送，只有一次网络往返
+     *
+     * @param keys 键列表，非空
+     * @return 值列表，顺序与 keys 一致，不存在的键对应 null
+     */
+    public List<Object> pipelinedMGet(final List<String> keys) {
+        Preconditions.checkNotNull(keys, "要获取的 key 集合不能为空。");
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        if (keys.size() <= BATCH_CHUNK_SIZE) {
+            return mGet(keys);
+        }
+
+        keys.forEach(key -> hotKeyCache.recordAccess(HotKeyCache.REDIS, key));
+        List<List<String>> chunks = Lists.partition(keys, BATCH_CHUNK_SIZE);
+        List<Object> chunkResults = timed("mget", keys.size(),
+                () -> redisTemplate.executePipelined(new SessionCallback<Object>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public <K, V> Object execute(RedisOperations<K, V> operations) {
+                        RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                        chunks.forEach(chunk -> ops.opsForValue().multiGet(chunk));
+                        return null;
+                    }
+                }));
+
+        List<Object> values = new ArrayList<>(keys.size());
+        for (int i = 0; i < chunks.size(); i++) {
+            if (chunkResults.get(i) instanceof List<?> chunkValues) {
+                values.addAll(chunkValues);
+            } else {
+                values.addAll(Collections.nCopies(chunks.get(i).size(), null));
+            }
+        }
+        log.debug("Redis [PIPELINED MGET] - 批量获取 {} 个键，{} 条命令", keys.size(), chunks.size());
+        return values;
+    }
+
+    /**
+     * 批量设置并添加随机 TTL（不限数量）
+     * <p>
+     * MSET 不支持过期时间，改为在 Pipeline 中逐键发送 {@code SET key value EX ttl}，
+     * 写入与过期时间在同一次网络往返中完成
+     *
+     * @param map           键值对 Map，非空
+     * @param baseTimeout   基础过期时间
+     * @param unit          时间单位
+     * @param randomPercent 随机百分比（0-100），例如 10 表示 ±10%
+     */
+    public void pipelinedMSet(final Map<String, Object> map, final long baseTimeout,
+                              final TimeUnit unit, final int randomPercent) {
+        Preconditions.checkNotNull(unit, "时间单位不能为空。");
+        Preconditions.checkArgument(baseTimeout > 0, "过期时间必须大于0。");
+        Preconditions.checkArgument(randomPercent >= 0 && randomPercent <= 100,
+                "随机百分比必须在 0-100 之间。");
+
+        long baseSeconds = unit.toSeconds(baseTimeout);
+        pipelinedMSet(map, key -> Duration.ofSeconds(
+                Math.max(1, baseSeconds + randomOffset(baseSeconds, randomPercent))));
+        log.debug("Redis [PIPELINED SET EX] - 基础TTL: {}s", baseSeconds);
+    }
+
+    /**
+     * 批量设置，每个键单独指定过期时间（不限数量）
+     * <p>
+     * 在 Pipeline 中逐键发送 {@code SET key value PX ttl}；每 {@value #PIPELINE_CHUNK_SIZE} 条命令一次网络往返，
+     * 限制单个 Pipeline 在客户端和服务端占用的缓冲区
+     *
+     * @param map         键值对 Map，非空
+     * @param ttlResolver 键 → 过期时间，返回 null 或非正数时不设置过期时间
+     */
+    public void pipelinedMSet(final Map<String, Object> map, final Function<? super String, Duration> ttlResolver) {
+        Preconditions.checkNotNull(map, "要设置的键值对 Map 不能为空。");
+        Preconditions.checkNotNull(ttlResolver, "过期时间计算函数不能为空。");
+        if (map.isEmpty()) {
+            return;
+        }
+
+        List<List<Map.Entry<String, Object>>> chunks = Lists.partition(List.copyOf(map.entrySet()),
+                PIPELINE_CHUNK_SIZE);
+        for (List<Map.Entry<String, Object>> chunk : chunks) {
+            timed("mset-ttl", chunk.size(), () -> redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                    chunk.forEach(entry -> {
+                        Duration ttl = ttlResolver.apply(entry.getKey());
+                        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+                            ops.opsForValue().set(entry.getKey(), entry.getValue());
+                        } else {
+                            ops.opsForValue().set(entry.getKey(), entry.getValue(), ttl);
+                        }
+                    });
+                    return null;
+                }
+            }));
+        }
+        hotKeyCache.invalidate(HotKeyCache.REDIS, map.keySet());
+        log.debug("Redis [PIPELINED SET PX] - 批量设置 {} 个键值对，{} 次往返", map.size(), chunks.size());
+    }
+
+    /**
+     * 批量获取 Hash 的所有字段（不限数量）
+     * <p>
+     * 在 Pipeline 中逐键发送 HGETALL，每 {@value #PIPELINE_CHUNK_SIZE} 个键一次网络往返
+     *
+     * @param keys 键列表，非空
+     * @return 与 keys 顺序一致的字段映射，不存在的键对应空 Map
+     */
+    @SuppressWarnings("unchecked")
+    public List<Map<Object, Object>> pipelinedHGetAll(final List<String> keys) {
+        Preconditions.checkNotNull(keys, "要获取的 key 集合不能为空。");
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+
+        List<Map<Object, Object>> values = new ArrayList<>(keys.size());
+        for (List<String> chunk : Lists.partition(keys, PIPELINE_CHUNK_SIZE)) {
+            List<Object> results = timed("hgetall", chunk.size(),
+                    () -> redisTemplate.executePipelined(new SessionCallback<Object>() {
+                        @Override
+                        @SuppressWarnings("unchecked")
+                        public <K, V> Object execute(RedisOperations<K, V> operations) {
+                            RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                            chunk.forEach(key -> ops.opsForHash().entries(key));
+                            return null;
+                        }
+                    }));
+            for (Object result : results) {
+                values.add(result instanceof Map<?, ?> map ? (Map<Object, Object>) map : Map.of());
+            }
+        }
+        log.debug("Redis [PIPELINED HGETALL] - 批量获取 {} 个 Hash", keys.size());
+        return values;
+    }
+
+    /**
+     * 按模式删除键（SCAN + UNLINK）
+     * <p>
+     * 以 SCAN 游标遍历（不使用阻塞服务端的 KEYS），每 {@value #SCAN_BATCH_SIZE} 个键一批异步删除（UNLINK）。
+     * SCAN 只保证遍历开始时已存在且期间未被删除的键一定会被返回，遍历期间新写入的键可能遗漏
+     *
+     * @param pattern 匹配模式，例如 {@code user:detail:*}；不允许只有通配符
+     * @return 删除的键数
+     */
+    public long deleteByPattern(final String pattern) {
+        checkKey(pattern);
+        Preconditions.checkArgument(!StringUtils.containsOnly(pattern, '*', '?'), "删除模式不能只包含通配符。");
+
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(SCAN_BATCH_SIZE).build();
+        long deleted = 0;
+        List<String> batch = new ArrayList<>(SCAN_BATCH_SIZE);
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() >= SCAN_BATCH_SIZE) {
+                    deleted += unlink(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            deleted += unlink(batch);
+        }
+        log.info("Redis [SCAN DEL] - 模式: '{}', 删除 {} 个键", pattern, deleted);
+        return deleted;
+    }
+
+    private long unlink(List<String> keys) {
+        Long count = timed("unlink", keys.size(), () -> redisTemplate.unlink(keys));
+        hotKeyCache.invalidate(HotKeyCache.REDIS, keys);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * 记录批量操作耗时，按操作和批量大小分组（{@code redis.batch.latency{op, size}}）
+     */
+    private <T> T timed(String op, int size, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return action.get();
+        } finally {
+            sample.stop(Timer.builder("redis.batch.latency")
+                    .description("Redis 批量操作耗时")
+                    .tag("op", op)
+                    .tag("size", sizeBucket(size))
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
 
-        log.debug("Redis [MSET] - 批量设置 {} 个键值对", map.size());
-        redisTemplate.opsForValue().multiSet(map);
+    private static String sizeBucket(int size) {
+        if (size <= 10) {
+            return "1-10";
+        }
+        if (size <= 100) {
+            return "11-100";
+        }
+        if (size <= 1000) {
+            return "101-1000";
+        }
+        return "1000+";
     }
 
     /**
@@ -447,12 +758,154 @@ public final class RedisUtils {
 
         // 计算随机偏移
         long baseSeconds = unit.toSeconds(baseTimeout);
-        long randomOffset = (long) (baseSeconds * randomPercent / 100.0 *
-                (Math.random() * 2 - 1)); // -randomPercent% ~ +randomPercent%
+        long randomOffset = randomOffset(baseSeconds, randomPercent);
         long finalTimeout = baseSeconds + randomOffset;
 
         redisTemplate.opsForValue().set(key, value, finalTimeout, TimeUnit.SECONDS);
+        hotKeyCache.invalidate(HotKeyCache.REDIS, key);
         log.debug("Redis [setWithRandomTTL] - 键: '{}', 基础TTL: {}s, 随机偏移: {}s, 最终TTL: {}s",
                 key, baseSeconds, randomOffset, finalTimeout);
     }
+
+    /**
+     * 随机 TTL 偏移：-randomPercent% ~ +randomPercent%
+     */
+    private static long randomOffset(long baseSeconds, int randomPercent) {
+        return (long) (baseSeconds * randomPercent / 100.0 * (ThreadLocalRandom.current().nextDouble() * 2 - 1));
+    }
+
+    // ============================= Script (Lua 脚本) =============================
+
+    /**
+     * 键存在时原子递增（INCRBY），不存在时不创建
+     * <p>
+     * 用于数据库计数的 Redis 镜像：镜像不存在时由读路径回源，增量不能凭空创建出错误的计数
+     *
+     * @param key   键, 非空
+     * @param delta 增量，可为负数
+     * @return 递增后的值, 键不存在时返回 {@code null}
+     */
+    public Long incrementIfPresent(final String key, final long delta) {
+        checkKey(key);
+        Long value = redisTemplate.execute(RedisScripts.INCR_IF_EXISTS, List.of(key), delta);
+        if (value != null) {
+            hotKeyCache.invalidate(HotKeyCache.REDIS, key);
+        }
+        return value;
+    }
+
+    /**
+     * 原子递增并在键新建时设置过期时间（INCRBY + PEXPIRE 在同一个脚本中执行）
+     * <p>
+     * 已有过期时间的键不会被续期，适用于固定窗口计数
+     *
+     * @param key   键, 非空
+     * @param delta 增量，可为负数
+     * @param ttl   键新建时的过期时间, 必须大于 0
+     * @return 递增后的值
+     */
+    public long incrementWithTtl(final String key, final long delta, final Duration ttl) {
+        checkKey(key);
+        Preconditions.checkNotNull(ttl, "过期时间不能为空。");
+        Preconditions.checkArgument(ttl.toMillis() > 0, "过期时间必须大于0。");
+        Long value = redisTemplate.execute(RedisScripts.INCR_WITH_TTL, List.of(key), delta, ttl.toMillis());
+        hotKeyCache.invalidate(HotKeyCache.REDIS, key);
+        return value == null ? 0 : value;
+    }
+
+    /**
+     * 批量设置，每个键单独指定过期时间（不限数量）
+     * <p>
+     * 每 {@value #PIPELINE_CHUNK_SIZE} 个键一次脚本调用（一次网络往返），同一批内的写入与过期时间原子生效，
+     * 不会出现值已写入但尚未设置过期时间的键
+     *
+     * @param map         键值对 Map，非空
+     * @param ttlResolver 键 → 过期时间，返回 null 或非正数时不设置过期时间
+     */
+    public void mSetWithTtl(final Map<String, Object> map, final Function<? super String, Duration> ttlResolver) {
+        Preconditions.checkNotNull(map, "要设置的键值对 Map 不能为空。");
+        Preconditions.checkNotNull(ttlResolver, "过期时间计算函数不能为空。");
+        if (map.isEmpty()) {
+            return;
+        }
+
+        List<List<Map.Entry<String, Object>>> chunks = Lists.partition(List.copyOf(map.entrySet()),
+                PIPELINE_CHUNK_SIZE);
+        for (List<Map.Entry<String, Object>> chunk : chunks) {
+            List<String> keys = new ArrayList<>(chunk.size());
+            Object[] args = new Object[chunk.size() * 2];
+            for (int i = 0; i < chunk.size(); i++) {
+                Map.Entry<String, Object> entry = chunk.get(i);
+                Duration ttl = ttlResolver.apply(entry.getKey());
+                keys.add(entry.getKey());
+                args[i] = entry.getValue();
+                args[chunk.size() + i] = ttl == null ? 0L : ttl.toMillis();
+            }
+            timed("mset-ttl", chunk.size(), () -> redisTemplate.execute(RedisScripts.MSET_WITH_TTL, keys, args));
+        }
+        hotKeyCache.invalidate(HotKeyCache.REDIS, map.keySet());
+        log.debug("Redis [MSET TTL SCRIPT] - 批量设置 {} 个键值对，{} 次往返", map.size(), chunks.size());
+    }
+
+    /**
+     * 批量设置并添加随机 TTL（不限数量，防止缓存雪崩）
+     * <p>
+     * 写入与过期时间原子生效，见 {@link #mSetWithTtl(Map, Function)}
+     *
+     * @param map           键值对 Map，非空
+     * @param baseTimeout   基础过期时间
+     * @param unit          时间单位
+     * @param randomPercent 随机百分比（0-100），例如 10 表示 ±10%
+     */
+    public void mSetWithRandomTTL(final Map<String, Object> map, final long baseTimeout,
+                                  final TimeUnit unit, final int randomPercent) {
+        Preconditions.checkNotNull(unit, "时间单位不能为空。");
+        Preconditions.checkArgument(baseTimeout > 0, "过期时间必须大于0。");
+        Preconditions.checkArgument(randomPercent >= 0 && randomPercent <= 100,
+                "随机百分比必须在 0-100 之间。");
+
+        long baseSeconds = unit.toSeconds(baseTimeout);
+        mSetWithTtl(map, key -> Duration.ofSeconds(
+                Math.max(1, baseSeconds + randomOffset(baseSeconds, randomPercent))));
+    }
+
+    /**
+     * 值与预期一致时才删除（比较与删除原子执行）
+     * <p>
+     * 用于释放分布式锁：只有持有者令牌一致时才删除，避免误删其他节点在锁过期后重新获取的锁
+     *
+     * @param key      键, 非空
+     * @param expected 预期值, 非空
+     * @return {@code true} 已删除, {@code false} 键不存在或值不一致
+     */
+    public boolean deleteIfEquals(final String key, final Object expected) {
+        checkKey(key);
+        Preconditions.checkNotNull(expected, "预期值不能为空。");
+        Long deleted = redisTemplate.execute(RedisScripts.COMPARE_AND_DELETE, List.of(key), expected);
+        boolean success = deleted != null && deleted > 0;
+        if (success) {
+            hotKeyCache.invalidate(HotKeyCache.REDIS, key);
+        }
+        return success;
+    }
+
+    /**
+     * 滑动窗口计数（有序集合，时间取 Redis 服务端时间）
+     * <p>
+     * 移除窗口外的事件后，未达到上限时记录本次事件；清理、判断与记录在同一个脚本中执行，并发调用不会超出上限
+     *
+     * @param key    键, 非空
+     * @param window 窗口长度, 必须大于 0
+     * @param limit  窗口内事件数上限，不大于 0 表示不限
+     * @return 记录后窗口内的事件数；达到上限时不记录并返回 {@code -1}
+     */
+    public long slidingWindowIncrement(final String key, final Duration window, final long limit) {
+        checkKey(key);
+        Preconditions.checkNotNull(window, "窗口长度不能为空。");
+        Preconditions.checkArgument(window.toMillis() > 0, "窗口长度必须大于0。");
+        String member = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        Long count = redisTemplate.execute(RedisScripts.SLIDING_WINDOW_INCR, List.of(key),
+                window.toMillis(), limit, member);
+        return count == null ? -1 : count;
+    }
 }
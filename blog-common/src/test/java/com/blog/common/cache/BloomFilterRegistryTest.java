@@ -0,0 +1,157 @@
+package com.blog.common.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * BloomFilterRegistry 功能测试
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@ExtendWith(MockitoExtension.class)
+class BloomFilterRegistryTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, Object> valueOperations;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private BloomFilterProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new BloomFilterProperties();
+        properties.setBuildBatchSize(3);
+        properties.getDefaults().setExpectedInsertions(1000);
+    }
+
+    @Test
+    @DisplayName("未启用时不登记过滤器，所有ID视为可能存在")
+    void should_returnNull_when_disabled() {
+        // Given
+        properties.setEnabled(false);
+        BloomFilterRegistry registry = new BloomFilterRegistry(properties, redisTemplate, taskScheduler);
+
+        // When
+        IdBloomFilter filter = registry.register("article", (afterId, limit) -> List.of());
+
+        // Then
+        assertThat(filter).isNull();
+        assertThat(registry.mightContain("article", 1L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("同名过滤器只登记一次，按实体名读取配置")
+    void should_registerOnce_when_sameNameRegisteredTwice() {
+        // Given
+        properties.getFilters().put("comment", filterConfig(5000));
+        BloomFilterRegistry registry = new BloomFilterRegistry(properties, redisTemplate, taskScheduler);
+
+        // When
+        IdBloomFilter first = registry.register("comment", (afterId, limit) -> List.of());
+        IdBloomFilter second = registry.register("comment", (afterId, limit) -> List.of());
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(first.getNumBits()).isEqualTo(IdBloomFilter.optimalNumBits(5000, 0.01));
+        assertThat(registry.mightContain("unknown", 1L)).isTrue();
+        assertThat(registry.rebuild("unknown")).isFalse();
+    }
+
+    @Test
+    @DisplayName("LOCAL 模式按主键分批扫描构建，不访问 Redis")
+    void should_pageThroughIds_when_rebuildingLocally() {
+        // Given
+        properties.setMode(BloomFilterProperties.Mode.LOCAL);
+        BloomFilterRegistry registry = new BloomFilterRegistry(properties, redisTemplate, taskScheduler);
+        List<Long> afterIds = new ArrayList<>();
+        IdBloomFilter filter = registry.register("article", (afterId, limit) -> {
+            afterIds.add(afterId);
+            return LongStream.rangeClosed(afterId == Long.MIN_VALUE ? 1 : afterId + 1, 7)
+                    .limit(limit).boxed().toList();
+        });
+
+        // When
+        boolean rebuilt = registry.rebuild("article");
+
+        // Then
+        assertThat(rebuilt).isTrue();
+        assertThat(afterIds).containsExactly(Long.MIN_VALUE, 3L, 6L);
+        assertThat(filter.isReady()).isTrue();
+        assertThat(filter.approximateCount()).isEqualTo(7);
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("REDIS 模式抢到重建锁后构建，其他节点持有锁时跳过")
+    void should_skipBuild_when_otherNodeHoldsLock() {
+        // Given
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), any(), any(Duration.class))).thenReturn(false, true);
+        BloomFilterRegistry registry = new BloomFilterRegistry(properties, redisTemplate, taskScheduler);
+        List<Long> afterIds = new ArrayList<>();
+        IdBloomFilter filter = registry.register("article", (afterId, limit) -> {
+            afterIds.add(afterId);
+            return List.of(1L, 2L);
+        });
+
+        // When
+        boolean skipped = registry.rebuild("article");
+        boolean rebuilt = registry.rebuild("article");
+
+        // Then
+        assertThat(skipped).isFalse();
+        assertThat(rebuilt).isTrue();
+        assertThat(afterIds).containsExactly(Long.MIN_VALUE);
+        assertThat(filter.isReady()).isTrue();
+    }
+
+    @Test
+    @DisplayName("ID来源抛出异常时构建中止，过滤器保持未就绪（视所有ID为可能存在）")
+    void should_stayNotReady_when_sourceFails() {
+        // Given
+        properties.setMode(BloomFilterProperties.Mode.LOCAL);
+        BloomFilterRegistry registry = new BloomFilterRegistry(properties, redisTemplate, taskScheduler);
+        IdBloomFilter filter = registry.register("article", (afterId, limit) -> {
+            throw new IllegalStateException("db down");
+        });
+
+        // When
+        boolean rebuilt = registry.rebuild("article");
+
+        // Then
+        assertThat(rebuilt).isFalse();
+        assertThat(filter.isReady()).isFalse();
+        assertThat(registry.mightContain("article", 1L)).isTrue();
+    }
+
+    private static BloomFilterProperties.Filter filterConfig(long expectedInsertions) {
+        BloomFilterProperties.Filter filter = new BloomFilterProperties.Filter();
+        filter.setExpectedInsertions(expectedInsertions);
+        return filter;
+    }
+}
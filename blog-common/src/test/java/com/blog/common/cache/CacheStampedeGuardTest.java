@@ -0,0 +1,318 @@
+package com.blog.common.cache;
+
+import com.blog.common.utils.RedisUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * CacheStampedeGuard 功能测试
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@ExtendWith(MockitoExtension.class)
+class CacheStampedeGuardTest {
+
+    private static final String KEY = "article:detail:1";
+
+    @Mock
+    private RedisUtils redisUtils;
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    private CacheStampedeGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        guard = new CacheStampedeGuard(redisUtils, redisTemplate);
+        ReflectionTestUtils.setField(guard, "lockTtlMs", 3000L);
+        ReflectionTestUtils.setField(guard, "lockWaitMs", 60L);
+        ReflectionTestUtils.setField(guard, "pollIntervalMs", 10L);
+        ReflectionTestUtils.setField(guard, "staleRatio", 0.2);
+        ReflectionTestUtils.setField(guard, "beta", 1.0);
+        ReflectionTestUtils.setField(guard, "ttlJitter", 0.0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        guard.destroy();
+    }
+
+    @Test
+    @DisplayName("同一键的并发回源合并为一次，等待者复用结果")
+    void should_loadOnce_when_concurrentCallersShareKey() throws Exception {
+        // Given
+        when(redisUtils.setIfAbsent(anyString(), any(), anyLong(), any())).thenReturn(true);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<String> loader = () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "v";
+        };
+        List<Object> results = new CopyOnWriteArrayList<>();
+
+        // When
+        Thread owner = start(() -> results.add(guard.load(KEY, () -> null, loader, value -> { })));
+        awaitLoadStarted(loads);
+        Thread waiter = start(() -> results.add(guard.load(KEY, () -> null, loader, value -> { })));
+        awaitParked(waiter);
+        release.countDown();
+        owner.join();
+        waiter.join();
+
+        // Then
+        assertThat(loads).hasValue(1);
+        assertThat(results).containsExactly("v", "v");
+    }
+
+    @Test
+    @DisplayName("回源异常同时抛给等待者，之后的调用重新回源")
+    void should_propagateException_when_sharedLoadFails() throws Exception {
+        // Given
+        when(redisUtils.setIfAbsent(anyString(), any(), anyLong(), any())).thenReturn(true);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<String> failing = () -> {
+            loads.incrementAndGet();
+            await(release);
+            throw new IllegalStateException("db down");
+        };
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+
+        // When
+        Thread owner = start(() -> capture(errors, () -> guard.load(KEY, () -> null, failing, value -> { })));
+        awaitLoadStarted(loads);
+        Thread waiter = start(() -> capture(errors, () -> guard.load(KEY, () -> null, failing, value -> { })));
+        awaitParked(waiter);
+        release.countDown();
+        owner.join();
+        waiter.join();
+
+        // Then
+        assertThat(loads).hasValue(1);
+        assertThat(errors).hasSize(2)
+                .allSatisfy(error -> assertThat(error).isInstanceOf(IllegalStateException.class).hasMessage("db down"));
+        assertThat(guard.<String>load(KEY, () -> null, () -> "v", value -> { })).isEqualTo("v");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("未抢到集群锁时等待持有者写入，超时后自行回源且不释放他人的锁")
+    void should_loadItself_when_lockWaitTimesOut() {
+        // Given
+        when(redisUtils.setIfAbsent(anyString(), any(), anyLong(), any())).thenReturn(false);
+        AtomicInteger probes = new AtomicInteger();
+        List<String> written = new CopyOnWriteArrayList<>();
+
+        // When
+        long start = System.nanoTime();
+        String value = guard.load(KEY, () -> {
+            probes.incrementAndGet();
+            return null;
+        }, () -> "v", written::add);
+
+        // Then
+        assertThat(value).isEqualTo("v");
+        assertThat(written).containsExactly("v");
+        assertThat(probes.get()).isGreaterThan(1);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(60);
+        verify(redisUtils, never()).deleteIfEquals(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("等待期间持有者写入缓存时直接返回缓存值，不回源")
+    void should_returnCachedValue_when_lockHolderWritesWhileWaiting() {
+        // Given
+        when(redisUtils.setIfAbsent(anyString(), any(), anyLong(), any())).thenReturn(false);
+        AtomicInteger probes = new AtomicInteger();
+
+        // When
+        String value = guard.load(KEY, () -> probes.incrementAndGet() >= 2 ? "cached" : null,
+                () -> {
+                    throw new AssertionError("should not load");
+                }, written -> { });
+
+        // Then
+        assertThat(value).isEqualTo("cached");
+    }
+
+    @Test
+    @DisplayName("Redis 不可用时仍经过进程内合并回源")
+    void should_loadThroughSingleFlight_when_redisUnavailable() throws Exception {
+        // Given
+        when(redisTemplate.executePipelined(any(SessionCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        when(redisUtils.setIfAbsent(anyString(), any(), anyLong(), any()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        when(redisUtils.get(KEY)).thenThrow(new RedisConnectionFailureException("down"));
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<String> loader = () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "v";
+        };
+        List<Object> results = new CopyOnWriteArrayList<>();
+
+        // When
+        Thread owner = start(() -> results.add(guard.getOrLoad(KEY, 10, TimeUnit.SECONDS, loader)));
+        awaitLoadStarted(loads);
+        Thread waiter = start(() -> results.add(guard.getOrLoad(KEY, 10, TimeUnit.SECONDS, loader)));
+        awaitParked(waiter);
+        release.countDown();
+        owner.join();
+        waiter.join();
+
+        // Then
+        assertThat(loads).hasValue(1);
+        assertThat(results).containsExactly("v", "v");
+    }
+
+    @Test
+    @DisplayName("写入的物理 TTL = 逻辑 TTL × (1 + stale-ratio)，抖动在 ±ttl-jitter 范围内")
+    void should_extendTtlByStaleWindow_when_writingLoadedValue() {
+        // Given
+        givenCached(null, -2L);
+        when(redisUtils.setIfAbsent(anyString(), any(), anyLong(), any())).thenReturn(true);
+
+        // When
+        String value = guard.getOrLoad(KEY, 10, TimeUnit.SECONDS, () -> "v");
+
+        // Then
+        assertThat(value).isEqualTo("v");
+        verify(redisUtils).set(KEY, "v", 12_000L, TimeUnit.MILLISECONDS);
+
+        // 叠加 ±10% 抖动
+        ReflectionTestUtils.setField(guard, "ttlJitter", 0.1);
+        guard.getOrLoad(KEY, 10, TimeUnit.SECONDS, () -> "w");
+        ArgumentCaptor<Long> ttl = ArgumentCaptor.forClass(Long.class);
+        verify(redisUtils).set(eq(KEY), eq("w"), ttl.capture(), eq(TimeUnit.MILLISECONDS));
+        assertThat(ttl.getValue()).isBetween(10_800L, 13_200L);
+    }
+
+    @Test
+    @DisplayName("剩余有效期进入过期后可读窗口时返回旧值并异步刷新")
+    void should_returnStaleAndRefresh_when_insideStaleWindow() {
+        // Given：逻辑 TTL 10s，可读窗口 2s，剩余 1.5s 即已逻辑过期
+        givenCached("old", 1_500L);
+        when(redisUtils.setIfAbsent(anyString(), any(), anyLong(), any())).thenReturn(true);
+
+        // When
+        String value = guard.getOrLoad(KEY, 10, TimeUnit.SECONDS, () -> "new");
+
+        // Then
+        assertThat(value).isEqualTo("old");
+        verify(redisUtils, timeout(1000)).set(KEY, "new", 12_000L, TimeUnit.MILLISECONDS);
+        verify(redisUtils, timeout(1000)).deleteIfEquals(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("逻辑有效期内且没有回源耗时记录时不刷新")
+    void should_notRefresh_when_freshAndNoLoadHistory() {
+        // Given：剩余 5s，逻辑剩余 3s
+        givenCached("old", 5_000L);
+
+        // When
+        String value = guard.getOrLoad(KEY, 10, TimeUnit.SECONDS, () -> {
+            throw new AssertionError("should not load");
+        });
+
+        // Then
+        assertThat(value).isEqualTo("old");
+        verify(redisUtils, never()).setIfAbsent(anyString(), any(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("XFetch：刷新概率随回源耗时增大、随逻辑剩余有效期减小")
+    void should_refreshByXFetchProbability_when_loadTimeRecorded() {
+        // Given：回源耗时 100ms
+        guard.recordLoadTime(KEY, TimeUnit.MILLISECONDS.toNanos(100));
+        Random random = new Random(42);
+        double[] rands = random.doubles(10_000).toArray();
+
+        // When
+        long near = Arrays.stream(rands).filter(rand -> guard.shouldRefresh(KEY, 50, rand)).count();
+        long far = Arrays.stream(rands).filter(rand -> guard.shouldRefresh(KEY, 500, rand)).count();
+
+        // Then：P(-100 × ln(rand) ≥ t) = e^(-t/100)
+        assertThat(near / 10_000.0).isCloseTo(Math.exp(-0.5), within(0.02));
+        assertThat(far / 10_000.0).isCloseTo(Math.exp(-5), within(0.005));
+        assertThat(guard.shouldRefresh(KEY, 0, 0.99)).isTrue();
+        assertThat(guard.shouldRefresh("user:roles:1", 1, 0.01)).isFalse();
+    }
+
+    private void givenCached(Object value, long pttl) {
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenReturn(Arrays.asList(value, pttl));
+    }
+
+    private static Thread start(Runnable task) {
+        Thread thread = new Thread(task);
+        thread.start();
+        return thread;
+    }
+
+    private static void capture(List<Throwable> errors, Runnable task) {
+        try {
+            task.run();
+        } catch (Throwable e) {
+            errors.add(e);
+        }
+    }
+
+    private static void awaitLoadStarted(AtomicInteger loads) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (loads.get() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * 等待线程阻塞在进行中的回源结果上
+     */
+    private static void awaitParked(Thread thread) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (thread.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.blog.common.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * CountMinSketch 功能测试
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+class CountMinSketchTest {
+
+    @Test
+    @DisplayName("单个元素的计数精确，increment 返回加一后的估算值")
+    void should_countExactly_when_singleItem() {
+        // Given
+        CountMinSketch sketch = new CountMinSketch(4, 1024);
+
+        // When & Then
+        assertThat(sketch.increment("a")).isEqualTo(1);
+        assertThat(sketch.increment("a")).isEqualTo(2);
+        assertThat(sketch.estimate("a")).isEqualTo(2);
+        assertThat(sketch.estimate("b")).isZero();
+    }
+
+    @Test
+    @DisplayName("估算值不小于真实计数，偏差不超过 总计数 × e / width")
+    void should_neverUnderestimate_when_manyItemsCollide() {
+        // Given
+        int width = 256;
+        CountMinSketch sketch = new CountMinSketch(4, width);
+        Map<String, Integer> actual = new HashMap<>();
+        Random random = new Random(7);
+        int total = 20_000;
+        for (int i = 0; i < total; i++) {
+            // 偏斜分布：少量键占大部分读取
+            String item = "key:" + (int) Math.pow(random.nextInt(1000), 2) / 1000;
+            actual.merge(item, 1, Integer::sum);
+            sketch.increment(item);
+        }
+
+        // When & Then
+        double bound = total * Math.E / width;
+        actual.forEach((item, count) -> {
+            long estimate = sketch.estimate(item);
+            assertThat(estimate).isGreaterThanOrEqualTo(count);
+            assertThat(estimate - count).isLessThanOrEqualTo((long) bound);
+        });
+    }
+
+    @Test
+    @DisplayName("清零后所有估算值归零")
+    void should_resetEstimates_when_cleared() {
+        // Given
+        CountMinSketch sketch = new CountMinSketch(2, 64);
+        sketch.increment("a");
+        sketch.increment("b");
+
+        // When
+        sketch.clear();
+
+        // Then
+        assertThat(sketch.estimate("a")).isZero();
+        assertThat(sketch.estimate("b")).isZero();
+        assertThat(sketch.increment("a")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("行数或每行计数器数非法时拒绝创建")
+    void should_reject_when_dimensionsInvalid() {
+        assertThatThrownBy(() -> new CountMinSketch(0, 64)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CountMinSketch(4, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CountMinSketch(4, (1 << 24) + 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
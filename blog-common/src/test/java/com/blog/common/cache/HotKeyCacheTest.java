@@ -0,0 +1,191 @@
+package com.blog.common.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * HotKeyCache 功能测试
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@ExtendWith(MockitoExtension.class)
+class HotKeyCacheTest {
+
+    private static final String NS = HotKeyCache.REDIS;
+
+    @Mock
+    private CacheInvalidationPublisher invalidationPublisher;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private HotKeyProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private HotKeyCache cache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new HotKeyProperties();
+        properties.setSampleRate(1.0);
+        properties.setThreshold(2);
+        properties.setSketchWidth(1024);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = newCache();
+    }
+
+    @Test
+    @DisplayName("非热点键每次都读取 Redis，不保存副本")
+    void should_readThrough_when_keyIsCold() {
+        // Given
+        AtomicInteger reads = new AtomicInteger();
+
+        // When
+        cache.get(NS, "a", counting(reads, "v"));
+
+        // Then
+        assertThat(reads).hasValue(1);
+        assertThat(localGets("miss")).isZero();
+        assertThat(localGets("hit")).isZero();
+    }
+
+    @Test
+    @DisplayName("热点键首次读取保存副本，之后由副本返回")
+    void should_serveLocalCopy_when_keyIsHot() {
+        // Given
+        AtomicInteger reads = new AtomicInteger();
+        cache.get(NS, "a", counting(reads, "v1"));
+
+        // When：第二次读取时晋升为热点，读取 Redis 并保存副本
+        Object second = cache.get(NS, "a", counting(reads, "v2"));
+        Object third = cache.get(NS, "a", counting(reads, "v3"));
+
+        // Then
+        assertThat(second).isEqualTo("v2");
+        assertThat(third).isEqualTo("v2");
+        assertThat(reads).hasValue(2);
+        assertThat(localGets("miss")).isEqualTo(1);
+        assertThat(localGets("hit")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Redis 中不存在的热点键不保存副本")
+    void should_notCacheNull_when_hotKeyMissing() {
+        // Given
+        AtomicInteger reads = new AtomicInteger();
+        cache.get(NS, "a", counting(reads, null));
+
+        // When
+        cache.get(NS, "a", counting(reads, null));
+        cache.get(NS, "a", counting(reads, null));
+
+        // Then
+        assertThat(reads).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("副本在 local-ttl 后过期，重新读取 Redis")
+    void should_rereadRedis_when_localCopyExpires() throws InterruptedException {
+        // Given
+        properties.setLocalTtl(Duration.ofMillis(50));
+        cache = newCache();
+        AtomicInteger reads = new AtomicInteger();
+        makeHot("a", "v1");
+
+        // When
+        Thread.sleep(120);
+        Object value = cache.get(NS, "a", counting(reads, "v2"));
+
+        // Then
+        assertThat(value).isEqualTo("v2");
+        assertThat(reads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("热点键变更时清除本节点副本并通知其他节点，非热点键不广播")
+    void should_evictAndPublish_when_hotKeyInvalidated() {
+        // Given
+        makeHot("a", "v1");
+        AtomicInteger reads = new AtomicInteger();
+
+        // When
+        cache.invalidate(NS, "a");
+        cache.invalidate(NS, "cold");
+
+        // Then
+        assertThat(cache.get(NS, "a", counting(reads, "v2"))).isEqualTo("v2");
+        assertThat(reads).hasValue(1);
+        verify(invalidationPublisher).publish(NS, "a");
+    }
+
+    @Test
+    @DisplayName("批量变更只广播其中的热点键")
+    void should_publishOnlyHotKeys_when_batchInvalidated() {
+        // Given
+        makeHot("a", "v1");
+
+        // When
+        cache.invalidate(NS, List.of("a", "b"));
+
+        // Then
+        verify(invalidationPublisher).publish(NS, List.of("a"));
+    }
+
+    @Test
+    @DisplayName("收到失效消息时只清除本节点对应命名空间的副本，不再广播")
+    void should_evictNamespaceOnly_when_evictLocalWithoutKeys() {
+        // Given
+        makeHot("a", "v1");
+        AtomicInteger reads = new AtomicInteger();
+        cache.get("user:roles", "a", () -> "r1");
+        cache.get("user:roles", "a", () -> "r1");
+
+        // When
+        cache.evictLocal(NS, List.of());
+
+        // Then
+        assertThat(cache.get(NS, "a", counting(reads, "v2"))).isEqualTo("v2");
+        assertThat(cache.get("user:roles", "a", counting(reads, "r2"))).isEqualTo("r1");
+        assertThat(reads).hasValue(1);
+        verifyNoInteractions(invalidationPublisher);
+    }
+
+    private HotKeyCache newCache() {
+        return new HotKeyCache(new HotKeyDetector(properties, meterRegistry, taskScheduler), properties,
+                invalidationPublisher, meterRegistry);
+    }
+
+    /**
+     * 连续读取至晋升并保存副本
+     */
+    private void makeHot(String key, Object value) {
+        cache.get(NS, key, () -> value);
+        cache.get(NS, key, () -> value);
+    }
+
+    private double localGets(String result) {
+        return meterRegistry.get("cache.hot.local.gets").tag("result", result).counter().count();
+    }
+
+    private static Supplier<Object> counting(AtomicInteger reads, Object value) {
+        return () -> {
+            reads.incrementAndGet();
+            return value;
+        };
+    }
+}
@@ -0,0 +1,156 @@
+package com.blog.common.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * HotKeyDetector 功能测试
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+class HotKeyDetectorTest {
+
+    private static final String NS = HotKeyCache.REDIS;
+
+    private HotKeyProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private TaskScheduler taskScheduler;
+    private HotKeyDetector detector;
+
+    @BeforeEach
+    void setUp() {
+        properties = new HotKeyProperties();
+        properties.setSampleRate(1.0);
+        properties.setThreshold(3);
+        properties.setMaxHotKeys(2);
+        properties.setSketchWidth(1024);
+        meterRegistry = new SimpleMeterRegistry();
+        taskScheduler = mock(TaskScheduler.class);
+        detector = new HotKeyDetector(properties, meterRegistry, taskScheduler);
+    }
+
+    @Test
+    @DisplayName("窗口内读取次数达到阈值时立即晋升为热点")
+    void should_promote_when_readsReachThreshold() {
+        // When & Then
+        assertThat(detector.record(NS, "a")).isFalse();
+        assertThat(detector.record(NS, "a")).isFalse();
+        assertThat(detector.record(NS, "a")).isTrue();
+        assertThat(detector.isHot(NS, "a")).isTrue();
+        assertThat(detector.isHot("user:roles", "a")).isFalse();
+        assertThat(detector.hasHotKeys(NS)).isTrue();
+        assertThat(detector.hasHotKeys("user:roles")).isFalse();
+        assertThat(meterRegistry.counter("cache.hot.promotions").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.hot.keys").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("热点键数达到上限后不再晋升新键")
+    void should_capHotKeys_when_limitReached() {
+        // When
+        read("a", 3);
+        read("b", 3);
+        read("c", 3);
+
+        // Then
+        assertThat(detector.isHot(NS, "a")).isTrue();
+        assertThat(detector.isHot(NS, "b")).isTrue();
+        assertThat(detector.isHot(NS, "c")).isFalse();
+        assertThat(meterRegistry.counter("cache.hot.promotions").count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("窗口切换时按本窗口计数保留前 N 个键，未再次达到阈值的键降级")
+    void should_keepTopKeysAndDemoteOthers_when_windowRotates() {
+        // Given：a、b 为热点，c 达到阈值但超出上限
+        read("a", 4);
+        read("b", 3);
+        read("c", 5);
+
+        // When
+        detector.rotate();
+
+        // Then：按计数取前 2 个
+        assertThat(detector.getHotKeys()).extracting(HotKeyDetector.HotKey::key).containsExactlyInAnyOrder("c", "a");
+        assertThat(detector.isHot(NS, "b")).isFalse();
+
+        // 下一窗口只有 a 再次达到阈值
+        read("a", 3);
+        read("c", 2);
+        detector.rotate();
+        assertThat(detector.isHot(NS, "a")).isTrue();
+        assertThat(detector.isHot(NS, "c")).isFalse();
+
+        // 没有读取的窗口结束后全部降级
+        detector.rotate();
+        assertThat(detector.getHotKeys()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("估算读取次数按采样比例放大")
+    void should_scaleEstimatedReads_when_sampled() {
+        // Given
+        read("a", 4);
+
+        // When
+        properties.setSampleRate(0.5);
+
+        // Then
+        assertThat(detector.getHotKeys()).singleElement()
+                .satisfies(hotKey -> {
+                    assertThat(hotKey.namespace()).isEqualTo(NS);
+                    assertThat(hotKey.estimatedReads()).isEqualTo(8);
+                });
+    }
+
+    @Test
+    @DisplayName("关闭后不计数，也不产生热点")
+    void should_ignoreReads_when_disabled() {
+        // Given
+        properties.setEnabled(false);
+
+        // When
+        read("a", 10);
+
+        // Then
+        assertThat(detector.isHot(NS, "a")).isFalse();
+        assertThat(detector.getHotKeys()).isEmpty();
+    }
+
+    private void read(String key, int times) {
+        IntStream.range(0, times).forEach(i -> detector.record(NS, key));
+    }
+
+    @Test
+    @DisplayName("启动时在共享调度器上按窗口固定频率轮换，关闭时取消任务")
+    void should_scheduleRotationOnSharedScheduler_when_started() {
+        // Given
+        ScheduledFuture<?> task = mock(ScheduledFuture.class);
+        doReturn(task).when(taskScheduler)
+                .scheduleAtFixedRate(any(Runnable.class), any(Instant.class), any(Duration.class));
+
+        // When
+        detector.start();
+        detector.destroy();
+
+        // Then
+        verify(taskScheduler).scheduleAtFixedRate(any(Runnable.class), any(Instant.class), eq(properties.getWindow()));
+        verify(task).cancel(false);
+    }
+}
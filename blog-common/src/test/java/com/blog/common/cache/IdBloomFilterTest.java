@@ -0,0 +1,200 @@
+package com.blog.common.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * IdBloomFilter 功能测试
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+class IdBloomFilterTest {
+
+    @Test
+    @DisplayName("位数与哈希函数个数按预期元素数和误判率计算")
+    void should_sizeFilter_when_createdFromExpectedInsertions() {
+        // When
+        IdBloomFilter filter = new IdBloomFilter("article", 1000, 0.01, null);
+
+        // Then
+        assertThat(filter.getNumBits()).isEqualTo(9586);
+        assertThat(filter.getNumHashes()).isEqualTo(7);
+        assertThat(IdBloomFilter.optimalNumBits(1, 0.5)).isEqualTo(64);
+    }
+
+    @Test
+    @DisplayName("偏移量个数等于哈希函数个数，落在位数范围内且对同一ID稳定")
+    void should_returnStableOffsetsWithinRange_when_hashingId() {
+        // Given
+        IdBloomFilter filter = new IdBloomFilter("article", 1000, 0.01, null);
+
+        // When
+        long[] offsets = filter.offsets(42L);
+
+        // Then
+        assertThat(offsets).hasSize(filter.getNumHashes());
+        assertThat(Arrays.stream(offsets).boxed().toList()).allSatisfy(offset -> assertThat(offset).isBetween(0L, filter.getNumBits() - 1));
+        assertThat(filter.offsets(42L)).containsExactly(offsets);
+        assertThat(filter.offsets(43L)).isNotEqualTo(offsets);
+        assertThat(new IdBloomFilter("user", 1000, 0.01, null).offsets(42L)).containsExactly(offsets);
+    }
+
+    @Test
+    @DisplayName("位序与 Redis 位图一致：偏移量 0 为首字节最高位")
+    void should_useRedisBitOrder_when_convertingToBytes() {
+        // Given
+        IdBloomFilter.BitArray bits = new IdBloomFilter.BitArray(16);
+        bits.setAll(new long[]{0, 9, 15});
+
+        // When
+        byte[] bytes = bits.toRedisBytes();
+
+        // Then
+        assertThat(bytes).containsExactly((byte) 0x80, (byte) 0x41);
+        IdBloomFilter.BitArray loaded = IdBloomFilter.BitArray.fromRedisBytes(bytes, 16);
+        assertThat(loaded.getAll(new long[]{0, 9, 15})).isTrue();
+        assertThat(loaded.getAll(new long[]{1})).isFalse();
+    }
+
+    @Test
+    @DisplayName("本地位数组经 Redis 位图往返后内容不变")
+    void should_roundTripThroughRedisBytes_when_filterIsBuilt() {
+        // Given
+        IdBloomFilter filter = buildLocal(1L, 2L, 3L);
+        IdBloomFilter copy = new IdBloomFilter("article", 1000, 0.01, null);
+
+        // When
+        copy.loadFrom(filter.toRedisBytes());
+
+        // Then
+        assertThat(copy.isReady()).isTrue();
+        assertThat(copy.toRedisBytes()).isEqualTo(filter.toRedisBytes());
+    }
+
+    @Test
+    @DisplayName("构建期间的插入与扫描时尚未提交的近期插入都不会丢失")
+    void should_keepInserts_when_buildRacesWithInserts() {
+        // Given
+        IdBloomFilter filter = new IdBloomFilter("article", 1000, 0.01, null);
+        IdBloomFilter.BitArray expected = new IdBloomFilter.BitArray(filter.getNumBits());
+        filter.put(100L);
+
+        // When
+        filter.beginBuild();
+        filter.addBuilt(1L);
+        filter.put(200L);
+        filter.addBuilt(2L);
+        filter.completeBuild(2);
+
+        // Then
+        for (long id : new long[]{1L, 2L, 100L, 200L}) {
+            expected.setAll(filter.offsets(id));
+        }
+        assertThat(filter.toRedisBytes()).isEqualTo(expected.toRedisBytes());
+        assertThat(filter.approximateCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("构建中止后丢弃新位数组，原位数组保持不变")
+    void should_keepPreviousBits_when_buildIsAborted() {
+        // Given
+        IdBloomFilter filter = buildLocal(1L);
+        byte[] before = filter.toRedisBytes();
+
+        // When
+        filter.beginBuild();
+        filter.addBuilt(2L);
+        filter.abortBuild();
+
+        // Then
+        assertThat(filter.toRedisBytes()).isEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("无 Redis 镜像时本地未命中仍判定为可能存在")
+    void should_treatMissAsPossiblyPresent_when_noMirror() {
+        // Given
+        IdBloomFilter filter = buildLocal(1L);
+
+        // When & Then
+        assertThat(filter.mightContain(1L)).isTrue();
+        assertThat(filter.mightContain(999L)).isTrue();
+        assertThat(filter.mightContain("not-a-number")).isTrue();
+    }
+
+    @Test
+    @DisplayName("有 Redis 镜像时本地未命中以 Redis 位图为准，命中后回填本地")
+    void should_consultMirror_when_localMisses() {
+        // Given
+        RedisBloomBitmap mirror = mock(RedisBloomBitmap.class);
+        IdBloomFilter filter = new IdBloomFilter("article", 1000, 0.01, (name, numBits, numHashes) -> mirror);
+        filter.beginBuild();
+        filter.completeBuild(0);
+        long[] absent = filter.offsets(7L);
+        long[] remote = filter.offsets(8L);
+        when(mirror.mightContain(any())).thenAnswer(invocation ->
+                Arrays.equals(invocation.<long[]>getArgument(0), remote));
+
+        // When & Then
+        assertThat(filter.mightContain(7L)).isFalse();
+        assertThat(filter.mightContain(8L)).isTrue();
+        verify(mirror).mightContain(absent);
+
+        // 回填后本地直接命中，不再查询 Redis
+        assertThat(filter.mightContain(8L)).isTrue();
+        verify(mirror).mightContain(remote);
+    }
+
+    @Test
+    @DisplayName("插入同时写入本地位数组与 Redis 位图")
+    void should_writeMirror_when_put() {
+        // Given
+        RedisBloomBitmap mirror = mock(RedisBloomBitmap.class);
+        IdBloomFilter filter = new IdBloomFilter("article", 1000, 0.01, (name, numBits, numHashes) -> mirror);
+        filter.beginBuild();
+        filter.completeBuild(0);
+
+        // When
+        filter.put(5L);
+
+        // Then
+        verify(mirror).put(filter.offsets(5L));
+        assertThat(filter.mightContain(5L)).isTrue();
+        verify(mirror, never()).mightContain(any());
+    }
+
+    @Test
+    @DisplayName("删除数超过上次构建元素数的比例时需要重建")
+    void should_needRebuild_when_removalsExceedRatio() {
+        // Given
+        IdBloomFilter filter = buildLocal(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+
+        // When
+        filter.recordRemoval(2);
+
+        // Then
+        assertThat(filter.needsRebuild(0.2)).isFalse();
+        filter.recordRemoval(1);
+        assertThat(filter.needsRebuild(0.2)).isTrue();
+    }
+
+    private static IdBloomFilter buildLocal(long... ids) {
+        IdBloomFilter filter = new IdBloomFilter("article", 1000, 0.01, null);
+        filter.beginBuild();
+        for (long id : ids) {
+            filter.addBuilt(id);
+        }
+        filter.completeBuild(ids.length);
+        return filter;
+    }
+}
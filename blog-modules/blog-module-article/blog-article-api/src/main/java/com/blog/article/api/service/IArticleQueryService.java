@@ -0,0 +1,21 @@
+package com.blog.article.api.service;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * 文章查询服务接口（供其他模块调用）
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+public interface IArticleQueryService {
+
+    /**
+     * 查询在指定时间之前归档（且之后未再变更）的文章
+     *
+     * @param archivedBefore 归档时间上限（按文章最后更新时间判断）
+     * @return 文章ID集合
+     */
+    Set<Long> listArchivedArticleIds(LocalDateTime archivedBefore);
+}
@@ -0,0 +1,51 @@
+package com.blog.article.api.service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 文章统计服务接口（供其他模块调用）
+ *
+ * <p>
+ * 统计计数由产生计数的模块通过增量维护（如评论模块维护评论数），
+ * 增量写入均为单条原子 SQL，不做读-改-写；对账校正在统计记录的行锁保护下重新计数后写入。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+public interface IArticleStatsService {
+
+    /**
+     * 批量调整文章评论数（统计记录不存在时自动创建）
+     *
+     * @param deltas 文章ID → 评论数净增量（可为负数，结果不小于 0）
+     */
+    void adjustCommentCounts(Map<Long, Integer> deltas);
+
+    /**
+     * 找出评论数与快照不一致的文章（统计记录不存在时自动创建）
+     * <p>
+     * 快照之外评论数非 0 的文章同样视为不一致。快照可能已经过时，结果只作为
+     * {@link #reconcileCommentCounts(Collection, Function)} 的候选，不直接写入。
+     *
+     * @param snapshotCounts 文章ID → 快照评论数（仅包含评论数大于 0 的文章）
+     * @return 评论数不一致的文章ID集合
+     */
+    Set<Long> findCommentCountMismatches(Map<Long, Integer> snapshotCounts);
+
+    /**
+     * 锁定文章统计记录后重新计数，校正评论数
+     * <p>
+     * 同一事务内先 {@code SELECT ... FOR UPDATE} 锁定统计记录，再调用 {@code recount} 统计实际评论数：
+     * 并发的增量要么在锁定前已提交（已计入重新计数的结果），要么等待锁释放后累加到校正值上，不会丢失。
+     *
+     * @param articleIds 文章ID（单次调用锁定的记录数应控制在数百以内）
+     * @param recount    文章ID → 实际评论数（未包含的文章按 0 处理），须在调用方事务内读取
+     * @return 被校正的文章ID集合
+     */
+    Set<Long> reconcileCommentCounts(Collection<Long> articleIds,
+                                     Function<Collection<Long>, Map<Long, Integer>> recount);
+}
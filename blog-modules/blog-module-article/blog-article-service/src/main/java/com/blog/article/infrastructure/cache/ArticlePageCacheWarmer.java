@@ -0,0 +1,47 @@
+package com.blog.article.infrastructure.cache;
+
+import com.blog.article.api.dto.ArticleQueryDTO;
+import com.blog.article.api.vo.ArticleListVO;
+import com.blog.article.service.IArticleService;
+import com.blog.common.cache.CacheWarmer;
+import com.blog.common.cache.CacheWarmupContext;
+import com.blog.common.model.PageResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 预热已发布文章列表的前几页（首页默认分页）
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Component
+@RequiredArgsConstructor
+public class ArticlePageCacheWarmer implements CacheWarmer {
+
+    private static final int PAGES = 5;
+    private static final long PAGE_SIZE = 10L;
+
+    private final IArticleService articleService;
+
+    @Override
+    public String getName() {
+        return "article-pages";
+    }
+
+    @Override
+    public int warm(CacheWarmupContext context) {
+        int warmed = 0;
+        for (long current = 1; current <= PAGES && !context.isExpired(); current++) {
+            ArticleQueryDTO query = new ArticleQueryDTO();
+            query.setCurrent(current);
+            query.setSize(PAGE_SIZE);
+            PageResult<ArticleListVO> page = articleService.pageList(query);
+            warmed++;
+            if (page.getPages() == null || current >= page.getPages()) {
+                break;
+            }
+        }
+        return warmed;
+    }
+}
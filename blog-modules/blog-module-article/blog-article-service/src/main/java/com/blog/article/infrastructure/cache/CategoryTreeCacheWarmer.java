@@ -0,0 +1,31 @@
+package com.blog.article.infrastructure.cache;
+
+import com.blog.article.service.ICategoryService;
+import com.blog.common.cache.CacheWarmer;
+import com.blog.common.cache.CacheWarmupContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 预热分类树
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Component
+@RequiredArgsConstructor
+public class CategoryTreeCacheWarmer implements CacheWarmer {
+
+    private final ICategoryService categoryService;
+
+    @Override
+    public String getName() {
+        return "category-tree";
+    }
+
+    @Override
+    public int warm(CacheWarmupContext context) {
+        categoryService.getCategoryTree();
+        return 1;
+    }
+}
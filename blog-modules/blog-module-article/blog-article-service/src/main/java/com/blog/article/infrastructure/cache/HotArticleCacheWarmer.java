@@ -0,0 +1,51 @@
+package com.blog.article.infrastructure.cache;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.blog.article.domain.entity.ArticleStatsEntity;
+import com.blog.article.infrastructure.mapper.ArticleStatsMapper;
+import com.blog.article.service.IArticleService;
+import com.blog.common.cache.CacheWarmer;
+import com.blog.common.cache.CacheWarmupContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 预热热门文章详情（按浏览量、评论数排序）
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Component
+@RequiredArgsConstructor
+public class HotArticleCacheWarmer implements CacheWarmer {
+
+    private static final int LIMIT = 50;
+
+    private final ArticleStatsMapper articleStatsMapper;
+    private final IArticleService articleService;
+
+    @Override
+    public String getName() {
+        return "hot-articles";
+    }
+
+    @Override
+    public int warm(CacheWarmupContext context) {
+        List<ArticleStatsEntity> hottest = articleStatsMapper.selectList(Wrappers.<ArticleStatsEntity>lambdaQuery()
+                .select(ArticleStatsEntity::getArticleId)
+                .orderByDesc(ArticleStatsEntity::getViewCount)
+                .orderByDesc(ArticleStatsEntity::getCommentCount)
+                .last("LIMIT " + LIMIT));
+        int warmed = 0;
+        for (ArticleStatsEntity stats : hottest) {
+            if (context.isExpired()) {
+                break;
+            }
+            articleService.getVoById(stats.getArticleId());
+            warmed++;
+        }
+        return warmed;
+    }
+}
@@ -0,0 +1,38 @@
+package com.blog.article.infrastructure.cache;
+
+import com.blog.article.service.ITagService;
+import com.blog.common.cache.CacheWarmer;
+import com.blog.common.cache.CacheWarmupContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 预热标签云（热门标签与完整标签列表，参数与 {@code TagController} 的默认值一致）
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Component
+@RequiredArgsConstructor
+public class TagCloudCacheWarmer implements CacheWarmer {
+
+    private static final String ORDER_BY = "article_count";
+    private static final int HOT_LIMIT = 10;
+
+    private final ITagService tagService;
+
+    @Override
+    public String getName() {
+        return "tag-cloud";
+    }
+
+    @Override
+    public int warm(CacheWarmupContext context) {
+        tagService.listTags(ORDER_BY, HOT_LIMIT);
+        if (context.isExpired()) {
+            return 1;
+        }
+        tagService.listTags(ORDER_BY, null);
+        return 2;
+    }
+}
@@ -2,7 +2,12 @@ package com.blog.article.infrastructure.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.blog.article.domain.entity.ArticleStatsEntity;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.Map;
 
 /**
  * 文章统计 Mapper
@@ -12,4 +17,56 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface ArticleStatsMapper extends BaseMapper<ArticleStatsEntity> {
+
+    /**
+     * 批量补齐统计记录（依赖 uk_article 唯一键，已存在的文章忽略）
+     *
+     * @param rows 文章ID → 新记录主键ID，非空
+     * @return 实际插入行数
+     */
+    @Insert("<script>" +
+            "INSERT IGNORE INTO art_article_stats (id, article_id) VALUES " +
+            "<foreach collection='rows' index='articleId' item='id' separator=','>" +
+            "(#{id}, #{articleId})" +
+            "</foreach>" +
+            "</script>")
+    int insertIgnoreBatch(@Param("rows") Map<Long, Long> rows);
+
+    /**
+     * 批量调整评论数（单条 SQL，{@code GREATEST(..., 0)} 防止计数变为负数）
+     *
+     * @param deltas 文章ID → 评论数净增量，非空
+     * @return 影响行数
+     */
+    @Update("<script>" +
+            "UPDATE art_article_stats SET comment_count = GREATEST(comment_count + CASE article_id " +
+            "<foreach collection='deltas' index='articleId' item='delta'>" +
+            "WHEN #{articleId} THEN #{delta} " +
+            "</foreach>" +
+            "ELSE 0 END, 0) " +
+            "WHERE article_id IN " +
+            "<foreach collection='deltas' index='articleId' open='(' separator=',' close=')'>" +
+            "#{articleId}" +
+            "</foreach>" +
+            "</script>")
+    int batchAdjustCommentCount(@Param("deltas") Map<Long, Integer> deltas);
+
+    /**
+     * 批量覆盖评论数（对账校正使用）
+     *
+     * @param counts 文章ID → 评论数，非空
+     * @return 影响行数
+     */
+    @Update("<script>" +
+            "UPDATE art_article_stats SET comment_count = CASE article_id " +
+            "<foreach collection='counts' index='articleId' item='count'>" +
+            "WHEN #{articleId} THEN #{count} " +
+            "</foreach>" +
+            "ELSE comment_count END " +
+            "WHERE article_id IN " +
+            "<foreach collection='counts' index='articleId' open='(' separator=',' close=')'>" +
+            "#{articleId}" +
+            "</foreach>" +
+            "</script>")
+    int batchSetCommentCount(@Param("counts") Map<Long, Integer> counts);
 }
@@ -0,0 +1,37 @@
+package com.blog.article.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.blog.article.api.enums.ArticleStatus;
+import com.blog.article.api.service.IArticleQueryService;
+import com.blog.article.domain.entity.ArticleEntity;
+import com.blog.article.infrastructure.mapper.ArticleMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 文章查询服务实现
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Service
+@RequiredArgsConstructor
+public class ArticleQueryServiceImpl implements IArticleQueryService {
+
+    private final ArticleMapper articleMapper;
+
+    @Override
+    public Set<Long> listArchivedArticleIds(LocalDateTime archivedBefore) {
+        return articleMapper.selectList(new LambdaQueryWrapper<ArticleEntity>()
+                        .select(ArticleEntity::getId)
+                        .eq(ArticleEntity::getStatus, ArticleStatus.ARCHIVED.getCode())
+                        .lt(ArticleEntity::getUpdateTime, archivedBefore))
+                .stream()
+                .map(ArticleEntity::getId)
+                .collect(Collectors.toSet());
+    }
+}
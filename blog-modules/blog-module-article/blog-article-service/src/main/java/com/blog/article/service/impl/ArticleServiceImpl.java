@@ -22,6 +22,7 @@ import com.blog.article.service.chain.ContentProcessor;
 import com.blog.article.service.chain.ProcessResult;
 import com.blog.article.metrics.ArticleMetrics;
 import com.blog.common.base.BaseServiceImpl;
+import com.blog.common.constants.CacheNames;
 import com.blog.common.exception.BusinessException;
 import com.blog.common.exception.SystemErrorCode;
 import com.blog.common.model.PageResult;
@@ -34,12 +35,16 @@ import dev.langchain4j.store.embedding.EmbeddingStore;
 import dev.langchain4j.store.embedding.filter.MetadataFilterBuilder;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.io.Serializable;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -112,6 +117,14 @@ public class ArticleServiceImpl
         this.embeddingHandler = embeddingHandler;
     }
 
+    /**
+     * 启用文章ID布隆过滤器，{@link #getVoById} 直接拒绝不存在的文章ID
+     */
+    @Override
+    protected String bloomFilterName() {
+        return "article";
+    }
+
     /**
      * 保存前钩子：设置默认值 + 内容处理
      *
@@ -199,6 +212,24 @@ public class ArticleServiceImpl
         log.info("更新文章: id={}, title={}", entity.getId(), entity.getTitle());
     }
 
+    /**
+     * 文章详情（按ID缓存，同一文章并发未命中时只回源一次）
+     */
+    @Override
+    @Cacheable(value = CacheNames.ARTICLE_DETAIL, key = "#id", sync = true)
+    public Optional<ArticleDetailVO> getVoById(Serializable id) {
+        return super.getVoById(id);
+    }
+
+    /**
+     * 重写保存方法：新文章可能直接以已发布状态出现在文章列表中，失效列表缓存
+     */
+    @Override
+    @CacheEvict(value = CacheNames.ARTICLE_LIST, allEntries = true)
+    public Serializable saveByDto(ArticleDTO dto) {
+        return super.saveByDto(dto);
+    }
+
     /**
      * 重写更新方法：保存成功后异步刷新 embedding
      *
@@ -209,6 +240,10 @@ public class ArticleServiceImpl
      * </p>
      */
     @Override
+    @Caching(evict = {
+            @CacheEvict(value = CacheNames.ARTICLE_DETAIL, key = "#dto.id"),
+            @CacheEvict(value = CacheNames.ARTICLE_LIST, allEntries = true)
+    })
     public boolean updateByDto(ArticleDTO dto) {
         boolean success = super.updateByDto(dto);
         if (success && dto.getId() != null) {
@@ -227,6 +262,10 @@ public class ArticleServiceImpl
      * </p>
      */
     @Override
+    @Caching(evict = {
+            @CacheEvict(value = CacheNames.ARTICLE_DETAIL, key = "#id"),
+            @CacheEvict(value = CacheNames.ARTICLE_LIST, allEntries = true)
+    })
     public boolean removeById(Serializable id) {
         boolean success = super.removeById(id);
         if (success) {
@@ -255,6 +294,10 @@ public class ArticleServiceImpl
      * @param articleId 文章ID
      */
     @Override
+    @Caching(evict = {
+            @CacheEvict(value = CacheNames.ARTICLE_DETAIL, key = "#articleId"),
+            @CacheEvict(value = CacheNames.ARTICLE_LIST, allEntries = true)
+    })
     public void publishArticle(Long articleId) {
         log.info("发布文章: articleId={}", articleId);
 
@@ -294,6 +337,10 @@ public class ArticleServiceImpl
      * @param articleId 文章ID
      */
     @Override
+    @Caching(evict = {
+            @CacheEvict(value = CacheNames.ARTICLE_DETAIL, key = "#articleId"),
+            @CacheEvict(value = CacheNames.ARTICLE_LIST, allEntries = true)
+    })
     public void archiveArticle(Long articleId) {
         log.info("归档文章: articleId={}", articleId);
 
@@ -321,6 +368,10 @@ public class ArticleServiceImpl
      * @param articleId 文章ID
      */
     @Override
+    @Caching(evict = {
+            @CacheEvict(value = CacheNames.ARTICLE_DETAIL, key = "#articleId"),
+            @CacheEvict(value = CacheNames.ARTICLE_LIST, allEntries = true)
+    })
     public void unarchiveArticle(Long articleId) {
         log.info("恢复归档文章: articleId={}", articleId);
 
@@ -480,12 +531,17 @@ public class ArticleServiceImpl
      *
      * <p>
      * 使用 {@link BaseServiceImpl#pageWithConverter} 实现，直接转换为 ListVO。
+     * 不带筛选条件的已发布文章列表按页缓存，任一文章变更时整体失效。
      * </p>
      *
      * @param query 查询参数
      * @return 分页结果
      */
     @Override
+    @Cacheable(value = CacheNames.ARTICLE_LIST,
+            key = "T(com.blog.common.constants.CacheNames).articleListPageKey(#query.current, #query.size)",
+            condition = "#query.status == null && #query.categoryId == null && #query.tagId == null"
+                    + " && #query.authorId == null && (#query.keyword == null || #query.keyword.isBlank())")
     public PageResult<ArticleListVO> pageList(ArticleQueryDTO query) {
         log.info("分页查询文章: current={}, size={}, categoryId={}, tagId={}, keyword={}",
                 query.getCurrent(), query.getSize(), query.getCategoryId(),
@@ -686,4 +742,3 @@ public class ArticleServiceImpl
         return sb.toString().trim();
     }
 }
-
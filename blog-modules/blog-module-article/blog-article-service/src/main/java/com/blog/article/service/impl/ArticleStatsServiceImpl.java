@@ -0,0 +1,148 @@
+package com.blog.article.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
+import com.blog.article.api.service.IArticleStatsService;
+import com.blog.article.domain.entity.ArticleStatsEntity;
+import com.blog.article.infrastructure.mapper.ArticleStatsMapper;
+import com.google.common.collect.Iterables;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 文章统计服务实现
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ArticleStatsServiceImpl implements IArticleStatsService {
+
+    /**
+     * 单条批量 SQL 包含的最大文章数
+     */
+    private static final int BATCH_SIZE = 500;
+
+    private final ArticleStatsMapper articleStatsMapper;
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void adjustCommentCounts(Map<Long, Integer> deltas) {
+        Map<Long, Integer> effective = deltas.entrySet().stream()
+                .filter(entry -> entry.getKey() != null && entry.getValue() != null && entry.getValue() != 0)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        if (effective.isEmpty()) {
+            return;
+        }
+
+        int updated = articleStatsMapper.batchAdjustCommentCount(effective);
+        if (updated < effective.size()) {
+            // 部分文章尚无统计记录：补齐后仅对缺失的文章再执行一次增量
+            Set<Long> existing = selectExistingArticleIds(effective.keySet());
+            Map<Long, Integer> missing = new HashMap<>(effective);
+            missing.keySet().removeAll(existing);
+            if (!missing.isEmpty()) {
+                insertMissing(missing.keySet());
+                articleStatsMapper.batchAdjustCommentCount(missing);
+            }
+        }
+        log.debug("文章评论数增量已写入: articles={}", effective.size());
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public Set<Long> findCommentCountMismatches(Map<Long, Integer> snapshotCounts) {
+        // 当前评论数非 0 或出现在快照中的文章
+        Map<Long, Integer> stored = new HashMap<>();
+        articleStatsMapper.selectList(new LambdaQueryWrapper<ArticleStatsEntity>()
+                        .select(ArticleStatsEntity::getArticleId, ArticleStatsEntity::getCommentCount)
+                        .gt(ArticleStatsEntity::getCommentCount, 0))
+                .forEach(stats -> stored.put(stats.getArticleId(), stats.getCommentCount()));
+        Set<Long> unknown = new HashSet<>(snapshotCounts.keySet());
+        unknown.removeAll(stored.keySet());
+        if (!unknown.isEmpty()) {
+            Set<Long> existing = selectExistingArticleIds(unknown);
+            existing.forEach(articleId -> stored.put(articleId, 0));
+            unknown.removeAll(existing);
+            insertMissing(unknown);
+            unknown.forEach(articleId -> stored.put(articleId, 0));
+        }
+
+        Set<Long> mismatches = new HashSet<>();
+        snapshotCounts.forEach((articleId, count) -> {
+            if (!Objects.equals(stored.get(articleId), count)) {
+                mismatches.add(articleId);
+            }
+        });
+        stored.forEach((articleId, count) -> {
+            if (count != 0 && !snapshotCounts.containsKey(articleId)) {
+                mismatches.add(articleId);
+            }
+        });
+        return mismatches;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public Set<Long> reconcileCommentCounts(Collection<Long> articleIds,
+                                            Function<Collection<Long>, Map<Long, Integer>> recount) {
+        if (articleIds.isEmpty()) {
+            return Set.of();
+        }
+        // 锁定读不建立一致性视图，recount 的快照在加锁之后建立
+        List<ArticleStatsEntity> locked = articleStatsMapper.selectList(new LambdaQueryWrapper<ArticleStatsEntity>()
+                .select(ArticleStatsEntity::getArticleId, ArticleStatsEntity::getCommentCount)
+                .in(ArticleStatsEntity::getArticleId, articleIds)
+                .last("FOR UPDATE"));
+        if (locked.isEmpty()) {
+            return Set.of();
+        }
+        Map<Long, Integer> actual = recount.apply(locked.stream().map(ArticleStatsEntity::getArticleId).toList());
+
+        Map<Long, Integer> corrections = new HashMap<>();
+        for (ArticleStatsEntity stats : locked) {
+            int count = actual.getOrDefault(stats.getArticleId(), 0);
+            if (!Objects.equals(stats.getCommentCount(), count)) {
+                corrections.put(stats.getArticleId(), count);
+            }
+        }
+        if (!corrections.isEmpty()) {
+            articleStatsMapper.batchSetCommentCount(corrections);
+            log.info("文章评论数对账完成: corrected={}", corrections.size());
+        }
+        return corrections.keySet();
+    }
+
+    private Set<Long> selectExistingArticleIds(Set<Long> articleIds) {
+        Set<Long> existing = new HashSet<>();
+        for (List<Long> chunk : Iterables.partition(articleIds, BATCH_SIZE)) {
+            articleStatsMapper.selectList(new LambdaQueryWrapper<ArticleStatsEntity>()
+                            .select(ArticleStatsEntity::getArticleId)
+                            .in(ArticleStatsEntity::getArticleId, chunk))
+                    .forEach(stats -> existing.add(stats.getArticleId()));
+        }
+        return existing;
+    }
+
+    private void insertMissing(Set<Long> articleIds) {
+        for (List<Long> chunk : Iterables.partition(articleIds, BATCH_SIZE)) {
+            Map<Long, Long> rows = new HashMap<>();
+            chunk.forEach(articleId -> rows.put(articleId, IdWorker.getId()));
+            articleStatsMapper.insertIgnoreBatch(rows);
+        }
+    }
+}
@@ -10,16 +10,18 @@ import com.blog.article.service.ICategoryService;
 import com.blog.article.vo.CategoryTreeVO;
 import com.blog.article.vo.CategoryVO;
 import com.blog.common.base.BaseServiceImpl;
+import com.blog.common.constants.CacheNames;
 import com.blog.common.exception.BusinessException;
 import com.blog.common.exception.SystemErrorCode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.Serializable;
-
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -48,7 +50,11 @@ public class CategoryServiceImpl
         this.categoryMapper = mapper;
     }
 
+    /**
+     * 分类树（整体缓存，任一分类变更时失效）
+     */
     @Override
+    @Cacheable(value = CacheNames.ARTICLE_CATEGORY_TREE, key = "'all'", sync = true)
     public List<CategoryTreeVO> getCategoryTree() {
         // 查询所有分类
         List<ArticleCategoryEntity> allCategories = categoryMapper.selectList(
@@ -84,6 +90,7 @@ public class CategoryServiceImpl
 
     @Override
     @Transactional(rollbackFor = Exception.class)
+    @CacheEvict(value = CacheNames.ARTICLE_CATEGORY_TREE, allEntries = true)
     public void moveCategory(Long id, Long newParentId, Integer newSortOrder) {
         ArticleCategoryEntity category = categoryMapper.selectById(id);
         if (category == null) {
@@ -155,6 +162,18 @@ public class CategoryServiceImpl
         return parent.getPath() + "/" + id;
     }
 
+    @Override
+    @CacheEvict(value = CacheNames.ARTICLE_CATEGORY_TREE, allEntries = true)
+    public Serializable saveByDto(CategoryDTO dto) {
+        return super.saveByDto(dto);
+    }
+
+    @Override
+    @CacheEvict(value = CacheNames.ARTICLE_CATEGORY_TREE, allEntries = true)
+    public boolean updateByDto(CategoryDTO dto) {
+        return super.updateByDto(dto);
+    }
+
     @Override
     protected void preSave(ArticleCategoryEntity entity) {
         // 自动生成slug
@@ -228,6 +247,7 @@ public class CategoryServiceImpl
 
     @Override
     @Transactional(rollbackFor = Exception.class)
+    @CacheEvict(value = CacheNames.ARTICLE_CATEGORY_TREE, allEntries = true)
     public boolean removeById(Serializable id) {
         // 检查是否有子分类
         Long childCount = categoryMapper.selectCount(
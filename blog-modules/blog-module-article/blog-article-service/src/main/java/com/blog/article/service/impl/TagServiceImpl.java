@@ -10,14 +10,18 @@ import com.blog.article.infrastructure.mapper.ArticleTagRelationMapper;
 import com.blog.article.service.ITagService;
 import com.blog.article.vo.TagVO;
 import com.blog.common.base.BaseServiceImpl;
+import com.blog.common.constants.CacheNames;
 import com.blog.common.exception.BusinessException;
 import com.blog.common.exception.SystemErrorCode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -45,6 +49,7 @@ public class TagServiceImpl
 
     @Override
     @Transactional(rollbackFor = Exception.class)
+    @CacheEvict(value = CacheNames.ARTICLE_TAG_CLOUD, allEntries = true)
     public List<Long> batchCreate(List<String> names) {
         if (names == null || names.isEmpty()) {
             return new ArrayList<>();
@@ -80,6 +85,7 @@ public class TagServiceImpl
 
     @Override
     @Transactional(rollbackFor = Exception.class)
+    @CacheEvict(value = CacheNames.ARTICLE_TAG_CLOUD, allEntries = true)
     public void mergeTags(Long sourceTagId, Long targetTagId) {
         if (sourceTagId.equals(targetTagId)) {
             throw new BusinessException(SystemErrorCode.PARAM_ERROR, "源标签和目标标签不能相同");
@@ -124,6 +130,7 @@ public class TagServiceImpl
     }
 
     @Override
+    @CacheEvict(value = CacheNames.ARTICLE_TAG_CLOUD, allEntries = true)
     public void updateArticleCount(Long tagId) {
         Long count = tagRelationMapper.selectCount(
                 Wrappers.lambdaQuery(ArticleTagRelationEntity.class)
@@ -135,6 +142,24 @@ public class TagServiceImpl
         tagMapper.updateById(tag);
     }
 
+    @Override
+    @CacheEvict(value = CacheNames.ARTICLE_TAG_CLOUD, allEntries = true)
+    public Serializable saveByDto(TagDTO dto) {
+        return super.saveByDto(dto);
+    }
+
+    @Override
+    @CacheEvict(value = CacheNames.ARTICLE_TAG_CLOUD, allEntries = true)
+    public boolean updateByDto(TagDTO dto) {
+        return super.updateByDto(dto);
+    }
+
+    @Override
+    @CacheEvict(value = CacheNames.ARTICLE_TAG_CLOUD, allEntries = true)
+    public boolean removeById(Serializable id) {
+        return super.removeById(id);
+    }
+
     @Override
     protected void preSave(ArticleTagEntity entity) {
         // 自动生成slug
@@ -159,7 +184,11 @@ public class TagServiceImpl
         }
     }
 
+    /**
+     * 标签列表（标签云），按排序方式和数量缓存，任一标签变更时整体失效
+     */
     @Override
+    @Cacheable(value = CacheNames.ARTICLE_TAG_CLOUD, key = "#orderBy + ':' + #limit", sync = true)
     public List<TagVO> listTags(String orderBy, Integer limit) {
         log.debug("获取标签列表: orderBy={}, limit={}", orderBy, limit);
 
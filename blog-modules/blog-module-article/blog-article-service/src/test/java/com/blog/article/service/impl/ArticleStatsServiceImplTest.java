@@ -0,0 +1,147 @@
+package com.blog.article.service.impl;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.blog.article.domain.entity.ArticleStatsEntity;
+import com.blog.article.infrastructure.mapper.ArticleStatsMapper;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * ArticleStatsServiceImpl 功能测试
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@ExtendWith(MockitoExtension.class)
+class ArticleStatsServiceImplTest {
+
+    @Mock
+    private ArticleStatsMapper articleStatsMapper;
+
+    private ArticleStatsServiceImpl service;
+
+    @BeforeAll
+    static void initTableInfo() {
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""),
+                ArticleStatsEntity.class);
+    }
+
+    @BeforeEach
+    void setUp() {
+        service = new ArticleStatsServiceImpl(articleStatsMapper);
+    }
+
+    @Test
+    @DisplayName("增量忽略 0 值；部分文章缺少统计记录时补齐后只对缺失文章再执行一次增量")
+    @SuppressWarnings("unchecked")
+    void should_insertMissingAndReapply_when_statsRowAbsent() {
+        // Given
+        when(articleStatsMapper.batchAdjustCommentCount(Map.of(1L, 2, 2L, -1))).thenReturn(1);
+        when(articleStatsMapper.selectList(any(Wrapper.class))).thenReturn(List.of(stats(1L, 5)));
+        ArgumentCaptor<Map<Long, Long>> inserted = ArgumentCaptor.forClass(Map.class);
+
+        // When
+        service.adjustCommentCounts(Map.of(1L, 2, 2L, -1, 3L, 0));
+
+        // Then
+        verify(articleStatsMapper).insertIgnoreBatch(inserted.capture());
+        assertThat(inserted.getValue()).containsOnlyKeys(2L);
+        verify(articleStatsMapper).batchAdjustCommentCount(Map.of(2L, -1));
+    }
+
+    @Test
+    @DisplayName("增量全部为 0 时不访问数据库")
+    void should_skip_when_allDeltasZero() {
+        // When
+        service.adjustCommentCounts(Map.of(1L, 0));
+
+        // Then
+        verifyNoInteractions(articleStatsMapper);
+    }
+
+    @Test
+    @DisplayName("快照对比只找出不一致的文章（含快照外评论数非 0 的文章），不写入评论数")
+    @SuppressWarnings("unchecked")
+    void should_returnMismatches_when_comparingSnapshot() {
+        // Given
+        when(articleStatsMapper.selectList(any(Wrapper.class)))
+                .thenReturn(List.of(stats(1L, 3), stats(2L, 5)))
+                .thenReturn(List.of());
+
+        // When
+        Set<Long> mismatches = service.findCommentCountMismatches(Map.of(1L, 3, 3L, 2));
+
+        // Then
+        assertThat(mismatches).containsExactlyInAnyOrder(2L, 3L);
+        verify(articleStatsMapper).insertIgnoreBatch(anyMap());
+        verify(articleStatsMapper, never()).batchSetCommentCount(anyMap());
+    }
+
+    @Test
+    @DisplayName("对账先加锁读取统计记录，再重新计数，只写入与重新计数结果不一致的文章")
+    @SuppressWarnings("unchecked")
+    void should_lockThenRecount_when_reconciling() {
+        // Given
+        ArgumentCaptor<Wrapper<ArticleStatsEntity>> query = ArgumentCaptor.forClass(Wrapper.class);
+        when(articleStatsMapper.selectList(query.capture()))
+                .thenReturn(List.of(stats(1L, 3), stats(2L, 5), stats(3L, 1)));
+        List<Collection<Long>> recounted = new ArrayList<>();
+
+        // When
+        Set<Long> corrected = service.reconcileCommentCounts(List.of(1L, 2L, 3L), articleIds -> {
+            recounted.add(articleIds);
+            return Map.of(1L, 3, 2L, 6);
+        });
+
+        // Then
+        assertThat(query.getValue().getSqlSegment()).endsWith("FOR UPDATE");
+        assertThat(recounted).singleElement().satisfies(ids -> assertThat(ids).containsExactly(1L, 2L, 3L));
+        assertThat(corrected).containsExactlyInAnyOrder(2L, 3L);
+        verify(articleStatsMapper).batchSetCommentCount(Map.of(2L, 6, 3L, 0));
+    }
+
+    @Test
+    @DisplayName("所有文章与重新计数结果一致时不写入")
+    @SuppressWarnings("unchecked")
+    void should_notWrite_when_recountMatches() {
+        // Given
+        when(articleStatsMapper.selectList(any(Wrapper.class))).thenReturn(List.of(stats(1L, 3)));
+
+        // When
+        Set<Long> corrected = service.reconcileCommentCounts(List.of(1L), articleIds -> Map.of(1L, 3));
+
+        // Then
+        assertThat(corrected).isEmpty();
+        verify(articleStatsMapper, never()).batchSetCommentCount(anyMap());
+    }
+
+    private static ArticleStatsEntity stats(Long articleId, int commentCount) {
+        ArticleStatsEntity stats = new ArticleStatsEntity();
+        stats.setArticleId(articleId);
+        stats.setCommentCount(commentCount);
+        return stats;
+    }
+}
@@ -0,0 +1,28 @@
+package com.blog.comment.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 批量审核 DTO（评论批量审核 / 举报批量审核共用）
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Data
+@Schema(description = "批量审核对象")
+public class CommentBatchAuditDTO implements Serializable {
+
+    @Schema(description = "待处理的ID列表（评论ID或举报ID）", example = "[1, 2, 3]")
+    @NotEmpty(message = "ID列表不能为空")
+    @Size(max = 200, message = "单次最多处理200条")
+    private List<Long> ids;
+
+    @Schema(description = "拒绝/删除原因（评论拒绝、删除时必填）或管理员备注（举报审核）", example = "垃圾广告")
+    private String reason;
+}
@@ -5,6 +5,7 @@ import com.blog.common.base.Identifiable;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 import java.io.Serializable;
@@ -36,4 +37,8 @@ public class CommentDTO implements Serializable, Identifiable<Long> {
     @NotBlank(message = "评论内容不能为空")
     @Schema(description = "评论内容", example = "这篇文章写得很好！", requiredMode = Schema.RequiredMode.REQUIRED)
     private String content;
+
+    @Size(max = 200, message = "编辑原因不能超过200个字符")
+    @Schema(description = "编辑原因 (更新时选填)", example = "修正错别字")
+    private String editReason;
 }
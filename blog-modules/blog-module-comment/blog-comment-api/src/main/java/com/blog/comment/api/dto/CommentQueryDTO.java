@@ -28,6 +28,9 @@ public class CommentQueryDTO implements Serializable {
     @Schema(description = "评论状态")
     private String status;
 
+    @Schema(description = "是否查询归档评论（仅管理端）", example = "false")
+    private Boolean archived;
+
     @Schema(description = "页码", example = "1")
     private Integer pageNum = 1;
 
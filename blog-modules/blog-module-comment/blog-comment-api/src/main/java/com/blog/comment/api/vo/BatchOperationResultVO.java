@@ -0,0 +1,70 @@
+package com.blog.comment.api.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 批量操作结果VO（逐条返回处理结果）
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Data
+@Schema(description = "批量操作结果")
+public class BatchOperationResultVO implements Serializable {
+
+    @Schema(description = "请求处理总数（已去重）")
+    private int total;
+
+    @Schema(description = "成功数")
+    private int successCount;
+
+    @Schema(description = "失败数")
+    private int failureCount;
+
+    @Schema(description = "逐条处理结果")
+    private List<Item> items = new ArrayList<>();
+
+    /**
+     * 记录成功
+     */
+    public void succeed(Long id) {
+        items.add(new Item(String.valueOf(id), true, null));
+        successCount++;
+        total++;
+    }
+
+    /**
+     * 记录失败
+     */
+    public void fail(Long id, String message) {
+        items.add(new Item(String.valueOf(id), false, message));
+        failureCount++;
+        total++;
+    }
+
+    /**
+     * 单条处理结果
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "单条处理结果")
+    public static class Item implements Serializable {
+
+        @Schema(description = "ID")
+        private String id; // Long序列化为String，避免精度丢失
+
+        @Schema(description = "是否成功")
+        private boolean success;
+
+        @Schema(description = "失败原因（仅失败时）")
+        private String message;
+    }
+}
@@ -0,0 +1,43 @@
+package com.blog.comment.api.vo;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 评论修订版本VO
+ * <p>
+ * 修订号从 0（首次发布的内容）开始递增，最大修订号即当前内容。
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Data
+@Schema(description = "评论修订版本")
+public class CommentRevisionVO implements Serializable {
+
+    @Schema(description = "评论ID")
+    private String commentId; // Long序列化为String，避免精度丢失
+
+    @Schema(description = "修订号（0 为首次发布的内容）")
+    private int revision;
+
+    @Schema(description = "是否为当前内容")
+    private boolean current;
+
+    @Schema(description = "该修订的Markdown内容（列表接口不返回）")
+    private String content;
+
+    @Schema(description = "产生下一修订的编辑原因")
+    private String editReason;
+
+    @Schema(description = "产生下一修订的编辑人ID")
+    private String editorId; // Long序列化为String，避免精度丢失
+
+    @Schema(description = "该修订被编辑替换的时间（当前内容为空）", example = "2025-12-15 12:00:00")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "GMT+8")
+    private LocalDateTime replacedTime;
+}
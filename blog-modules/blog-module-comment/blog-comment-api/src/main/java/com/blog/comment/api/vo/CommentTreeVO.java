@@ -52,6 +52,12 @@ public class CommentTreeVO implements Serializable {
     @Schema(description = "评论者ID")
     private String createBy; // Long序列化为String，避免精度丢失
 
+    @Schema(description = "评论者昵称（无昵称时为用户名）")
+    private String authorNickname;
+
+    @Schema(description = "评论者头像")
+    private String authorAvatar;
+
     @Schema(description = "评论时间", example = "2025-12-15 12:00:00")
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "GMT+8")
     private LocalDateTime createTime;
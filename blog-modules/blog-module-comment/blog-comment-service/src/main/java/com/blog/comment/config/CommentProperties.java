@@ -0,0 +1,299 @@
+package com.blog.comment.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 评论模块配置属性
+ *
+ * <p>
+ * 将 {@code application.yaml} 中 {@code app.comment.*} 前缀的配置绑定到此类。<br>
+ * 所有字段均提供默认值，未配置时按默认值运行。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.comment")
+public class CommentProperties {
+
+    /**
+     * 点赞计数合并写入配置
+     */
+    private LikeCounter likeCounter = new LikeCounter();
+
+    /**
+     * 敏感词词库配置
+     */
+    private SensitiveWord sensitiveWord = new SensitiveWord();
+
+    /**
+     * 评论数/回复数计数配置
+     */
+    private Counter counter = new Counter();
+
+    /**
+     * 提及(@)解析缓存配置
+     */
+    private Mention mention = new Mention();
+
+    /**
+     * 编辑历史写入配置
+     */
+    private History history = new History();
+
+    /**
+     * 重复评论检测配置
+     */
+    private Duplicate duplicate = new Duplicate();
+
+    /**
+     * 热度排行配置
+     */
+    private Hot hot = new Hot();
+
+    /**
+     * 冷数据归档配置
+     */
+    private Archive archive = new Archive();
+
+    /**
+     * 点赞计数合并写入配置
+     */
+    @Data
+    public static class LikeCounter {
+
+        /**
+         * 刷盘间隔（毫秒），同一评论在该窗口内的点赞/取消点赞合并为一次净增量写入
+         */
+        private long flushIntervalMs = 500;
+
+        /**
+         * 单条批量 UPDATE 语句包含的最大评论数，超出后分批执行
+         */
+        private int maxBatchSize = 500;
+    }
+
+    /**
+     * 敏感词词库配置
+     */
+    @Data
+    public static class SensitiveWord {
+
+        /**
+         * 词库文件位置（支持 classpath: / file: 前缀，UTF-8，每行一个词，# 开头为注释）
+         */
+        private String dictionaryLocation = "classpath:sensitive/sensitive-words.txt";
+
+        /**
+         * 是否同时从 cmt_sensitive_word 表加载词条
+         */
+        private boolean loadFromDatabase = true;
+
+        /**
+         * 定时热加载间隔（毫秒），0 表示关闭定时热加载，仅支持手动触发
+         */
+        private long reloadIntervalMs = 300_000;
+
+        /**
+         * 命中敏感词后的替换文本
+         */
+        private String replacement = "***";
+    }
+
+    /**
+     * 评论数/回复数计数配置
+     */
+    @Data
+    public static class Counter {
+
+        /**
+         * 评论数 Redis 镜像的过期时间（秒）
+         */
+        private long mirrorTtlSeconds = 86_400;
+
+        /**
+         * 定时对账间隔（毫秒），按评论表重新计算评论数和回复数；0 表示关闭
+         */
+        private long reconcileIntervalMs = 3_600_000;
+
+        /**
+         * 回复数对账每批校正的评论数（每批一条 UPDATE，只锁定该主键区间）
+         */
+        private int reconcileBatchSize = 1_000;
+    }
+
+    /**
+     * 提及(@)解析缓存配置
+     */
+    @Data
+    public static class Mention {
+
+        /**
+         * 缓存的用户名数量上限
+         */
+        private long cacheMaximumSize = 10_000;
+
+        /**
+         * 已存在用户名的缓存时间（秒）
+         */
+        private long cacheTtlSeconds = 1_800;
+
+        /**
+         * 不存在用户名的缓存时间（秒），防止对无效 @名称 反复查库
+         */
+        private long negativeCacheTtlSeconds = 60;
+    }
+
+    /**
+     * 编辑历史写入配置
+     */
+    @Data
+    public static class History {
+
+        /**
+         * 批量写入间隔（毫秒）
+         */
+        private long flushIntervalMs = 200;
+
+        /**
+         * 单条多行 INSERT 包含的最大历史记录数
+         */
+        private int maxBatchSize = 200;
+
+        /**
+         * 待写入记录上限，超出后由编辑请求线程同步写入
+         */
+        private int maxPending = 5_000;
+
+        /**
+         * 关键帧间隔：编辑前版本号为其正整数倍时保存完整内容，限制补丁链断裂的影响范围；0 表示关闭
+         */
+        private int keyframeInterval = 20;
+    }
+
+    /**
+     * 重复评论检测配置
+     */
+    @Data
+    public static class Duplicate {
+
+        /**
+         * 是否启用
+         */
+        private boolean enabled = true;
+
+        /**
+         * 检测时间窗口（秒），同一用户/IP 在窗口内发布的相似内容视为重复
+         */
+        private long windowSeconds = 600;
+
+        /**
+         * 判定为重复的最大 SimHash 汉明距离（64 位），同时决定 LSH 分段数（max-distance + 1）
+         */
+        private int maxDistance = 6;
+
+        /**
+         * 每个分桶保留的最多指纹数
+         */
+        private int maxBucketSize = 100;
+
+        /**
+         * 参与检测的最短内容（字母和数字个数），过短的内容（如"谢谢"）容易误判
+         */
+        private int minLength = 10;
+
+        /**
+         * 命中后的处理方式
+         */
+        private DuplicateAction action = DuplicateAction.FLAG;
+    }
+
+    /**
+     * 热度排行配置
+     */
+    @Data
+    public static class Hot {
+
+        /**
+         * 热度半衰期（小时），互动对热度的贡献每经过一个半衰期减半
+         */
+        private double halfLifeHours = 24;
+
+        /**
+         * 发布权重（新评论的初始热度）
+         */
+        private double createWeight = 1;
+
+        /**
+         * 每次点赞的权重
+         */
+        private double likeWeight = 1;
+
+        /**
+         * 每条已通过回复的权重
+         */
+        private double replyWeight = 2;
+
+        /**
+         * 排行过期时间（秒），过期后按评论表重建
+         */
+        private long ttlSeconds = 86_400;
+
+        /**
+         * 单次查询的最大数量
+         */
+        private int maxLimit = 50;
+    }
+
+    /**
+     * 冷数据归档配置
+     */
+    @Data
+    public static class Archive {
+
+        /**
+         * 定时归档间隔（毫秒），0 表示关闭定时归档，仅支持手动触发
+         */
+        private long intervalMs = 86_400_000;
+
+        /**
+         * 已拒绝/已删除评论的保留天数，超过后归档
+         */
+        private int retentionDays = 90;
+
+        /**
+         * 文章归档多少天后归档其评论；负数表示不归档已归档文章下的评论
+         */
+        private int archivedArticleDays = 30;
+
+        /**
+         * 每批迁移的评论数（单个事务的行锁范围）
+         */
+        private int batchSize = 500;
+
+        /**
+         * 批次之间的暂停时间（毫秒）
+         */
+        private long batchPauseMs = 100;
+    }
+
+    /**
+     * 重复评论处理方式
+     */
+    public enum DuplicateAction {
+
+        /**
+         * 直接拒绝，不写库
+         */
+        REJECT,
+
+        /**
+         * 放行并记录审核原因，交由人工审核
+         */
+        FLAG
+    }
+}
@@ -2,6 +2,8 @@ package com.blog.comment.controller;
 
 import com.blog.comment.api.dto.CommentQueryDTO;
 import com.blog.comment.api.vo.CommentVO;
+import com.blog.comment.domain.sensitive.SensitiveWordDictionary;
+import com.blog.comment.infrastructure.archive.CommentArchiver;
 import com.blog.comment.service.ICommentService;
 import com.blog.common.model.PageResult;
 import com.blog.common.model.Result;
@@ -12,6 +14,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -29,12 +32,14 @@ import org.springframework.web.bind.annotation.RestController;
 public class CommentAdminController {
 
     private final ICommentService commentService;
+    private final SensitiveWordDictionary sensitiveWordDictionary;
+    private final CommentArchiver commentArchiver;
 
     /**
      * 获取评论列表（分页）
      *
      * <p>
-     * 管理端可以查询所有状态的评论（待审核、已通过、已拒绝、已删除）
+     * 管理端可以查询所有状态的评论（待审核、已通过、已拒绝、已删除），{@code archived=true} 时查询归档表
      * </p>
      *
      * @param query 查询参数
@@ -53,4 +58,38 @@ public class CommentAdminController {
 
         return Result.success(pageResult);
     }
+
+    /**
+     * 热加载敏感词词库
+     *
+     * <p>
+     * 重新读取词库文件与 cmt_sensitive_word 表并原子替换自动机，不影响正在处理的评论
+     * </p>
+     *
+     * @return 生效的词条数
+     */
+    @PostMapping("/sensitive-words/reload")
+    @Operation(summary = "热加载敏感词词库", description = "重新加载词库文件与数据库中的敏感词")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Result<Integer> reloadSensitiveWords() {
+        log.info("管理端触发敏感词词库热加载");
+        return Result.success(sensitiveWordDictionary.reload());
+    }
+
+    /**
+     * 立即执行一轮评论归档
+     *
+     * <p>
+     * 与定时归档互斥，已有归档任务在执行时直接返回 0
+     * </p>
+     *
+     * @return 本轮迁移的评论数
+     */
+    @PostMapping("/archive")
+    @Operation(summary = "执行评论归档", description = "将过期的已拒绝/已删除评论及已归档文章下的评论迁移至归档表")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Result<Integer> archive() {
+        log.info("管理端触发评论归档");
+        return Result.success(commentArchiver.archive());
+    }
 }
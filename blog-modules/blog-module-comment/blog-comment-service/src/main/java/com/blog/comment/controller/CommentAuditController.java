@@ -1,6 +1,8 @@
 package com.blog.comment.controller;
 
 import com.blog.comment.api.dto.CommentAuditDTO;
+import com.blog.comment.api.dto.CommentBatchAuditDTO;
+import com.blog.comment.api.vo.BatchOperationResultVO;
 import com.blog.comment.service.ICommentService;
 import com.blog.common.model.Result;
 import io.swagger.v3.oas.annotations.Operation;
@@ -67,4 +69,56 @@ public class CommentAuditController {
         commentService.deleteCommentByAdmin(id, dto.getReason());
         return Result.success();
     }
+
+    // ========== 批量审核 ==========
+
+    /**
+     * 批量审核通过评论
+     */
+    @PostMapping("/batch/approve")
+    @Operation(summary = "批量审核通过评论", description = "逐条返回处理结果，单条失败不影响其他评论")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Result<BatchOperationResultVO> batchApprove(@Valid @RequestBody CommentBatchAuditDTO dto) {
+        return Result.success(commentService.batchApproveComments(dto.getIds()));
+    }
+
+    /**
+     * 批量审核拒绝评论
+     */
+    @PostMapping("/batch/reject")
+    @Operation(summary = "批量审核拒绝评论", description = "reason 必填，逐条返回处理结果")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Result<BatchOperationResultVO> batchReject(@Valid @RequestBody CommentBatchAuditDTO dto) {
+        return Result.success(commentService.batchRejectComments(dto.getIds(), dto.getReason()));
+    }
+
+    /**
+     * 管理员批量删除评论
+     */
+    @PostMapping("/batch/delete")
+    @Operation(summary = "管理员批量删除评论", description = "reason 必填，逐条返回处理结果")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Result<BatchOperationResultVO> batchDelete(@Valid @RequestBody CommentBatchAuditDTO dto) {
+        return Result.success(commentService.batchDeleteCommentsByAdmin(dto.getIds(), dto.getReason()));
+    }
+
+    /**
+     * 批量审核通过举报
+     */
+    @PostMapping("/reports/batch/approve")
+    @Operation(summary = "批量审核通过举报", description = "reason 作为管理员备注，逐条返回处理结果")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Result<BatchOperationResultVO> batchApproveReports(@Valid @RequestBody CommentBatchAuditDTO dto) {
+        return Result.success(commentService.batchApproveReports(dto.getIds(), dto.getReason()));
+    }
+
+    /**
+     * 批量审核拒绝举报
+     */
+    @PostMapping("/reports/batch/reject")
+    @Operation(summary = "批量审核拒绝举报", description = "reason 作为管理员备注，逐条返回处理结果")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Result<BatchOperationResultVO> batchRejectReports(@Valid @RequestBody CommentBatchAuditDTO dto) {
+        return Result.success(commentService.batchRejectReports(dto.getIds(), dto.getReason()));
+    }
 }
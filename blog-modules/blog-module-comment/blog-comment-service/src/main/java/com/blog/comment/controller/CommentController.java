@@ -2,14 +2,18 @@ package com.blog.comment.controller;
 
 import com.blog.comment.api.dto.CommentDTO;
 import com.blog.comment.api.enums.CommentTargetType;
+import com.blog.comment.api.vo.CommentRevisionVO;
 import com.blog.comment.api.vo.CommentTreeVO;
 import com.blog.comment.api.vo.CommentVO;
 import com.blog.comment.service.ICommentService;
 import com.blog.common.exception.BusinessException;
 import com.blog.common.exception.SystemErrorCode;
 import com.blog.common.model.Result;
+import com.blog.common.ratelimit.RateLimit;
+import com.blog.common.utils.SecurityUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,7 +28,6 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.io.Serializable;
 import java.util.List;
 
 /**
@@ -48,11 +51,11 @@ public class CommentController {
      * @param dto 评论DTO
      * @return 评论ID
      */
+    @RateLimit(name = "comment-post", capacity = 5, refillPerSecond = 0.1)
     @PostMapping
     @Operation(summary = "创建评论")
-    public Result<Long> create(@Valid @RequestBody CommentDTO dto) {
-        Serializable id = commentService.saveByDto(dto);
-        return Result.success((Long) id);
+    public Result<Long> create(@Valid @RequestBody CommentDTO dto, HttpServletRequest request) {
+        return Result.success(commentService.createComment(dto, publisher(request)));
     }
 
     /**
@@ -61,10 +64,11 @@ public class CommentController {
      * @param dto 评论DTO
      * @return 评论ID
      */
+    @RateLimit(name = "comment-post", capacity = 5, refillPerSecond = 0.1)
     @PostMapping("/reply")
     @Operation(summary = "回复评论")
-    public Result<Long> reply(@Valid @RequestBody CommentDTO dto) {
-        return Result.success(commentService.replyComment(dto));
+    public Result<Long> reply(@Valid @RequestBody CommentDTO dto, HttpServletRequest request) {
+        return Result.success(commentService.replyComment(dto, publisher(request)));
     }
 
     /**
@@ -96,6 +100,38 @@ public class CommentController {
         return Result.success(commentService.getCommentTree(targetType, targetId));
     }
 
+    /**
+     * 获取热门评论
+     *
+     * @param targetType 目标类型
+     * @param targetId   目标ID
+     * @param limit      数量
+     * @return 热门评论（按时间衰减热度降序）
+     */
+    @GetMapping("/hot")
+    @Operation(summary = "获取热门评论")
+    public Result<List<CommentTreeVO>> listHot(
+            @RequestParam CommentTargetType targetType,
+            @RequestParam Long targetId,
+            @RequestParam(defaultValue = "10") int limit) {
+        return Result.success(commentService.listHotComments(targetType, targetId, limit));
+    }
+
+    /**
+     * 获取评论数
+     *
+     * @param targetType 目标类型
+     * @param targetId   目标ID
+     * @return 已通过的评论数
+     */
+    @GetMapping("/count")
+    @Operation(summary = "获取评论数")
+    public Result<Long> count(
+            @RequestParam CommentTargetType targetType,
+            @RequestParam Long targetId) {
+        return Result.success(commentService.getCommentCount(targetType, targetId));
+    }
+
     /**
      * 更新评论
      *
@@ -108,6 +144,31 @@ public class CommentController {
         return Result.success(commentService.updateByDto(dto));
     }
 
+    /**
+     * 获取评论修订列表
+     *
+     * @param id 评论ID
+     * @return 修订列表（不含内容）
+     */
+    @GetMapping("/{id}/revisions")
+    @Operation(summary = "获取评论修订列表")
+    public Result<List<CommentRevisionVO>> listRevisions(@PathVariable Long id) {
+        return Result.success(commentService.listRevisions(id));
+    }
+
+    /**
+     * 获取评论指定修订版本
+     *
+     * @param id       评论ID
+     * @param revision 修订号（0 为首次发布的内容）
+     * @return 修订版本
+     */
+    @GetMapping("/{id}/revisions/{revision}")
+    @Operation(summary = "获取评论指定修订版本")
+    public Result<CommentRevisionVO> getRevision(@PathVariable Long id, @PathVariable int revision) {
+        return Result.success(commentService.getRevision(id, revision));
+    }
+
     /**
      * 用户删除自己的评论（状态流转）
      *
@@ -129,6 +190,7 @@ public class CommentController {
      * @param id 评论ID
      * @return 成功提示
      */
+    @RateLimit(name = "comment-like", target = "id", capacity = 4, refillPerSecond = 0.2)
     @PostMapping("/{id}/like")
     @Operation(summary = "点赞评论")
     public Result<Void> like(@PathVariable Long id) {
@@ -142,6 +204,7 @@ public class CommentController {
      * @param id 评论ID
      * @return 成功提示
      */
+    @RateLimit(name = "comment-like", target = "id", capacity = 4, refillPerSecond = 0.2)
     @DeleteMapping("/{id}/like")
     @Operation(summary = "取消点赞")
     public Result<Void> unlike(@PathVariable Long id) {
@@ -168,6 +231,7 @@ public class CommentController {
      * @param dto 举报DTO
      * @return 举报ID
      */
+    @RateLimit(name = "comment-report", capacity = 3, refillPerSecond = 0.05)
     @PostMapping("/{id}/report")
     @Operation(summary = "举报评论")
     public Result<Long> report(@PathVariable Long id,
@@ -207,4 +271,12 @@ public class CommentController {
         commentService.rejectReport(reportId, remark);
         return Result.success();
     }
+
+    /**
+     * 重复检测的发布主体：已登录按用户，匿名按客户端 IP
+     */
+    private static String publisher(HttpServletRequest request) {
+        Long userId = SecurityUtils.getCurrentUserId();
+        return userId != null ? "u" + userId : "ip" + request.getRemoteAddr();
+    }
 }
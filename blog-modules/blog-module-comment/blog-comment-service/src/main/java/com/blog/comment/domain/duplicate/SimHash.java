@@ -0,0 +1,111 @@
+package com.blog.comment.domain.duplicate;
+
+/**
+ * SimHash 文本指纹
+ *
+ * <p>
+ * 文本归一化（只保留字母和数字、统一小写）后切分为 3 字符滑动分片，每个分片哈希为 64 位，
+ * 按位累加 ±1 后取符号得到指纹。内容相近的文本指纹的汉明距离很小，
+ * 改动几个字、增删标点或空白、调整大小写基本不影响指纹。
+ * </p>
+ *
+ * <p>
+ * 指纹按 {@link #bands(long, int)} 切分为若干段用于 LSH 分桶：汉明距离不超过 d 的两个指纹，
+ * 切分为 d + 1 段时至少有一段完全相同（抽屉原理），因此只需比较同桶内的候选。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+public final class SimHash {
+
+    private static final int SHINGLE_SIZE = 3;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private SimHash() {
+    }
+
+    /**
+     * 归一化后的有效字符数（字母和数字）
+     *
+     * @param text 文本
+     * @return 有效字符数
+     */
+    public static int normalizedLength(CharSequence text) {
+        return (int) text.codePoints().filter(Character::isLetterOrDigit).count();
+    }
+
+    /**
+     * 计算 64 位 SimHash 指纹
+     *
+     * @param text 文本
+     * @return 指纹（无有效字符时为 0）
+     */
+    public static long fingerprint(CharSequence text) {
+        int[] normalized = text.codePoints()
+                .filter(Character::isLetterOrDigit)
+                .map(Character::toLowerCase)
+                .toArray();
+        if (normalized.length == 0) {
+            return 0L;
+        }
+
+        int[] weights = new int[64];
+        int shingles = Math.max(1, normalized.length - SHINGLE_SIZE + 1);
+        for (int start = 0; start < shingles; start++) {
+            long hash = FNV_OFFSET;
+            int end = Math.min(normalized.length, start + SHINGLE_SIZE);
+            for (int i = start; i < end; i++) {
+                hash = (hash ^ normalized[i]) * FNV_PRIME;
+            }
+            hash = mix(hash);
+            for (int bit = 0; bit < 64; bit++) {
+                weights[bit] += ((hash >>> bit) & 1L) == 1L ? 1 : -1;
+            }
+        }
+
+        long fingerprint = 0L;
+        for (int bit = 0; bit < 64; bit++) {
+            if (weights[bit] > 0) {
+                fingerprint |= 1L << bit;
+            }
+        }
+        return fingerprint;
+    }
+
+    /**
+     * 两个指纹的汉明距离
+     */
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    /**
+     * 将指纹切分为 count 段（前几段多分 1 位以覆盖全部 64 位）
+     *
+     * @param fingerprint 指纹
+     * @param count       段数，1-64
+     * @return 各段取值
+     */
+    public static long[] bands(long fingerprint, int count) {
+        long[] bands = new long[count];
+        int offset = 0;
+        for (int i = 0; i < count; i++) {
+            int width = 64 / count + (i < 64 % count ? 1 : 0);
+            long mask = width == 64 ? -1L : (1L << width) - 1;
+            bands[i] = (fingerprint >>> offset) & mask;
+            offset += width;
+        }
+        return bands;
+    }
+
+    /**
+     * SplitMix64 终结函数，打散 FNV 哈希的低位相关性
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
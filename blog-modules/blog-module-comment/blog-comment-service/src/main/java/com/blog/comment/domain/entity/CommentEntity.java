@@ -13,6 +13,7 @@ import lombok.Data;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
+import java.util.Set;
 
 /**
  * 评论实体
@@ -72,6 +73,18 @@ public class CommentEntity implements Serializable {
      */
     private String mentionedUserIds;
 
+    /**
+     * 本次保存解析出的@提及用户ID（不持久化，仅在保存流程内传递，避免重复解析）
+     */
+    @TableField(exist = false)
+    private Set<Long> mentionedUserIdSet;
+
+    /**
+     * 本次编辑的原因（不持久化，随编辑历史写入 cmt_comment_history）
+     */
+    @TableField(exist = false)
+    private String editReason;
+
     @Version
     private Integer version;
 
@@ -34,7 +34,13 @@ public class CommentHistoryEntity {
     private Long commentId;
 
     /**
-     * 编辑前的原始Markdown内容
+     * 编辑前评论的版本号（用于排序修订链）
+     */
+    @TableField("base_version")
+    private Integer baseVersion;
+
+    /**
+     * 编辑前的原始Markdown内容（关键帧；差异记录为空）
      */
     @TableField("old_content")
     private String oldContent;
@@ -45,6 +51,12 @@ public class CommentHistoryEntity {
     @TableField("old_content_html")
     private String oldContentHtml;
 
+    /**
+     * 编辑后内容还原为编辑前内容的行级逆向补丁（见 {@link com.blog.comment.domain.history.LineDiff}）
+     */
+    @TableField("diff_patch")
+    private String diffPatch;
+
     /**
      * 编辑原因（用户可选填写）
      */
@@ -0,0 +1,77 @@
+package com.blog.comment.domain.entity;
+
+import com.baomidou.mybatisplus.annotation.FieldFill;
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableLogic;
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.baomidou.mybatisplus.annotation.Version;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 评论敏感词实体
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Data
+@TableName("cmt_sensitive_word")
+public class SensitiveWordEntity {
+
+    /**
+     * 主键ID
+     */
+    @TableId(type = IdType.ASSIGN_ID)
+    private Long id;
+
+    /**
+     * 敏感词
+     */
+    @TableField("word")
+    private String word;
+
+    /**
+     * 是否启用：0-停用，1-启用
+     */
+    @TableField("enabled")
+    private Integer enabled;
+
+    /**
+     * 乐观锁版本号
+     */
+    @Version
+    private Integer version;
+
+    /**
+     * 创建人
+     */
+    @TableField(fill = FieldFill.INSERT)
+    private Long createBy;
+
+    /**
+     * 创建时间
+     */
+    @TableField(fill = FieldFill.INSERT)
+    private LocalDateTime createTime;
+
+    /**
+     * 更新人
+     */
+    @TableField(fill = FieldFill.INSERT_UPDATE)
+    private Long updateBy;
+
+    /**
+     * 更新时间
+     */
+    @TableField(fill = FieldFill.INSERT_UPDATE)
+    private LocalDateTime updateTime;
+
+    /**
+     * 逻辑删除：0-未删除，1-已删除
+     */
+    @TableLogic
+    private Integer isDeleted;
+}
@@ -0,0 +1,54 @@
+package com.blog.comment.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 评论内容编辑事件
+ * <p>
+ * 事务提交后交给 {@link com.blog.comment.infrastructure.history.CommentHistoryWriter} 异步写入编辑历史。
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Getter
+@AllArgsConstructor
+public class CommentEditedEvent {
+
+    /**
+     * 评论ID
+     */
+    private final Long commentId;
+
+    /**
+     * 编辑前评论的版本号
+     */
+    private final Integer baseVersion;
+
+    /**
+     * 编辑前内容
+     */
+    private final String oldContent;
+
+    /**
+     * 编辑后内容
+     */
+    private final String newContent;
+
+    /**
+     * 编辑原因（可为空）
+     */
+    private final String editReason;
+
+    /**
+     * 编辑人ID
+     */
+    private final Long editorId;
+
+    /**
+     * 编辑时间
+     */
+    private final LocalDateTime editTime;
+}
@@ -1,13 +1,25 @@
 package com.blog.comment.domain.event;
 
-import com.blog.comment.infrastructure.mapper.CommentMapper;
+import com.blog.comment.api.enums.CommentStatus;
+import com.blog.comment.domain.parser.MentionParser;
+import com.blog.comment.infrastructure.counter.CommentCounterManager;
+import com.blog.comment.infrastructure.counter.CommentLikeCountAggregator;
+import com.blog.comment.infrastructure.history.CommentHistoryWriter;
+import com.blog.comment.infrastructure.ranking.CommentHotRanking;
+import com.blog.common.realtime.RealtimePublisher;
+import com.blog.common.realtime.RealtimeTopics;
+import com.blog.system.api.event.UsernameChangedEvent;
 import com.blog.system.api.service.INotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * 评论事件监听器
@@ -20,33 +32,102 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class CommentEventListener {
 
-    private final CommentMapper commentMapper;
+    private final CommentLikeCountAggregator likeCountAggregator;
+    private final CommentCounterManager counterManager;
     private final INotificationService notificationService;
+    private final MentionParser mentionParser;
+    private final RealtimePublisher realtimePublisher;
+    private final CommentHistoryWriter historyWriter;
+    private final CommentHotRanking hotRanking;
 
     /**
-     * 处理点赞事件（异步）
+     * 处理点赞事件
+     * <p>
+     * 事务提交后累加到内存增量，由 {@link CommentLikeCountAggregator} 定时批量刷盘
      */
-    @Async
-    @EventListener
-    @Transactional(rollbackFor = Exception.class)
+    @TransactionalEventListener(fallbackExecution = true)
     public void handleCommentLiked(CommentLikedEvent event) {
-        log.info("处理点赞事件: commentId={}", event.getCommentId());
+        log.debug("处理点赞事件: commentId={}", event.getCommentId());
 
-        // 更新点赞数 +1
-        commentMapper.incrementLikeCount(event.getCommentId());
+        // 点赞数 +1（合并写入）
+        likeCountAggregator.add(event.getCommentId(), 1);
     }
 
     /**
-     * 处理取消点赞事件（异步）
+     * 处理取消点赞事件
+     * <p>
+     * 事务提交后累加到内存增量，由 {@link CommentLikeCountAggregator} 定时批量刷盘
      */
-    @Async
-    @EventListener
-    @Transactional(rollbackFor = Exception.class)
+    @TransactionalEventListener(fallbackExecution = true)
     public void handleCommentUnliked(CommentUnlikedEvent event) {
-        log.info("处理取消点赞事件: commentId={}", event.getCommentId());
+        log.debug("处理取消点赞事件: commentId={}", event.getCommentId());
+
+        // 点赞数 -1（合并写入）
+        likeCountAggregator.add(event.getCommentId(), -1);
+    }
 
-        // 更新点赞数 -1
-        commentMapper.decrementLikeCount(event.getCommentId());
+    /**
+     * 处理评论状态变更事件：写入评论数/回复数增量
+     * <p>
+     * 在业务事务提交前同步执行，计数与状态变更同属一个事务
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void handleStatusChanged(CommentStatusChangedEvent event) {
+        log.debug("处理评论状态变更事件: changes={}", event.getChanges().size());
+
+        counterManager.applyDeltas(event.getChanges());
+    }
+
+    /**
+     * 处理评论状态变更事件：同步评论数 Redis 镜像和热度排行，并推送新的已通过评论
+     * <p>
+     * 事务提交后执行，回滚的变更不会污染镜像，也不会推送给客户端
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleStatusChangedAfterCommit(CommentStatusChangedEvent event) {
+        counterManager.updateMirror(event.getChanges());
+        hotRanking.applyStatusChanges(event.getChanges());
+
+        for (CommentStatusChangedEvent.Change change : event.getChanges()) {
+            if (change.to() != CommentStatus.APPROVED || change.from() == CommentStatus.APPROVED
+                    || change.targetType() == null || change.targetId() == null) {
+                continue;
+            }
+            // 只推送定位信息，评论内容由客户端按需拉取（与评论树接口保持同一套权限和渲染逻辑）
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("commentId", change.commentId());
+            payload.put("parentId", change.parentId());
+            payload.put("targetType", change.targetType().getCode());
+            payload.put("targetId", change.targetId());
+            realtimePublisher.publish(
+                    RealtimeTopics.commentTargetTopic(change.targetType().getCode(), change.targetId()),
+                    RealtimeTopics.EVENT_COMMENT, payload);
+        }
+    }
+
+    /**
+     * 处理评论编辑事件：记录编辑历史
+     * <p>
+     * 事务提交后入队，由 {@link CommentHistoryWriter} 在后台计算差异并批量写入
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleCommentEdited(CommentEditedEvent event) {
+        log.debug("记录评论编辑历史: commentId={}, baseVersion={}", event.getCommentId(), event.getBaseVersion());
+
+        historyWriter.record(event);
+    }
+
+    /**
+     * 处理用户名变更事件：失效@提及解析缓存
+     * <p>
+     * 事务提交后执行，避免并发解析把旧数据重新写回缓存
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleUsernameChanged(UsernameChangedEvent event) {
+        log.debug("失效@提及解析缓存: userId={}, previous={}, current={}",
+                event.getUserId(), event.getPreviousUsername(), event.getCurrentUsername());
+
+        mentionParser.invalidate(event.getPreviousUsername(), event.getCurrentUsername());
     }
 
     /**
@@ -62,12 +143,12 @@ public class CommentEventListener {
     }
 
     /**
-     * 处理@提及事件（异步）
+     * 处理@提及事件
      * <p>
-     * Phase 7: 集成通知服务，为被提及的用户创建通知
+     * Phase 7: 集成通知服务，为被提及的用户创建通知。
+     * 通知只进入通知发件箱（内存入队），无需占用异步线程池；事务提交后执行，回滚的评论不会产生通知
      */
-    @Async
-    @EventListener
+    @TransactionalEventListener(fallbackExecution = true)
     public void handleUserMentioned(UserMentionedEvent event) {
         log.info("处理@提及事件: commentId={}, 提及用户数={}, mentionerId={}",
                 event.getCommentId(),
@@ -82,12 +163,11 @@ public class CommentEventListener {
     }
 
     /**
-     * 处理评论回复事件（异步）
+     * 处理评论回复事件
      * <p>
-     * Phase 7: 集成通知服务，为被回复用户创建通知
+     * Phase 7: 集成通知服务，为被回复用户创建通知（入队通知发件箱，事务提交后执行）
      */
-    @Async
-    @EventListener
+    @TransactionalEventListener(fallbackExecution = true)
     public void handleCommentReplied(CommentRepliedEvent event) {
         log.info("处理回复事件: commentId={}, parentId={}, repliedUserId={}, replierId={}",
                 event.getCommentId(),
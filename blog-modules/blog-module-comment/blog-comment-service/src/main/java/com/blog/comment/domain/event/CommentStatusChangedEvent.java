@@ -0,0 +1,51 @@
+package com.blog.comment.domain.event;
+
+import com.blog.comment.api.enums.CommentStatus;
+import com.blog.comment.api.enums.CommentTargetType;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 评论状态变更事件（审核通过、拒绝、删除）
+ * <p>
+ * 批量操作只发布一个事件，包含本次成功完成的全部变更。
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Getter
+public class CommentStatusChangedEvent {
+
+    /**
+     * 状态变更列表
+     */
+    private final List<Change> changes;
+
+    public CommentStatusChangedEvent(List<Change> changes) {
+        this.changes = List.copyOf(changes);
+    }
+
+    /**
+     * 单条评论的状态变更
+     *
+     * @param commentId  评论ID
+     * @param targetType 目标类型
+     * @param targetId   目标ID
+     * @param parentId   父评论ID（根评论为 null）
+     * @param from       原状态
+     * @param to         新状态
+     * @param createTime 评论发布时间
+     */
+    public record Change(Long commentId, CommentTargetType targetType, Long targetId, Long parentId,
+                         CommentStatus from, CommentStatus to, LocalDateTime createTime) {
+
+        /**
+         * 对"可见评论数"的影响：进入已通过 +1，离开已通过 -1，其余为 0
+         */
+        public int visibleDelta() {
+            return (to == CommentStatus.APPROVED ? 1 : 0) - (from == CommentStatus.APPROVED ? 1 : 0);
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.blog.comment.domain.history;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * 行级差异补丁（Myers 差分算法）
+ *
+ * <p>
+ * {@link #diff(String, String)} 生成把 source 变换为 target 的紧凑补丁，{@link #apply(String, String)} 按补丁还原 target。
+ * 补丁只包含行数指令和 target 中新增的行，多次小幅编辑的长评论只需存储少量文本。
+ * </p>
+ *
+ * <p>补丁格式（行之间以 {@code \n} 分隔）：</p>
+ * <pre>
+ * #&lt;source 行数&gt;:&lt;source 的 CRC32&gt;   头部，应用前校验源内容，防止补丁链断裂时静默产生错误内容
+ * =n                              保留 source 的 n 行
+ * -n                              跳过 source 的 n 行
+ * +n                              插入紧随其后的 n 行
+ * </pre>
+ * <p>
+ * 末尾的保留指令省略，应用时剩余行原样复制。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+public final class LineDiff {
+
+    private static final char KEEP = '=';
+    private static final char DELETE = '-';
+    private static final char INSERT = '+';
+
+    private LineDiff() {
+    }
+
+    /**
+     * 生成把 source 变换为 target 的补丁
+     *
+     * @param source 源内容
+     * @param target 目标内容
+     * @return 补丁文本
+     */
+    public static String diff(String source, String target) {
+        String[] a = split(source);
+        String[] b = split(target);
+
+        // 公共前后缀不参与 Myers 计算，典型的局部编辑只剩下很短的中间段
+        int prefix = 0;
+        while (prefix < a.length && prefix < b.length && a[prefix].equals(b[prefix])) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < a.length - prefix && suffix < b.length - prefix
+                && a[a.length - 1 - suffix].equals(b[b.length - 1 - suffix])) {
+            suffix++;
+        }
+
+        PatchBuilder builder = new PatchBuilder(header(source, a.length));
+        builder.keep(prefix);
+        myers(a, prefix, a.length - suffix, b, prefix, b.length - suffix, builder);
+        return builder.build();
+    }
+
+    /**
+     * 对 source 应用补丁
+     *
+     * @param source 源内容（必须与生成补丁时的源内容一致）
+     * @param patch  补丁文本
+     * @return 目标内容
+     * @throws IllegalArgumentException 源内容与补丁不匹配或补丁格式错误
+     */
+    public static String apply(String source, String patch) {
+        String[] a = split(source);
+        String[] p = patch.split("\n", -1);
+        if (!p[0].equals(header(source, a.length))) {
+            throw new IllegalArgumentException("补丁与源内容不匹配");
+        }
+
+        List<String> out = new ArrayList<>(a.length);
+        int pos = 0;
+        int i = 1;
+        try {
+            while (i < p.length) {
+                String op = p[i++];
+                int count = Integer.parseInt(op.substring(1));
+                switch (op.charAt(0)) {
+                    case KEEP -> {
+                        checkRange(pos + count <= a.length);
+                        out.addAll(Arrays.asList(a).subList(pos, pos + count));
+                        pos += count;
+                    }
+                    case DELETE -> {
+                        checkRange(pos + count <= a.length);
+                        pos += count;
+                    }
+                    case INSERT -> {
+                        checkRange(i + count <= p.length);
+                        out.addAll(Arrays.asList(p).subList(i, i + count));
+                        i += count;
+                    }
+                    default -> throw new IllegalArgumentException("未知的补丁指令: " + op);
+                }
+            }
+        } catch (NumberFormatException | StringIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("补丁格式错误", e);
+        }
+        out.addAll(Arrays.asList(a).subList(pos, a.length));
+        return String.join("\n", out);
+    }
+
+    /**
+     * Myers O(ND) 差分：求 a[aStart, aEnd) 到 b[bStart, bEnd) 的最短编辑脚本，按顺序写入 builder
+     */
+    private static void myers(String[] a, int aStart, int aEnd, String[] b, int bStart, int bEnd,
+                              PatchBuilder builder) {
+        int n = aEnd - aStart;
+        int m = bEnd - bStart;
+        if (n == 0 || m == 0) {
+            builder.delete(n);
+            builder.insert(b, bStart, m);
+            return;
+        }
+
+        int max = n + m;
+        int offset = max + 1;
+        int[] v = new int[2 * max + 3];
+        List<int[]> trace = new ArrayList<>();
+        int depth = -1;
+        search:
+        for (int d = 0; d <= max; d++) {
+            trace.add(v.clone());
+            for (int k = -d; k <= d; k += 2) {
+                int x = (k == -d || (k != d && v[offset + k - 1] < v[offset + k + 1]))
+                        ? v[offset + k + 1]
+                        : v[offset + k - 1] + 1;
+                int y = x - k;
+                while (x < n && y < m && a[aStart + x].equals(b[bStart + y])) {
+                    x++;
+                    y++;
+                }
+                v[offset + k] = x;
+                if (x >= n && y >= m) {
+                    depth = d;
+                    break search;
+                }
+            }
+        }
+
+        // 回溯得到逆序的编辑步骤：0 保留，1 删除，2 插入（插入记录 b 的下标）
+        List<int[]> steps = new ArrayList<>();
+        int x = n;
+        int y = m;
+        for (int d = depth; d > 0; d--) {
+            int[] prev = trace.get(d);
+            int k = x - y;
+            int prevK = (k == -d || (k != d && prev[offset + k - 1] < prev[offset + k + 1])) ? k + 1 : k - 1;
+            int prevX = prev[offset + prevK];
+            int prevY = prevX - prevK;
+            while (x > prevX && y > prevY) {
+                steps.add(new int[]{0, 0});
+                x--;
+                y--;
+            }
+            if (x == prevX) {
+                steps.add(new int[]{2, bStart + y - 1});
+                y--;
+            } else {
+                steps.add(new int[]{1, 0});
+                x--;
+            }
+        }
+        while (x > 0 && y > 0) {
+            steps.add(new int[]{0, 0});
+            x--;
+            y--;
+        }
+
+        for (int i = steps.size() - 1; i >= 0; i--) {
+            int[] step = steps.get(i);
+            switch (step[0]) {
+                case 0 -> builder.keep(1);
+                case 1 -> builder.delete(1);
+                default -> builder.insert(b, step[1], 1);
+            }
+        }
+    }
+
+    private static String[] split(String content) {
+        return content.split("\n", -1);
+    }
+
+    private static String header(String source, int lineCount) {
+        CRC32 crc = new CRC32();
+        crc.update(source.getBytes(StandardCharsets.UTF_8));
+        return "#" + lineCount + ":" + Long.toHexString(crc.getValue());
+    }
+
+    private static void checkRange(boolean valid) {
+        if (!valid) {
+            throw new IllegalArgumentException("补丁超出源内容范围");
+        }
+    }
+
+    /**
+     * 合并相邻同类指令，延迟写出保留指令以便省略末尾保留
+     */
+    private static final class PatchBuilder {
+
+        private final StringBuilder patch;
+        private final List<String> pendingInserts = new ArrayList<>();
+        private char lastOp;
+        private int lastCount;
+
+        PatchBuilder(String header) {
+            this.patch = new StringBuilder(header);
+        }
+
+        void keep(int count) {
+            append(KEEP, count);
+        }
+
+        void delete(int count) {
+            append(DELETE, count);
+        }
+
+        void insert(String[] lines, int from, int count) {
+            append(INSERT, count);
+            pendingInserts.addAll(Arrays.asList(lines).subList(from, from + count));
+        }
+
+        String build() {
+            if (lastOp != KEEP) {
+                writeLast();
+            }
+            return patch.toString();
+        }
+
+        private void append(char op, int count) {
+            if (count == 0) {
+                return;
+            }
+            if (op == lastOp) {
+                lastCount += count;
+                return;
+            }
+            writeLast();
+            lastOp = op;
+            lastCount = count;
+        }
+
+        private void writeLast() {
+            if (lastCount == 0) {
+                return;
+            }
+            patch.append('\n').append(lastOp).append(lastCount);
+            if (lastOp == INSERT) {
+                pendingInserts.forEach(line -> patch.append('\n').append(line));
+                pendingInserts.clear();
+            }
+            lastCount = 0;
+        }
+    }
+}
@@ -1,15 +1,22 @@
 package com.blog.comment.domain.parser;
 
+import com.blog.comment.config.CommentProperties;
 import com.blog.system.api.service.IUserQueryService;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Component;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -20,7 +27,6 @@ import java.util.regex.Pattern;
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class MentionParser {
 
     /**
@@ -28,8 +34,49 @@ public class MentionParser {
      */
     private static final Pattern MENTION_PATTERN = Pattern.compile("@([\\w]{3,20})(?![\\w@])");
 
+    /**
+     * 负缓存标记：用户名不存在
+     */
+    private static final Long NOT_FOUND = -1L;
+
     private final IUserQueryService userQueryService;
 
+    /**
+     * 小写用户名 → 用户ID（有界本地缓存）
+     * <p>
+     * 不存在的用户名记为 {@link #NOT_FOUND} 并以较短的过期时间缓存，避免对无效 @名称 反复查库；
+     * 用户注册、改名、删除时通过 {@link #invalidate(String...)} 失效对应用户名。
+     */
+    private final Cache<String, Long> userIdCache;
+
+    public MentionParser(IUserQueryService userQueryService, CommentProperties commentProperties) {
+        this.userQueryService = userQueryService;
+        CommentProperties.Mention config = commentProperties.getMention();
+        long ttlNanos = TimeUnit.SECONDS.toNanos(config.getCacheTtlSeconds());
+        long negativeTtlNanos = TimeUnit.SECONDS.toNanos(config.getNegativeCacheTtlSeconds());
+        this.userIdCache = Caffeine.newBuilder()
+                .maximumSize(config.getCacheMaximumSize())
+                .expireAfter(new Expiry<String, Long>() {
+                    @Override
+                    public long expireAfterCreate(String key, Long value, long currentTime) {
+                        return NOT_FOUND.equals(value) ? negativeTtlNanos : ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Long value, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Long value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
     /**
      * 解析评论中的 @username
      *
@@ -45,18 +92,37 @@ public class MentionParser {
         Matcher matcher = MENTION_PATTERN.matcher(content);
 
         while (matcher.find()) {
-            usernames.add(matcher.group(1));
+            usernames.add(matcher.group(1).toLowerCase(Locale.ROOT));
         }
 
         if (usernames.isEmpty()) {
             return Collections.emptySet();
         }
 
-        // 批量查询用户ID（通过接口调用）
-        List<Long> userIds = userQueryService.getUserIdsByUsernames(usernames);
+        // 缓存未命中的用户名合并为一次批量查询（通过接口调用）
+        Map<String, Long> resolved = userIdCache.getAll(usernames, this::loadUserIds);
+        Set<Long> userIds = new HashSet<>();
+        resolved.values().forEach(userId -> {
+            if (!NOT_FOUND.equals(userId)) {
+                userIds.add(userId);
+            }
+        });
         log.debug("解析@提及: usernames={}, userIds={}", usernames, userIds);
 
-        return new HashSet<>(userIds);
+        return userIds;
+    }
+
+    /**
+     * 失效指定用户名的解析缓存（用户注册、改名、删除时调用）
+     *
+     * @param usernames 用户名（忽略 null）
+     */
+    public void invalidate(String... usernames) {
+        for (String username : usernames) {
+            if (username != null) {
+                userIdCache.invalidate(username.toLowerCase(Locale.ROOT));
+            }
+        }
     }
 
     /**
@@ -71,4 +137,16 @@ public class MentionParser {
         }
         return html.replaceAll("@([\\w]{3,20})", "<span class=\"mention\">@$1</span>");
     }
+
+    /**
+     * 批量加载缓存未命中的用户名，不存在的用户名记为 {@link #NOT_FOUND}
+     */
+    private Map<String, Long> loadUserIds(Set<? extends String> usernames) {
+        Map<String, Long> loaded = new HashMap<>();
+        usernames.forEach(username -> loaded.put(username, NOT_FOUND));
+        // 数据库按不区分大小写的排序规则匹配，返回的用户名统一转小写后回填
+        userQueryService.getUserIdMapByUsernames(List.copyOf(usernames))
+                .forEach((username, userId) -> loaded.put(username.toLowerCase(Locale.ROOT), userId));
+        return loaded;
+    }
 }
@@ -0,0 +1,112 @@
+package com.blog.comment.domain.processor;
+
+import com.blog.comment.config.CommentProperties;
+import com.blog.comment.domain.duplicate.SimHash;
+import com.blog.comment.infrastructure.duplicate.CommentFingerprintIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 评论重复内容检测处理器
+ *
+ * <p>
+ * 计算原始内容的 {@link SimHash} 指纹，在 {@link CommentFingerprintIndex} 中查找同一发布主体
+ * 时间窗口内的近似重复评论：
+ * </p>
+ * <ul>
+ *   <li>{@code REJECT} — 标记处理失败，评论不会写库</li>
+ *   <li>{@code FLAG} — 放行并在元数据中写入 {@link #METADATA_DUPLICATE}，由调用方记录审核原因</li>
+ * </ul>
+ * <p>
+ * 只处理元数据中带有 {@link #METADATA_SUBJECT} 的请求（新建评论），编辑评论不检测。
+ * 处理阶段只做检查，本次指纹在评论所在事务提交后才写入索引：保存失败或回滚时不留下指纹，
+ * 用户重试不会被误判为重复（没有事务时立即写入）。Redis 不可用时放行。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CommentDuplicateProcessor implements ContentProcessor {
+
+    /**
+     * 元数据键：发布主体（用户或 IP）
+     */
+    public static final String METADATA_SUBJECT = "duplicate_subject";
+
+    /**
+     * 元数据键：疑似重复（值为与最相近评论的汉明距离）
+     */
+    public static final String METADATA_DUPLICATE = "duplicate_suspected";
+
+    private final CommentFingerprintIndex fingerprintIndex;
+    private final CommentProperties commentProperties;
+
+    @Override
+    public ProcessResult process(ProcessContext context) {
+        CommentProperties.Duplicate config = commentProperties.getDuplicate();
+        if (!config.isEnabled() || !(context.getMetadata().get(METADATA_SUBJECT) instanceof String subject)) {
+            return ProcessResult.success();
+        }
+        String content = context.getProcessedContent();
+        if (content == null || SimHash.normalizedLength(content) < config.getMinLength()) {
+            return ProcessResult.success();
+        }
+
+        long fingerprint = SimHash.fingerprint(content);
+        int distance;
+        try {
+            distance = fingerprintIndex.findNearest(subject, fingerprint);
+        } catch (Exception e) {
+            log.warn("重复评论检测失败，放行: subject={}", subject, e);
+            return ProcessResult.success();
+        }
+
+        if (distance >= 0 && config.getAction() == CommentProperties.DuplicateAction.REJECT) {
+            log.warn("拒绝重复评论: subject={}, distance={}", subject, distance);
+            return ProcessResult.failure("短时间内发布了相似内容");
+        }
+        recordAfterCommit(subject, fingerprint);
+        if (distance >= 0) {
+            log.warn("疑似重复评论: subject={}, distance={}", subject, distance);
+            context.getMetadata().put(METADATA_DUPLICATE, distance);
+        }
+        return ProcessResult.success();
+    }
+
+    private void recordAfterCommit(String subject, long fingerprint) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(subject, fingerprint);
+                }
+            });
+        } else {
+            record(subject, fingerprint);
+        }
+    }
+
+    private void record(String subject, long fingerprint) {
+        try {
+            fingerprintIndex.record(subject, fingerprint);
+        } catch (Exception e) {
+            log.warn("记录评论指纹失败: subject={}", subject, e);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "重复内容检测";
+    }
+
+    @Override
+    public int getOrder() {
+        return 50; // 在内容改写之前执行，重复评论不再经过后续处理器
+    }
+}
@@ -1,9 +1,15 @@
 package com.blog.comment.domain.processor;
 
+import com.blog.comment.domain.sanitizer.CommentHtmlSanitizer;
+import com.vladsch.flexmark.html.AttributeProvider;
 import com.vladsch.flexmark.html.HtmlRenderer;
+import com.vladsch.flexmark.html.IndependentAttributeProviderFactory;
+import com.vladsch.flexmark.html.renderer.AttributablePart;
+import com.vladsch.flexmark.html.renderer.LinkResolverContext;
 import com.vladsch.flexmark.parser.Parser;
 import com.vladsch.flexmark.util.ast.Node;
 import com.vladsch.flexmark.util.data.MutableDataSet;
+import com.vladsch.flexmark.util.html.MutableAttributes;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Component;
@@ -12,7 +18,8 @@ import org.springframework.stereotype.Component;
  * 评论 Markdown 渲染处理器
  *
  * <p>
- * 将 Markdown 转换为 HTML
+ * 将 Markdown 转换为 HTML。链接与图片地址按 {@link CommentHtmlSanitizer#isSafeUrl(String)} 的协议白名单检查，
+ * 不允许的链接改为 {@code #}、图片去掉 {@code src}（flexmark 会解码地址中的 HTML 实体，仅靠清洗原文无法拦截编码后的伪协议）。
  * </p>
  *
  * @author liusxml
@@ -28,7 +35,14 @@ public class CommentMarkdownProcessor implements ContentProcessor {
     public CommentMarkdownProcessor() {
         MutableDataSet options = new MutableDataSet();
         this.parser = Parser.builder(options).build();
-        this.renderer = HtmlRenderer.builder(options).build();
+        this.renderer = HtmlRenderer.builder(options)
+                .attributeProviderFactory(new IndependentAttributeProviderFactory() {
+                    @Override
+                    public AttributeProvider apply(LinkResolverContext context) {
+                        return CommentMarkdownProcessor::restrictUrls;
+                    }
+                })
+                .build();
     }
 
     @Override
@@ -53,6 +67,17 @@ public class CommentMarkdownProcessor implements ContentProcessor {
         }
     }
 
+    private static void restrictUrls(Node node, AttributablePart part, MutableAttributes attributes) {
+        if (attributes.contains("href") && !CommentHtmlSanitizer.isSafeUrl(attributes.getValue("href"))) {
+            log.warn("已拦截不安全的链接地址: {}", attributes.getValue("href"));
+            attributes.replaceValue("href", "#");
+        }
+        if (attributes.contains("src") && !CommentHtmlSanitizer.isSafeUrl(attributes.getValue("src"))) {
+            log.warn("已拦截不安全的图片地址: {}", attributes.getValue("src"));
+            attributes.remove("src");
+        }
+    }
+
     @Override
     public String getName() {
         return "Markdown渲染器";
@@ -1,17 +1,17 @@
 package com.blog.comment.domain.processor;
 
-import com.google.common.collect.Sets;
+import com.blog.comment.config.CommentProperties;
+import com.blog.comment.domain.sensitive.SensitiveWordDictionary;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Component;
 
-import java.util.Set;
-
 /**
  * 评论敏感词过滤处理器
  *
  * <p>
- * 使用简化版 DFA 算法过滤敏感词
+ * 基于 Aho-Corasick 自动机一次扫描匹配全部敏感词，耗时与词库大小无关。
+ * 匹配前对文本做全角→半角、大写→小写归一化，命中区间在原文上替换。
  * </p>
  *
  * @author liusxml
@@ -19,46 +19,21 @@ import java.util.Set;
  */
 @Slf4j
 @Component
-public class CommentSensitiveWordProcessor implements ContentProcessor {
-
-    // TODO: Phase 4 后续可从数据库加载
-    private static final Set<String> SENSITIVE_WORDS = Sets.newHashSet(
-            "敏感词1", "敏感词2", "违禁词");
+@RequiredArgsConstructor
+public class CommentSensitiveWordProcessor implements FusibleContentProcessor {
 
-    private static final String REPLACEMENT = "***";
+    private final SensitiveWordDictionary sensitiveWordDictionary;
+    private final CommentProperties commentProperties;
 
     @Override
-    public ProcessResult process(ProcessContext context) {
-        String content = context.getProcessedContent();
-
-        if (StringUtils.isBlank(content)) {
-            return ProcessResult.success();
-        }
-
-        String filtered = filterSensitiveWords(content);
-
-        if (!filtered.equals(content)) {
-            log.warn("检测到敏感词，已替换");
-            context.updateContent(filtered);
-            context.getMetadata().put("sensitive_word_filtered", true);
+    public boolean transform(CharSequence input, StringBuilder output, ProcessContext context) {
+        String replacement = commentProperties.getSensitiveWord().getReplacement();
+        if (!sensitiveWordDictionary.current().replace(input, replacement, output)) {
+            return false;
         }
-
-        return ProcessResult.success();
-    }
-
-    /**
-     * 过滤敏感词
-     */
-    private String filterSensitiveWords(String content) {
-        String result = content;
-
-        for (String word : SENSITIVE_WORDS) {
-            if (result.contains(word)) {
-                result = result.replace(word, REPLACEMENT);
-            }
-        }
-
-        return result;
+        log.warn("检测到敏感词，已替换");
+        context.getMetadata().put("sensitive_word_filtered", true);
+        return true;
     }
 
     @Override
@@ -1,14 +1,15 @@
 package com.blog.comment.domain.processor;
 
+import com.blog.comment.domain.sanitizer.CommentHtmlSanitizer;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Component;
 
 /**
  * 评论 XSS 过滤处理器
  *
  * <p>
- * 移除危险的 HTML 标签和脚本
+ * 移除危险的 HTML 标签和脚本，白名单标签去除属性后保留，其余标签转义为文本。
+ * 具体规则见 {@link CommentHtmlSanitizer}。
  * </p>
  *
  * @author liusxml
@@ -16,54 +17,16 @@ import org.springframework.stereotype.Component;
  */
 @Slf4j
 @Component
-public class CommentXssFilterProcessor implements ContentProcessor {
-
-    private static final String[] DANGEROUS_TAGS = {
-            "<script", "</script>",
-            "<iframe", "</iframe>",
-            "javascript:",
-            "onerror=",
-            "onload=",
-            "onclick=",
-            "<object", "</object>",
-            "<embed"
-    };
+public class CommentXssFilterProcessor implements FusibleContentProcessor {
 
     @Override
-    public ProcessResult process(ProcessContext context) {
-        String content = context.getProcessedContent();
-
-        if (StringUtils.isBlank(content)) {
-            return ProcessResult.success();
-        }
-
-        String filtered = filterXss(content);
-
-        if (!filtered.equals(content)) {
-            log.warn("XSS 内容已过滤: 原始长度={}, 过滤后长度={}", content.length(), filtered.length());
-            context.updateContent(filtered);
-            context.getMetadata().put("xss_filtered", true);
-        }
-
-        return ProcessResult.success();
-    }
-
-    /**
-     * 过滤 XSS 内容
-     */
-    private String filterXss(String content) {
-        String result = content;
-
-        // 移除危险标签
-        for (String dangerousTag : DANGEROUS_TAGS) {
-            result = result.replaceAll("(?i)" + dangerousTag, "");
+    public boolean transform(CharSequence input, StringBuilder output, ProcessContext context) {
+        if (!CommentHtmlSanitizer.sanitize(input, output)) {
+            return false;
         }
-
-        // 转义特殊字符（保留基本 Markdown）
-        result = result.replace("<", "&lt;")
-                .replace(">", "&gt;");
-
-        return result;
+        log.warn("XSS 内容已过滤: 原始长度={}, 过滤后长度={}", input.length(), output.length());
+        context.getMetadata().put("xss_filtered", true);
+        return true;
     }
 
     @Override
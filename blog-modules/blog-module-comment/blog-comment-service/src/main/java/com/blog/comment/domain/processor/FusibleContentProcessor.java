@@ -0,0 +1,49 @@
+package com.blog.comment.domain.processor;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * 可融合的内容处理器
+ *
+ * <p>
+ * 纯文本变换类处理器（如 XSS 清洗、敏感词替换）实现此接口后，
+ * {@link CommentProcessorChain} 会把顺序相邻的此类处理器编译为一个融合阶段：
+ * 各处理器在两块复用的缓冲区之间交替读写字符流，中间结果不生成 String，
+ * 整个阶段结束后只生成一次最终内容。
+ * </p>
+ *
+ * <p>
+ * 约束：变换不得失败、不得要求中断处理链；需要记录的标记直接写入 {@link ProcessContext#getMetadata()}。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+public interface FusibleContentProcessor extends ContentProcessor {
+
+    /**
+     * 在字符流上执行变换
+     *
+     * @param input   输入内容（上一处理器的输出）
+     * @param output  输出缓冲区（调用方已清空）
+     * @param context 处理上下文（仅用于写入元数据）
+     * @return 内容是否发生变化；返回 false 时调用方忽略 {@code output}，继续使用 {@code input}
+     */
+    boolean transform(CharSequence input, StringBuilder output, ProcessContext context);
+
+    /**
+     * 单独执行时的默认实现（未被融合时由处理链调用）
+     */
+    @Override
+    default ProcessResult process(ProcessContext context) {
+        String content = context.getProcessedContent();
+        if (StringUtils.isBlank(content)) {
+            return ProcessResult.success();
+        }
+        StringBuilder output = new StringBuilder(content.length());
+        if (transform(content, output, context)) {
+            context.updateContent(output.toString());
+        }
+        return ProcessResult.success();
+    }
+}
@@ -0,0 +1,408 @@
+package com.blog.comment.domain.sanitizer;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 评论 HTML 白名单清洗器
+ *
+ * <p>
+ * 对评论 Markdown 原文逐字符线性扫描，不使用任何正则：
+ * </p>
+ * <ul>
+ *   <li>白名单标签 — 去掉全部属性后原样输出（如 {@code <b onclick=x>} → {@code <b>}）</li>
+ *   <li>危险标签（script/style/iframe/object/embed 等）— 连同其内容整体丢弃</li>
+ *   <li>其他标签及孤立的 {@code <} — 转义为 {@code &lt;}/{@code &gt;}，以文本形式展示</li>
+ *   <li>{@code javascript:} / {@code vbscript:} 伪协议 — 移除（防止 Markdown 链接注入脚本）；
+ *       移除后两侧文本可能重新拼接出伪协议（如 {@code javajavascript:script:}），因此重复清洗直到结果不再变化</li>
+ * </ul>
+ *
+ * <p>
+ * 伪协议移除只是第一道防线，实体编码（如 {@code &#106;avascript:}）等写法由渲染阶段的
+ * {@link #isSafeUrl(String)} 按协议白名单拦截。
+ * </p>
+ *
+ * <p>
+ * 标签外的 {@code >} 不做转义，以保留 Markdown 引用块语法；它无法单独构成标签，不产生注入风险。
+ * 输出写入线程本地复用的缓冲区（或由处理链传入的缓冲区），无需清洗时直接返回入参实例，不产生新字符串。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+public final class CommentHtmlSanitizer {
+
+    /**
+     * 允许保留的标签（属性一律丢弃）
+     */
+    private static final Set<String> ALLOWED_TAGS = Set.of(
+            "b", "strong", "i", "em", "u", "s", "del", "ins", "mark",
+            "code", "pre", "kbd", "sub", "sup",
+            "p", "br", "hr", "blockquote", "ul", "ol", "li");
+
+    /**
+     * 连同内容整体丢弃的标签
+     */
+    private static final Set<String> DROP_CONTENT_TAGS = Set.of(
+            "script", "style", "iframe", "frame", "frameset", "object", "applet",
+            "noscript", "template", "xmp", "textarea", "title");
+
+    /**
+     * 直接丢弃的空元素标签
+     */
+    private static final Set<String> DROP_TAGS = Set.of(
+            "embed", "base", "meta", "link", "svg", "math", "form", "input", "button");
+
+    private static final String[] DANGEROUS_SCHEMES = {"javascript:", "vbscript:"};
+
+    /**
+     * 链接/图片地址允许的协议（无协议的相对地址也允许）
+     */
+    private static final Set<String> ALLOWED_URL_SCHEMES = Set.of("http", "https", "mailto");
+
+    /**
+     * 复用缓冲区上限，超出后丢弃以免长期占用大块内存
+     */
+    private static final int MAX_RETAINED_BUFFER = 16 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFER =
+            ThreadLocal.withInitial(() -> new StringBuilder(1024));
+
+    private CommentHtmlSanitizer() {
+    }
+
+    /**
+     * 清洗评论内容
+     *
+     * @param input 原文
+     * @return 清洗后的内容；无需清洗时返回入参实例
+     */
+    public static String sanitize(String input) {
+        if (input == null || input.isEmpty()) {
+            return input;
+        }
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        String result = sanitize(input, out) ? out.toString() : input;
+        if (out.capacity() > MAX_RETAINED_BUFFER) {
+            BUFFER.remove();
+        }
+        return result;
+    }
+
+    /**
+     * 清洗评论内容，结果追加到调用方提供的缓冲区（供处理链融合执行时复用缓冲区）
+     *
+     * @param input 原文
+     * @param out   输出缓冲区
+     * @return 内容是否发生变化；返回 false 时 {@code out} 中为原文副本
+     */
+    public static boolean sanitize(CharSequence input, StringBuilder out) {
+        int start = out.length();
+        if (!sanitizeOnce(input, out)) {
+            return false;
+        }
+        // 移除伪协议或丢弃元素后，两侧文本可能拼接出新的伪协议或标签，重复清洗直到结果不再变化
+        String pass;
+        do {
+            pass = out.substring(start);
+            out.setLength(start);
+        } while (sanitizeOnce(pass, out));
+        return true;
+    }
+
+    /**
+     * 链接/图片地址是否安全（渲染 Markdown 时调用）
+     *
+     * <p>
+     * 先解码 HTML 实体（{@code &#106;}、{@code &#x6A;}、{@code &colon;} 等，重复解码直到不再变化），
+     * 再去掉浏览器解析 URL 时会忽略的空白和控制字符，最后只允许 http/https/mailto 协议和相对地址。
+     * </p>
+     *
+     * @param url 地址
+     * @return 是否允许输出
+     */
+    public static boolean isSafeUrl(String url) {
+        if (url == null || url.isEmpty()) {
+            return true;
+        }
+        String decoded = url;
+        for (String previous = null; !decoded.equals(previous); ) {
+            previous = decoded;
+            decoded = decodeEntities(decoded);
+        }
+
+        StringBuilder scheme = new StringBuilder();
+        for (int i = 0; i < decoded.length(); i++) {
+            char c = decoded.charAt(i);
+            if (c <= ' ' || c == '\u007F') {
+                continue;
+            }
+            if (c == ':') {
+                return ALLOWED_URL_SCHEMES.contains(scheme.toString().toLowerCase(Locale.ROOT));
+            }
+            if (c == '/' || c == '?' || c == '#') {
+                return true;
+            }
+            scheme.append(c);
+        }
+        return true;
+    }
+
+    private static boolean sanitizeOnce(CharSequence input, StringBuilder out) {
+        boolean changed = false;
+        int length = input.length();
+        int i = 0;
+
+        while (i < length) {
+            char c = input.charAt(i);
+            if (c == '<') {
+                int mark = out.length();
+                int next = handleTag(input, i, out);
+                if (next < 0) {
+                    out.append("&lt;");
+                    changed = true;
+                    i++;
+                } else {
+                    changed |= !sameAsInput(out, mark, input, i, next);
+                    i = next;
+                }
+                continue;
+            }
+            int schemeLength = dangerousSchemeLength(input, i);
+            if (schemeLength > 0) {
+                changed = true;
+                i += schemeLength;
+                continue;
+            }
+            out.append(c);
+            i++;
+        }
+        return changed;
+    }
+
+    /**
+     * 处理以 {@code <} 开头的片段
+     *
+     * @return 片段结束后的下标；不是合法标签时返回 -1（由调用方按文本转义）
+     */
+    private static int handleTag(CharSequence input, int start, StringBuilder out) {
+        int length = input.length();
+        int pos = start + 1;
+        boolean closing = pos < length && input.charAt(pos) == '/';
+        if (closing) {
+            pos++;
+        }
+
+        int nameStart = pos;
+        if (pos >= length || !isAsciiLetter(input.charAt(pos))) {
+            return -1;
+        }
+        while (pos < length && isAsciiLetterOrDigit(input.charAt(pos))) {
+            pos++;
+        }
+        int end = findTagEnd(input, pos);
+        if (end < 0) {
+            return -1;
+        }
+
+        String name = input.subSequence(nameStart, pos).toString().toLowerCase(Locale.ROOT);
+        boolean wellFormedName = isTagNameEnd(input.charAt(pos));
+
+        if (wellFormedName && DROP_CONTENT_TAGS.contains(name)) {
+            return closing ? end : skipElement(input, end, name);
+        }
+        if (wellFormedName && DROP_TAGS.contains(name)) {
+            return end;
+        }
+        if (wellFormedName && ALLOWED_TAGS.contains(name)) {
+            out.append(closing ? "</" : "<").append(name).append('>');
+            return end;
+        }
+
+        // 未知标签：整体转义为文本展示
+        for (int i = start; i < end; i++) {
+            char c = input.charAt(i);
+            if (c == '<') {
+                out.append("&lt;");
+            } else if (c == '>') {
+                out.append("&gt;");
+            } else {
+                out.append(c);
+            }
+        }
+        return end;
+    }
+
+    /**
+     * 找到标签结束的 {@code >}（跳过引号内的内容）
+     *
+     * @return {@code >} 之后的下标；标签未闭合时返回 -1
+     */
+    private static int findTagEnd(CharSequence input, int from) {
+        int length = input.length();
+        int pos = from;
+        while (pos < length) {
+            char c = input.charAt(pos);
+            if (c == '"' || c == '\'') {
+                int closingQuote = indexOf(input, c, pos + 1);
+                if (closingQuote < 0) {
+                    return -1;
+                }
+                pos = closingQuote + 1;
+            } else if (c == '>') {
+                return pos + 1;
+            } else {
+                pos++;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 跳过危险元素直到对应的结束标签（不区分大小写）；没有结束标签时丢弃剩余全部内容
+     */
+    private static int skipElement(CharSequence input, int from, String name) {
+        int length = input.length();
+        for (int candidate = from; candidate + 1 < length; candidate++) {
+            int afterName = candidate + 2 + name.length();
+            if (input.charAt(candidate) == '<' && input.charAt(candidate + 1) == '/'
+                    && regionMatchesIgnoreCase(input, candidate + 2, name)
+                    && afterName < length && isTagNameEnd(input.charAt(afterName))) {
+                int end = indexOf(input, '>', afterName);
+                return end < 0 ? length : end + 1;
+            }
+        }
+        return length;
+    }
+
+    private static int dangerousSchemeLength(CharSequence input, int pos) {
+        char c = input.charAt(pos);
+        if (c != 'j' && c != 'J' && c != 'v' && c != 'V') {
+            return 0;
+        }
+        for (String scheme : DANGEROUS_SCHEMES) {
+            if (regionMatchesIgnoreCase(input, pos, scheme)) {
+                return scheme.length();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 解码一层 HTML 实体：数字实体（分号可省略，与浏览器一致）及 URL 中常用于绕过的命名实体
+     */
+    private static String decodeEntities(String input) {
+        int amp = input.indexOf('&');
+        if (amp < 0) {
+            return input;
+        }
+        StringBuilder out = new StringBuilder(input.length());
+        out.append(input, 0, amp);
+        int i = amp;
+        while (i < input.length()) {
+            char c = input.charAt(i);
+            if (c != '&') {
+                out.append(c);
+                i++;
+                continue;
+            }
+            int next = decodeEntity(input, i, out);
+            if (next < 0) {
+                out.append(c);
+                i++;
+            } else {
+                i = next;
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * @return 实体结束后的下标；不是可识别的实体时返回 -1
+     */
+    private static int decodeEntity(String input, int start, StringBuilder out) {
+        int pos = start + 1;
+        if (pos < input.length() && input.charAt(pos) == '#') {
+            pos++;
+            int radix = 10;
+            if (pos < input.length() && (input.charAt(pos) == 'x' || input.charAt(pos) == 'X')) {
+                radix = 16;
+                pos++;
+            }
+            int digitsStart = pos;
+            long codePoint = 0;
+            while (pos < input.length() && Character.digit(input.charAt(pos), radix) >= 0 && pos - digitsStart < 8) {
+                codePoint = codePoint * radix + Character.digit(input.charAt(pos), radix);
+                pos++;
+            }
+            if (pos == digitsStart) {
+                return -1;
+            }
+            out.appendCodePoint(Character.isValidCodePoint((int) codePoint) ? (int) codePoint : 0xFFFD);
+        } else {
+            int nameStart = pos;
+            while (pos < input.length() && isAsciiLetter(input.charAt(pos))) {
+                pos++;
+            }
+            String decoded = switch (input.substring(nameStart, pos).toLowerCase(Locale.ROOT)) {
+                case "colon" -> ":";
+                case "tab" -> "\t";
+                case "newline" -> "\n";
+                case "sol" -> "/";
+                case "amp" -> "&";
+                default -> null;
+            };
+            if (decoded == null) {
+                return -1;
+            }
+            out.append(decoded);
+        }
+        return pos < input.length() && input.charAt(pos) == ';' ? pos + 1 : pos;
+    }
+
+    private static boolean isTagNameEnd(char c) {
+        return c == '>' || c == '/' || Character.isWhitespace(c);
+    }
+
+    private static boolean sameAsInput(StringBuilder out, int mark, CharSequence input, int start, int end) {
+        if (out.length() - mark != end - start) {
+            return false;
+        }
+        for (int i = 0; i < end - start; i++) {
+            if (out.charAt(mark + i) != input.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf(CharSequence input, char target, int from) {
+        for (int i = from; i < input.length(); i++) {
+            if (input.charAt(i) == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean regionMatchesIgnoreCase(CharSequence input, int offset, String expected) {
+        if (offset + expected.length() > input.length()) {
+            return false;
+        }
+        for (int i = 0; i < expected.length(); i++) {
+            if (Character.toLowerCase(input.charAt(offset + i)) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return isAsciiLetter(c) || (c >= '0' && c <= '9');
+    }
+}
@@ -0,0 +1,396 @@
+package com.blog.comment.domain.sensitive;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 基于双数组 Trie 的 Aho-Corasick 多模式匹配自动机
+ *
+ * <p>
+ * 一次扫描即可找出文本中所有敏感词，时间复杂度 O(文本长度 + 命中数)，与词库大小无关。
+ * </p>
+ *
+ * <p>存储结构：</p>
+ * <ul>
+ *   <li>{@code base/check} — 双数组 Trie，状态 s 经字符 c 转移到 {@code t = base[s] + c}，
+ *       当且仅当 {@code check[t] == s + 1}</li>
+ *   <li>{@code fail} — 失配指针</li>
+ *   <li>{@code outputLength} — 以该状态结尾的词长度（0 表示非词尾）</li>
+ *   <li>{@code outputLink} — 沿失配链下一个词尾状态（-1 表示无），用于枚举后缀命中</li>
+ * </ul>
+ *
+ * <p>
+ * 实例构建完成后不可变，可被任意多个线程并发读取；词库更新时整体替换实例即可。
+ * 词条与待匹配文本均经过 {@link SensitiveWordNormalizer} 归一化。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+public final class AhoCorasickAutomaton {
+
+    private static final int ROOT = 0;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final int[] base;
+    private final int[] check;
+    private final int[] fail;
+    private final int[] outputLength;
+    private final int[] outputLink;
+    private final int wordCount;
+
+    private AhoCorasickAutomaton(int[] base, int[] check, int[] fail,
+                                 int[] outputLength, int[] outputLink, int wordCount) {
+        this.base = base;
+        this.check = check;
+        this.fail = fail;
+        this.outputLength = outputLength;
+        this.outputLink = outputLink;
+        this.wordCount = wordCount;
+    }
+
+    /**
+     * 命中区间（左闭右开，下标基于原文）
+     *
+     * @param start 起始下标
+     * @param end   结束下标（不含）
+     */
+    public record Hit(int start, int end) {
+    }
+
+    /**
+     * 构建空自动机（不匹配任何内容）
+     */
+    public static AhoCorasickAutomaton empty() {
+        return build(Collections.emptyList());
+    }
+
+    /**
+     * 根据词条构建自动机（空白词条会被忽略，重复词条自动去重）
+     *
+     * @param words 敏感词集合
+     * @return 不可变自动机实例
+     */
+    public static AhoCorasickAutomaton build(Collection<String> words) {
+        return new Builder().build(words);
+    }
+
+    /**
+     * 词库中的有效词条数
+     */
+    public int wordCount() {
+        return wordCount;
+    }
+
+    /**
+     * 双数组占用的槽位数（用于观察内存占用）
+     */
+    public int stateCapacity() {
+        return base.length;
+    }
+
+    /**
+     * 文本是否包含任一敏感词
+     */
+    public boolean containsAny(CharSequence text) {
+        if (text == null || wordCount == 0) {
+            return false;
+        }
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            state = next(state, text.charAt(i));
+            if (outputLength[state] > 0 || outputLink[state] >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 找出所有命中（包括相互重叠的命中），按结束位置升序
+     */
+    public List<Hit> findAll(CharSequence text) {
+        if (text == null || wordCount == 0) {
+            return Collections.emptyList();
+        }
+        List<Hit> hits = new ArrayList<>();
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            state = next(state, text.charAt(i));
+            int output = outputLength[state] > 0 ? state : outputLink[state];
+            while (output >= 0) {
+                hits.add(new Hit(i + 1 - outputLength[output], i + 1));
+                output = outputLink[output];
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * 将所有命中区间替换为指定字符串
+     *
+     * <p>
+     * 相互重叠或相邻的命中合并为一段，整段只替换一次。
+     * 无命中时原样返回入参实例。
+     * </p>
+     *
+     * @param text        原文
+     * @param replacement 替换串
+     * @return 替换后的文本
+     */
+    public String replace(String text, String replacement) {
+        if (text == null || text.isEmpty() || wordCount == 0) {
+            return text;
+        }
+        StringBuilder out = new StringBuilder(text.length());
+        return replace(text, replacement, out) ? out.toString() : text;
+    }
+
+    /**
+     * 将所有命中区间替换为指定字符串，结果追加到调用方提供的缓冲区
+     *
+     * @param text        原文
+     * @param replacement 替换串
+     * @param out         输出缓冲区（仅在有命中时写入）
+     * @return 是否存在命中
+     */
+    public boolean replace(CharSequence text, String replacement, StringBuilder out) {
+        if (wordCount == 0) {
+            return false;
+        }
+        boolean[] masked = null;
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            state = next(state, text.charAt(i));
+            // 词尾状态自身的词即为以 i 结尾的最长命中，已覆盖失配链上的更短命中
+            int length = outputLength[state] > 0
+                    ? outputLength[state]
+                    : (outputLink[state] >= 0 ? outputLength[outputLink[state]] : 0);
+            if (length > 0) {
+                if (masked == null) {
+                    masked = new boolean[text.length()];
+                }
+                Arrays.fill(masked, i + 1 - length, i + 1, true);
+            }
+        }
+        if (masked == null) {
+            return false;
+        }
+
+        for (int i = 0; i < text.length(); i++) {
+            if (!masked[i]) {
+                out.append(text.charAt(i));
+            } else if (i == 0 || !masked[i - 1]) {
+                out.append(replacement);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 读入一个字符后的状态（沿失配链回退直到可转移或回到根）
+     */
+    private int next(int state, char c) {
+        char normalized = SensitiveWordNormalizer.normalize(c);
+        while (true) {
+            int target = transition(state, normalized);
+            if (target >= 0) {
+                return target;
+            }
+            if (state == ROOT) {
+                return ROOT;
+            }
+            state = fail[state];
+        }
+    }
+
+    private int transition(int state, char c) {
+        return transition(base, check, state, c);
+    }
+
+    private static int transition(int[] base, int[] check, int state, char c) {
+        int offset = base[state];
+        if (offset == 0) {
+            return -1;
+        }
+        int target = offset + c;
+        return target < check.length && check[target] == state + 1 ? target : -1;
+    }
+
+    /**
+     * 构建器：先建普通 Trie，再按 BFS 顺序压缩进双数组，最后计算失配指针
+     */
+    private static final class Builder {
+
+        private int[] base = new int[INITIAL_CAPACITY];
+        private int[] check = new int[INITIAL_CAPACITY];
+        private int nextFree = 1;
+        private int maxIndex = ROOT;
+
+        AhoCorasickAutomaton build(Collection<String> words) {
+            TrieNode root = new TrieNode();
+            int wordCount = insertAll(root, words);
+
+            // 根节点占用槽位 0，check 用 -1 标记为已占用（不会与任何 s + 1 相等）
+            check[ROOT] = -1;
+            List<TrieNode> bfsOrder = placeAll(root);
+
+            int size = maxIndex + 1;
+            int[] finalBase = Arrays.copyOf(base, size);
+            int[] finalCheck = Arrays.copyOf(check, size);
+            int[] fail = new int[size];
+            int[] outputLength = new int[size];
+            int[] outputLink = new int[size];
+            Arrays.fill(outputLink, -1);
+
+            for (TrieNode node : bfsOrder) {
+                outputLength[node.index] = node.length;
+            }
+            for (TrieNode node : bfsOrder) {
+                for (Map.Entry<Character, TrieNode> entry : node.children.entrySet()) {
+                    int child = entry.getValue().index;
+                    int failState = node == root
+                            ? ROOT
+                            : failTarget(finalBase, finalCheck, fail, fail[node.index], entry.getKey());
+                    fail[child] = failState;
+                    outputLink[child] = outputLength[failState] > 0 ? failState : outputLink[failState];
+                }
+            }
+            return new AhoCorasickAutomaton(finalBase, finalCheck, fail, outputLength, outputLink, wordCount);
+        }
+
+        private int insertAll(TrieNode root, Collection<String> words) {
+            int wordCount = 0;
+            for (String raw : words) {
+                if (raw == null || raw.isBlank()) {
+                    continue;
+                }
+                String word = SensitiveWordNormalizer.normalize(raw.strip());
+                TrieNode node = root;
+                for (int i = 0; i < word.length(); i++) {
+                    node = node.children.computeIfAbsent(word.charAt(i), k -> new TrieNode());
+                }
+                if (node.length == 0) {
+                    node.length = word.length();
+                    wordCount++;
+                }
+            }
+            return wordCount;
+        }
+
+        /**
+         * 按 BFS 顺序为每个节点的子节点寻找可容纳的 base 偏移（first-fit）
+         */
+        private List<TrieNode> placeAll(TrieNode root) {
+            List<TrieNode> bfsOrder = new ArrayList<>();
+            Deque<TrieNode> queue = new ArrayDeque<>();
+            root.index = ROOT;
+            queue.add(root);
+            while (!queue.isEmpty()) {
+                TrieNode node = queue.poll();
+                bfsOrder.add(node);
+                if (node.children.isEmpty()) {
+                    continue;
+                }
+                int offset = findBase(node.children);
+                base[node.index] = offset;
+                for (Map.Entry<Character, TrieNode> entry : node.children.entrySet()) {
+                    int index = offset + entry.getKey();
+                    check[index] = node.index + 1;
+                    entry.getValue().index = index;
+                    maxIndex = Math.max(maxIndex, index);
+                    queue.add(entry.getValue());
+                }
+            }
+            return bfsOrder;
+        }
+
+        /**
+         * 寻找能同时容纳所有子节点的最小 base
+         *
+         * <p>
+         * 从第一个空闲槽位开始扫描；若扫过的区间占用率超过 95%，则把扫描起点直接推进到本次位置，
+         * 以少量空洞换取大词库下的构建速度（与 darts 的策略一致）。
+         * </p>
+         */
+        private int findBase(TreeMap<Character, TrieNode> children) {
+            char[] keys = new char[children.size()];
+            int k = 0;
+            for (Character c : children.keySet()) {
+                keys[k++] = c;
+            }
+            int first = keys[0];
+            int last = keys[keys.length - 1];
+
+            int position = Math.max(nextFree, first + 1) - 1;
+            int occupied = 0;
+            boolean firstFreeFound = false;
+            while (true) {
+                position++;
+                ensureCapacity(position - first + last + 1);
+                if (check[position] != 0) {
+                    occupied++;
+                    continue;
+                }
+                if (!firstFreeFound) {
+                    nextFree = position;
+                    firstFreeFound = true;
+                }
+                int offset = position - first;
+                if (fits(keys, offset)) {
+                    if (occupied >= 0.95 * (position - nextFree + 1)) {
+                        nextFree = position;
+                    }
+                    return offset;
+                }
+            }
+        }
+
+        private boolean fits(char[] keys, int offset) {
+            for (char c : keys) {
+                if (check[offset + c] != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void ensureCapacity(int required) {
+            if (required <= check.length) {
+                return;
+            }
+            int capacity = Math.max(required, check.length * 2);
+            base = Arrays.copyOf(base, capacity);
+            check = Arrays.copyOf(check, capacity);
+        }
+
+        private static int failTarget(int[] base, int[] check, int[] fail, int state, char c) {
+            while (true) {
+                int target = transition(base, check, state, c);
+                if (target >= 0) {
+                    return target;
+                }
+                if (state == ROOT) {
+                    return ROOT;
+                }
+                state = fail[state];
+            }
+        }
+    }
+
+    /**
+     * 构建期使用的普通 Trie 节点
+     */
+    private static final class TrieNode {
+        private final TreeMap<Character, TrieNode> children = new TreeMap<>();
+        private int length;
+        private int index;
+    }
+}
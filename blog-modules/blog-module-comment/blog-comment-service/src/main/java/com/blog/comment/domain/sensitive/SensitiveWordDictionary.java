@@ -0,0 +1,136 @@
+package com.blog.comment.domain.sensitive;
+
+import com.blog.comment.config.CommentProperties;
+import com.blog.comment.infrastructure.mapper.SensitiveWordMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 敏感词词库（持有当前生效的 Aho-Corasick 自动机）
+ *
+ * <p>词条来源（合并去重）：</p>
+ * <ul>
+ *   <li>词库文件 — {@code app.comment.sensitive-word.dictionary-location}</li>
+ *   <li>数据库 — {@code cmt_sensitive_word} 表中启用的词条</li>
+ * </ul>
+ *
+ * <p>
+ * <b>热加载</b>：{@link #reload()} 在调用线程上构建新的自动机，构建完成后通过
+ * {@link AtomicReference} 一次性替换。正在匹配的请求继续使用旧实例直至完成，
+ * 整个过程无锁、不阻塞读取。构建失败时保留旧词库。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SensitiveWordDictionary {
+
+    private final SensitiveWordMapper sensitiveWordMapper;
+    private final ResourceLoader resourceLoader;
+    private final CommentProperties commentProperties;
+    private final TaskScheduler taskScheduler;
+
+    private final AtomicReference<AhoCorasickAutomaton> automaton =
+            new AtomicReference<>(AhoCorasickAutomaton.empty());
+
+    private ScheduledFuture<?> reloadTask;
+
+    @PostConstruct
+    public void init() {
+        reload();
+
+        long interval = commentProperties.getSensitiveWord().getReloadIntervalMs();
+        if (interval > 0) {
+            Duration delay = Duration.ofMillis(interval);
+            reloadTask = taskScheduler.scheduleWithFixedDelay(this::reload, Instant.now().plus(delay), delay);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (reloadTask != null) {
+            reloadTask.cancel(true);
+        }
+    }
+
+    /**
+     * 获取当前生效的自动机（调用方应在一次处理内持有同一实例）
+     */
+    public AhoCorasickAutomaton current() {
+        return automaton.get();
+    }
+
+    /**
+     * 重新加载词库并原子替换自动机
+     *
+     * @return 新词库的词条数；加载失败时返回旧词库的词条数
+     */
+    public synchronized int reload() {
+        try {
+            long start = System.currentTimeMillis();
+            Set<String> words = new HashSet<>();
+            loadFromFile(words);
+            loadFromDatabase(words);
+
+            AhoCorasickAutomaton rebuilt = AhoCorasickAutomaton.build(words);
+            AhoCorasickAutomaton previous = automaton.getAndSet(rebuilt);
+            log.info("✅ 敏感词词库已加载: words={} (之前 {}), states={}, 耗时 {}ms",
+                    rebuilt.wordCount(), previous.wordCount(), rebuilt.stateCapacity(),
+                    System.currentTimeMillis() - start);
+            return rebuilt.wordCount();
+        } catch (Exception e) {
+            log.error("敏感词词库加载失败，继续使用旧词库", e);
+            return automaton.get().wordCount();
+        }
+    }
+
+    private void loadFromFile(Set<String> words) throws IOException {
+        String location = commentProperties.getSensitiveWord().getDictionaryLocation();
+        if (StringUtils.isBlank(location)) {
+            return;
+        }
+        Resource resource = resourceLoader.getResource(location);
+        if (!resource.exists()) {
+            log.warn("敏感词词库文件不存在: {}", location);
+            return;
+        }
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String word = line.strip();
+                if (!word.isEmpty() && !word.startsWith("#")) {
+                    words.add(word);
+                }
+            }
+        }
+    }
+
+    private void loadFromDatabase(Set<String> words) {
+        if (!commentProperties.getSensitiveWord().isLoadFromDatabase()) {
+            return;
+        }
+        words.addAll(sensitiveWordMapper.selectEnabledWords());
+    }
+}
@@ -0,0 +1,55 @@
+package com.blog.comment.domain.sensitive;
+
+/**
+ * 敏感词字符归一化工具
+ *
+ * <p>
+ * 将变体字符映射为统一形式，防止通过全角、大小写绕过过滤：
+ * </p>
+ * <ul>
+ *   <li>全角 ASCII（U+FF01 ~ U+FF5E）→ 半角（U+0021 ~ U+007E）</li>
+ *   <li>全角空格（U+3000）→ 半角空格</li>
+ *   <li>大写字母 → 小写字母</li>
+ * </ul>
+ *
+ * <p>
+ * 归一化严格按字符一对一映射，不改变文本长度，
+ * 因此在归一化文本上得到的命中位置可直接用于替换原文。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+public final class SensitiveWordNormalizer {
+
+    private static final char FULL_WIDTH_START = '！';
+    private static final char FULL_WIDTH_END = '～';
+    private static final int FULL_WIDTH_OFFSET = 0xFEE0;
+    private static final char IDEOGRAPHIC_SPACE = '　';
+
+    private SensitiveWordNormalizer() {
+    }
+
+    /**
+     * 归一化单个字符
+     */
+    public static char normalize(char c) {
+        if (c >= FULL_WIDTH_START && c <= FULL_WIDTH_END) {
+            c = (char) (c - FULL_WIDTH_OFFSET);
+        } else if (c == IDEOGRAPHIC_SPACE) {
+            c = ' ';
+        }
+        return Character.toLowerCase(c);
+    }
+
+    /**
+     * 归一化字符串（长度不变）
+     */
+    public static String normalize(String text) {
+        char[] chars = text.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = normalize(chars[i]);
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,188 @@
+package com.blog.comment.infrastructure.archive;
+
+import com.blog.article.api.service.IArticleQueryService;
+import com.blog.comment.api.enums.CommentStatus;
+import com.blog.comment.api.enums.CommentTargetType;
+import com.blog.comment.config.CommentProperties;
+import com.blog.comment.infrastructure.mapper.CommentArchiveMapper;
+import com.blog.common.cache.BloomFilterRegistry;
+import com.blog.common.constants.SchedulerNames;
+import com.google.common.collect.Iterables;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
+import java.util.stream.Stream;
+
+/**
+ * 评论归档任务
+ *
+ * <p>
+ * 批处理调度器每隔 {@code app.comment.archive.interval-ms} 毫秒将冷数据从 {@code cmt_comment} 迁移到
+ * {@code cmt_comment_archive}，控制评论表及其索引的规模：
+ * </p>
+ * <ul>
+ *   <li>已拒绝、用户删除、管理员删除或已逻辑删除，且超过 {@code retention-days} 天未更新的评论</li>
+ *   <li>归档超过 {@code archived-article-days} 天的文章下的全部评论</li>
+ * </ul>
+ *
+ * <p>
+ * 按主键顺序分批迁移，每批 {@code batch-size} 条在独立的短事务中执行
+ * {@code INSERT IGNORE ... SELECT} + {@code DELETE}，行锁只持有一个批次；批次之间暂停
+ * {@code batch-pause-ms} 毫秒，给在线写入让出资源。任务中断后重复执行是安全的。
+ * </p>
+ *
+ * <p>
+ * 已归档文章下的已通过评论仍通过评论树和评论数接口对外可见（读取时合并归档表），管理端按需查询归档表。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CommentArchiver {
+
+    /**
+     * 超过保留期后归档的状态
+     */
+    private static final List<Integer> EXPIRED_STATUSES = Stream.of(
+                    CommentStatus.REJECTED, CommentStatus.USER_DELETED, CommentStatus.ADMIN_DELETED)
+            .map(CommentStatus::getCode)
+            .toList();
+
+    /**
+     * 单次查询包含的最大文章数
+     */
+    private static final int TARGET_CHUNK_SIZE = 500;
+
+    private final CommentArchiveMapper archiveMapper;
+    private final IArticleQueryService articleQueryService;
+    private final TransactionTemplate transactionTemplate;
+    private final CommentProperties commentProperties;
+    private final BloomFilterRegistry bloomFilterRegistry;
+    @Qualifier(SchedulerNames.BATCH)
+    private final TaskScheduler taskScheduler;
+
+    /**
+     * 保证同一时刻只有一个归档任务（定时任务与手动触发互斥）
+     */
+    private final ReentrantLock archiveLock = new ReentrantLock();
+
+    private ScheduledFuture<?> archiveTask;
+
+    @PostConstruct
+    public void start() {
+        long interval = commentProperties.getArchive().getIntervalMs();
+        if (interval <= 0) {
+            log.info("评论定时归档已关闭");
+            return;
+        }
+        Duration delay = Duration.ofMillis(interval);
+        archiveTask = taskScheduler.scheduleWithFixedDelay(this::archiveQuietly, Instant.now().plus(delay), delay);
+        log.info("评论定时归档已启动: intervalMs={}", interval);
+    }
+
+    /**
+     * 中断正在执行的归档，当前批次的事务提交后停止
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (archiveTask != null) {
+            archiveTask.cancel(true);
+        }
+    }
+
+    /**
+     * 执行一轮归档
+     *
+     * @return 本轮迁移的评论数；已有归档任务在执行时返回 0
+     */
+    public int archive() {
+        if (!archiveLock.tryLock()) {
+            log.info("评论归档任务正在执行，跳过本次触发");
+            return 0;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            CommentProperties.Archive config = commentProperties.getArchive();
+            int batchSize = config.getBatchSize();
+
+            LocalDateTime expiredBefore = LocalDateTime.now().minusDays(config.getRetentionDays());
+            int expired = drain(afterId ->
+                    archiveMapper.selectExpiredIds(afterId, expiredBefore, EXPIRED_STATUSES, batchSize));
+
+            int onArchivedArticles = 0;
+            if (config.getArchivedArticleDays() >= 0) {
+                Set<Long> articleIds = articleQueryService.listArchivedArticleIds(
+                        LocalDateTime.now().minusDays(config.getArchivedArticleDays()));
+                for (List<Long> chunk : Iterables.partition(articleIds, TARGET_CHUNK_SIZE)) {
+                    onArchivedArticles += drain(afterId -> archiveMapper.selectIdsByTargets(
+                            CommentTargetType.ARTICLE.getCode(), chunk, afterId, batchSize));
+                }
+            }
+
+            bloomFilterRegistry.recordRemoval("comment", expired + onArchivedArticles);
+            log.info("评论归档完成: expired={}, onArchivedArticles={}, cost={}ms",
+                    expired, onArchivedArticles, System.currentTimeMillis() - start);
+            return expired + onArchivedArticles;
+        } finally {
+            archiveLock.unlock();
+        }
+    }
+
+    /**
+     * 按主键顺序逐批迁移，直到没有符合条件的评论或线程被中断
+     *
+     * @param nextBatch 上一批最大ID → 下一批评论ID（升序）
+     * @return 迁移的评论数
+     */
+    private int drain(LongFunction<List<Long>> nextBatch) {
+        CommentProperties.Archive config = commentProperties.getArchive();
+        long afterId = 0;
+        int moved = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Long> ids = nextBatch.apply(afterId);
+            if (ids.isEmpty()) {
+                break;
+            }
+            moved += Objects.requireNonNullElse(transactionTemplate.execute(status -> {
+                archiveMapper.copyToArchive(ids);
+                return archiveMapper.deleteFromComment(ids);
+            }), 0);
+            afterId = ids.get(ids.size() - 1);
+            if (ids.size() < config.getBatchSize()) {
+                break;
+            }
+            try {
+                Thread.sleep(config.getBatchPauseMs());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return moved;
+    }
+
+    private void archiveQuietly() {
+        try {
+            archive();
+        } catch (Exception e) {
+            log.error("评论归档任务异常", e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.blog.comment.infrastructure.cache;
+
+import com.blog.comment.api.enums.CommentStatus;
+import com.blog.comment.infrastructure.mapper.CommentMapper;
+import com.blog.common.cache.CacheWarmer;
+import com.blog.common.cache.CacheWarmupContext;
+import com.blog.system.api.RemoteUserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 预热活跃用户信息
+ *
+ * <p>
+ * 以近 30 天已通过评论最多的用户作为活跃用户：评论列表渲染时会批量读取这些用户的信息，
+ * {@link RemoteUserService#getUsersByIds} 未命中时自身会批量回填用户详情缓存。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Component
+@RequiredArgsConstructor
+public class TopUserCacheWarmer implements CacheWarmer {
+
+    private static final int LIMIT = 200;
+    private static final int ACTIVE_DAYS = 30;
+
+    private final CommentMapper commentMapper;
+    private final RemoteUserService remoteUserService;
+
+    @Override
+    public String getName() {
+        return "top-users";
+    }
+
+    @Override
+    public int warm(CacheWarmupContext context) {
+        List<Long> userIds = commentMapper.selectTopCommenters(CommentStatus.APPROVED.getCode(),
+                LocalDateTime.now().minusDays(ACTIVE_DAYS), LIMIT);
+        if (userIds.isEmpty() || context.isExpired()) {
+            return 0;
+        }
+        return remoteUserService.getUsersByIds(userIds).size();
+    }
+}
@@ -0,0 +1,279 @@
+package com.blog.comment.infrastructure.counter;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.blog.article.api.service.IArticleStatsService;
+import com.blog.comment.api.enums.CommentStatus;
+import com.blog.comment.api.enums.CommentTargetType;
+import com.blog.comment.config.CommentProperties;
+import com.blog.comment.domain.entity.CommentEntity;
+import com.blog.comment.domain.event.CommentStatusChangedEvent;
+import com.blog.comment.infrastructure.mapper.CommentArchiveMapper;
+import com.blog.comment.infrastructure.mapper.CommentMapper;
+import com.blog.common.constants.CacheKeys;
+import com.blog.common.constants.SchedulerNames;
+import com.blog.common.utils.RedisUtils;
+import com.google.common.collect.Iterables;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 评论计数管理器
+ *
+ * <p>
+ * 维护两类计数，只统计<b>已通过</b>的评论：
+ * </p>
+ * <ul>
+ *   <li>目标评论数 — 文章评论数写入 {@code art_article_stats.comment_count}，
+ *       并在 Redis 中保留镜像 {@code comment:count:{targetType}:{targetId}}</li>
+ *   <li>回复数 — {@code cmt_comment.reply_count}，随评论行一起读取，不做镜像</li>
+ * </ul>
+ *
+ * <p>写入路径：</p>
+ * <ol>
+ *   <li>{@link #applyDeltas(List)} — 在状态变更所在事务提交前执行，按父评论/文章合并净增量，
+ *       每类计数一条 {@code GREATEST(count + delta, 0)} 原子 SQL，随业务事务一起提交或回滚</li>
+ *   <li>{@link #updateMirror(List)} — 事务提交后执行，镜像键存在时原子 INCRBY，不存在时跳过（由读路径回源）</li>
+ * </ol>
+ *
+ * <p>
+ * <b>对账</b>：批处理调度器每隔 {@code app.comment.counter.reconcile-interval-ms} 毫秒按评论表重新计算回复数和文章评论数，
+ * 校正偏差并删除被校正文章的镜像键。回复数按主键区间分批校正，每批 {@code reconcile-batch-size} 条；
+ * 文章评论数先按快照找出不一致的文章，再锁定其统计记录后重新计数写入，不会覆盖并发提交的增量。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CommentCounterManager {
+
+    /**
+     * 单个对账事务锁定的最大文章数
+     */
+    private static final int TARGET_CHUNK_SIZE = 500;
+
+    private final CommentMapper commentMapper;
+    private final CommentArchiveMapper archiveMapper;
+    private final IArticleStatsService articleStatsService;
+    private final RedisUtils redisUtils;
+    private final CommentProperties commentProperties;
+    @Qualifier(SchedulerNames.BATCH)
+    private final TaskScheduler taskScheduler;
+
+    private ScheduledFuture<?> reconcileTask;
+
+    @PostConstruct
+    public void start() {
+        long interval = commentProperties.getCounter().getReconcileIntervalMs();
+        if (interval <= 0) {
+            log.info("评论计数定时对账已关闭");
+            return;
+        }
+        Duration delay = Duration.ofMillis(interval);
+        reconcileTask = taskScheduler.scheduleWithFixedDelay(this::reconcileQuietly, Instant.now().plus(delay), delay);
+        log.info("评论计数定时对账已启动: reconcileIntervalMs={}", interval);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (reconcileTask != null) {
+            reconcileTask.cancel(true);
+        }
+    }
+
+    /**
+     * 将状态变更折算为计数增量并写入数据库（需在业务事务内调用）
+     *
+     * @param changes 状态变更列表
+     */
+    public void applyDeltas(List<CommentStatusChangedEvent.Change> changes) {
+        Map<Long, Integer> replyDeltas = new HashMap<>();
+        Map<Long, Integer> articleDeltas = new HashMap<>();
+        for (CommentStatusChangedEvent.Change change : changes) {
+            int delta = change.visibleDelta();
+            if (delta == 0) {
+                continue;
+            }
+            if (change.parentId() != null) {
+                merge(replyDeltas, change.parentId(), delta);
+            }
+            if (change.targetType() == CommentTargetType.ARTICLE) {
+                merge(articleDeltas, change.targetId(), delta);
+            }
+        }
+
+        if (!replyDeltas.isEmpty()) {
+            commentMapper.batchAdjustReplyCount(replyDeltas);
+        }
+        if (!articleDeltas.isEmpty()) {
+            articleStatsService.adjustCommentCounts(articleDeltas);
+        }
+        log.debug("评论计数增量已写入: parents={}, articles={}", replyDeltas.size(), articleDeltas.size());
+    }
+
+    /**
+     * 将状态变更同步到 Redis 镜像（业务事务提交后调用）
+     * <p>
+     * 镜像更新失败时删除对应键，由下一次读取回源，不影响业务。
+     *
+     * @param changes 状态变更列表
+     */
+    public void updateMirror(List<CommentStatusChangedEvent.Change> changes) {
+        Map<String, Integer> keyDeltas = new HashMap<>();
+        for (CommentStatusChangedEvent.Change change : changes) {
+            int delta = change.visibleDelta();
+            if (delta != 0 && change.targetType() != null && change.targetId() != null) {
+                merge(keyDeltas, CacheKeys.commentCountKey(change.targetType().getCode(), change.targetId()), delta);
+            }
+        }
+
+        keyDeltas.forEach((key, delta) -> {
+            try {
+                redisUtils.incrementIfPresent(key, delta);
+            } catch (Exception e) {
+                log.warn("评论数镜像更新失败，删除镜像等待回源: key={}", key, e);
+                deleteQuietly(List.of(key));
+            }
+        });
+    }
+
+    /**
+     * 查询目标下已通过的评论数（优先读取 Redis 镜像，未命中时回源评论表和归档表并写入镜像）
+     *
+     * @param targetType 目标类型
+     * @param targetId   目标ID
+     * @return 评论数
+     */
+    public long getVisibleCount(CommentTargetType targetType, Long targetId) {
+        String key = CacheKeys.commentCountKey(targetType.getCode(), targetId);
+        try {
+            if (redisUtils.get(key) instanceof Number cached) {
+                return cached.longValue();
+            }
+        } catch (Exception e) {
+            log.warn("读取评论数镜像失败，回源数据库: key={}", key, e);
+        }
+
+        long count = commentMapper.selectCount(new LambdaQueryWrapper<CommentEntity>()
+                .eq(CommentEntity::getTargetType, targetType)
+                .eq(CommentEntity::getTargetId, targetId)
+                .eq(CommentEntity::getStatus, CommentStatus.APPROVED))
+                + archiveMapper.countApprovedByTarget(targetType.getCode(), targetId, CommentStatus.APPROVED.getCode());
+        try {
+            // SET NX：回源期间若已有其他请求建立镜像（并可能已累加增量），不覆盖
+            redisUtils.setIfAbsent(key, count, commentProperties.getCounter().getMirrorTtlSeconds(), TimeUnit.SECONDS);
+        } catch (Exception e) {
+            log.warn("写入评论数镜像失败: key={}", key, e);
+        }
+        return count;
+    }
+
+    /**
+     * 按评论表重新计算回复数和文章评论数，校正偏差
+     */
+    public void reconcile() {
+        long start = System.currentTimeMillis();
+
+        int correctedReplies = reconcileReplyCounts();
+        Set<Long> correctedArticles = reconcileArticleCounts();
+        if (!correctedArticles.isEmpty()) {
+            deleteQuietly(correctedArticles.stream()
+                    .map(articleId -> CacheKeys.commentCountKey(CommentTargetType.ARTICLE.getCode(), articleId))
+                    .toList());
+        }
+
+        log.info("评论计数对账完成: correctedReplies={}, correctedArticles={}, cost={}ms",
+                correctedReplies, correctedArticles.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 按主键顺序分批校正回复数，每批一条自动提交的 UPDATE，行锁只持有一个批次
+     *
+     * @return 被校正的评论数
+     */
+    private int reconcileReplyCounts() {
+        int approved = CommentStatus.APPROVED.getCode();
+        int batchSize = commentProperties.getCounter().getReconcileBatchSize();
+        long afterId = 0;
+        int corrected = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Long> ids = commentMapper.selectIdsAfter(afterId, batchSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            afterId = ids.get(ids.size() - 1);
+            corrected += commentMapper.reconcileReplyCounts(approved, ids.get(0), afterId);
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+        return corrected;
+    }
+
+    /**
+     * 先按快照找出评论数不一致的文章，再逐批锁定统计记录、重新计数后校正
+     *
+     * @return 被校正的文章ID集合
+     */
+    private Set<Long> reconcileArticleCounts() {
+        int approved = CommentStatus.APPROVED.getCode();
+        String targetType = CommentTargetType.ARTICLE.getCode();
+        Set<Long> mismatches = articleStatsService.findCommentCountMismatches(
+                toCounts(commentMapper.countApprovedGroupByTarget(targetType, approved)));
+
+        Set<Long> corrected = new HashSet<>();
+        for (List<Long> chunk : Iterables.partition(mismatches, TARGET_CHUNK_SIZE)) {
+            corrected.addAll(articleStatsService.reconcileCommentCounts(chunk, articleIds ->
+                    toCounts(commentMapper.countApprovedByTargets(targetType, articleIds, approved))));
+        }
+        return corrected;
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.error("评论计数对账任务异常", e);
+        }
+    }
+
+    private void deleteQuietly(List<String> keys) {
+        try {
+            redisUtils.delete(keys);
+        } catch (Exception e) {
+            log.warn("删除评论数镜像失败: keys={}", keys.size(), e);
+        }
+    }
+
+    private static Map<Long, Integer> toCounts(List<Map<String, Object>> rows) {
+        Map<Long, Integer> counts = new HashMap<>();
+        for (Map<String, Object> row : rows) {
+            counts.put(((Number) row.get("targetId")).longValue(), ((Number) row.get("total")).intValue());
+        }
+        return counts;
+    }
+
+    private static <K> void merge(Map<K, Integer> deltas, K key, int delta) {
+        deltas.merge(key, delta, (oldValue, value) -> {
+            int sum = oldValue + value;
+            return sum == 0 ? null : sum;
+        });
+    }
+}
@@ -0,0 +1,158 @@
+package com.blog.comment.infrastructure.counter;
+
+import com.blog.comment.config.CommentProperties;
+import com.blog.comment.infrastructure.mapper.CommentMapper;
+import com.blog.comment.infrastructure.ranking.CommentHotRanking;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * 评论点赞计数合并器
+ *
+ * <p>
+ * 点赞/取消点赞不再逐条执行 UPDATE，而是先在内存中按评论累加净增量，
+ * 由后台线程每隔 {@code app.comment.like-counter.flush-interval-ms} 毫秒
+ * 通过一条批量 SQL 刷入数据库。热门评论上的点赞风暴会被合并为少量写入。
+ * 刷盘成功的增量同时累加到 {@link CommentHotRanking}。
+ * </p>
+ *
+ * <p>生命周期：</p>
+ * <ul>
+ *   <li>{@link #start()} — 容器启动后开启定时刷盘</li>
+ *   <li>{@link #shutdown()} — 容器关闭时停止定时任务并排空剩余增量，避免丢失计数</li>
+ * </ul>
+ *
+ * <p>
+ * <b>一致性说明</b>：刷盘间隔内的计数仅存在于内存，进程被强制杀死时最多丢失一个窗口的增量；
+ * 点赞明细仍以 {@code cmt_comment_like} 表为准，可据此校正。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CommentLikeCountAggregator {
+
+    private final CommentMapper commentMapper;
+    private final CommentProperties commentProperties;
+    private final CommentHotRanking hotRanking;
+    private final TaskScheduler taskScheduler;
+
+    /**
+     * 评论ID → 待刷盘的净增量（净增量为 0 的条目会被移除）
+     */
+    private final ConcurrentHashMap<Long, Integer> pendingDeltas = new ConcurrentHashMap<>();
+
+    private ScheduledFuture<?> flushTask;
+
+    @PostConstruct
+    public void start() {
+        Duration interval = Duration.ofMillis(commentProperties.getLikeCounter().getFlushIntervalMs());
+        flushTask = taskScheduler.scheduleWithFixedDelay(this::flushQuietly, Instant.now().plus(interval), interval);
+        log.info("评论点赞计数合并器已启动: flushIntervalMs={}", interval.toMillis());
+    }
+
+    /**
+     * 容器关闭时排空剩余增量
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+        }
+        // 增量通过 remove 原子取走，与仍在执行的定时刷盘并发也不会重复写入
+        flushQuietly();
+        log.info("评论点赞计数合并器已停止，剩余增量已刷盘");
+    }
+
+    /**
+     * 累加点赞数增量
+     *
+     * @param commentId 评论ID
+     * @param delta     增量（点赞 +1，取消点赞 -1）
+     */
+    public void add(Long commentId, int delta) {
+        if (commentId == null || delta == 0) {
+            return;
+        }
+        // merge 在 ConcurrentHashMap 中对单个 key 原子执行；净增量归零时移除条目
+        pendingDeltas.merge(commentId, delta, (oldValue, value) -> {
+            int sum = oldValue + value;
+            return sum == 0 ? null : sum;
+        });
+    }
+
+    /**
+     * 立即将所有待刷盘增量写入数据库
+     *
+     * @return 本次刷盘涉及的评论数
+     */
+    public int flush() {
+        if (pendingDeltas.isEmpty()) {
+            return 0;
+        }
+
+        int maxBatchSize = commentProperties.getLikeCounter().getMaxBatchSize();
+        Map<Long, Integer> batch = new HashMap<>();
+        int flushed = 0;
+
+        for (Long commentId : pendingDeltas.keySet()) {
+            // remove 原子地取走增量，之后到达的点赞会重新建立条目，不会丢失
+            Integer delta = pendingDeltas.remove(commentId);
+            if (delta == null || delta == 0) {
+                continue;
+            }
+            batch.put(commentId, delta);
+            if (batch.size() >= maxBatchSize) {
+                flushed += writeBatch(batch);
+                batch = new HashMap<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            flushed += writeBatch(batch);
+        }
+        return flushed;
+    }
+
+    /**
+     * 写入一批增量，失败时将增量放回待刷盘队列，等待下次重试
+     */
+    private int writeBatch(Map<Long, Integer> batch) {
+        try {
+            commentMapper.batchAdjustLikeCount(batch);
+            log.debug("点赞计数批量刷盘: comments={}", batch.size());
+        } catch (Exception e) {
+            log.error("点赞计数批量刷盘失败，增量将在下次重试: comments={}", batch.size(), e);
+            batch.forEach(this::add);
+            return 0;
+        }
+
+        try {
+            hotRanking.applyLikeDeltas(batch);
+        } catch (Exception e) {
+            log.warn("点赞热度同步失败: comments={}", batch.size(), e);
+        }
+        return batch.size();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("点赞计数刷盘任务异常", e);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.blog.comment.infrastructure.duplicate;
+
+import com.blog.comment.config.CommentProperties;
+import com.blog.comment.domain.duplicate.SimHash;
+import com.blog.common.constants.CacheKeys;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * 评论指纹 LSH 索引（Redis）
+ *
+ * <p>
+ * 按发布主体（用户或 IP）保存时间窗口内的 {@link SimHash} 指纹。指纹切分为 {@code max-distance + 1} 段，
+ * 每段一个 ZSET 分桶（成员为指纹，分值为发布时间）：
+ * </p>
+ * <ul>
+ *   <li>查询 — 一次 Pipeline 读取各分桶窗口内的候选，只对候选计算汉明距离</li>
+ *   <li>记录 — 一次 Pipeline 写入各分桶，同时清理窗口外的指纹并限制分桶大小</li>
+ * </ul>
+ * <p>
+ * 所有节点共享同一份索引，刷屏请求落在不同节点上也能识别。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CommentFingerprintIndex {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final CommentProperties commentProperties;
+
+    /**
+     * 查找时间窗口内同一主体的最相近指纹
+     *
+     * @param subject     发布主体
+     * @param fingerprint 本次指纹
+     * @return 最小汉明距离；窗口内没有不超过 {@code max-distance} 的指纹时返回 -1
+     */
+    public int findNearest(String subject, long fingerprint) {
+        CommentProperties.Duplicate config = commentProperties.getDuplicate();
+        long minScore = System.currentTimeMillis() - config.getWindowSeconds() * 1000;
+        List<String> keys = bucketKeys(subject, fingerprint, config.getMaxDistance());
+
+        List<Object> results = pipelined(operations -> keys.forEach(key ->
+                operations.opsForZSet().rangeByScore(key, minScore, Double.MAX_VALUE)));
+
+        int nearest = -1;
+        for (Object result : results) {
+            if (!(result instanceof Collection<?> members)) {
+                continue;
+            }
+            for (Object member : members) {
+                int distance = SimHash.distance(Long.parseUnsignedLong(String.valueOf(member), 16), fingerprint);
+                if (distance <= config.getMaxDistance() && (nearest < 0 || distance < nearest)) {
+                    nearest = distance;
+                }
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * 记录本次指纹
+     *
+     * @param subject     发布主体
+     * @param fingerprint 指纹
+     */
+    public void record(String subject, long fingerprint) {
+        CommentProperties.Duplicate config = commentProperties.getDuplicate();
+        long now = System.currentTimeMillis();
+        long windowMs = config.getWindowSeconds() * 1000;
+        String member = Long.toHexString(fingerprint);
+        List<String> keys = bucketKeys(subject, fingerprint, config.getMaxDistance());
+
+        pipelined(operations -> keys.forEach(key -> {
+            operations.opsForZSet().add(key, member, now);
+            operations.opsForZSet().removeRangeByScore(key, 0, now - windowMs);
+            operations.opsForZSet().removeRange(key, 0, -(config.getMaxBucketSize() + 1L));
+            operations.expire(key, Duration.ofMillis(windowMs));
+        }));
+    }
+
+    private static List<String> bucketKeys(String subject, long fingerprint, int maxDistance) {
+        long[] bands = SimHash.bands(fingerprint, maxDistance + 1);
+        return IntStream.range(0, bands.length)
+                .mapToObj(band -> CacheKeys.commentSimHashKey(subject, band, bands[band]))
+                .toList();
+    }
+
+    private List<Object> pipelined(Consumer<RedisOperations<String, Object>> commands) {
+        return redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                commands.accept((RedisOperations<String, Object>) operations);
+                return null;
+            }
+        });
+    }
+}
@@ -0,0 +1,210 @@
+package com.blog.comment.infrastructure.history;
+
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
+import com.blog.comment.config.CommentProperties;
+import com.blog.comment.domain.entity.CommentHistoryEntity;
+import com.blog.comment.domain.event.CommentEditedEvent;
+import com.blog.comment.domain.history.LineDiff;
+import com.blog.comment.infrastructure.mapper.CommentHistoryMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 评论编辑历史异步写入器
+ *
+ * <p>
+ * 编辑请求只把 {@link CommentEditedEvent} 放入内存队列，差异计算和写库都在后台线程完成：
+ * </p>
+ * <ul>
+ *   <li><b>差异存储</b> — 每条记录保存"编辑后 → 编辑前"的 {@link LineDiff} 逆向补丁，不再保存完整副本</li>
+ *   <li><b>关键帧</b> — 补丁不比原文小（整体重写），或编辑前版本号为 {@code keyframe-interval} 的正整数倍时，保存完整的编辑前内容</li>
+ *   <li><b>批量写入</b> — 每隔 {@code app.comment.history.flush-interval-ms} 毫秒通过多行 INSERT 写入</li>
+ *   <li><b>背压</b> — 待写入数达到 {@code max-pending} 时由入队线程同步写入</li>
+ *   <li><b>读取未落库历史</b> — 事件从入队到写库成功之间都可以通过 {@link #listUnwritten(Long)} 读到，
+ *       查询修订历史时与数据库记录合并，读请求不会触发写库</li>
+ * </ul>
+ *
+ * <p>
+ * <b>一致性说明</b>：写入失败的批次放回队列等待下次重试；进程被强制杀死时最多丢失一个窗口的历史，
+ * 补丁头部的源内容校验保证回放时能发现断链，关键帧之前的修订仍可还原。容器正常关闭时排空队列。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CommentHistoryWriter {
+
+    private final CommentHistoryMapper historyMapper;
+    private final CommentProperties commentProperties;
+    private final TaskScheduler taskScheduler;
+
+    /**
+     * 保证同一时刻只有一个线程在写入，同一评论的历史按编辑顺序落库
+     */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    /**
+     * 已入队但尚未写库成功的事件（包括正在写入的批次），写库成功或被丢弃后移除
+     */
+    private final Set<CommentEditedEvent> unwritten = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    private LinkedBlockingQueue<CommentEditedEvent> pending;
+    private ScheduledFuture<?> flushTask;
+
+    @PostConstruct
+    public void start() {
+        CommentProperties.History config = commentProperties.getHistory();
+        pending = new LinkedBlockingQueue<>(config.getMaxPending());
+        Duration interval = Duration.ofMillis(config.getFlushIntervalMs());
+        flushTask = taskScheduler.scheduleWithFixedDelay(this::flushQuietly, Instant.now().plus(interval), interval);
+        log.info("评论编辑历史写入器已启动: flushIntervalMs={}, maxBatchSize={}",
+                config.getFlushIntervalMs(), config.getMaxBatchSize());
+    }
+
+    /**
+     * 容器关闭时排空队列
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+        }
+        // 正在执行的定时写入持有 flushLock，这里会等它完成后再排空
+        flushQuietly();
+        log.info("评论编辑历史写入器已停止，剩余历史已写入");
+    }
+
+    /**
+     * 编辑历史入队
+     *
+     * @param event 编辑事件
+     */
+    public void record(CommentEditedEvent event) {
+        unwritten.add(event);
+        if (pending.offer(event)) {
+            return;
+        }
+        // 队列已满：由当前线程同步写入后再入队
+        flushQuietly();
+        if (!pending.offer(event)) {
+            writeBatch(List.of(event));
+        }
+    }
+
+    /**
+     * 指定评论尚未写库的编辑历史，按编辑前版本号升序
+     * <p>
+     * 需在查询数据库之前调用：事件写库成功后才移除，先取快照再查库不会漏掉正在写入的批次，
+     * 两边都有的记录由调用方按版本号去重。
+     *
+     * @param commentId 评论ID
+     * @return 编辑历史（ID 为临时生成，不对应数据库记录）
+     */
+    public List<CommentHistoryEntity> listUnwritten(Long commentId) {
+        return unwritten.stream()
+                .filter(event -> commentId.equals(event.getCommentId()))
+                .sorted(Comparator.comparing(CommentEditedEvent::getBaseVersion,
+                        Comparator.nullsFirst(Comparator.naturalOrder())))
+                .map(this::toHistory)
+                .toList();
+    }
+
+    /**
+     * 立即将队列中的编辑历史写入数据库
+     *
+     * @return 本次写入的记录数
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            int maxBatchSize = commentProperties.getHistory().getMaxBatchSize();
+            int flushed = 0;
+            List<CommentEditedEvent> batch = new ArrayList<>(maxBatchSize);
+            while (pending.drainTo(batch, maxBatchSize) > 0) {
+                int written = writeBatch(batch);
+                if (written == 0) {
+                    // 写入失败的批次已放回队列，本轮不再重试
+                    break;
+                }
+                flushed += written;
+                batch = new ArrayList<>(maxBatchSize);
+            }
+            return flushed;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 计算补丁并写入一批历史，失败时放回队列等待下次重试
+     */
+    private int writeBatch(List<CommentEditedEvent> batch) {
+        List<CommentHistoryEntity> histories = batch.stream().map(this::toHistory).toList();
+        try {
+            historyMapper.insertBatch(histories);
+        } catch (Exception e) {
+            log.error("评论编辑历史批量写入失败，将在下次重试: size={}", batch.size(), e);
+            batch.forEach(event -> {
+                if (!pending.offer(event)) {
+                    unwritten.remove(event);
+                    log.error("评论编辑历史队列已满，丢弃: commentId={}, baseVersion={}",
+                            event.getCommentId(), event.getBaseVersion());
+                }
+            });
+            return 0;
+        }
+        batch.forEach(unwritten::remove);
+        log.debug("评论编辑历史批量写入: size={}", histories.size());
+        return histories.size();
+    }
+
+    private CommentHistoryEntity toHistory(CommentEditedEvent event) {
+        CommentHistoryEntity history = new CommentHistoryEntity();
+        history.setId(IdWorker.getId());
+        history.setCommentId(event.getCommentId());
+        history.setBaseVersion(event.getBaseVersion());
+        history.setEditReason(event.getEditReason());
+        history.setCreateBy(event.getEditorId());
+        history.setCreateTime(event.getEditTime());
+
+        String patch = LineDiff.diff(event.getNewContent(), event.getOldContent());
+        if (isKeyframe(event.getBaseVersion()) || patch.length() >= event.getOldContent().length()) {
+            history.setOldContent(event.getOldContent());
+        } else {
+            history.setDiffPatch(patch);
+        }
+        return history;
+    }
+
+    private boolean isKeyframe(Integer baseVersion) {
+        int interval = commentProperties.getHistory().getKeyframeInterval();
+        return interval > 0 && baseVersion != null && baseVersion > 0 && baseVersion % interval == 0;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("评论编辑历史写入任务异常", e);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.blog.comment.infrastructure.mapper;
+
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.blog.comment.api.dto.CommentQueryDTO;
+import com.blog.comment.domain.entity.CommentEntity;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 评论归档 Mapper（{@code cmt_comment_archive}）
+ *
+ * <p>
+ * 归档表与 {@code cmt_comment} 字段一致，查询结果直接映射为 {@link CommentEntity}。
+ * 归档行不受逻辑删除过滤，管理端可以看到归档前已删除的评论。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Mapper
+public interface CommentArchiveMapper {
+
+    /**
+     * 两张表共有的字段
+     */
+    String COLUMNS = "id, target_type, target_id, parent_id, content, content_html, status, like_count, reply_count, "
+            + "path, depth, root_id, audit_reason, is_edited, edit_time, mentioned_user_ids, "
+            + "version, create_by, create_time, update_by, update_time, is_deleted";
+
+    /**
+     * 按主键顺序查询超过保留期的已拒绝/已删除评论（含逻辑删除）
+     *
+     * @param afterId  上一批最大ID（首批传 0）
+     * @param cutoff   最后更新时间上限
+     * @param statuses 需归档的状态存储值
+     * @param limit    批大小
+     * @return 评论ID（升序）
+     */
+    @Select("<script>" +
+            "SELECT id FROM cmt_comment WHERE id &gt; #{afterId} AND update_time &lt; #{cutoff} " +
+            "AND (is_deleted = 1 OR status IN " +
+            "<foreach collection='statuses' item='status' open='(' separator=',' close=')'>#{status}</foreach>" +
+            ") ORDER BY id LIMIT #{limit}" +
+            "</script>")
+    List<Long> selectExpiredIds(@Param("afterId") long afterId,
+                                @Param("cutoff") LocalDateTime cutoff,
+                                @Param("statuses") Collection<Integer> statuses,
+                                @Param("limit") int limit);
+
+    /**
+     * 按主键顺序查询指定目标下的全部评论（含逻辑删除）
+     *
+     * @param targetType 目标类型存储值
+     * @param targetIds  目标ID，非空
+     * @param afterId    上一批最大ID（首批传 0）
+     * @param limit      批大小
+     * @return 评论ID（升序）
+     */
+    @Select("<script>" +
+            "SELECT id FROM cmt_comment WHERE id &gt; #{afterId} AND target_type = #{targetType} AND target_id IN " +
+            "<foreach collection='targetIds' item='targetId' open='(' separator=',' close=')'>#{targetId}</foreach>" +
+            " ORDER BY id LIMIT #{limit}" +
+            "</script>")
+    List<Long> selectIdsByTargets(@Param("targetType") String targetType,
+                                  @Param("targetIds") Collection<Long> targetIds,
+                                  @Param("afterId") long afterId,
+                                  @Param("limit") int limit);
+
+    /**
+     * 将评论复制到归档表（已存在的ID跳过，重复执行安全）
+     *
+     * @param ids 评论ID，非空
+     * @return 写入行数
+     */
+    @Insert("<script>" +
+            "INSERT IGNORE INTO cmt_comment_archive (" + COLUMNS + ") " +
+            "SELECT " + COLUMNS + " FROM cmt_comment WHERE id IN " +
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    int copyToArchive(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 从评论表物理删除已归档的评论
+     *
+     * @param ids 评论ID，非空
+     * @return 删除行数
+     */
+    @Delete("<script>" +
+            "DELETE FROM cmt_comment WHERE id IN " +
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    int deleteFromComment(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 查询目标下已归档且归档时为已通过的评论
+     *
+     * @param targetType 目标类型存储值
+     * @param targetId   目标ID
+     * @param approved   已通过状态的存储值
+     * @return 评论列表（按创建时间升序）
+     */
+    @Select("SELECT " + COLUMNS + " FROM cmt_comment_archive " +
+            "WHERE target_type = #{targetType} AND target_id = #{targetId} AND status = #{approved} AND is_deleted = 0 " +
+            "ORDER BY create_time")
+    List<CommentEntity> selectApprovedByTarget(@Param("targetType") String targetType,
+                                               @Param("targetId") Long targetId,
+                                               @Param("approved") int approved);
+
+    /**
+     * 统计目标下已归档且归档时为已通过的评论数
+     *
+     * @param targetType 目标类型存储值
+     * @param targetId   目标ID
+     * @param approved   已通过状态的存储值
+     * @return 评论数
+     */
+    @Select("SELECT COUNT(*) FROM cmt_comment_archive " +
+            "WHERE target_type = #{targetType} AND target_id = #{targetId} AND status = #{approved} AND is_deleted = 0")
+    long countApprovedByTarget(@Param("targetType") String targetType,
+                               @Param("targetId") Long targetId,
+                               @Param("approved") int approved);
+
+    /**
+     * 管理端分页查询归档评论（筛选条件与评论表查询一致）
+     *
+     * @param page       分页参数
+     * @param query      查询条件
+     * @param statusCode 状态存储值（null 表示不过滤）
+     * @return 评论分页（按创建时间降序）
+     */
+    @Select("<script>" +
+            "SELECT " + COLUMNS + " FROM cmt_comment_archive " +
+            "<where>" +
+            "<if test='statusCode != null'>AND status = #{statusCode}</if>" +
+            "<if test='query.targetType != null'>AND target_type = #{query.targetType.code}</if>" +
+            "<if test='query.targetId != null'>AND target_id = #{query.targetId}</if>" +
+            "<if test='query.createBy != null'>AND create_by = #{query.createBy}</if>" +
+            "</where>" +
+            "ORDER BY create_time DESC" +
+            "</script>")
+    IPage<CommentEntity> selectArchivePage(IPage<CommentEntity> page,
+                                           @Param("query") CommentQueryDTO query,
+                                           @Param("statusCode") Integer statusCode);
+}
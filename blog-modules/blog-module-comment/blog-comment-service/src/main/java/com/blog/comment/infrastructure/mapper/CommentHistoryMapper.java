@@ -2,7 +2,11 @@ package com.blog.comment.infrastructure.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.blog.comment.domain.entity.CommentHistoryEntity;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 /**
  * 评论编辑历史 Mapper
@@ -12,4 +16,22 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface CommentHistoryMapper extends BaseMapper<CommentHistoryEntity> {
+
+    /**
+     * 批量插入编辑历史（单条多行 INSERT）
+     * <p>
+     * 主键、编辑人、编辑时间需由调用方预先设置（异步写入时保留实际编辑时间）。
+     *
+     * @param histories 编辑历史列表，非空
+     * @return 插入行数
+     */
+    @Insert("<script>" +
+            "INSERT INTO cmt_comment_history " +
+            "(id, comment_id, base_version, old_content, diff_patch, edit_reason, create_by, create_time, update_by) VALUES " +
+            "<foreach collection='histories' item='h' separator=','>" +
+            "(#{h.id}, #{h.commentId}, #{h.baseVersion}, #{h.oldContent}, #{h.diffPatch}, #{h.editReason}, " +
+            "#{h.createBy}, #{h.createTime}, #{h.createBy})" +
+            "</foreach>" +
+            "</script>")
+    int insertBatch(@Param("histories") List<CommentHistoryEntity> histories);
 }
@@ -4,8 +4,14 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.blog.comment.domain.entity.CommentEntity;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 /**
  * 评论Mapper
  *
@@ -18,18 +24,127 @@ public interface CommentMapper extends BaseMapper<CommentEntity> {
     // 后续阶段会添加自定义查询
 
     /**
-     * 增加点赞数 +1
+     * 批量调整点赞数（单条 SQL，按评论合并后的净增量）
+     * <p>
+     * 使用 {@code CASE id WHEN ... THEN ...} 将多条评论的增量合并到一条 UPDATE 中，
+     * 并通过 {@code GREATEST(..., 0)} 防止计数变为负数。
+     *
+     * @param deltas 评论ID → 点赞数净增量（可为负数），非空
+     * @return 影响行数
+     */
+    @Update("<script>" +
+            "UPDATE cmt_comment SET like_count = GREATEST(like_count + CASE id " +
+            "<foreach collection='deltas' index='commentId' item='delta'>" +
+            "WHEN #{commentId} THEN #{delta} " +
+            "</foreach>" +
+            "ELSE 0 END, 0) " +
+            "WHERE id IN " +
+            "<foreach collection='deltas' index='commentId' open='(' separator=',' close=')'>" +
+            "#{commentId}" +
+            "</foreach>" +
+            "</script>")
+    int batchAdjustLikeCount(@Param("deltas") Map<Long, Integer> deltas);
+
+    /**
+     * 批量调整回复数（单条 SQL，按父评论合并后的净增量）
+     *
+     * @param deltas 父评论ID → 回复数净增量（可为负数），非空
+     * @return 影响行数
+     */
+    @Update("<script>" +
+            "UPDATE cmt_comment SET reply_count = GREATEST(reply_count + CASE id " +
+            "<foreach collection='deltas' index='commentId' item='delta'>" +
+            "WHEN #{commentId} THEN #{delta} " +
+            "</foreach>" +
+            "ELSE 0 END, 0) " +
+            "WHERE id IN " +
+            "<foreach collection='deltas' index='commentId' open='(' separator=',' close=')'>" +
+            "#{commentId}" +
+            "</foreach>" +
+            "</script>")
+    int batchAdjustReplyCount(@Param("deltas") Map<Long, Integer> deltas);
+
+    /**
+     * 按主键顺序查询评论ID（含逻辑删除），用于分批对账
+     *
+     * @param afterId 上一批最大ID（首批传 0）
+     * @param limit   批大小
+     * @return 评论ID（升序）
+     */
+    @Select("SELECT id FROM cmt_comment WHERE id > #{afterId} ORDER BY id LIMIT #{limit}")
+    List<Long> selectIdsAfter(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    /**
+     * 按已通过的直接回复重新计算主键区间内评论的回复数，仅更新存在偏差的评论
+     * <p>
+     * 只扫描和锁定 {@code [fromId, toId]} 区间内的评论及其回复（依赖 {@code idx_parent}）。
+     *
+     * @param approved 已通过状态的存储值
+     * @param fromId   区间起始ID（包含）
+     * @param toId     区间结束ID（包含）
+     * @return 被校正的评论数
+     */
+    @Update("UPDATE cmt_comment c " +
+            "LEFT JOIN (SELECT parent_id, COUNT(*) AS total FROM cmt_comment " +
+            "           WHERE parent_id BETWEEN #{fromId} AND #{toId} AND status = #{approved} AND is_deleted = 0 " +
+            "           GROUP BY parent_id) r ON r.parent_id = c.id " +
+            "SET c.reply_count = COALESCE(r.total, 0) " +
+            "WHERE c.id BETWEEN #{fromId} AND #{toId} AND c.reply_count <> COALESCE(r.total, 0)")
+    int reconcileReplyCounts(@Param("approved") int approved,
+                             @Param("fromId") long fromId,
+                             @Param("toId") long toId);
+
+    /**
+     * 统计各目标下已通过的评论数（包含已归档的评论）
+     *
+     * @param targetType 目标类型存储值
+     * @param approved   已通过状态的存储值
+     * @return 每行包含 targetId、total 两列（仅包含评论数大于 0 的目标）
+     */
+    @Select("SELECT target_id AS targetId, COUNT(*) AS total FROM (" +
+            "SELECT target_id FROM cmt_comment " +
+            "WHERE target_type = #{targetType} AND status = #{approved} AND is_deleted = 0 " +
+            "UNION ALL " +
+            "SELECT target_id FROM cmt_comment_archive " +
+            "WHERE target_type = #{targetType} AND status = #{approved} AND is_deleted = 0" +
+            ") c GROUP BY target_id")
+    List<Map<String, Object>> countApprovedGroupByTarget(@Param("targetType") String targetType,
+                                                         @Param("approved") int approved);
+
+    /**
+     * 统计指定目标下已通过的评论数（包含已归档的评论）
      *
-     * @param commentId 评论ID
+     * @param targetType 目标类型存储值
+     * @param targetIds  目标ID，非空
+     * @param approved   已通过状态的存储值
+     * @return 每行包含 targetId、total 两列（仅包含评论数大于 0 的目标）
      */
-    @Update("UPDATE cmt_comment SET like_count = like_count + 1 WHERE id = #{commentId}")
-    void incrementLikeCount(@Param("commentId") Long commentId);
+    @Select("<script>" +
+            "SELECT target_id AS targetId, COUNT(*) AS total FROM (" +
+            "SELECT target_id FROM cmt_comment " +
+            "WHERE target_type = #{targetType} AND status = #{approved} AND is_deleted = 0 AND target_id IN " +
+            "<foreach collection='targetIds' item='targetId' open='(' separator=',' close=')'>#{targetId}</foreach>" +
+            " UNION ALL " +
+            "SELECT target_id FROM cmt_comment_archive " +
+            "WHERE target_type = #{targetType} AND status = #{approved} AND is_deleted = 0 AND target_id IN " +
+            "<foreach collection='targetIds' item='targetId' open='(' separator=',' close=')'>#{targetId}</foreach>" +
+            ") c GROUP BY target_id" +
+            "</script>")
+    List<Map<String, Object>> countApprovedByTargets(@Param("targetType") String targetType,
+                                                     @Param("targetIds") Collection<Long> targetIds,
+                                                     @Param("approved") int approved);
 
     /**
-     * 减少点赞数 -1（防止负数）
+     * 指定时间之后已通过评论最多的用户
      *
-     * @param commentId 评论ID
+     * @param approved 已通过状态的存储值
+     * @param since    起始时间
+     * @param limit    最多返回的用户数
+     * @return 用户ID，按评论数降序
      */
-    @Update("UPDATE cmt_comment SET like_count = like_count - 1 WHERE id = #{commentId} AND like_count > 0")
-    void decrementLikeCount(@Param("commentId") Long commentId);
+    @Select("SELECT create_by FROM cmt_comment " +
+            "WHERE status = #{approved} AND is_deleted = 0 AND create_time >= #{since} AND create_by IS NOT NULL " +
+            "GROUP BY create_by ORDER BY COUNT(*) DESC LIMIT #{limit}")
+    List<Long> selectTopCommenters(@Param("approved") int approved, @Param("since") LocalDateTime since,
+                                   @Param("limit") int limit);
 }
@@ -0,0 +1,26 @@
+package com.blog.comment.infrastructure.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.blog.comment.domain.entity.SensitiveWordEntity;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
+
+/**
+ * 评论敏感词 Mapper
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Mapper
+public interface SensitiveWordMapper extends BaseMapper<SensitiveWordEntity> {
+
+    /**
+     * 查询所有启用的敏感词（仅返回词条本身，用于构建自动机）
+     *
+     * @return 敏感词列表
+     */
+    @Select("SELECT word FROM cmt_sensitive_word WHERE enabled = 1 AND is_deleted = 0")
+    List<String> selectEnabledWords();
+}
@@ -0,0 +1,259 @@
+package com.blog.comment.infrastructure.ranking;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.blog.comment.api.enums.CommentStatus;
+import com.blog.comment.api.enums.CommentTargetType;
+import com.blog.comment.config.CommentProperties;
+import com.blog.comment.domain.entity.CommentEntity;
+import com.blog.comment.domain.event.CommentStatusChangedEvent;
+import com.blog.comment.infrastructure.mapper.CommentMapper;
+import com.blog.common.constants.CacheKeys;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 评论热度排行
+ *
+ * <p>
+ * 每个评论目标一个 ZSET {@code comment:hot:{targetType}:{targetId}}，成员为已通过的<b>根评论</b>ID（回复不参与排行）。
+ * 热度是发布、点赞、回复等互动按半衰期指数衰减后的加权和：
+ * </p>
+ * <pre>
+ * hot(now) = Σ wᵢ · 2^(-(now - tᵢ) / halfLife)
+ * </pre>
+ * <p>
+ * 所有成员同乘 {@code 2^(now / halfLife)} 不改变排序，因此 ZSET 中保存与时间无关的对数形式
+ * {@code ln Σ wᵢ · 2^((tᵢ - epoch) / halfLife)}：每次互动只需对一个成员做一次 log-sum-exp 累加（Lua 原子执行），
+ * 无需定时重算全部分值，取前 N 名只需一次 ZREVRANGE。
+ * </p>
+ *
+ * <p>写入路径：</p>
+ * <ul>
+ *   <li>根评论通过审核 — 以发布权重加入排行；离开已通过状态 — 移出排行</li>
+ *   <li>回复通过审核 — 父评论累加回复权重；离开已通过状态 — 父评论减去同一份权重</li>
+ *   <li>点赞 — 随点赞计数刷盘按净增量累加（取消点赞为负权重）</li>
+ * </ul>
+ * <p>
+ * 状态变更按评论<b>发布时间</b>计入（与重建一致），通过与离开通过时增减的是同一份衰减权重。
+ * 与计数镜像相同，增量只作用于已存在的排行；排行不存在时由读路径按评论表重建，
+ * 重建时点赞和回复按发布时间近似计入。排行设置过期时间，过期后重建，同时消除近似带来的偏差。
+ * Redis 不可用时读路径退化为按评论表在内存中计算。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CommentHotRanking {
+
+    /**
+     * 对数分值的时间原点（2025-01-01 00:00:00 +08:00）
+     */
+    private static final long EPOCH_MILLIS = 1_735_660_800_000L;
+
+    /**
+     * 占位成员：目标下没有已通过评论时仍保留排行，避免每次读取都回源
+     */
+    private static final String PLACEHOLDER = "-";
+
+    /**
+     * 对已存在排行中的成员累加一次互动（ARGV: 成员, 对数权重, 符号, 成员不存在时是否加入）
+     * <p>
+     * 正权重：log-sum-exp 累加；负权重：{@code ln(e^s - e^x)}，差值过小时保留极小正数，避免分值变为 NaN
+     */
+    private static final RedisScript<Long> ADD_DECAYED = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end "
+                    + "local x = tonumber(ARGV[2]) "
+                    + "local current = redis.call('ZSCORE', KEYS[1], ARGV[1]) "
+                    + "if not current then "
+                    + "  if tonumber(ARGV[4]) == 1 then redis.call('ZADD', KEYS[1], x, ARGV[1]) return 1 end "
+                    + "  return 0 "
+                    + "end "
+                    + "current = tonumber(current) "
+                    + "local updated "
+                    + "if tonumber(ARGV[3]) > 0 then "
+                    + "  local high = math.max(current, x) "
+                    + "  updated = high + math.log(1 + math.exp(math.min(current, x) - high)) "
+                    + "else "
+                    + "  updated = current + math.log(math.max(1 - math.exp(x - current), 1e-6)) "
+                    + "end "
+                    + "redis.call('ZADD', KEYS[1], updated, ARGV[1]) "
+                    + "return 1",
+            Long.class);
+
+    private final CommentMapper commentMapper;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final CommentProperties commentProperties;
+
+    /**
+     * 查询目标下热度最高的评论
+     *
+     * @param targetType     目标类型
+     * @param targetId       目标ID
+     * @param requestedLimit 数量（不超过 {@code app.comment.hot.max-limit}）
+     * @return 评论ID（按热度降序）
+     */
+    public List<Long> top(CommentTargetType targetType, Long targetId, int requestedLimit) {
+        int limit = Math.clamp(requestedLimit, 1, commentProperties.getHot().getMaxLimit());
+        String key = CacheKeys.commentHotKey(targetType.getCode(), targetId);
+        try {
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(key))) {
+                rebuild(key, targetType, targetId);
+            }
+            Set<Object> members = redisTemplate.opsForZSet().reverseRange(key, 0, limit - 1L);
+            if (members != null) {
+                return members.stream()
+                        .map(String::valueOf)
+                        .filter(member -> !PLACEHOLDER.equals(member))
+                        .map(Long::valueOf)
+                        .toList();
+            }
+        } catch (Exception e) {
+            log.warn("读取评论热度排行失败，回源数据库: key={}", key, e);
+        }
+        return loadApprovedRoots(targetType, targetId).stream()
+                .sorted(Comparator.comparingDouble(this::rebuildScore).reversed())
+                .limit(limit)
+                .map(CommentEntity::getId)
+                .toList();
+    }
+
+    /**
+     * 将评论状态变更同步到排行（业务事务提交后调用）
+     *
+     * @param changes 状态变更列表
+     */
+    public void applyStatusChanges(List<CommentStatusChangedEvent.Change> changes) {
+        CommentProperties.Hot config = commentProperties.getHot();
+        for (CommentStatusChangedEvent.Change change : changes) {
+            int delta = change.visibleDelta();
+            if (delta == 0 || change.targetType() == null || change.targetId() == null) {
+                continue;
+            }
+            String key = CacheKeys.commentHotKey(change.targetType().getCode(), change.targetId());
+            long publishedAt = toEpochMillis(change.createTime());
+            try {
+                if (change.parentId() != null) {
+                    add(key, change.parentId(), delta * config.getReplyWeight(), publishedAt, false);
+                } else if (delta > 0) {
+                    add(key, change.commentId(), config.getCreateWeight(), publishedAt, true);
+                } else {
+                    redisTemplate.opsForZSet().remove(key, change.commentId().toString());
+                }
+            } catch (Exception e) {
+                log.warn("评论热度更新失败，删除排行等待重建: key={}", key, e);
+                deleteQuietly(key);
+            }
+        }
+    }
+
+    /**
+     * 将点赞净增量同步到排行（点赞计数刷盘成功后调用）
+     *
+     * @param deltas 评论ID → 点赞净增量
+     */
+    public void applyLikeDeltas(Map<Long, Integer> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        double likeWeight = commentProperties.getHot().getLikeWeight();
+        long now = System.currentTimeMillis();
+        List<CommentEntity> comments = commentMapper.selectList(new LambdaQueryWrapper<CommentEntity>()
+                .select(CommentEntity::getId, CommentEntity::getTargetType, CommentEntity::getTargetId)
+                .in(CommentEntity::getId, deltas.keySet())
+                .isNull(CommentEntity::getParentId)
+                .eq(CommentEntity::getStatus, CommentStatus.APPROVED));
+        for (CommentEntity comment : comments) {
+            String key = CacheKeys.commentHotKey(comment.getTargetType().getCode(), comment.getTargetId());
+            try {
+                add(key, comment.getId(), likeWeight * deltas.get(comment.getId()), now, false);
+            } catch (Exception e) {
+                log.warn("评论热度更新失败，删除排行等待重建: key={}", key, e);
+                deleteQuietly(key);
+            }
+        }
+    }
+
+    private void add(String key, Long commentId, double weight, long timestamp, boolean createIfAbsent) {
+        if (weight == 0) {
+            return;
+        }
+        redisTemplate.execute(ADD_DECAYED, List.of(key), commentId.toString(),
+                logWeight(Math.abs(weight), timestamp), weight > 0 ? 1 : -1, createIfAbsent ? 1 : 0);
+    }
+
+    /**
+     * 按评论表重建排行
+     */
+    private void rebuild(String key, CommentTargetType targetType, Long targetId) {
+        Set<ZSetOperations.TypedTuple<Object>> tuples = new HashSet<>();
+        tuples.add(new DefaultTypedTuple<>(PLACEHOLDER, -Double.MAX_VALUE));
+        loadApprovedRoots(targetType, targetId).forEach(comment ->
+                tuples.add(new DefaultTypedTuple<>(comment.getId().toString(), rebuildScore(comment))));
+
+        redisTemplate.opsForZSet().add(key, tuples);
+        redisTemplate.expire(key, commentProperties.getHot().getTtlSeconds(), TimeUnit.SECONDS);
+        log.debug("评论热度排行已重建: key={}, comments={}", key, tuples.size() - 1);
+    }
+
+    private List<CommentEntity> loadApprovedRoots(CommentTargetType targetType, Long targetId) {
+        return commentMapper.selectList(new LambdaQueryWrapper<CommentEntity>()
+                .select(CommentEntity::getId, CommentEntity::getLikeCount, CommentEntity::getReplyCount,
+                        CommentEntity::getCreateTime)
+                .eq(CommentEntity::getTargetType, targetType)
+                .eq(CommentEntity::getTargetId, targetId)
+                .isNull(CommentEntity::getParentId)
+                .eq(CommentEntity::getStatus, CommentStatus.APPROVED));
+    }
+
+    /**
+     * 重建分值：点赞和回复的发生时间未知，按发布时间近似计入
+     */
+    private double rebuildScore(CommentEntity comment) {
+        CommentProperties.Hot config = commentProperties.getHot();
+        double weight = config.getCreateWeight()
+                + config.getLikeWeight() * Math.max(0, Objects.requireNonNullElse(comment.getLikeCount(), 0))
+                + config.getReplyWeight() * Math.max(0, Objects.requireNonNullElse(comment.getReplyCount(), 0));
+        return logWeight(weight, toEpochMillis(comment.getCreateTime()));
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time == null
+                ? System.currentTimeMillis()
+                : time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * 一次权重为 weight、发生在 timestamp 的互动的对数分值：{@code ln(weight) + (timestamp - epoch) · ln2 / halfLife}
+     */
+    private double logWeight(double weight, long timestamp) {
+        double halfLifeMillis = commentProperties.getHot().getHalfLifeHours() * 3_600_000D;
+        return Math.log(weight) + (timestamp - EPOCH_MILLIS) * Math.log(2) / halfLifeMillis;
+    }
+
+    private void deleteQuietly(String key) {
+        try {
+            redisTemplate.delete(key);
+        } catch (Exception e) {
+            log.warn("删除评论热度排行失败: key={}", key, e);
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.blog.comment.service;
 import com.blog.comment.api.dto.CommentDTO;
 import com.blog.comment.api.dto.CommentReportDTO;
 import com.blog.comment.api.enums.CommentTargetType;
+import com.blog.comment.api.vo.BatchOperationResultVO;
+import com.blog.comment.api.vo.CommentRevisionVO;
 import com.blog.comment.api.vo.CommentTreeVO;
 import com.blog.comment.api.vo.CommentVO;
 import com.blog.comment.domain.entity.CommentEntity;
@@ -27,13 +29,59 @@ public interface ICommentService extends IBaseService<CommentEntity, CommentVO,
      */
     List<CommentTreeVO> getCommentTree(CommentTargetType targetType, Long targetId);
 
+    /**
+     * 获取目标下热度最高的评论（不含子评论列表）
+     *
+     * @param targetType 目标类型
+     * @param targetId   目标ID
+     * @param limit      数量
+     * @return 评论列表（按热度降序）
+     */
+    List<CommentTreeVO> listHotComments(CommentTargetType targetType, Long targetId, int limit);
+
+    /**
+     * 获取目标下已通过的评论数（Redis 镜像优先）
+     *
+     * @param targetType 目标类型
+     * @param targetId   目标ID
+     * @return 评论数
+     */
+    long getCommentCount(CommentTargetType targetType, Long targetId);
+
+    /**
+     * 获取评论的修订列表（不含内容），修订号 0 为首次发布的内容，最后一项为当前内容
+     *
+     * @param commentId 评论ID
+     * @return 修订列表
+     */
+    List<CommentRevisionVO> listRevisions(Long commentId);
+
+    /**
+     * 还原评论的指定修订版本
+     *
+     * @param commentId 评论ID
+     * @param revision  修订号
+     * @return 修订版本（含内容）
+     */
+    CommentRevisionVO getRevision(Long commentId, int revision);
+
+    /**
+     * 发表根评论
+     *
+     * @param dto       评论DTO
+     * @param publisher 重复检测的发布主体（已登录为用户，匿名为 IP），为 null 时不检测
+     * @return 评论ID
+     */
+    Long createComment(CommentDTO dto, String publisher);
+
     /**
      * 回复评论
      *
-     * @param dto 评论DTO
+     * @param dto       评论DTO
+     * @param publisher 重复检测的发布主体（已登录为用户，匿名为 IP），为 null 时不检测
      * @return 评论ID
      */
-    Long replyComment(CommentDTO dto);
+    Long replyComment(CommentDTO dto, String publisher);
 
     /**
      * 审核通过评论
@@ -50,6 +98,32 @@ public interface ICommentService extends IBaseService<CommentEntity, CommentVO,
      */
     void rejectComment(Long id, String reason);
 
+    /**
+     * 批量审核通过评论
+     *
+     * @param ids 评论ID列表
+     * @return 逐条处理结果
+     */
+    BatchOperationResultVO batchApproveComments(List<Long> ids);
+
+    /**
+     * 批量审核拒绝评论
+     *
+     * @param ids    评论ID列表
+     * @param reason 拒绝原因
+     * @return 逐条处理结果
+     */
+    BatchOperationResultVO batchRejectComments(List<Long> ids, String reason);
+
+    /**
+     * 管理员批量删除评论
+     *
+     * @param ids    评论ID列表
+     * @param reason 删除原因
+     * @return 逐条处理结果
+     */
+    BatchOperationResultVO batchDeleteCommentsByAdmin(List<Long> ids, String reason);
+
     /**
      * 用户删除评论
      *
@@ -111,6 +185,24 @@ public interface ICommentService extends IBaseService<CommentEntity, CommentVO,
      */
     void rejectReport(Long reportId, String remark);
 
+    /**
+     * 批量审核通过举报
+     *
+     * @param reportIds 举报ID列表
+     * @param remark    管理员备注
+     * @return 逐条处理结果
+     */
+    BatchOperationResultVO batchApproveReports(List<Long> reportIds, String remark);
+
+    /**
+     * 批量审核拒绝举报
+     *
+     * @param reportIds 举报ID列表
+     * @param remark    管理员备注
+     * @return 逐条处理结果
+     */
+    BatchOperationResultVO batchRejectReports(List<Long> reportIds, String remark);
+
     /**
      * 分页查询评论列表（管理端）
      *
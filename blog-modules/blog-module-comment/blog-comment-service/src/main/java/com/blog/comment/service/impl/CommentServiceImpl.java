@@ -1,6 +1,7 @@
 package com.blog.comment.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.blog.comment.api.dto.CommentDTO;
@@ -8,41 +9,65 @@ import com.blog.comment.api.dto.CommentQueryDTO;
 import com.blog.comment.api.enums.CommentStatus;
 import com.blog.comment.api.enums.CommentTargetType;
 import com.blog.comment.api.enums.ReportStatus;
+import com.blog.comment.api.vo.BatchOperationResultVO;
+import com.blog.comment.api.vo.CommentRevisionVO;
 import com.blog.comment.api.vo.CommentTreeVO;
 import com.blog.comment.api.vo.CommentVO;
 import com.blog.comment.domain.entity.CommentEntity;
+import com.blog.comment.domain.entity.CommentHistoryEntity;
 import com.blog.comment.domain.entity.CommentLikeEntity;
 import com.blog.comment.domain.entity.CommentReportEntity;
+import com.blog.comment.domain.event.CommentEditedEvent;
 import com.blog.comment.domain.event.CommentLikedEvent;
 import com.blog.comment.domain.event.CommentRepliedEvent;
 import com.blog.comment.domain.event.CommentReportedEvent;
+import com.blog.comment.domain.event.CommentStatusChangedEvent;
 import com.blog.comment.domain.event.CommentUnlikedEvent;
 import com.blog.comment.domain.event.UserMentionedEvent;
+import com.blog.comment.domain.history.LineDiff;
 import com.blog.comment.domain.parser.MentionParser;
+import com.blog.comment.domain.processor.CommentDuplicateProcessor;
 import com.blog.comment.domain.processor.CommentProcessorChain;
 import com.blog.comment.domain.processor.ProcessContext;
 import com.blog.comment.domain.state.CommentState;
 import com.blog.comment.domain.state.CommentStateFactory;
 import com.blog.comment.infrastructure.converter.CommentConverter;
+import com.blog.comment.infrastructure.counter.CommentCounterManager;
+import com.blog.comment.infrastructure.history.CommentHistoryWriter;
+import com.blog.comment.infrastructure.mapper.CommentArchiveMapper;
+import com.blog.comment.infrastructure.mapper.CommentHistoryMapper;
 import com.blog.comment.infrastructure.mapper.CommentMapper;
+import com.blog.comment.infrastructure.ranking.CommentHotRanking;
 import com.blog.comment.metrics.CommentMetrics;
 import com.blog.comment.service.ICommentService;
 import com.blog.common.base.BaseServiceImpl;
 import com.blog.common.exception.BusinessException;
+import com.blog.common.exception.OperationFailedException;
 import com.blog.common.exception.SystemErrorCode;
 import com.blog.common.model.PageResult;
 import com.blog.common.utils.SecurityUtils;
 import com.blog.common.utils.TreeBuilder;
+import com.blog.system.api.RemoteUserService;
+import com.blog.system.api.dto.UserDTO;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -62,6 +87,11 @@ public class CommentServiceImpl
      */
     private static final int MAX_DEPTH = 5;
 
+    /**
+     * 疑似重复评论的审核原因
+     */
+    private static final String DUPLICATE_AUDIT_REASON = "疑似重复内容";
+
     private final TreeBuilder<CommentTreeVO, String> treeBuilder;
     private final CommentStateFactory stateFactory;
     private final CommentProcessorChain processorChain;
@@ -71,6 +101,12 @@ public class CommentServiceImpl
     private final MentionParser mentionParser;
     private final ObjectMapper objectMapper;
     private final CommentMetrics commentMetrics;
+    private final CommentCounterManager counterManager;
+    private final CommentHistoryMapper historyMapper;
+    private final CommentHistoryWriter historyWriter;
+    private final RemoteUserService remoteUserService;
+    private final CommentHotRanking hotRanking;
+    private final CommentArchiveMapper archiveMapper;
 
     public CommentServiceImpl(CommentConverter converter,
             CommentStateFactory stateFactory,
@@ -80,7 +116,13 @@ public class CommentServiceImpl
             org.springframework.context.ApplicationEventPublisher applicationEventPublisher,
             MentionParser mentionParser,
             ObjectMapper objectMapper,
-            CommentMetrics commentMetrics) {
+            CommentMetrics commentMetrics,
+            CommentCounterManager counterManager,
+            CommentHistoryMapper historyMapper,
+            CommentHistoryWriter historyWriter,
+            RemoteUserService remoteUserService,
+            CommentHotRanking hotRanking,
+            CommentArchiveMapper archiveMapper) {
         super(converter);
         this.stateFactory = stateFactory;
         this.processorChain = processorChain;
@@ -90,14 +132,38 @@ public class CommentServiceImpl
         this.mentionParser = mentionParser;
         this.objectMapper = objectMapper;
         this.commentMetrics = commentMetrics;
+        this.counterManager = counterManager;
+        this.historyMapper = historyMapper;
+        this.historyWriter = historyWriter;
+        this.remoteUserService = remoteUserService;
+        this.hotRanking = hotRanking;
+        this.archiveMapper = archiveMapper;
         this.treeBuilder = new TreeBuilder<>(
                 CommentTreeVO::getId,
                 CommentTreeVO::getParentId,
                 CommentTreeVO::setChildren);
     }
 
+    /**
+     * 启用评论ID布隆过滤器，{@link #getVoById} 直接拒绝不存在的评论ID
+     */
+    @Override
+    protected String bloomFilterName() {
+        return "comment";
+    }
+
     @Override
     protected void preSave(CommentEntity entity) {
+        preSave(entity, null);
+    }
+
+    /**
+     * 保存前处理
+     *
+     * @param entity    评论实体
+     * @param publisher 重复检测的发布主体，为 null 时不检测
+     */
+    private void preSave(CommentEntity entity, String publisher) {
         // 设置默认状态为待审核
         if (Objects.isNull(entity.getStatus())) {
             entity.setStatus(CommentStatus.PENDING);
@@ -111,20 +177,24 @@ public class CommentServiceImpl
             entity.setReplyCount(0);
         }
 
-        // ✅ Phase 4: 内容处理链（XSS过滤 → 敏感词过滤 → Markdown渲染）
-        ProcessContext context = processorChain.execute(entity.getContent());
+        // ✅ Phase 4: 内容处理链（重复检测 → XSS过滤 → 敏感词过滤 → Markdown渲染）
+        ProcessContext context = processorChain.execute(entity.getContent(), duplicateCheckMetadata(publisher));
 
         if (!context.isPassed()) {
             throw new BusinessException(SystemErrorCode.PARAM_ERROR,
                     "评论内容不合规: " + context.getFailureReason());
         }
+        if (context.getMetadata().containsKey(CommentDuplicateProcessor.METADATA_DUPLICATE)) {
+            entity.setAuditReason(DUPLICATE_AUDIT_REASON);
+        }
 
         // 更新处理后的内容和HTML
         entity.setContent(context.getProcessedContent());
         entity.setContentHtml(context.getRenderedHtml());
 
-        // ✅ Phase 6: 解析 @mention
+        // ✅ Phase 6: 解析 @mention（基于处理后的内容，结果随实体传给 saveByDto 发布事件）
         Set<Long> mentionedUserIds = mentionParser.parseMentions(entity.getContent());
+        entity.setMentionedUserIdSet(mentionedUserIds);
         if (!mentionedUserIds.isEmpty()) {
             try {
                 entity.setMentionedUserIds(objectMapper.writeValueAsString(mentionedUserIds));
@@ -194,33 +264,71 @@ public class CommentServiceImpl
 
             log.debug("评论内容已重新渲染: contentHtml={}",
                     entity.getContentHtml() != null ? "已渲染" : "未渲染");
+
+            // ✅ 记录编辑历史（处理后内容仍有变化时），事务提交后由 CommentHistoryWriter 异步写入
+            if (!existing.getContent().equals(entity.getContent())) {
+                LocalDateTime editTime = LocalDateTime.now();
+                entity.setIsEdited(true);
+                entity.setEditTime(editTime);
+                applicationEventPublisher.publishEvent(new CommentEditedEvent(
+                        entity.getId(), existing.getVersion(), existing.getContent(), entity.getContent(),
+                        entity.getEditReason(), SecurityUtils.getCurrentUserId(), editTime));
+            }
         }
     }
 
     /**
-     * 重写保存方法，处理根评论的 path 和 rootId
-     * Phase 7 优化：在保存前解析 @mention，避免依赖 getById 查询
+     * 更新评论（事务内执行，更新失败回滚时不会产生编辑历史）
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public boolean updateByDto(CommentDTO dto) {
+        return super.updateByDto(dto);
+    }
+
+    /**
+     * 重写保存方法，处理根评论的 path 和 rootId（不做重复检测）
      */
     @Override
     @Transactional(rollbackFor = Exception.class)
     public Serializable saveByDto(CommentDTO dto) {
-        // ✅ Phase 7: 在保存前解析 @mention（避免缓存问题）
-        Set<Long> mentionedUserIds = mentionParser.parseMentions(dto.getContent());
+        return saveComment(dto, null);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public Long createComment(CommentDTO dto, String publisher) {
+        return saveComment(dto, publisher);
+    }
+
+    /**
+     * 保存评论
+     * <p>
+     * @mention 只在 preSave 中解析一次，解析结果随实体带回，用于发布提及事件
+     */
+    private Long saveComment(CommentDTO dto, String publisher) {
         Long currentUserId = SecurityUtils.getCurrentUserId();
 
-        // 调用父类保存
-        Long commentId = (Long) super.saveByDto(dto);
-        CommentEntity entity = getById(commentId);
+        validate(dto);
+        CommentEntity entity = converter.dtoToEntity(dto);
+        preSave(entity, publisher);
+        if (!save(entity)) {
+            throw new OperationFailedException("实体保存失败", entity);
+        }
+        Long commentId = entity.getId();
+        recordInserted(commentId);
 
         // 如果是根评论（parentId 为 null），更新 path 和 rootId
         if (dto.getParentId() == null) {
-            entity.setPath("/" + commentId + "/");
-            entity.setRootId(commentId);
-            updateById(entity);
-            log.debug("根评论后置更新: id={}, path={}, rootId={}", commentId, entity.getPath(), entity.getRootId());
+            update(new LambdaUpdateWrapper<CommentEntity>()
+                    .set(CommentEntity::getPath, "/" + commentId + "/")
+                    .set(CommentEntity::getRootId, commentId)
+                    .eq(CommentEntity::getId, commentId));
+            log.debug("根评论后置更新: id={}, rootId={}", commentId, commentId);
         }
 
-        // ✅ Phase 7: 发布 @mention 事件（使用预先解析的结果）
+        // ✅ Phase 7: 发布 @mention 事件（使用 preSave 的解析结果）
+        Set<Long> mentionedUserIds = entity.getMentionedUserIdSet();
         if (!mentionedUserIds.isEmpty()) {
             applicationEventPublisher.publishEvent(
                     new UserMentionedEvent(commentId, mentionedUserIds, currentUserId));
@@ -252,7 +360,7 @@ public class CommentServiceImpl
 
     @Override
     @Transactional(rollbackFor = Exception.class)
-    public Long replyComment(CommentDTO dto) {
+    public Long replyComment(CommentDTO dto, String publisher) {
         // 校验父评论存在
         if (dto.getParentId() == null) {
             throw new BusinessException(SystemErrorCode.PARAM_ERROR,
@@ -260,7 +368,7 @@ public class CommentServiceImpl
         }
 
         // 保存评论（preSave会处理树形字段）
-        Long commentId = (Long) saveByDto(dto);
+        Long commentId = saveComment(dto, publisher);
 
         // 更新path字段（需要用到ID）
         CommentEntity entity = getById(commentId);
@@ -277,9 +385,7 @@ public class CommentServiceImpl
 
         updateById(entity);
 
-        // 更新父评论的reply_count
-        parent.setReplyCount(parent.getReplyCount() + 1);
-        updateById(parent);
+        // 父评论的 reply_count 只统计已通过的回复，由审核通过时的状态变更事件原子累加
 
         return commentId;
     }
@@ -293,15 +399,211 @@ public class CommentServiceImpl
                 .eq(CommentEntity::getStatus, CommentStatus.APPROVED)
                 .orderByAsc(CommentEntity::getCreateTime));
 
+        // 合并已归档的评论（已归档文章下的评论整体迁入归档表）
+        List<CommentEntity> archived = archiveMapper.selectApprovedByTarget(
+                targetType.getCode(), targetId, CommentStatus.APPROVED.getCode());
+        if (!archived.isEmpty()) {
+            entities = new ArrayList<>(entities);
+            entities.addAll(archived);
+            entities.sort(Comparator.comparing(CommentEntity::getCreateTime,
+                    Comparator.nullsLast(Comparator.naturalOrder())));
+        }
+
         // 转换为 TreeVO
         List<CommentTreeVO> flatList = entities.stream()
                 .map(this::entityToTreeVO)
                 .collect(Collectors.toList());
 
+        // 填充评论者昵称和头像（整棵树一次批量查询）
+        fillAuthors(flatList);
+
         // 组装树形结构
         return treeBuilder.buildForest(flatList);
     }
 
+    @Override
+    public List<CommentTreeVO> listHotComments(CommentTargetType targetType, Long targetId, int limit) {
+        List<Long> ids = hotRanking.top(targetType, targetId, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // 排行与评论状态之间可能存在短暂延迟，以评论表为准过滤
+        Map<Long, CommentEntity> entities = listByIds(ids).stream()
+                .filter(entity -> entity.getStatus() == CommentStatus.APPROVED)
+                .collect(Collectors.toMap(CommentEntity::getId, Function.identity()));
+        List<CommentTreeVO> hot = ids.stream()
+                .map(entities::get)
+                .filter(Objects::nonNull)
+                .map(this::entityToTreeVO)
+                .collect(Collectors.toList());
+        fillAuthors(hot);
+        return hot;
+    }
+
+    @Override
+    public long getCommentCount(CommentTargetType targetType, Long targetId) {
+        return counterManager.getVisibleCount(targetType, targetId);
+    }
+
+    @Override
+    public List<CommentRevisionVO> listRevisions(Long commentId) {
+        getVisibleComment(commentId);
+
+        // 列表只返回修订元信息，不读取内容和补丁
+        List<CommentHistoryEntity> unwritten = historyWriter.listUnwritten(commentId);
+        List<CommentHistoryEntity> histories = mergeUnwritten(historyMapper.selectList(
+                new LambdaQueryWrapper<CommentHistoryEntity>()
+                        .select(CommentHistoryEntity::getId, CommentHistoryEntity::getBaseVersion,
+                                CommentHistoryEntity::getEditReason, CommentHistoryEntity::getCreateBy,
+                                CommentHistoryEntity::getCreateTime)
+                        .eq(CommentHistoryEntity::getCommentId, commentId)
+                        .orderByAsc(CommentHistoryEntity::getBaseVersion, CommentHistoryEntity::getId)), unwritten);
+
+        List<CommentRevisionVO> revisions = new ArrayList<>(histories.size() + 1);
+        for (int i = 0; i < histories.size(); i++) {
+            revisions.add(toRevisionVO(commentId, i, histories.get(i), null));
+        }
+        revisions.add(toRevisionVO(commentId, histories.size(), null, null));
+        return revisions;
+    }
+
+    /**
+     * 还原指定修订版本
+     * <p>
+     * 第 i 条历史记录保存修订 i 的内容：关键帧为完整内容，其余为"修订 i+1 → 修订 i"的逆向补丁。
+     * 从修订号之后最近的关键帧（没有则从当前内容）出发，逆序回放补丁直到目标修订。
+     */
+    @Override
+    public CommentRevisionVO getRevision(Long commentId, int revision) {
+        CommentEntity comment = getVisibleComment(commentId);
+
+        List<CommentHistoryEntity> unwritten = historyWriter.listUnwritten(commentId);
+        List<CommentHistoryEntity> histories = mergeUnwritten(historyMapper.selectList(
+                new LambdaQueryWrapper<CommentHistoryEntity>()
+                        .eq(CommentHistoryEntity::getCommentId, commentId)
+                        .orderByAsc(CommentHistoryEntity::getBaseVersion, CommentHistoryEntity::getId)), unwritten);
+        if (revision < 0 || revision > histories.size()) {
+            throw new BusinessException(SystemErrorCode.NOT_FOUND, "修订版本不存在: " + revision);
+        }
+        if (revision == histories.size()) {
+            return toRevisionVO(commentId, revision, null, comment.getContent());
+        }
+
+        int start = revision;
+        while (start < histories.size() && histories.get(start).getOldContent() == null) {
+            start++;
+        }
+        String content = start < histories.size() ? histories.get(start).getOldContent() : comment.getContent();
+        try {
+            for (int i = start - 1; i >= revision; i--) {
+                content = LineDiff.apply(content, histories.get(i).getDiffPatch());
+            }
+        } catch (IllegalArgumentException e) {
+            log.error("评论修订还原失败（编辑历史不完整）: commentId={}, revision={}", commentId, revision, e);
+            throw new BusinessException(SystemErrorCode.OPERATION_FAILED, "该修订版本无法还原，编辑历史不完整");
+        }
+        return toRevisionVO(commentId, revision, histories.get(revision), content);
+    }
+
+    /**
+     * 查询修订历史的评论，可见性与评论读取一致：已通过的评论公开，其余只对作者和管理员可见
+     * <p>
+     * 不可见时与不存在返回相同错误，不暴露评论是否存在
+     */
+    private CommentEntity getVisibleComment(Long commentId) {
+        CommentEntity comment = getById(commentId);
+        if (comment == null || !isVisibleToCurrentUser(comment)) {
+            throw new BusinessException(SystemErrorCode.NOT_FOUND, "评论不存在");
+        }
+        return comment;
+    }
+
+    private static boolean isVisibleToCurrentUser(CommentEntity comment) {
+        if (comment.getStatus() == CommentStatus.APPROVED) {
+            return true;
+        }
+        Long userId = SecurityUtils.getCurrentUserId();
+        return (userId != null && userId.equals(comment.getCreateBy())) || SecurityUtils.hasRole("ROLE_ADMIN");
+    }
+
+    /**
+     * 合并尚未写库的编辑历史：同一编辑前版本号以数据库记录为准，结果按版本号升序
+     */
+    private static List<CommentHistoryEntity> mergeUnwritten(List<CommentHistoryEntity> histories,
+                                                             List<CommentHistoryEntity> unwritten) {
+        if (unwritten.isEmpty()) {
+            return histories;
+        }
+        Set<Integer> written = histories.stream()
+                .map(CommentHistoryEntity::getBaseVersion)
+                .collect(Collectors.toSet());
+        List<CommentHistoryEntity> merged = new ArrayList<>(histories);
+        unwritten.stream()
+                .filter(history -> !written.contains(history.getBaseVersion()))
+                .forEach(merged::add);
+        // 稳定排序，同一版本号保持数据库中的ID顺序
+        merged.sort(Comparator.comparing(CommentHistoryEntity::getBaseVersion,
+                Comparator.nullsFirst(Comparator.naturalOrder())));
+        return merged;
+    }
+
+    /**
+     * 重复检测的处理链元数据：没有发布主体时不检测
+     */
+    private static Map<String, Object> duplicateCheckMetadata(String publisher) {
+        return publisher == null ? Map.of() : Map.of(CommentDuplicateProcessor.METADATA_SUBJECT, publisher);
+    }
+
+    private CommentRevisionVO toRevisionVO(Long commentId, int revision, CommentHistoryEntity history,
+                                           String content) {
+        CommentRevisionVO vo = new CommentRevisionVO();
+        vo.setCommentId(commentId.toString());
+        vo.setRevision(revision);
+        vo.setCurrent(history == null);
+        vo.setContent(content);
+        if (history != null) {
+            vo.setEditReason(history.getEditReason());
+            vo.setEditorId(history.getCreateBy() != null ? history.getCreateBy().toString() : null);
+            vo.setReplacedTime(history.getCreateTime());
+        }
+        return vo;
+    }
+
+    /**
+     * 批量填充评论者信息
+     * <p>
+     * 用户信息只用于展示，查询失败时不影响评论树返回
+     */
+    private void fillAuthors(List<CommentTreeVO> comments) {
+        List<Long> userIds = comments.stream()
+                .map(CommentTreeVO::getCreateBy)
+                .filter(Objects::nonNull)
+                .map(Long::valueOf)
+                .distinct()
+                .toList();
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        Map<String, UserDTO> users;
+        try {
+            users = remoteUserService.getUsersByIds(userIds).stream()
+                    .collect(Collectors.toMap(user -> user.getId().toString(), Function.identity(), (a, b) -> a));
+        } catch (Exception e) {
+            log.warn("批量查询评论者信息失败，评论树不含昵称和头像: users={}", userIds.size(), e);
+            return;
+        }
+
+        comments.forEach(comment -> {
+            UserDTO user = comment.getCreateBy() == null ? null : users.get(comment.getCreateBy());
+            if (user != null) {
+                comment.setAuthorNickname(StringUtils.defaultIfBlank(user.getNickname(), user.getUsername()));
+                comment.setAuthorAvatar(user.getAvatar());
+            }
+        });
+    }
+
     /**
      * Entity 转 TreeVO
      */
@@ -335,11 +637,13 @@ public class CommentServiceImpl
         }
 
         // 获取状态处理器并执行审核通过操作
-        CommentState state = stateFactory.getState(comment.getStatus());
+        CommentStatus from = comment.getStatus();
+        CommentState state = stateFactory.getState(from);
         state.approve(comment);
 
         // 更新数据库
-        updateById(comment);
+        updateStatus(comment);
+        publishStatusChanged(List.of(toChange(comment, from)));
 
         // 记录 Micrometer 指标
         commentMetrics.recordApprove();
@@ -353,10 +657,12 @@ public class CommentServiceImpl
             throw new BusinessException(SystemErrorCode.NOT_FOUND, "评论不存在");
         }
 
-        CommentState state = stateFactory.getState(comment.getStatus());
+        CommentStatus from = comment.getStatus();
+        CommentState state = stateFactory.getState(from);
         state.reject(comment, reason);
 
-        updateById(comment);
+        updateStatus(comment);
+        publishStatusChanged(List.of(toChange(comment, from)));
     }
 
     @Override
@@ -373,10 +679,12 @@ public class CommentServiceImpl
         // throw new BusinessException(SystemErrorCode.ACCESS_DENIED, "无权删除他人评论");
         // }
 
-        CommentState state = stateFactory.getState(comment.getStatus());
+        CommentStatus from = comment.getStatus();
+        CommentState state = stateFactory.getState(from);
         state.deleteByUser(comment);
 
-        updateById(comment);
+        updateStatus(comment);
+        publishStatusChanged(List.of(toChange(comment, from)));
     }
 
     @Override
@@ -387,10 +695,159 @@ public class CommentServiceImpl
             throw new BusinessException(SystemErrorCode.NOT_FOUND, "评论不存在");
         }
 
-        CommentState state = stateFactory.getState(comment.getStatus());
+        CommentStatus from = comment.getStatus();
+        CommentState state = stateFactory.getState(from);
         state.deleteByAdmin(comment, reason);
 
-        updateById(comment);
+        updateStatus(comment);
+        publishStatusChanged(List.of(toChange(comment, from)));
+    }
+
+    /**
+     * 按乐观锁版本写入状态转换，版本不符（如已被批量审核修改）时不发布状态变更事件
+     */
+    private void updateStatus(CommentEntity comment) {
+        if (!updateById(comment)) {
+            throw new BusinessException(SystemErrorCode.OPERATION_FAILED, "评论状态已被并发修改，请刷新后重试");
+        }
+    }
+
+    // ========== 批量审核 ==========
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public BatchOperationResultVO batchApproveComments(List<Long> ids) {
+        BatchOperationResultVO result = batchTransition(ids, (state, comment) -> state.approve(comment), null);
+        // 记录 Micrometer 指标
+        for (int i = 0; i < result.getSuccessCount(); i++) {
+            commentMetrics.recordApprove();
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public BatchOperationResultVO batchRejectComments(List<Long> ids, String reason) {
+        requireReason(reason);
+        return batchTransition(ids, (state, comment) -> state.reject(comment, reason), reason);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public BatchOperationResultVO batchDeleteCommentsByAdmin(List<Long> ids, String reason) {
+        requireReason(reason);
+        return batchTransition(ids, (state, comment) -> state.deleteByAdmin(comment, reason), reason);
+    }
+
+    /**
+     * 批量执行评论状态转换
+     *
+     * <ol>
+     * <li>一次加锁查询（{@code SELECT ... FOR UPDATE}）加载全部评论，事务提交前其他写入等待</li>
+     * <li>在内存中逐条执行状态机转换，非法转换记为失败，不影响其他评论</li>
+     * <li>按（原状态 → 目标状态）分组，每组一条 UPDATE，同时递增乐观锁版本，
+     * 读取后、加锁前已开始的单条审核会因版本不符而失败</li>
+     * <li>成功的变更合并为一个状态变更事件发布（计数维护）</li>
+     * </ol>
+     *
+     * @param ids         评论ID列表
+     * @param transition  状态转换动作
+     * @param auditReason 本次转换写入的审核原因，为 null 时不修改原有原因
+     * @return 逐条处理结果（顺序与请求一致）
+     */
+    private BatchOperationResultVO batchTransition(List<Long> ids,
+                                                   BiConsumer<CommentState, CommentEntity> transition,
+                                                   String auditReason) {
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinctIds.isEmpty()) {
+            return new BatchOperationResultVO();
+        }
+        // 评论ID → 失败原因（null 表示成功），保持请求顺序
+        Map<Long, String> outcomes = new LinkedHashMap<>();
+        distinctIds.forEach(id -> outcomes.put(id, null));
+
+        Map<Long, CommentEntity> comments = list(new LambdaQueryWrapper<CommentEntity>()
+                .in(CommentEntity::getId, distinctIds)
+                .last("FOR UPDATE"))
+                .stream()
+                .collect(Collectors.toMap(CommentEntity::getId, Function.identity()));
+
+        // (原状态, 目标状态) → 完成转换的评论
+        Map<Pair<CommentStatus, CommentStatus>, List<CommentEntity>> groups = new LinkedHashMap<>();
+        for (Long id : distinctIds) {
+            CommentEntity comment = comments.get(id);
+            if (comment == null) {
+                outcomes.put(id, "评论不存在");
+                continue;
+            }
+            CommentStatus from = comment.getStatus();
+            try {
+                transition.accept(stateFactory.getState(from), comment);
+            } catch (BusinessException e) {
+                outcomes.put(id, e.getMessage());
+                continue;
+            }
+            groups.computeIfAbsent(Pair.of(from, comment.getStatus()), k -> new ArrayList<>())
+                    .add(comment);
+        }
+
+        groups.forEach((statusTransition, group) -> {
+            List<Long> groupIds = group.stream().map(CommentEntity::getId).toList();
+            CommentEntity patch = new CommentEntity();
+            patch.setStatus(statusTransition.getRight());
+            patch.setAuditReason(auditReason);
+
+            int updated = baseMapper.update(patch, new LambdaUpdateWrapper<CommentEntity>()
+                    .setSql("version = version + 1")
+                    .in(CommentEntity::getId, groupIds)
+                    .eq(CommentEntity::getStatus, statusTransition.getLeft()));
+            // 行已加锁，行数不符说明数据异常，整批回滚而不是猜测哪些行被本次更新
+            if (updated != groupIds.size()) {
+                throw new OperationFailedException("批量更新评论状态的行数与预期不符，已回滚", groupIds);
+            }
+        });
+
+        List<CommentStatusChangedEvent.Change> changes = new ArrayList<>();
+        groups.forEach((statusTransition, group) ->
+                group.forEach(comment -> changes.add(toChange(comment, statusTransition.getLeft()))));
+        publishStatusChanged(changes);
+
+        BatchOperationResultVO result = toBatchResult(outcomes);
+        log.info("批量审核评论完成: total={}, success={}, failure={}, groups={}",
+                result.getTotal(), result.getSuccessCount(), result.getFailureCount(), groups.keySet());
+        return result;
+    }
+
+    /**
+     * 将逐条处理结果（ID → 失败原因，null 表示成功）转换为 VO
+     */
+    private BatchOperationResultVO toBatchResult(Map<Long, String> outcomes) {
+        BatchOperationResultVO result = new BatchOperationResultVO();
+        outcomes.forEach((id, failure) -> {
+            if (failure == null) {
+                result.succeed(id);
+            } else {
+                result.fail(id, failure);
+            }
+        });
+        return result;
+    }
+
+    private CommentStatusChangedEvent.Change toChange(CommentEntity comment, CommentStatus from) {
+        return new CommentStatusChangedEvent.Change(comment.getId(), comment.getTargetType(),
+                comment.getTargetId(), comment.getParentId(), from, comment.getStatus(), comment.getCreateTime());
+    }
+
+    private void publishStatusChanged(List<CommentStatusChangedEvent.Change> changes) {
+        if (!changes.isEmpty()) {
+            applicationEventPublisher.publishEvent(new CommentStatusChangedEvent(changes));
+        }
+    }
+
+    private void requireReason(String reason) {
+        if (StringUtils.isBlank(reason)) {
+            throw new BusinessException(SystemErrorCode.PARAM_ERROR, "原因不能为空");
+        }
     }
 
     // ========== Phase 5: 点赞和举报功能 ==========
@@ -509,6 +966,70 @@ public class CommentServiceImpl
                 reportId, report.getCommentId(), remark);
     }
 
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public BatchOperationResultVO batchApproveReports(List<Long> reportIds, String remark) {
+        return batchAuditReports(reportIds, ReportStatus.APPROVED, remark);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public BatchOperationResultVO batchRejectReports(List<Long> reportIds, String remark) {
+        return batchAuditReports(reportIds, ReportStatus.REJECTED, remark);
+    }
+
+    /**
+     * 批量审核举报：一次查询加载，仅待处理的举报参与一条批量 UPDATE
+     */
+    private BatchOperationResultVO batchAuditReports(List<Long> reportIds, ReportStatus target, String remark) {
+        List<Long> distinctIds = reportIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinctIds.isEmpty()) {
+            return new BatchOperationResultVO();
+        }
+        Map<Long, String> outcomes = new LinkedHashMap<>();
+        distinctIds.forEach(id -> outcomes.put(id, null));
+
+        Map<Long, CommentReportEntity> reports = commentReportMapper.selectList(
+                        new LambdaQueryWrapper<CommentReportEntity>()
+                                .in(CommentReportEntity::getId, distinctIds))
+                .stream()
+                .collect(Collectors.toMap(CommentReportEntity::getId, Function.identity()));
+
+        List<Long> pendingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            CommentReportEntity report = reports.get(id);
+            if (report == null) {
+                outcomes.put(id, "举报记录不存在");
+            } else if (report.getStatus() != ReportStatus.PENDING) {
+                outcomes.put(id, "该举报已处理，无法重复审核");
+            } else {
+                pendingIds.add(id);
+            }
+        }
+
+        if (!pendingIds.isEmpty()) {
+            CommentReportEntity patch = new CommentReportEntity();
+            patch.setStatus(target);
+            patch.setAdminRemark(remark);
+            int updated = commentReportMapper.update(patch, new LambdaUpdateWrapper<CommentReportEntity>()
+                    .in(CommentReportEntity::getId, pendingIds)
+                    .eq(CommentReportEntity::getStatus, ReportStatus.PENDING));
+            if (updated != pendingIds.size()) {
+                commentReportMapper.selectList(new LambdaQueryWrapper<CommentReportEntity>()
+                                .select(CommentReportEntity::getId, CommentReportEntity::getStatus)
+                                .in(CommentReportEntity::getId, pendingIds))
+                        .stream()
+                        .filter(report -> report.getStatus() != target)
+                        .forEach(report -> outcomes.put(report.getId(), "该举报已处理，无法重复审核"));
+            }
+        }
+
+        BatchOperationResultVO result = toBatchResult(outcomes);
+        log.info("管理员批量审核举报: target={}, total={}, success={}, failure={}, remark={}",
+                target, result.getTotal(), result.getSuccessCount(), result.getFailureCount(), remark);
+        return result;
+    }
+
     // ========== Micrometer 指标查询方法 ==========
 
     /**
@@ -550,6 +1071,15 @@ public class CommentServiceImpl
         // 构造分页对象
         Page<CommentEntity> page = new Page<>(query.getPageNum(), query.getPageSize());
 
+        // 按需查询归档表
+        if (Boolean.TRUE.equals(query.getArchived())) {
+            Integer statusCode = StringUtils.isEmpty(query.getStatus())
+                    ? null
+                    : CommentStatus.valueOf(query.getStatus()).getCode();
+            return PageResult.of(archiveMapper.selectArchivePage(page, query, statusCode)
+                    .convert(converter::entityToVo));
+        }
+
         // 构建查询条件（管理端版本）
         LambdaQueryWrapper<CommentEntity> wrapper = buildQueryWrapperForAdmin(query);
 
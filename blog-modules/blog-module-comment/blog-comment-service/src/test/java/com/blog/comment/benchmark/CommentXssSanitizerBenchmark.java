@@ -0,0 +1,103 @@
+package com.blog.comment.benchmark;
+
+import com.blog.comment.domain.sanitizer.CommentHtmlSanitizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 评论 XSS 清洗基准测试：单遍白名单清洗器 vs 旧版逐词正则替换
+ *
+ * <p>
+ * 不参与常规 {@code mvn test}，需要时直接运行 {@link #main(String[])}。
+ * 样本为中文正文 + Markdown 语法 + 少量 HTML/脚本片段，长度覆盖短评、普通评论和长评。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommentXssSanitizerBenchmark {
+
+    /**
+     * 旧版实现使用的危险片段（每次调用都会编译为正则）
+     */
+    private static final String[] LEGACY_DANGEROUS_TAGS = {
+            "<script", "</script>",
+            "<iframe", "</iframe>",
+            "javascript:",
+            "onerror=",
+            "onload=",
+            "onclick=",
+            "<object", "</object>",
+            "<embed"
+    };
+
+    private static final String[] FRAGMENTS = {
+            "这篇文章写得很好，**受益匪浅**。",
+            "我补充一点：`Map.merge` 在并发场景下要注意原子性。",
+            "> 引用楼上的观点\n",
+            "参考链接 [官方文档](https://docs.spring.io) 。",
+            "<b>重点</b> 是缓存的一致性，",
+            "a < b 的时候直接返回，",
+            "<img src=x onerror=alert(1)>",
+            "<script>alert('xss')</script>",
+            "- 列表项一\n- 列表项二\n"
+    };
+
+    @Param({"120", "1000", "5000"})
+    private int length;
+
+    private String content;
+
+    @Setup
+    public void setUp() {
+        StringBuilder sb = new StringBuilder(length + 64);
+        int i = 0;
+        while (sb.length() < length) {
+            sb.append(FRAGMENTS[i++ % FRAGMENTS.length]);
+        }
+        content = sb.toString();
+    }
+
+    @Benchmark
+    public String singlePassSanitizer() {
+        return CommentHtmlSanitizer.sanitize(content);
+    }
+
+    @Benchmark
+    public String legacyRegexFilter() {
+        String result = content;
+        for (String dangerousTag : LEGACY_DANGEROUS_TAGS) {
+            result = result.replaceAll("(?i)" + dangerousTag, "");
+        }
+        return result.replace("<", "&lt;")
+                .replace(">", "&gt;");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CommentXssSanitizerBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
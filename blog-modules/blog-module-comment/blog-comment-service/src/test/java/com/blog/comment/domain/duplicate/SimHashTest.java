@@ -0,0 +1,64 @@
+package com.blog.comment.domain.duplicate;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SimHash 功能测试
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+class SimHashTest {
+
+    private static final String SPAM = "加微信领取免费会员，每天都有福利发放，名额有限先到先得，快来参加吧";
+
+    @Test
+    @DisplayName("改动个别字符和标点后指纹仍然相近")
+    void should_stayClose_when_textSlightlyChanged() {
+        // Given
+        String variant = "加微信领取免费会员!!每天都有福利发放，名额有限先到先得，快来参加呀～";
+
+        // When
+        int distance = SimHash.distance(SimHash.fingerprint(SPAM), SimHash.fingerprint(variant));
+
+        // Then
+        assertThat(distance).isLessThanOrEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("内容不同的评论指纹相距较远")
+    void should_beFar_when_textDifferent() {
+        // Given
+        String other = "这篇文章对 Spring 事务传播行为的分析很透彻，尤其是嵌套事务那一节";
+
+        // When
+        int distance = SimHash.distance(SimHash.fingerprint(SPAM), SimHash.fingerprint(other));
+
+        // Then
+        assertThat(distance).isGreaterThan(6);
+    }
+
+    @Test
+    @DisplayName("距离不超过 d 的指纹切分为 d + 1 段时至少一段相同")
+    void should_shareBand_when_withinDistance() {
+        // Given：翻转 6 个分散的位
+        long fingerprint = SimHash.fingerprint(SPAM);
+        long flipped = fingerprint ^ (1L | 1L << 11 | 1L << 23 | 1L << 35 | 1L << 47 | 1L << 63);
+
+        // When
+        long[] a = SimHash.bands(fingerprint, 7);
+        long[] b = SimHash.bands(flipped, 7);
+
+        // Then
+        int shared = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                shared++;
+            }
+        }
+        assertThat(shared).isGreaterThanOrEqualTo(1);
+    }
+}
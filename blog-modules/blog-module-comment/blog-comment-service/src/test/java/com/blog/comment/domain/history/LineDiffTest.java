@@ -0,0 +1,63 @@
+package com.blog.comment.domain.history;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * LineDiff 功能测试
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+class LineDiffTest {
+
+    @Test
+    @DisplayName("长评论的单行修改只产生很小的补丁，并可精确还原")
+    void should_produceCompactPatch_when_singleLineEdited() {
+        // Given
+        String original = IntStream.range(0, 200)
+                .mapToObj(i -> "第 " + i + " 行评论内容")
+                .collect(Collectors.joining("\n"));
+        String edited = original.replace("第 100 行评论内容", "第 100 行已修改");
+
+        // When：逆向补丁，从编辑后内容还原编辑前内容
+        String patch = LineDiff.diff(edited, original);
+
+        // Then
+        assertThat(patch.length()).isLessThan(original.length() / 20);
+        assertThat(LineDiff.apply(edited, patch)).isEqualTo(original);
+    }
+
+    @Test
+    @DisplayName("插入、删除、空行与末尾换行均可往返还原")
+    void should_roundTrip_when_linesInsertedAndDeleted() {
+        // Given
+        String source = "a\nb\n\nc\nd\n";
+        String target = "a\nx\n\nc\ny\nz\n";
+
+        // When
+        String patch = LineDiff.diff(source, target);
+
+        // Then
+        assertThat(LineDiff.apply(source, patch)).isEqualTo(target);
+        assertThat(LineDiff.apply(target, LineDiff.diff(target, source))).isEqualTo(source);
+        assertThat(LineDiff.apply("", LineDiff.diff("", target))).isEqualTo(target);
+    }
+
+    @Test
+    @DisplayName("源内容与补丁不匹配时拒绝应用")
+    void should_reject_when_sourceMismatch() {
+        // Given
+        String patch = LineDiff.diff("a\nb", "a\nc");
+
+        // When & Then
+        assertThatThrownBy(() -> LineDiff.apply("a\nd", patch))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -1,5 +1,6 @@
 package com.blog.comment.domain.parser;
 
+import com.blog.comment.config.CommentProperties;
 import com.blog.system.api.service.IUserQueryService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -8,7 +9,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -34,7 +35,7 @@ class MentionParserTest {
 
     @BeforeEach
     void setUp() {
-        mentionParser = new MentionParser(userQueryService);
+        mentionParser = new MentionParser(userQueryService, new CommentProperties());
     }
 
     @Test
@@ -42,15 +43,15 @@ class MentionParserTest {
     void should_parseSingleMention_when_commentContainsOneMention() {
         // Given
         String content = "Hello @alice, nice to meet you!";
-        when(userQueryService.getUserIdsByUsernames(anyCollection()))
-                .thenReturn(List.of(100L));
+        when(userQueryService.getUserIdMapByUsernames(anyCollection()))
+                .thenReturn(Map.of("alice", 100L));
 
         // When
         Set<Long> result = mentionParser.parseMentions(content);
 
         // Then
         assertThat(result).contains(100L);
-        verify(userQueryService, times(1)).getUserIdsByUsernames(anyCollection());
+        verify(userQueryService, times(1)).getUserIdMapByUsernames(anyCollection());
     }
 
     @Test
@@ -58,8 +59,8 @@ class MentionParserTest {
     void should_parseMultipleMentions_when_commentContainsManyMentions() {
         // Given
         String content = "@alice and @bob_123 are here. @charlie too!";
-        when(userQueryService.getUserIdsByUsernames(anyCollection()))
-                .thenReturn(List.of(100L, 200L, 300L));
+        when(userQueryService.getUserIdMapByUsernames(anyCollection()))
+                .thenReturn(Map.of("alice", 100L, "bob_123", 200L, "charlie", 300L));
 
         // When
         Set<Long> result = mentionParser.parseMentions(content);
@@ -74,8 +75,8 @@ class MentionParserTest {
     void should_deduplicateMentions_when_sameUserMentionedMultipleTimes() {
         // Given
         String content = "Hi @alice, @alice are you there?";
-        when(userQueryService.getUserIdsByUsernames(anyCollection()))
-                .thenReturn(List.of(100L));
+        when(userQueryService.getUserIdMapByUsernames(anyCollection()))
+                .thenReturn(Map.of("alice", 100L));
 
         // When
         Set<Long> result = mentionParser.parseMentions(content);
@@ -84,6 +85,29 @@ class MentionParserTest {
         assertThat(result).hasSize(1).containsExactly(100L);
     }
 
+    @Test
+    @DisplayName("缓存 - 已解析和不存在的用户名都不再查询，失效后重新查询")
+    void should_resolveFromCache_when_usernameParsedBefore() {
+        // Given
+        when(userQueryService.getUserIdMapByUsernames(anyCollection()))
+                .thenReturn(Map.of("Alice", 100L));
+        mentionParser.parseMentions("@alice @ghost_user");
+
+        // When
+        Set<Long> cached = mentionParser.parseMentions("@ALICE again, @ghost_user?");
+
+        // Then
+        assertThat(cached).containsExactly(100L);
+        verify(userQueryService, times(1)).getUserIdMapByUsernames(anyCollection());
+
+        // When
+        mentionParser.invalidate("Alice");
+        mentionParser.parseMentions("@alice");
+
+        // Then
+        verify(userQueryService, times(2)).getUserIdMapByUsernames(anyCollection());
+    }
+
     @Test
     @DisplayName("无@mention时返回空集合")
     void should_returnEmpty_when_noMentions() {
@@ -95,7 +119,7 @@ class MentionParserTest {
 
         // Then
         assertThat(result).isEmpty();
-        verify(userQueryService, never()).getUserIdsByUsernames(anyCollection());
+        verify(userQueryService, never()).getUserIdMapByUsernames(anyCollection());
     }
 
     @Test
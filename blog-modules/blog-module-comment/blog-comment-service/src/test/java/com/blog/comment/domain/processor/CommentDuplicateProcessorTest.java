@@ -0,0 +1,119 @@
+package com.blog.comment.domain.processor;
+
+import com.blog.comment.config.CommentProperties;
+import com.blog.comment.infrastructure.duplicate.CommentFingerprintIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * CommentDuplicateProcessor 功能测试
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@ExtendWith(MockitoExtension.class)
+class CommentDuplicateProcessorTest {
+
+    private static final String CONTENT = "这是一条足够长的评论内容，用于重复检测";
+
+    @Mock
+    private CommentFingerprintIndex fingerprintIndex;
+
+    private CommentProperties commentProperties;
+    private CommentDuplicateProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        commentProperties = new CommentProperties();
+        processor = new CommentDuplicateProcessor(fingerprintIndex, commentProperties);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @DisplayName("指纹在事务提交后才写入索引")
+    void should_recordFingerprint_when_transactionCommits() {
+        // Given
+        when(fingerprintIndex.findNearest(eq("u1"), anyLong())).thenReturn(-1);
+
+        // When
+        ProcessResult result = processor.process(newContext());
+
+        // Then
+        assertThat(result.isSuccess()).isTrue();
+        verify(fingerprintIndex, never()).record(anyString(), anyLong());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(fingerprintIndex).record(eq("u1"), anyLong());
+    }
+
+    @Test
+    @DisplayName("事务回滚时不写入指纹，重试不会被判为重复")
+    void should_notRecordFingerprint_when_transactionRollsBack() {
+        // Given
+        when(fingerprintIndex.findNearest(eq("u1"), anyLong())).thenReturn(-1);
+
+        // When
+        processor.process(newContext());
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Then
+        verify(fingerprintIndex, never()).record(anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("REJECT 模式下重复评论处理失败，不写入指纹")
+    void should_rejectWithoutRecording_when_duplicateAndActionIsReject() {
+        // Given
+        commentProperties.getDuplicate().setAction(CommentProperties.DuplicateAction.REJECT);
+        when(fingerprintIndex.findNearest(eq("u1"), anyLong())).thenReturn(2);
+
+        // When
+        ProcessResult result = processor.process(newContext());
+
+        // Then
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).isEmpty();
+        verify(fingerprintIndex, never()).record(anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("FLAG 模式下重复评论放行并标记距离")
+    void should_flagDuplicate_when_actionIsFlag() {
+        // Given
+        when(fingerprintIndex.findNearest(eq("u1"), anyLong())).thenReturn(3);
+        ProcessContext context = newContext();
+
+        // When
+        ProcessResult result = processor.process(context);
+
+        // Then
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(context.getMetadata()).containsEntry(CommentDuplicateProcessor.METADATA_DUPLICATE, 3);
+    }
+
+    private static ProcessContext newContext() {
+        ProcessContext context = new ProcessContext(CONTENT);
+        context.getMetadata().put(CommentDuplicateProcessor.METADATA_SUBJECT, "u1");
+        return context;
+    }
+}
@@ -0,0 +1,52 @@
+package com.blog.comment.domain.processor;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CommentMarkdownProcessor 功能测试
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+class CommentMarkdownProcessorTest {
+
+    private final CommentMarkdownProcessor processor = new CommentMarkdownProcessor();
+
+    private String render(String content) {
+        ProcessContext context = new ProcessContext(content);
+        processor.process(context);
+        return context.getRenderedHtml();
+    }
+
+    @Test
+    @DisplayName("实体编码的伪协议链接渲染为 #")
+    void should_neutralizeHref_when_schemeIsEntityEncoded() {
+        // When
+        String html = render("[x](&#106;avascript:alert(1))");
+
+        // Then
+        assertThat(html).contains("href=\"#\"").doesNotContainIgnoringCase("javascript");
+    }
+
+    @Test
+    @DisplayName("不允许协议的图片去掉 src")
+    void should_dropSrc_when_imageSchemeIsNotAllowed() {
+        // When
+        String html = render("![x](JAVASCRIPT:alert(1))");
+
+        // Then
+        assertThat(html).contains("<img").doesNotContain("src=");
+    }
+
+    @Test
+    @DisplayName("http/https/mailto 及相对地址原样保留")
+    void should_keepHref_when_schemeIsAllowed() {
+        // When & Then
+        assertThat(render("[a](https://example.com/p)")).contains("href=\"https://example.com/p\"");
+        assertThat(render("[b](mailto:a@example.com)")).contains("href=\"mailto:a@example.com\"");
+        assertThat(render("[c](/articles/1)")).contains("href=\"/articles/1\"");
+    }
+}
@@ -0,0 +1,284 @@
+package com.blog.comment.domain.processor;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CommentProcessorChain 功能测试
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+class CommentProcessorChainTest {
+
+    private static final String TIMER_NAME = "blog.comments.processor.duration";
+
+    private SimpleMeterRegistry meterRegistry;
+    private List<String> calls;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        calls = new ArrayList<>();
+    }
+
+    @Test
+    @DisplayName("处理器按 order 排序执行，与注册顺序无关")
+    void should_runByOrder_when_registeredOutOfOrder() {
+        // Given
+        CommentProcessorChain chain = new CommentProcessorChain(List.of(
+                new RecordingProcessor(30, calls),
+                new UpperCaseProcessor(10, calls),
+                new ExclaimProcessor(20, calls),
+                new NoChangeProcessor(5, calls)), meterRegistry);
+
+        // When
+        ProcessContext context = chain.execute("abc");
+
+        // Then
+        assertThat(calls).containsExactly("NoChange", "UpperCase", "Exclaim", "Recording:ABC!");
+        assertThat(context.getProcessedContent()).isEqualTo("ABC!");
+    }
+
+    @Test
+    @DisplayName("相邻的可融合处理器只在阶段结束时写回内容，被独立处理器隔开的不融合")
+    void should_writeBackOnce_when_fusibleProcessorsAreAdjacent() {
+        // Given
+        CommentProcessorChain chain = new CommentProcessorChain(List.of(
+                new UpperCaseProcessor(10, calls),
+                new ContextProbeProcessor(20, calls),
+                new RecordingProcessor(30, calls),
+                new ExclaimProcessor(40, calls)), meterRegistry);
+
+        // When
+        ProcessContext context = chain.execute("abc");
+
+        // Then
+        assertThat(calls).containsExactly("UpperCase", "Probe:abc", "Recording:ABC", "Exclaim");
+        assertThat(context.getProcessedContent()).isEqualTo("ABC!");
+    }
+
+    @Test
+    @DisplayName("中间处理器未改变内容时忽略其输出，下一处理器读取上一次的结果且不覆盖输入缓冲区")
+    void should_keepPreviousOutput_when_middleProcessorReportsNoChange() {
+        // Given
+        CommentProcessorChain chain = new CommentProcessorChain(List.of(
+                new UpperCaseProcessor(10, calls),
+                new NoChangeProcessor(20, calls),
+                new ExclaimProcessor(30, calls)), meterRegistry);
+
+        // When
+        ProcessContext first = chain.execute("abc");
+        ProcessContext second = chain.execute("xyz");
+
+        // Then
+        assertThat(first.getProcessedContent()).isEqualTo("ABC!");
+        assertThat(second.getProcessedContent()).isEqualTo("XYZ!");
+    }
+
+    @Test
+    @DisplayName("融合阶段内容未变化时保留原字符串，空白内容不进入融合阶段")
+    void should_keepOriginalString_when_nothingChanges() {
+        // Given
+        CommentProcessorChain chain = new CommentProcessorChain(List.of(
+                new NoChangeProcessor(10, calls),
+                new NoChangeProcessor(20, calls)), meterRegistry);
+        String content = "abc";
+
+        // When
+        ProcessContext context = chain.execute(content);
+        chain.execute("  ");
+
+        // Then
+        assertThat(context.getProcessedContent()).isSameAs(content);
+        assertThat(calls).containsExactly("NoChange", "NoChange");
+    }
+
+    @Test
+    @DisplayName("独立处理器失败时标记上下文失败并跳过后续处理器")
+    void should_skipRemainingStages_when_processorFails() {
+        // Given
+        CommentProcessorChain chain = new CommentProcessorChain(List.of(
+                new FailingProcessor(10, calls),
+                new UpperCaseProcessor(20, calls)), meterRegistry);
+
+        // When
+        ProcessContext context = chain.execute("abc");
+
+        // Then
+        assertThat(context.isPassed()).isFalse();
+        assertThat(context.getFailureReason()).isEqualTo("blocked");
+        assertThat(calls).containsExactly("Failing");
+    }
+
+    @Test
+    @DisplayName("每个处理器按类名和是否融合记录耗时")
+    void should_recordTimerPerProcessor_when_executed() {
+        // Given
+        CommentProcessorChain chain = new CommentProcessorChain(List.of(
+                new UpperCaseProcessor(10, calls),
+                new RecordingProcessor(20, calls)), meterRegistry);
+
+        // When
+        chain.execute("abc");
+        chain.execute("def");
+
+        // Then
+        Timer fused = meterRegistry.find(TIMER_NAME)
+                .tags("processor", "UpperCaseProcessor", "fused", "true").timer();
+        Timer single = meterRegistry.find(TIMER_NAME)
+                .tags("processor", "RecordingProcessor", "fused", "false").timer();
+        assertThat(fused).isNotNull();
+        assertThat(fused.count()).isEqualTo(2);
+        assertThat(single).isNotNull();
+        assertThat(single.count()).isEqualTo(2);
+    }
+
+    /**
+     * 转为大写
+     */
+    private record UpperCaseProcessor(int order, List<String> calls) implements FusibleContentProcessor {
+
+        @Override
+        public boolean transform(CharSequence input, StringBuilder output, ProcessContext context) {
+            calls.add("UpperCase");
+            for (int i = 0; i < input.length(); i++) {
+                output.append(Character.toUpperCase(input.charAt(i)));
+            }
+            return true;
+        }
+
+        @Override
+        public String getName() {
+            return "UpperCase";
+        }
+
+        @Override
+        public int getOrder() {
+            return order;
+        }
+    }
+
+    /**
+     * 逐字符复制输入后追加 "!"（输入与输出为同一缓冲区时结果会丢失）
+     */
+    private record ExclaimProcessor(int order, List<String> calls) implements FusibleContentProcessor {
+
+        @Override
+        public boolean transform(CharSequence input, StringBuilder output, ProcessContext context) {
+            calls.add("Exclaim");
+            for (int i = 0; i < input.length(); i++) {
+                output.append(input.charAt(i));
+            }
+            output.append('!');
+            return true;
+        }
+
+        @Override
+        public String getName() {
+            return "Exclaim";
+        }
+
+        @Override
+        public int getOrder() {
+            return order;
+        }
+    }
+
+    /**
+     * 向输出写入无关内容但报告未变化
+     */
+    private record NoChangeProcessor(int order, List<String> calls) implements FusibleContentProcessor {
+
+        @Override
+        public boolean transform(CharSequence input, StringBuilder output, ProcessContext context) {
+            calls.add("NoChange");
+            output.append("garbage");
+            return false;
+        }
+
+        @Override
+        public String getName() {
+            return "NoChange";
+        }
+
+        @Override
+        public int getOrder() {
+            return order;
+        }
+    }
+
+    /**
+     * 记录融合阶段执行期间上下文中的内容
+     */
+    private record ContextProbeProcessor(int order, List<String> calls) implements FusibleContentProcessor {
+
+        @Override
+        public boolean transform(CharSequence input, StringBuilder output, ProcessContext context) {
+            calls.add("Probe:" + context.getProcessedContent());
+            return false;
+        }
+
+        @Override
+        public String getName() {
+            return "Probe";
+        }
+
+        @Override
+        public int getOrder() {
+            return order;
+        }
+    }
+
+    /**
+     * 记录执行时的内容
+     */
+    private record RecordingProcessor(int order, List<String> calls) implements ContentProcessor {
+
+        @Override
+        public ProcessResult process(ProcessContext context) {
+            calls.add("Recording:" + context.getProcessedContent());
+            return ProcessResult.success();
+        }
+
+        @Override
+        public String getName() {
+            return "Recording";
+        }
+
+        @Override
+        public int getOrder() {
+            return order;
+        }
+    }
+
+    /**
+     * 总是失败
+     */
+    private record FailingProcessor(int order, List<String> calls) implements ContentProcessor {
+
+        @Override
+        public ProcessResult process(ProcessContext context) {
+            calls.add("Failing");
+            return ProcessResult.failure("blocked");
+        }
+
+        @Override
+        public String getName() {
+            return "Failing";
+        }
+
+        @Override
+        public int getOrder() {
+            return order;
+        }
+    }
+}
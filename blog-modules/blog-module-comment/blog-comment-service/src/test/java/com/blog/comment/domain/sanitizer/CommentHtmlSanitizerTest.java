@@ -0,0 +1,94 @@
+package com.blog.comment.domain.sanitizer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CommentHtmlSanitizer 功能测试
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+class CommentHtmlSanitizerTest {
+
+    @Test
+    @DisplayName("普通 Markdown 内容不做修改，返回原实例")
+    void should_returnSameInstance_when_contentIsSafe() {
+        // Given
+        String content = "> 引用\n这篇文章 **很好**，`code` 也清晰";
+
+        // When
+        String result = CommentHtmlSanitizer.sanitize(content);
+
+        // Then
+        assertThat(result).isSameAs(content);
+    }
+
+    @Test
+    @DisplayName("危险标签连同内容整体移除，大小写不敏感")
+    void should_dropDangerousElement_when_scriptOrIframe() {
+        // When & Then
+        assertThat(CommentHtmlSanitizer.sanitize("<SCRIPT src=x>alert(1)</ScRiPt>正文"))
+                .isEqualTo("正文");
+        assertThat(CommentHtmlSanitizer.sanitize("前<iframe src=\"https://evil\"></iframe>后"))
+                .isEqualTo("前后");
+    }
+
+    @Test
+    @DisplayName("白名单标签去除属性后保留，其他标签转义")
+    void should_stripAttributes_when_tagIsAllowed() {
+        // When & Then
+        assertThat(CommentHtmlSanitizer.sanitize("<b onclick=\"x>y\">粗体</b><br/>"))
+                .isEqualTo("<b>粗体</b><br>");
+        assertThat(CommentHtmlSanitizer.sanitize("<img src=x onerror=alert(1)>"))
+                .isEqualTo("&lt;img src=x onerror=alert(1)&gt;");
+    }
+
+    @Test
+    @DisplayName("孤立的 < 转义，脚本伪协议移除")
+    void should_escapeAndRemoveScheme_when_textContainsThem() {
+        // When & Then
+        assertThat(CommentHtmlSanitizer.sanitize("a < b")).isEqualTo("a &lt; b");
+        assertThat(CommentHtmlSanitizer.sanitize("[x](JavaScript:alert(1))")).isEqualTo("[x](alert(1))");
+    }
+
+    @Test
+    @DisplayName("嵌套及大小写混合的伪协议移除后不会重新拼接出伪协议")
+    void should_removeScheme_when_schemeIsNested() {
+        // When & Then
+        assertThat(CommentHtmlSanitizer.sanitize("[x](javajavascript:script:alert(1))")).isEqualTo("[x](alert(1))");
+        assertThat(CommentHtmlSanitizer.sanitize("[x](JaVajavaSCRIPT:script:alert(1))")).isEqualTo("[x](alert(1))");
+        assertThat(CommentHtmlSanitizer.sanitize("[x](java<script>x</script>script:alert(1))")).isEqualTo("[x](alert(1))");
+        assertThat(CommentHtmlSanitizer.sanitize("vbvbscript:script:x")).isEqualTo("x");
+    }
+
+    @Test
+    @DisplayName("危险元素只在标签名完整匹配时结束")
+    void should_keepSkipping_when_closingTagOnlySharesPrefix() {
+        // When & Then
+        assertThat(CommentHtmlSanitizer.sanitize("<script>a</scriptx><b>b</b></script>正文")).isEqualTo("正文");
+        assertThat(CommentHtmlSanitizer.sanitize("<style>a</style >正文")).isEqualTo("正文");
+    }
+
+    @Test
+    @DisplayName("实体编码、空白插入、大小写混合的伪协议地址不安全，http/https/mailto 与相对地址安全")
+    void should_rejectUrl_when_schemeIsEncodedOrNotAllowed() {
+        // When & Then
+        assertThat(CommentHtmlSanitizer.isSafeUrl("&#106;avascript:alert(1)")).isFalse();
+        assertThat(CommentHtmlSanitizer.isSafeUrl("&#x6A;avascript:alert(1)")).isFalse();
+        assertThat(CommentHtmlSanitizer.isSafeUrl("&#106avascript:alert(1)")).isFalse();
+        assertThat(CommentHtmlSanitizer.isSafeUrl("&amp;#106;avascript:alert(1)")).isFalse();
+        assertThat(CommentHtmlSanitizer.isSafeUrl("javascript&colon;alert(1)")).isFalse();
+        assertThat(CommentHtmlSanitizer.isSafeUrl("java\tscript:alert(1)")).isFalse();
+        assertThat(CommentHtmlSanitizer.isSafeUrl(" JaVaScRiPt:alert(1)")).isFalse();
+        assertThat(CommentHtmlSanitizer.isSafeUrl("data:text/html,<script>")).isFalse();
+
+        assertThat(CommentHtmlSanitizer.isSafeUrl("https://example.com/a?b=javascript:1")).isTrue();
+        assertThat(CommentHtmlSanitizer.isSafeUrl("HTTP://example.com")).isTrue();
+        assertThat(CommentHtmlSanitizer.isSafeUrl("mailto:a@example.com")).isTrue();
+        assertThat(CommentHtmlSanitizer.isSafeUrl("/articles/1#comment")).isTrue();
+        assertThat(CommentHtmlSanitizer.isSafeUrl("images/a.png")).isTrue();
+    }
+}
@@ -0,0 +1,75 @@
+package com.blog.comment.domain.sensitive;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * AhoCorasickAutomaton 功能测试
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+class AhoCorasickAutomatonTest {
+
+    @Test
+    @DisplayName("一次扫描找出全部重叠命中")
+    void should_findAllOverlappingHits_when_wordsShareSuffix() {
+        // Given
+        AhoCorasickAutomaton automaton = AhoCorasickAutomaton.build(List.of("he", "she", "his", "hers"));
+
+        // When
+        List<AhoCorasickAutomaton.Hit> hits = automaton.findAll("ushers");
+
+        // Then
+        assertThat(hits).containsExactly(
+                new AhoCorasickAutomaton.Hit(1, 4),
+                new AhoCorasickAutomaton.Hit(2, 4),
+                new AhoCorasickAutomaton.Hit(2, 6));
+    }
+
+    @Test
+    @DisplayName("全角与大小写变体归一化后命中，并在原文上替换")
+    void should_replaceVariants_when_fullWidthOrUpperCase() {
+        // Given
+        AhoCorasickAutomaton automaton = AhoCorasickAutomaton.build(List.of("spam", "违禁词"));
+
+        // When
+        String result = automaton.replace("ＳＰＡＭ 和 Spam 都是违禁词", "***");
+
+        // Then
+        assertThat(result).isEqualTo("*** 和 *** 都是***");
+    }
+
+    @Test
+    @DisplayName("重叠命中合并为一段替换")
+    void should_mergeOverlappingRanges_when_replacing() {
+        // Given
+        AhoCorasickAutomaton automaton = AhoCorasickAutomaton.build(List.of("敏感", "感词"));
+
+        // When
+        String result = automaton.replace("这是敏感词啊", "***");
+
+        // Then
+        assertThat(result).isEqualTo("这是***啊");
+    }
+
+    @Test
+    @DisplayName("无命中时返回原文实例，空词条被忽略")
+    void should_returnSameInstance_when_noHit() {
+        // Given
+        AhoCorasickAutomaton automaton = AhoCorasickAutomaton.build(List.of("违禁词", " ", ""));
+        String text = "正常的评论内容";
+
+        // When
+        String result = automaton.replace(text, "***");
+
+        // Then
+        assertThat(automaton.wordCount()).isEqualTo(1);
+        assertThat(result).isSameAs(text);
+        assertThat(automaton.containsAny(text)).isFalse();
+    }
+}
@@ -0,0 +1,170 @@
+package com.blog.comment.infrastructure.archive;
+
+import com.blog.article.api.service.IArticleQueryService;
+import com.blog.comment.api.enums.CommentStatus;
+import com.blog.comment.api.enums.CommentTargetType;
+import com.blog.comment.config.CommentProperties;
+import com.blog.comment.infrastructure.mapper.CommentArchiveMapper;
+import com.blog.common.cache.BloomFilterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * CommentArchiver 功能测试
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@ExtendWith(MockitoExtension.class)
+class CommentArchiverTest {
+
+    private static final String ARTICLE = CommentTargetType.ARTICLE.getCode();
+    private static final List<Integer> EXPIRED_STATUSES = List.of(CommentStatus.REJECTED.getCode(),
+            CommentStatus.USER_DELETED.getCode(), CommentStatus.ADMIN_DELETED.getCode());
+
+    @Mock
+    private CommentArchiveMapper archiveMapper;
+
+    @Mock
+    private IArticleQueryService articleQueryService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private BloomFilterRegistry bloomFilterRegistry;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private CommentProperties commentProperties;
+    private CommentArchiver archiver;
+
+    @BeforeEach
+    void setUp() {
+        commentProperties = new CommentProperties();
+        commentProperties.getArchive().setBatchPauseMs(0);
+        archiver = new CommentArchiver(archiveMapper, articleQueryService, transactionTemplate, commentProperties,
+                bloomFilterRegistry, taskScheduler);
+    }
+
+    @Test
+    @DisplayName("超过保留期的已拒绝/已删除评论按主键分批迁移，每批先复制到归档表再删除")
+    void should_archiveExpiredInIdBatches_when_retentionExceeded() {
+        // Given
+        CommentProperties.Archive config = commentProperties.getArchive();
+        config.setBatchSize(2);
+        config.setArchivedArticleDays(-1);
+        runTransactionCallbacks();
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(archiveMapper.selectExpiredIds(eq(0L), cutoff.capture(), eq(EXPIRED_STATUSES), eq(2)))
+                .thenReturn(List.of(1L, 4L));
+        when(archiveMapper.selectExpiredIds(eq(4L), any(), eq(EXPIRED_STATUSES), eq(2))).thenReturn(List.of(9L));
+        when(archiveMapper.deleteFromComment(List.of(1L, 4L))).thenReturn(2);
+        when(archiveMapper.deleteFromComment(List.of(9L))).thenReturn(1);
+
+        // When
+        int moved = archiver.archive();
+
+        // Then
+        assertThat(moved).isEqualTo(3);
+        assertThat(cutoff.getValue()).isCloseTo(LocalDateTime.now().minusDays(config.getRetentionDays()),
+                within(1, ChronoUnit.MINUTES));
+        InOrder order = inOrder(archiveMapper);
+        order.verify(archiveMapper).copyToArchive(List.of(1L, 4L));
+        order.verify(archiveMapper).deleteFromComment(List.of(1L, 4L));
+        order.verify(archiveMapper).copyToArchive(List.of(9L));
+        order.verify(archiveMapper).deleteFromComment(List.of(9L));
+        verify(archiveMapper, never()).selectExpiredIds(eq(9L), any(), any(), anyInt());
+        verifyNoInteractions(articleQueryService);
+        verify(bloomFilterRegistry).recordRemoval("comment", 3);
+    }
+
+    @Test
+    @DisplayName("归档超过指定天数的文章下的评论整体迁移；重复执行时复制跳过已归档行，迁移数以删除行数为准")
+    void should_archiveCommentsOfArchivedArticles_when_rerunAfterInterruption() {
+        // Given
+        CommentProperties.Archive config = commentProperties.getArchive();
+        runTransactionCallbacks();
+        when(archiveMapper.selectExpiredIds(anyLong(), any(), any(), anyInt())).thenReturn(List.of());
+        ArgumentCaptor<LocalDateTime> archivedBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(articleQueryService.listArchivedArticleIds(archivedBefore.capture())).thenReturn(Set.of(100L));
+        when(archiveMapper.selectIdsByTargets(ARTICLE, List.of(100L), 0L, config.getBatchSize()))
+                .thenReturn(List.of(7L, 8L));
+        when(archiveMapper.copyToArchive(List.of(7L, 8L))).thenReturn(0);
+        when(archiveMapper.deleteFromComment(List.of(7L, 8L))).thenReturn(2);
+
+        // When
+        int moved = archiver.archive();
+
+        // Then
+        assertThat(moved).isEqualTo(2);
+        assertThat(archivedBefore.getValue()).isCloseTo(LocalDateTime.now().minusDays(config.getArchivedArticleDays()),
+                within(1, ChronoUnit.MINUTES));
+        InOrder order = inOrder(archiveMapper);
+        order.verify(archiveMapper).copyToArchive(List.of(7L, 8L));
+        order.verify(archiveMapper).deleteFromComment(List.of(7L, 8L));
+        verify(bloomFilterRegistry).recordRemoval("comment", 2);
+    }
+
+    @Test
+    @DisplayName("没有符合条件的评论时不开启事务")
+    void should_skipTransaction_when_nothingToArchive() {
+        // Given
+        commentProperties.getArchive().setArchivedArticleDays(-1);
+        when(archiveMapper.selectExpiredIds(anyLong(), any(), any(), anyInt())).thenReturn(List.of());
+
+        // When
+        int moved = archiver.archive();
+
+        // Then
+        assertThat(moved).isZero();
+        verifyNoInteractions(transactionTemplate);
+        verify(archiveMapper, never()).selectIdsByTargets(any(), any(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("定时间隔为 0 时不注册定时归档")
+    void should_notSchedule_when_intervalDisabled() {
+        // Given
+        commentProperties.getArchive().setIntervalMs(0);
+
+        // When
+        archiver.start();
+
+        // Then
+        verifyNoInteractions(taskScheduler);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionCallbacks() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Integer>>getArgument(0).doInTransaction(null));
+    }
+}
@@ -0,0 +1,228 @@
+package com.blog.comment.infrastructure.counter;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.blog.article.api.service.IArticleStatsService;
+import com.blog.comment.api.enums.CommentStatus;
+import com.blog.comment.api.enums.CommentTargetType;
+import com.blog.comment.config.CommentProperties;
+import com.blog.comment.domain.entity.CommentEntity;
+import com.blog.comment.domain.event.CommentStatusChangedEvent;
+import com.blog.comment.infrastructure.mapper.CommentArchiveMapper;
+import com.blog.comment.infrastructure.mapper.CommentMapper;
+import com.blog.common.constants.CacheKeys;
+import com.blog.common.utils.RedisUtils;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * CommentCounterManager 功能测试
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@ExtendWith(MockitoExtension.class)
+class CommentCounterManagerTest {
+
+    private static final int APPROVED = CommentStatus.APPROVED.getCode();
+    private static final String ARTICLE = CommentTargetType.ARTICLE.getCode();
+
+    @Mock
+    private CommentMapper commentMapper;
+
+    @Mock
+    private CommentArchiveMapper archiveMapper;
+
+    @Mock
+    private IArticleStatsService articleStatsService;
+
+    @Mock
+    private RedisUtils redisUtils;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private CommentProperties commentProperties;
+    private CommentCounterManager manager;
+
+    @BeforeAll
+    static void initTableInfo() {
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), CommentEntity.class);
+    }
+
+    @BeforeEach
+    void setUp() {
+        commentProperties = new CommentProperties();
+        manager = new CommentCounterManager(commentMapper, archiveMapper, articleStatsService, redisUtils,
+                commentProperties, taskScheduler);
+    }
+
+    @Test
+    @DisplayName("按父评论和文章合并净增量，净增量为 0 的条目不写入")
+    void should_mergeNetDeltas_when_applyingChanges() {
+        // When
+        manager.applyDeltas(List.of(
+                change(10L, 1L, 100L, CommentStatus.PENDING, CommentStatus.APPROVED),
+                change(11L, 1L, 100L, CommentStatus.APPROVED, CommentStatus.USER_DELETED),
+                change(12L, 2L, 100L, CommentStatus.PENDING, CommentStatus.APPROVED),
+                change(13L, null, 200L, CommentStatus.PENDING, CommentStatus.APPROVED),
+                change(14L, null, 100L, CommentStatus.PENDING, CommentStatus.REJECTED)));
+
+        // Then
+        verify(commentMapper).batchAdjustReplyCount(Map.of(2L, 1));
+        verify(articleStatsService).adjustCommentCounts(Map.of(100L, 1, 200L, 1));
+    }
+
+    @Test
+    @DisplayName("不影响已通过状态的变更不写入任何计数")
+    void should_skipWrites_when_visibilityUnchanged() {
+        // When
+        manager.applyDeltas(List.of(
+                change(10L, 1L, 100L, CommentStatus.PENDING, CommentStatus.REJECTED),
+                change(11L, null, 100L, CommentStatus.USER_DELETED, CommentStatus.ADMIN_DELETED)));
+
+        // Then
+        verifyNoInteractions(commentMapper, articleStatsService);
+    }
+
+    @Test
+    @DisplayName("镜像按目标合并增量后 INCRBY，更新失败时删除镜像键")
+    void should_deleteMirror_when_incrementFails() {
+        // Given
+        String failing = CacheKeys.commentCountKey(ARTICLE, 200L);
+        when(redisUtils.incrementIfPresent(failing, 1L)).thenThrow(new IllegalStateException("redis down"));
+
+        // When
+        manager.updateMirror(List.of(
+                change(10L, null, 100L, CommentStatus.PENDING, CommentStatus.APPROVED),
+                change(11L, 10L, 100L, CommentStatus.PENDING, CommentStatus.APPROVED),
+                change(12L, null, 200L, CommentStatus.PENDING, CommentStatus.APPROVED)));
+
+        // Then
+        verify(redisUtils).incrementIfPresent(CacheKeys.commentCountKey(ARTICLE, 100L), 2L);
+        verify(redisUtils).delete(List.of(failing));
+        verify(redisUtils, never()).delete(List.of(CacheKeys.commentCountKey(ARTICLE, 100L)));
+    }
+
+    @Test
+    @DisplayName("镜像命中时直接返回，不查询数据库")
+    void should_returnMirror_when_cached() {
+        // Given
+        when(redisUtils.get(CacheKeys.commentCountKey(ARTICLE, 100L))).thenReturn(7);
+
+        // When
+        long count = manager.getVisibleCount(CommentTargetType.ARTICLE, 100L);
+
+        // Then
+        assertThat(count).isEqualTo(7L);
+        verifyNoInteractions(commentMapper, archiveMapper);
+    }
+
+    @Test
+    @DisplayName("镜像未命中时合并评论表和归档表计数，并以 SET NX 写入镜像")
+    void should_countBothTablesAndSetIfAbsent_when_mirrorMissing() {
+        // Given
+        String key = CacheKeys.commentCountKey(ARTICLE, 100L);
+        when(commentMapper.selectCount(any())).thenReturn(5L);
+        when(archiveMapper.countApprovedByTarget(ARTICLE, 100L, APPROVED)).thenReturn(3L);
+
+        // When
+        long count = manager.getVisibleCount(CommentTargetType.ARTICLE, 100L);
+
+        // Then
+        assertThat(count).isEqualTo(8L);
+        verify(redisUtils).setIfAbsent(key, 8L, commentProperties.getCounter().getMirrorTtlSeconds(),
+                TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("回复数按主键区间分批对账，最后一批不足批大小时结束")
+    void should_reconcileRepliesByIdRange_when_reconciling() {
+        // Given
+        commentProperties.getCounter().setReconcileBatchSize(3);
+        when(commentMapper.selectIdsAfter(0L, 3)).thenReturn(List.of(1L, 5L, 9L));
+        when(commentMapper.selectIdsAfter(9L, 3)).thenReturn(List.of(12L));
+        when(commentMapper.reconcileReplyCounts(APPROVED, 1L, 9L)).thenReturn(2);
+        when(commentMapper.reconcileReplyCounts(APPROVED, 12L, 12L)).thenReturn(1);
+
+        // When
+        manager.reconcile();
+
+        // Then
+        verify(commentMapper).reconcileReplyCounts(APPROVED, 1L, 9L);
+        verify(commentMapper).reconcileReplyCounts(APPROVED, 12L, 12L);
+        verify(commentMapper, never()).selectIdsAfter(eq(12L), eq(3));
+    }
+
+    @Test
+    @DisplayName("文章评论数只对快照不一致的文章加锁重新计数，并删除被校正文章的镜像")
+    @SuppressWarnings("unchecked")
+    void should_recountMismatchedArticlesOnly_when_reconciling() {
+        // Given
+        when(commentMapper.countApprovedGroupByTarget(ARTICLE, APPROVED)).thenReturn(List.of(
+                Map.of("targetId", 100L, "total", 3L),
+                Map.of("targetId", 200L, "total", 1L)));
+        when(articleStatsService.findCommentCountMismatches(Map.of(100L, 3, 200L, 1))).thenReturn(Set.of(100L));
+        when(commentMapper.countApprovedByTargets(eq(ARTICLE), anyList(), eq(APPROVED)))
+                .thenReturn(List.of(Map.of("targetId", 100L, "total", 4L)));
+        when(articleStatsService.reconcileCommentCounts(eq(List.of(100L)), any())).thenAnswer(invocation -> {
+            Function<Collection<Long>, Map<Long, Integer>> recount = invocation.getArgument(1);
+            assertThat(recount.apply(List.of(100L))).isEqualTo(Map.of(100L, 4));
+            return Set.of(100L);
+        });
+
+        // When
+        manager.reconcile();
+
+        // Then
+        verify(commentMapper).countApprovedByTargets(ARTICLE, List.of(100L), APPROVED);
+        verify(redisUtils).delete(List.of(CacheKeys.commentCountKey(ARTICLE, 100L)));
+    }
+
+    @Test
+    @DisplayName("没有不一致的文章时不加锁、不删除镜像")
+    void should_skipLocking_when_noMismatch() {
+        // Given
+        when(articleStatsService.findCommentCountMismatches(anyMap())).thenReturn(Set.of());
+
+        // When
+        manager.reconcile();
+
+        // Then
+        verify(articleStatsService, never()).reconcileCommentCounts(any(), any());
+        verify(commentMapper, never()).reconcileReplyCounts(eq(APPROVED), anyLong(), anyLong());
+        verifyNoInteractions(redisUtils);
+    }
+
+    private static CommentStatusChangedEvent.Change change(Long commentId, Long parentId, Long articleId,
+                                                           CommentStatus from, CommentStatus to) {
+        return new CommentStatusChangedEvent.Change(commentId, CommentTargetType.ARTICLE, articleId, parentId,
+                from, to, LocalDateTime.of(2025, 6, 1, 12, 0));
+    }
+}
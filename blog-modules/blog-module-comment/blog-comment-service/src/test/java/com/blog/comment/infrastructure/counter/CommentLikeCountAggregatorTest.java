@@ -0,0 +1,128 @@
+package com.blog.comment.infrastructure.counter;
+
+import com.blog.comment.config.CommentProperties;
+import com.blog.comment.infrastructure.mapper.CommentMapper;
+import com.blog.comment.infrastructure.ranking.CommentHotRanking;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * CommentLikeCountAggregator 功能测试
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@ExtendWith(MockitoExtension.class)
+class CommentLikeCountAggregatorTest {
+
+    @Mock
+    private CommentMapper commentMapper;
+
+    @Mock
+    private CommentHotRanking hotRanking;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private CommentLikeCountAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        aggregator = new CommentLikeCountAggregator(commentMapper, new CommentProperties(), hotRanking,
+                taskScheduler);
+    }
+
+    @Test
+    @DisplayName("同一评论的点赞/取消点赞合并为一次净增量写入")
+    void should_coalesceDeltas_when_sameCommentLikedRepeatedly() {
+        // Given
+        aggregator.add(1L, 1);
+        aggregator.add(1L, 1);
+        aggregator.add(1L, 1);
+        aggregator.add(1L, -1);
+        aggregator.add(2L, 1);
+
+        // When
+        int flushed = aggregator.flush();
+
+        // Then
+        assertThat(flushed).isEqualTo(2);
+        verify(commentMapper, times(1)).batchAdjustLikeCount(Map.of(1L, 2, 2L, 1));
+    }
+
+    @Test
+    @DisplayName("净增量为 0 时不写库")
+    void should_skipWrite_when_netDeltaIsZero() {
+        // Given
+        aggregator.add(1L, 1);
+        aggregator.add(1L, -1);
+
+        // When
+        int flushed = aggregator.flush();
+
+        // Then
+        assertThat(flushed).isZero();
+        verify(commentMapper, never()).batchAdjustLikeCount(anyMap());
+    }
+
+    @Test
+    @DisplayName("刷盘失败时增量保留，下次刷盘重试")
+    void should_retainDeltas_when_flushFails() {
+        // Given
+        aggregator.add(1L, 1);
+        doThrow(new IllegalStateException("db down"))
+                .doReturn(1)
+                .when(commentMapper).batchAdjustLikeCount(anyMap());
+
+        // When
+        int first = aggregator.flush();
+        int second = aggregator.flush();
+
+        // Then
+        assertThat(first).isZero();
+        assertThat(second).isEqualTo(1);
+        verify(commentMapper, times(2)).batchAdjustLikeCount(Map.of(1L, 1));
+    }
+
+    @Test
+    @DisplayName("启动时在共享调度器上登记刷盘任务，关闭时取消任务并排空剩余增量")
+    void should_cancelTaskAndFlush_when_shutdown() {
+        // Given
+        ScheduledFuture<?> task = mock(ScheduledFuture.class);
+        doReturn(task).when(taskScheduler)
+                .scheduleWithFixedDelay(any(Runnable.class), any(Instant.class), any(Duration.class));
+        aggregator.start();
+        aggregator.add(1L, 1);
+
+        // When
+        aggregator.shutdown();
+
+        // Then
+        long interval = new CommentProperties().getLikeCounter().getFlushIntervalMs();
+        verify(taskScheduler).scheduleWithFixedDelay(any(Runnable.class), any(Instant.class),
+                eq(Duration.ofMillis(interval)));
+        verify(task).cancel(false);
+        verify(commentMapper).batchAdjustLikeCount(Map.of(1L, 1));
+    }
+}
@@ -0,0 +1,101 @@
+package com.blog.comment.infrastructure.history;
+
+import com.blog.comment.config.CommentProperties;
+import com.blog.comment.domain.entity.CommentHistoryEntity;
+import com.blog.comment.domain.event.CommentEditedEvent;
+import com.blog.comment.infrastructure.mapper.CommentHistoryMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * CommentHistoryWriter 功能测试
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@ExtendWith(MockitoExtension.class)
+class CommentHistoryWriterTest {
+
+    @Mock
+    private CommentHistoryMapper historyMapper;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private CommentHistoryWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new CommentHistoryWriter(historyMapper, new CommentProperties(), taskScheduler);
+        writer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.shutdown();
+    }
+
+    @Test
+    @DisplayName("入队后未写库的历史可按评论读取，读取不触发写库")
+    void should_listUnwrittenHistories_when_notFlushed() {
+        // Given
+        writer.record(event(1L, 2, "b", "c"));
+        writer.record(event(1L, 1, "a", "b"));
+        writer.record(event(2L, 1, "x", "y"));
+
+        // When
+        List<CommentHistoryEntity> histories = writer.listUnwritten(1L);
+
+        // Then
+        assertThat(histories).extracting(CommentHistoryEntity::getBaseVersion).containsExactly(1, 2);
+        assertThat(histories).allSatisfy(history -> assertThat(history.getCommentId()).isEqualTo(1L));
+        verify(historyMapper, never()).insertBatch(anyList());
+    }
+
+    @Test
+    @DisplayName("写库成功后不再作为未写库历史返回")
+    void should_dropUnwritten_when_flushSucceeds() {
+        // Given
+        writer.record(event(1L, 1, "a", "b"));
+
+        // When
+        writer.flush();
+
+        // Then
+        verify(historyMapper).insertBatch(anyList());
+        assertThat(writer.listUnwritten(1L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("写库失败时历史保留，仍可读取")
+    void should_keepUnwritten_when_flushFails() {
+        // Given
+        doThrow(new RuntimeException("db down")).when(historyMapper).insertBatch(anyList());
+        writer.record(event(1L, 1, "a", "b"));
+
+        // When
+        writer.flush();
+
+        // Then
+        assertThat(writer.listUnwritten(1L)).extracting(CommentHistoryEntity::getBaseVersion).containsExactly(1);
+    }
+
+    private static CommentEditedEvent event(Long commentId, int baseVersion, String oldContent, String newContent) {
+        return new CommentEditedEvent(commentId, baseVersion, oldContent, newContent, null, 7L, LocalDateTime.now());
+    }
+}
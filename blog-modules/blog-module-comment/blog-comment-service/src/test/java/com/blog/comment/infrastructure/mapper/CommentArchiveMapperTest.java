@@ -0,0 +1,139 @@
+package com.blog.comment.infrastructure.mapper;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.blog.comment.domain.entity.CommentEntity;
+import org.apache.ibatis.binding.MapperMethod;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CommentArchiveMapper SQL 功能测试
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+class CommentArchiveMapperTest {
+
+    private static MybatisConfiguration configuration;
+
+    @BeforeAll
+    static void parseMapper() {
+        configuration = new MybatisConfiguration();
+        configuration.addMapper(CommentArchiveMapper.class);
+    }
+
+    @Test
+    @DisplayName("归档表字段覆盖评论实体的全部字段")
+    void should_coverAllEntityColumns_when_copyingToArchive() {
+        // Given
+        TableInfo tableInfo = TableInfoHelper.initTableInfo(
+                new MapperBuilderAssistant(new MybatisConfiguration(), ""), CommentEntity.class);
+        List<String> entityColumns = Stream.concat(Stream.of(tableInfo.getKeyColumn()),
+                        tableInfo.getFieldList().stream().map(TableFieldInfo::getColumn))
+                .toList();
+
+        // When
+        List<String> archiveColumns = Arrays.stream(CommentArchiveMapper.COLUMNS.split(","))
+                .map(String::trim)
+                .toList();
+
+        // Then
+        assertThat(archiveColumns).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(entityColumns);
+    }
+
+    @Test
+    @DisplayName("复制使用 INSERT IGNORE ... SELECT，重复执行时跳过已归档的行；删除使用同一批ID")
+    void should_copyWithInsertIgnoreThenDeleteSameIds_when_archivingBatch() {
+        // Given
+        Map<String, Object> params = params("ids", List.of(1L, 2L));
+
+        // When
+        BoundSql copy = boundSql("copyToArchive", params);
+        BoundSql delete = boundSql("deleteFromComment", params);
+
+        // Then
+        String columns = CommentArchiveMapper.COLUMNS;
+        assertThat(normalize(copy.getSql())).isEqualTo("INSERT IGNORE INTO cmt_comment_archive (" + columns
+                + ") SELECT " + columns + " FROM cmt_comment WHERE id IN (?,?)");
+        assertThat(normalize(delete.getSql())).isEqualTo("DELETE FROM cmt_comment WHERE id IN (?,?)");
+        assertThat(parameterValues(copy)).containsExactly(1L, 2L);
+        assertThat(parameterValues(delete)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("过期评论按更新时间和状态（或逻辑删除）筛选，按主键顺序分页")
+    void should_filterByCutoffAndStatus_when_selectingExpired() {
+        // Given
+        LocalDateTime cutoff = LocalDateTime.of(2025, 1, 1, 0, 0);
+        Map<String, Object> params = params("afterId", 10L, "cutoff", cutoff, "statuses", List.of(2, 3),
+                "limit", 500);
+
+        // When
+        BoundSql sql = boundSql("selectExpiredIds", params);
+
+        // Then
+        assertThat(normalize(sql.getSql())).isEqualTo("SELECT id FROM cmt_comment WHERE id > ? AND update_time < ? "
+                + "AND (is_deleted = 1 OR status IN (?,?)) ORDER BY id LIMIT ?");
+        assertThat(parameterValues(sql)).containsExactly(10L, cutoff, 2, 3, 500);
+    }
+
+    @Test
+    @DisplayName("目标下的评论按目标类型和目标ID筛选，按主键顺序分页")
+    void should_filterByTargets_when_selectingByTargets() {
+        // Given
+        Map<String, Object> params = params("targetType", "ARTICLE", "targetIds", List.of(100L, 200L),
+                "afterId", 0L, "limit", 500);
+
+        // When
+        BoundSql sql = boundSql("selectIdsByTargets", params);
+
+        // Then
+        assertThat(normalize(sql.getSql())).isEqualTo("SELECT id FROM cmt_comment WHERE id > ? "
+                + "AND target_type = ? AND target_id IN (?,?) ORDER BY id LIMIT ?");
+        assertThat(parameterValues(sql)).containsExactly(0L, "ARTICLE", 100L, 200L, 500);
+    }
+
+    private static BoundSql boundSql(String method, Map<String, Object> params) {
+        return configuration.getMappedStatement(CommentArchiveMapper.class.getName() + "." + method)
+                .getBoundSql(params);
+    }
+
+    private static Map<String, Object> params(Object... keyValues) {
+        MapperMethod.ParamMap<Object> params = new MapperMethod.ParamMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            params.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return params;
+    }
+
+    /**
+     * 按参数映射顺序取出绑定值（foreach 元素为附加参数）
+     */
+    private static List<Object> parameterValues(BoundSql sql) {
+        return sql.getParameterMappings().stream()
+                .map(ParameterMapping::getProperty)
+                .map(property -> sql.hasAdditionalParameter(property)
+                        ? sql.getAdditionalParameter(property)
+                        : ((Map<?, ?>) sql.getParameterObject()).get(property))
+                .toList();
+    }
+
+    private static String normalize(String sql) {
+        return sql.replaceAll("\\s+", " ").replace("( ", "(").replace(" )", ")").replace(" , ", ",").trim();
+    }
+}
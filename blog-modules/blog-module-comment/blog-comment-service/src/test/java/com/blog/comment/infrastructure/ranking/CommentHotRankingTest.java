@@ -0,0 +1,207 @@
+package com.blog.comment.infrastructure.ranking;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.blog.comment.api.enums.CommentStatus;
+import com.blog.comment.api.enums.CommentTargetType;
+import com.blog.comment.config.CommentProperties;
+import com.blog.comment.domain.entity.CommentEntity;
+import com.blog.comment.domain.event.CommentStatusChangedEvent;
+import com.blog.comment.infrastructure.mapper.CommentMapper;
+import com.blog.common.constants.CacheKeys;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * CommentHotRanking 功能测试
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@ExtendWith(MockitoExtension.class)
+class CommentHotRankingTest {
+
+    private static final String KEY = CacheKeys.commentHotKey(CommentTargetType.ARTICLE.getCode(), 100L);
+    private static final LocalDateTime PUBLISHED = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    @Mock
+    private CommentMapper commentMapper;
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ZSetOperations<String, Object> zSetOperations;
+
+    private CommentProperties commentProperties;
+    private CommentHotRanking ranking;
+
+    @BeforeAll
+    static void initTableInfo() {
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), CommentEntity.class);
+    }
+
+    @BeforeEach
+    void setUp() {
+        commentProperties = new CommentProperties();
+        ranking = new CommentHotRanking(commentMapper, redisTemplate, commentProperties);
+    }
+
+    @Test
+    @DisplayName("根评论通过审核时以发布权重加入排行")
+    void should_addRoot_when_rootApproved() {
+        // When
+        ranking.applyStatusChanges(List.of(change(1L, null, CommentStatus.PENDING, CommentStatus.APPROVED)));
+
+        // Then
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(KEY)), eq("1"), anyDouble(), eq(1), eq(1));
+    }
+
+    @Test
+    @DisplayName("回复通过审核时只给父评论累加回复权重，回复本身不进入排行")
+    void should_boostParentOnly_when_replyApproved() {
+        // When
+        ranking.applyStatusChanges(List.of(change(2L, 1L, CommentStatus.PENDING, CommentStatus.APPROVED)));
+
+        // Then
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(KEY)), eq("1"), anyDouble(), eq(1), eq(0));
+        verify(redisTemplate, never()).execute(any(RedisScript.class), eq(List.of(KEY)), eq("2"),
+                anyDouble(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("回复离开已通过状态时父评论减去与通过时相同的权重")
+    void should_subtractSameBoost_when_replyLeavesApproved() {
+        // Given
+        ArgumentCaptor<Object> weights = ArgumentCaptor.forClass(Object.class);
+        ArgumentCaptor<Object> signs = ArgumentCaptor.forClass(Object.class);
+
+        // When
+        ranking.applyStatusChanges(List.of(change(2L, 1L, CommentStatus.PENDING, CommentStatus.APPROVED)));
+        ranking.applyStatusChanges(List.of(change(2L, 1L, CommentStatus.APPROVED, CommentStatus.ADMIN_DELETED)));
+
+        // Then
+        verify(redisTemplate, times(2)).execute(any(RedisScript.class), eq(List.of(KEY)), eq("1"),
+                weights.capture(), signs.capture(), eq(0));
+        assertThat(signs.getAllValues()).containsExactly(1, -1);
+        assertThat(weights.getAllValues().get(1)).isEqualTo(weights.getAllValues().get(0));
+        verify(redisTemplate, never()).opsForZSet();
+    }
+
+    @Test
+    @DisplayName("根评论离开已通过状态时移出排行")
+    void should_removeRoot_when_rootLeavesApproved() {
+        // Given
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+
+        // When
+        ranking.applyStatusChanges(List.of(change(1L, null, CommentStatus.APPROVED, CommentStatus.USER_DELETED)));
+
+        // Then
+        verify(zSetOperations).remove(KEY, "1");
+        verify(redisTemplate, never()).execute(any(RedisScript.class), any(List.class), anyString(),
+                anyDouble(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("不影响已通过状态的变更不更新排行")
+    void should_ignoreChange_when_visibilityUnchanged() {
+        // When
+        ranking.applyStatusChanges(List.of(change(1L, null, CommentStatus.PENDING, CommentStatus.REJECTED)));
+
+        // Then
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("重建分值按半衰期衰减：早一个半衰期发布、权重翻倍的评论与新评论同分")
+    @SuppressWarnings("unchecked")
+    void should_decayByHalfLife_when_rebuilding() {
+        // Given
+        double halfLifeHours = commentProperties.getHot().getHalfLifeHours();
+        LocalDateTime older = PUBLISHED.minusMinutes(Math.round(halfLifeHours * 60));
+        when(redisTemplate.hasKey(KEY)).thenReturn(false);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(commentMapper.selectList(any())).thenReturn(List.of(
+                entity(1L, PUBLISHED, 0),
+                entity(2L, older, 0),
+                entity(3L, older, 1)));
+        when(zSetOperations.reverseRange(KEY, 0, 9)).thenReturn(new LinkedHashSet<>(List.of("1", "3", "2", "-")));
+        ArgumentCaptor<Set<ZSetOperations.TypedTuple<Object>>> tuples = ArgumentCaptor.forClass(Set.class);
+
+        // When
+        List<Long> top = ranking.top(CommentTargetType.ARTICLE, 100L, 10);
+
+        // Then
+        assertThat(top).containsExactly(1L, 3L, 2L);
+        verify(zSetOperations).add(eq(KEY), tuples.capture());
+        Map<Object, Double> scores = tuples.getValue().stream()
+                .collect(Collectors.toMap(ZSetOperations.TypedTuple::getValue, ZSetOperations.TypedTuple::getScore));
+        assertThat(scores.get("1") - scores.get("2")).isCloseTo(Math.log(2), within(1e-9));
+        assertThat(scores.get("3")).isCloseTo(scores.get("1"), within(1e-9));
+        assertThat(scores.get("-")).isEqualTo(-Double.MAX_VALUE);
+    }
+
+    @Test
+    @DisplayName("Redis 不可用时按评论表在内存中计算排行")
+    void should_rankInMemory_when_redisFails() {
+        // Given
+        when(redisTemplate.hasKey(KEY)).thenThrow(new IllegalStateException("redis down"));
+        when(commentMapper.selectList(any())).thenReturn(List.of(
+                entity(1L, PUBLISHED.minusDays(3), 5),
+                entity(2L, PUBLISHED, 0)));
+
+        // When
+        List<Long> top = ranking.top(CommentTargetType.ARTICLE, 100L, 1);
+
+        // Then
+        assertThat(top).containsExactly(2L);
+        verify(zSetOperations, never()).add(anyString(), anySet());
+    }
+
+    private static CommentStatusChangedEvent.Change change(Long commentId, Long parentId,
+                                                           CommentStatus from, CommentStatus to) {
+        return new CommentStatusChangedEvent.Change(commentId, CommentTargetType.ARTICLE, 100L, parentId,
+                from, to, PUBLISHED);
+    }
+
+    private static CommentEntity entity(Long id, LocalDateTime createTime, int likeCount) {
+        CommentEntity entity = new CommentEntity();
+        entity.setId(id);
+        entity.setCreateTime(createTime);
+        entity.setLikeCount(likeCount);
+        entity.setReplyCount(0);
+        return entity;
+    }
+}
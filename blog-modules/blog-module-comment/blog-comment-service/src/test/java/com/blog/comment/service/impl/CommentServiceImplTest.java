@@ -0,0 +1,325 @@
+package com.blog.comment.service.impl;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.conditions.AbstractWrapper;
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.blog.comment.api.enums.CommentStatus;
+import com.blog.comment.api.enums.CommentTargetType;
+import com.blog.comment.api.enums.ReportStatus;
+import com.blog.comment.api.vo.BatchOperationResultVO;
+import com.blog.comment.api.vo.CommentTreeVO;
+import com.blog.comment.domain.entity.CommentEntity;
+import com.blog.comment.domain.entity.CommentReportEntity;
+import com.blog.comment.domain.event.CommentStatusChangedEvent;
+import com.blog.comment.domain.state.ApprovedState;
+import com.blog.comment.domain.state.CommentStateFactory;
+import com.blog.comment.domain.state.DeletedState;
+import com.blog.comment.domain.state.PendingState;
+import com.blog.comment.domain.state.RejectedState;
+import com.blog.comment.infrastructure.mapper.CommentArchiveMapper;
+import com.blog.comment.infrastructure.mapper.CommentMapper;
+import com.blog.comment.infrastructure.mapper.CommentReportMapper;
+import com.blog.comment.metrics.CommentMetrics;
+import com.blog.common.exception.BusinessException;
+import com.blog.common.exception.OperationFailedException;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * CommentServiceImpl 功能测试
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@ExtendWith(MockitoExtension.class)
+class CommentServiceImplTest {
+
+    @Mock
+    private CommentMapper commentMapper;
+
+    @Mock
+    private CommentReportMapper commentReportMapper;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    private CommentMetrics commentMetrics;
+
+    @Mock
+    private CommentArchiveMapper archiveMapper;
+
+    private CommentServiceImpl commentService;
+
+    @BeforeAll
+    static void initTableInfo() {
+        MapperBuilderAssistant assistant = new MapperBuilderAssistant(new MybatisConfiguration(), "");
+        TableInfoHelper.initTableInfo(assistant, CommentEntity.class);
+        TableInfoHelper.initTableInfo(assistant, CommentReportEntity.class);
+    }
+
+    @BeforeEach
+    void setUp() {
+        CommentStateFactory stateFactory = new CommentStateFactory(
+                new PendingState(), new ApprovedState(), new RejectedState(), new DeletedState());
+        commentService = new CommentServiceImpl(null, stateFactory, null, null, commentReportMapper,
+                applicationEventPublisher, null, null, commentMetrics, null, null, null, null, null, archiveMapper);
+        ReflectionTestUtils.setField(commentService, "baseMapper", commentMapper);
+    }
+
+    @Test
+    @DisplayName("批量通过时逐条返回结果：不存在与非法转换记为失败，其余成功并只发布成功的变更")
+    void should_reportEachOutcome_when_batchHasMissingAndIllegalIds() {
+        // Given
+        when(commentMapper.selectList(any())).thenReturn(List.of(
+                comment(1L, CommentStatus.PENDING, null),
+                comment(2L, CommentStatus.APPROVED, null)));
+        when(commentMapper.update(any(CommentEntity.class), any())).thenReturn(1);
+
+        // When
+        BatchOperationResultVO result = commentService.batchApproveComments(Arrays.asList(1L, 2L, 3L, 1L, null));
+
+        // Then
+        assertThat(result.getTotal()).isEqualTo(3);
+        assertThat(result.getSuccessCount()).isEqualTo(1);
+        assertThat(result.getItems()).extracting(BatchOperationResultVO.Item::getId, BatchOperationResultVO.Item::isSuccess)
+                .containsExactly(tuple("1", true), tuple("2", false), tuple("3", false));
+        assertThat(result.getItems().get(1).getMessage()).contains("已通过");
+        assertThat(result.getItems().get(2).getMessage()).isEqualTo("评论不存在");
+        assertThat(publishedChanges()).extracting(CommentStatusChangedEvent.Change::commentId,
+                        CommentStatusChangedEvent.Change::from, CommentStatusChangedEvent.Change::to)
+                .containsExactly(tuple(1L, CommentStatus.PENDING, CommentStatus.APPROVED));
+        verify(commentMetrics, times(1)).recordApprove();
+    }
+
+    @Test
+    @DisplayName("加锁读取评论，UPDATE 递增版本号，批量通过不改写各评论原有的审核原因")
+    @SuppressWarnings("unchecked")
+    void should_keepAuditReasons_when_batchApproving() {
+        // Given
+        when(commentMapper.selectList(any())).thenReturn(List.of(
+                comment(1L, CommentStatus.PENDING, "疑似重复内容"),
+                comment(2L, CommentStatus.PENDING, null)));
+        when(commentMapper.update(any(CommentEntity.class), any())).thenReturn(2);
+        ArgumentCaptor<Wrapper<CommentEntity>> query = ArgumentCaptor.forClass(Wrapper.class);
+        ArgumentCaptor<CommentEntity> patch = ArgumentCaptor.forClass(CommentEntity.class);
+        ArgumentCaptor<LambdaUpdateWrapper<CommentEntity>> update = ArgumentCaptor.forClass(LambdaUpdateWrapper.class);
+
+        // When
+        BatchOperationResultVO result = commentService.batchApproveComments(List.of(1L, 2L));
+
+        // Then
+        assertThat(result.getSuccessCount()).isEqualTo(2);
+        verify(commentMapper).selectList(query.capture());
+        assertThat(query.getValue().getSqlSegment()).endsWith("FOR UPDATE");
+        verify(commentMapper).update(patch.capture(), update.capture());
+        assertThat(patch.getValue().getStatus()).isEqualTo(CommentStatus.APPROVED);
+        assertThat(patch.getValue().getAuditReason()).isNull();
+        assertThat(update.getValue().getSqlSet()).contains("version = version + 1");
+    }
+
+    @Test
+    @DisplayName("按（原状态, 目标状态）分组，每组一条 UPDATE，原状态作为 WHERE 条件，原因写入每组")
+    @SuppressWarnings("unchecked")
+    void should_updateOncePerGroup_when_commentsHaveDifferentStatuses() {
+        // Given
+        when(commentMapper.selectList(any())).thenReturn(List.of(
+                comment(1L, CommentStatus.PENDING, null),
+                comment(2L, CommentStatus.APPROVED, null),
+                comment(3L, CommentStatus.PENDING, "疑似重复内容")));
+        when(commentMapper.update(any(CommentEntity.class), any())).thenReturn(2, 1);
+        ArgumentCaptor<CommentEntity> patches = ArgumentCaptor.forClass(CommentEntity.class);
+        ArgumentCaptor<LambdaUpdateWrapper<CommentEntity>> updates = ArgumentCaptor.forClass(LambdaUpdateWrapper.class);
+
+        // When
+        BatchOperationResultVO result = commentService.batchDeleteCommentsByAdmin(List.of(1L, 2L, 3L), "广告");
+
+        // Then
+        assertThat(result.getSuccessCount()).isEqualTo(3);
+        verify(commentMapper, times(2)).update(patches.capture(), updates.capture());
+        assertThat(patches.getAllValues()).allSatisfy(patch -> {
+            assertThat(patch.getStatus()).isEqualTo(CommentStatus.ADMIN_DELETED);
+            assertThat(patch.getAuditReason()).isEqualTo("广告");
+        });
+        assertThat(conditionValues(updates.getAllValues().get(0)))
+                .contains(1L, 3L, CommentStatus.PENDING).doesNotContain(2L);
+        assertThat(conditionValues(updates.getAllValues().get(1)))
+                .contains(2L, CommentStatus.APPROVED).doesNotContain(1L, 3L);
+        assertThat(publishedChanges()).extracting(CommentStatusChangedEvent.Change::commentId,
+                        CommentStatusChangedEvent.Change::from)
+                .containsExactly(tuple(1L, CommentStatus.PENDING), tuple(3L, CommentStatus.PENDING),
+                        tuple(2L, CommentStatus.APPROVED));
+    }
+
+    @Test
+    @DisplayName("UPDATE 行数与分组不符时整批回滚，不发布状态变更事件")
+    void should_rollBackWithoutEvent_when_updatedRowsMismatch() {
+        // Given
+        when(commentMapper.selectList(any())).thenReturn(List.of(
+                comment(1L, CommentStatus.PENDING, null),
+                comment(2L, CommentStatus.PENDING, null)));
+        when(commentMapper.update(any(CommentEntity.class), any())).thenReturn(1);
+
+        // When & Then
+        assertThatThrownBy(() -> commentService.batchRejectComments(List.of(1L, 2L), "违规"))
+                .isInstanceOf(OperationFailedException.class);
+        verifyNoInteractions(applicationEventPublisher);
+    }
+
+    @Test
+    @DisplayName("单条审核的乐观锁更新失败（已被批量审核修改）时抛出异常，不发布状态变更事件")
+    void should_failWithoutEvent_when_singleApproveLosesVersionCheck() {
+        // Given
+        when(commentMapper.selectById(1L)).thenReturn(comment(1L, CommentStatus.PENDING, null));
+        when(commentMapper.updateById(any(CommentEntity.class))).thenReturn(0);
+
+        // When & Then
+        assertThatThrownBy(() -> commentService.approveComment(1L))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("并发修改");
+        verifyNoInteractions(applicationEventPublisher);
+        verify(commentMetrics, never()).recordApprove();
+    }
+
+    @Test
+    @DisplayName("批量审核举报：不存在与已处理的举报记为失败，待处理的举报一条 UPDATE 完成")
+    void should_updatePendingReportsOnly_when_batchApprovingReports() {
+        // Given
+        when(commentReportMapper.selectList(any())).thenReturn(List.of(
+                report(10L, ReportStatus.PENDING),
+                report(11L, ReportStatus.REJECTED)));
+        when(commentReportMapper.update(any(CommentReportEntity.class), any())).thenReturn(1);
+        ArgumentCaptor<CommentReportEntity> patch = ArgumentCaptor.forClass(CommentReportEntity.class);
+
+        // When
+        BatchOperationResultVO result = commentService.batchApproveReports(List.of(10L, 11L, 12L), "属实");
+
+        // Then
+        assertThat(result.getItems()).extracting(BatchOperationResultVO.Item::getId, BatchOperationResultVO.Item::isSuccess)
+                .containsExactly(tuple("10", true), tuple("11", false), tuple("12", false));
+        assertThat(result.getItems().get(2).getMessage()).isEqualTo("举报记录不存在");
+        verify(commentReportMapper).update(patch.capture(), any());
+        assertThat(patch.getValue().getStatus()).isEqualTo(ReportStatus.APPROVED);
+        assertThat(patch.getValue().getAdminRemark()).isEqualTo("属实");
+    }
+
+    @Test
+    @DisplayName("批量审核举报时已被并发处理的举报记为失败")
+    void should_failReport_when_processedConcurrently() {
+        // Given
+        when(commentReportMapper.selectList(any())).thenReturn(
+                List.of(report(10L, ReportStatus.PENDING), report(11L, ReportStatus.PENDING)),
+                List.of(report(10L, ReportStatus.REJECTED), report(11L, ReportStatus.APPROVED)));
+        when(commentReportMapper.update(any(CommentReportEntity.class), any())).thenReturn(1);
+
+        // When
+        BatchOperationResultVO result = commentService.batchRejectReports(List.of(10L, 11L), null);
+
+        // Then
+        assertThat(result.getItems()).extracting(BatchOperationResultVO.Item::getId, BatchOperationResultVO.Item::isSuccess)
+                .containsExactly(tuple("10", true), tuple("11", false));
+        assertThat(result.getItems().get(1).getMessage()).isEqualTo("该举报已处理，无法重复审核");
+    }
+
+    @Test
+    @DisplayName("评论树合并归档表中已通过的评论，按创建时间排序后组装，归档父评论下的回复挂到其下")
+    void should_mergeArchivedComments_when_buildingTree() {
+        // Given
+        CommentEntity archivedRoot = treeNode(1L, null, LocalDateTime.of(2025, 1, 1, 10, 0));
+        CommentEntity liveRoot = treeNode(3L, null, LocalDateTime.of(2025, 1, 2, 10, 0));
+        CommentEntity liveReply = treeNode(2L, 1L, LocalDateTime.of(2025, 1, 3, 10, 0));
+        when(commentMapper.selectList(any())).thenReturn(List.of(liveRoot, liveReply));
+        when(archiveMapper.selectApprovedByTarget(CommentTargetType.ARTICLE.getCode(), 100L,
+                CommentStatus.APPROVED.getCode())).thenReturn(List.of(archivedRoot));
+
+        // When
+        List<CommentTreeVO> tree = commentService.getCommentTree(CommentTargetType.ARTICLE, 100L);
+
+        // Then
+        assertThat(tree).extracting(CommentTreeVO::getId).containsExactly("1", "3");
+        assertThat(tree.get(0).getChildren()).extracting(CommentTreeVO::getId).containsExactly("2");
+        assertThat(tree.get(1).getChildren()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("没有归档评论时评论树只包含评论表中的评论")
+    void should_useLiveCommentsOnly_when_nothingArchived() {
+        // Given
+        when(commentMapper.selectList(any())).thenReturn(List.of(
+                treeNode(1L, null, LocalDateTime.of(2025, 1, 1, 10, 0)),
+                treeNode(2L, 1L, LocalDateTime.of(2025, 1, 2, 10, 0))));
+        when(archiveMapper.selectApprovedByTarget(CommentTargetType.ARTICLE.getCode(), 100L,
+                CommentStatus.APPROVED.getCode())).thenReturn(List.of());
+
+        // When
+        List<CommentTreeVO> tree = commentService.getCommentTree(CommentTargetType.ARTICLE, 100L);
+
+        // Then
+        assertThat(tree).singleElement().satisfies(root -> {
+            assertThat(root.getId()).isEqualTo("1");
+            assertThat(root.getChildren()).extracting(CommentTreeVO::getId).containsExactly("2");
+        });
+    }
+
+    private List<CommentStatusChangedEvent.Change> publishedChanges() {
+        ArgumentCaptor<CommentStatusChangedEvent> event = ArgumentCaptor.forClass(CommentStatusChangedEvent.class);
+        verify(applicationEventPublisher).publishEvent(event.capture());
+        return event.getValue().getChanges();
+    }
+
+    private static List<Object> conditionValues(AbstractWrapper<?, ?, ?> wrapper) {
+        wrapper.getSqlSegment();
+        return List.copyOf(wrapper.getParamNameValuePairs().values());
+    }
+
+    private static CommentEntity comment(Long id, CommentStatus status, String auditReason) {
+        CommentEntity comment = new CommentEntity();
+        comment.setId(id);
+        comment.setTargetType(CommentTargetType.ARTICLE);
+        comment.setTargetId(100L);
+        comment.setStatus(status);
+        comment.setAuditReason(auditReason);
+        comment.setVersion(1);
+        return comment;
+    }
+
+    private static CommentEntity treeNode(Long id, Long parentId, LocalDateTime createTime) {
+        CommentEntity comment = comment(id, CommentStatus.APPROVED, null);
+        comment.setParentId(parentId);
+        comment.setCreateTime(createTime);
+        return comment;
+    }
+
+    private static CommentReportEntity report(Long id, ReportStatus status) {
+        CommentReportEntity report = new CommentReportEntity();
+        report.setId(id);
+        report.setCommentId(1L);
+        report.setStatus(status);
+        return report;
+    }
+}
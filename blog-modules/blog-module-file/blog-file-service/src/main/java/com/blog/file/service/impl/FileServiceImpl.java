@@ -69,6 +69,14 @@ public class FileServiceImpl
     // - baseMapper (FileMapper)
     // - converter (FileConverter)
 
+    /**
+     * 启用文件ID布隆过滤器，{@link #getVoById} 直接拒绝不存在的文件ID
+     */
+    @Override
+    protected String bloomFilterName() {
+        return "file";
+    }
+
     /**
      * 生成预签名上传 URL（官方推荐方案）
      *
@@ -123,6 +131,7 @@ public class FileServiceImpl
 
         // 使用 BaseServiceImpl 的 save 方法（自动填充 createTime 等）
         save(file);
+        recordInserted(file.getId());
 
         log.info("预创建文件记录: fileId={}, fileKey={}", file.getId(), fileKey);
 
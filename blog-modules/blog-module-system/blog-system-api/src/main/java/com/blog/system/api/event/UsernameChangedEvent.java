@@ -0,0 +1,32 @@
+package com.blog.system.api.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 用户名变更事件（注册、改名、删除）
+ * <p>
+ * 供其他模块失效按用户名建立的本地缓存（如评论模块的 @提及解析缓存）。
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Getter
+@AllArgsConstructor
+public class UsernameChangedEvent {
+
+    /**
+     * 用户ID
+     */
+    private final Long userId;
+
+    /**
+     * 变更前的用户名（注册时为 null）
+     */
+    private final String previousUsername;
+
+    /**
+     * 变更后的用户名（删除时为 null）
+     */
+    private final String currentUsername;
+}
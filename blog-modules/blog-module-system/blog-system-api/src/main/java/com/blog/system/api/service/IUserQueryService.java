@@ -2,6 +2,7 @@ package com.blog.system.api.service;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 用户查询服务接口（供其他模块调用）
@@ -18,4 +19,12 @@ public interface IUserQueryService {
      * @return 用户ID列表
      */
     List<Long> getUserIdsByUsernames(Collection<String> usernames);
+
+    /**
+     * 根据用户名批量查询用户ID映射
+     *
+     * @param usernames 用户名集合
+     * @return 用户名（数据库中的原始大小写）→ 用户ID，不存在的用户名不包含在结果中
+     */
+    Map<String, Long> getUserIdMapByUsernames(Collection<String> usernames);
 }
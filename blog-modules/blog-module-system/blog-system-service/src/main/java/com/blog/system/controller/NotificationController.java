@@ -0,0 +1,47 @@
+package com.blog.system.controller;
+
+import com.blog.common.model.Result;
+import com.blog.common.utils.SecurityUtils;
+import com.blog.system.service.NotificationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 通知控制器
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/notifications")
+@RequiredArgsConstructor
+@Tag(name = "通知管理", description = "当前用户的通知接口")
+public class NotificationController {
+
+    private final NotificationService notificationService;
+
+    /**
+     * 获取当前用户未读通知数（前端角标轮询）
+     */
+    @GetMapping("/unread-count")
+    @Operation(summary = "获取未读通知数", description = "读取 Redis 镜像，未命中时回源数据库")
+    public Result<Long> getUnreadCount() {
+        return Result.success(notificationService.getUnreadCount(SecurityUtils.getCurrentUserId()));
+    }
+
+    /**
+     * 标记当前用户全部通知为已读
+     */
+    @PutMapping("/read-all")
+    @Operation(summary = "全部标记为已读")
+    public Result<Integer> markAllAsRead() {
+        return Result.success(notificationService.markAllAsRead(SecurityUtils.getCurrentUserId()));
+    }
+}
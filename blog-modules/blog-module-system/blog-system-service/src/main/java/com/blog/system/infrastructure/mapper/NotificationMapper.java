@@ -2,10 +2,14 @@ package com.blog.system.infrastructure.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.blog.system.domain.entity.NotificationEntity;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
 
+import java.util.List;
+
 /**
  * 系统通知 Mapper
  *
@@ -35,4 +39,22 @@ public interface NotificationMapper extends BaseMapper<NotificationEntity> {
             "SET is_read = 1, read_time = NOW() " +
             "WHERE user_id = #{userId} AND is_read = 0 AND is_deleted = 0")
     int markAllAsRead(Long userId);
+
+    /**
+     * 批量插入通知（单条多行 INSERT）
+     * <p>
+     * 主键、触发人需由调用方预先设置；创建时间等审计字段使用表默认值。
+     *
+     * @param notifications 通知列表，非空
+     * @return 插入行数
+     */
+    @Insert("<script>" +
+            "INSERT INTO sys_notification " +
+            "(id, user_id, type, title, content, source_id, source_type, is_read, create_by, update_by) VALUES " +
+            "<foreach collection='notifications' item='n' separator=','>" +
+            "(#{n.id}, #{n.userId}, #{n.type}, #{n.title}, #{n.content}, #{n.sourceId}, #{n.sourceType}, 0, " +
+            "#{n.createBy}, #{n.createBy})" +
+            "</foreach>" +
+            "</script>")
+    int insertBatch(@Param("notifications") List<NotificationEntity> notifications);
 }
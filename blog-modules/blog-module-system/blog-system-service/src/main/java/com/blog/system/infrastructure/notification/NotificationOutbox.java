@@ -0,0 +1,279 @@
+package com.blog.system.infrastructure.notification;
+
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
+import com.blog.common.realtime.RealtimePublisher;
+import com.blog.common.realtime.RealtimeTopics;
+import com.blog.system.domain.entity.NotificationEntity;
+import com.blog.system.infrastructure.mapper.NotificationMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 通知发件箱
+ *
+ * <p>
+ * 通知不再逐条 INSERT，而是先进入内存发件箱，由后台线程每隔
+ * {@code app.notification.outbox.flush-interval-ms} 毫秒通过多行 INSERT 批量写入：
+ * </p>
+ * <ul>
+ *   <li><b>去重</b> — 同一窗口内（接收人, 类型, 来源类型, 来源ID）相同的通知只保留一条</li>
+ *   <li><b>背压</b> — 待写入数达到 {@code max-pending} 时由入队线程同步写入，内存占用有上界</li>
+ *   <li><b>未读数</b> — 写入成功后按接收人合并，累加到 {@link NotificationUnreadCounter}</li>
+ *   <li><b>推送</b> — 写入成功后经 {@link RealtimePublisher} 推送给接收人的 SSE 连接</li>
+ * </ul>
+ *
+ * <p>
+ * <b>失败处理</b>：数据库暂不可用时整批放回发件箱等待下次重试；其他原因导致的批次失败改为逐条写入，
+ * 找出写不进去的通知（如标题超长），每条最多尝试 {@code max-attempts} 次，之后记录日志并丢弃，
+ * 不会拖住同批次的其他通知。
+ * </p>
+ *
+ * <p>
+ * <b>一致性说明</b>：进程被强制杀死时最多丢失一个窗口的通知。容器正常关闭时排空发件箱。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationOutbox {
+
+    private final NotificationMapper notificationMapper;
+    private final NotificationUnreadCounter unreadCounter;
+    private final RealtimePublisher realtimePublisher;
+    private final TaskScheduler taskScheduler;
+
+    /**
+     * 去重键 → 待写入通知
+     */
+    private final ConcurrentHashMap<String, NotificationEntity> pending = new ConcurrentHashMap<>();
+
+    /**
+     * 保证同一时刻只有一个线程在写入（定时线程与背压触发的入队线程互斥）
+     */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    /**
+     * 去重键 → 已失败的写入次数（只在持有 flushLock 时访问）
+     */
+    private final Map<String, Integer> failedAttempts = new HashMap<>();
+
+    @Value("${app.notification.outbox.flush-interval-ms:50}")
+    private long flushIntervalMs;
+
+    @Value("${app.notification.outbox.max-batch-size:500}")
+    private int maxBatchSize;
+
+    @Value("${app.notification.outbox.max-pending:10000}")
+    private int maxPending;
+
+    @Value("${app.notification.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    private ScheduledFuture<?> flushTask;
+
+    @PostConstruct
+    public void start() {
+        Duration interval = Duration.ofMillis(flushIntervalMs);
+        flushTask = taskScheduler.scheduleWithFixedDelay(this::flushQuietly, Instant.now().plus(interval), interval);
+        log.info("通知发件箱已启动: flushIntervalMs={}, maxBatchSize={}", flushIntervalMs, maxBatchSize);
+    }
+
+    /**
+     * 容器关闭时排空发件箱
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+        }
+        // 正在执行的定时写入持有 flushLock，这里会等它完成后再排空
+        flushQuietly();
+        log.info("通知发件箱已停止，剩余通知已写入");
+    }
+
+    /**
+     * 通知入队
+     *
+     * @param notification 通知（主键为空时写入前自动生成）
+     * @return {@code false} 表示同一窗口内已有相同通知，本次被去重
+     */
+    public boolean enqueue(NotificationEntity notification) {
+        if (pending.putIfAbsent(dedupKey(notification), notification) != null) {
+            log.debug("通知已去重: userId={}, type={}, sourceId={}",
+                    notification.getUserId(), notification.getType(), notification.getSourceId());
+            return false;
+        }
+        if (pending.size() >= maxPending) {
+            flushQuietly();
+        }
+        return true;
+    }
+
+    /**
+     * 立即将发件箱中的通知写入数据库
+     *
+     * @return 本次写入的通知数
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            int flushed = 0;
+            List<NotificationEntity> batch = new ArrayList<>();
+            for (String key : pending.keySet()) {
+                // remove 原子地取走通知，之后到达的相同通知会重新入队
+                NotificationEntity notification = pending.remove(key);
+                if (notification == null) {
+                    continue;
+                }
+                batch.add(notification);
+                if (batch.size() >= maxBatchSize) {
+                    flushed += writeBatch(batch);
+                    batch = new ArrayList<>();
+                }
+            }
+            if (!batch.isEmpty()) {
+                flushed += writeBatch(batch);
+            }
+            return flushed;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 写入一批通知：数据库暂不可用时整批放回发件箱，其他失败改为逐条写入
+     */
+    private int writeBatch(List<NotificationEntity> batch) {
+        batch.forEach(notification -> {
+            if (notification.getId() == null) {
+                notification.setId(IdWorker.getId());
+            }
+        });
+        try {
+            notificationMapper.insertBatch(batch);
+        } catch (TransientDataAccessException | DataAccessResourceFailureException e) {
+            log.error("通知批量写入失败，数据库暂不可用，将在下次重试: size={}", batch.size(), e);
+            batch.forEach(this::requeue);
+            return 0;
+        } catch (Exception e) {
+            if (batch.size() == 1) {
+                retryOrDrop(batch.get(0), e);
+                return 0;
+            }
+            log.warn("通知批量写入失败，改为逐条写入: size={}", batch.size(), e);
+            return writeOneByOne(batch);
+        }
+        onWritten(batch);
+        return batch.size();
+    }
+
+    /**
+     * 逐条写入，写不进去的通知计入失败次数，达到上限后丢弃
+     */
+    private int writeOneByOne(List<NotificationEntity> batch) {
+        List<NotificationEntity> written = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            NotificationEntity notification = batch.get(i);
+            try {
+                notificationMapper.insertBatch(List.of(notification));
+                written.add(notification);
+            } catch (TransientDataAccessException | DataAccessResourceFailureException e) {
+                log.error("通知逐条写入中断，数据库暂不可用，将在下次重试: remaining={}", batch.size() - i, e);
+                batch.subList(i, batch.size()).forEach(this::requeue);
+                break;
+            } catch (Exception e) {
+                retryOrDrop(notification, e);
+            }
+        }
+        if (!written.isEmpty()) {
+            onWritten(written);
+        }
+        return written.size();
+    }
+
+    private void retryOrDrop(NotificationEntity notification, Exception e) {
+        String key = dedupKey(notification);
+        int attempts = failedAttempts.merge(key, 1, Integer::sum);
+        if (attempts < maxAttempts) {
+            log.warn("通知写入失败，将在下次重试: userId={}, type={}, sourceId={}, attempts={}",
+                    notification.getUserId(), notification.getType(), notification.getSourceId(), attempts);
+            requeue(notification);
+            return;
+        }
+        failedAttempts.remove(key);
+        log.error("通知写入失败次数达到上限，已丢弃: userId={}, type={}, sourceType={}, sourceId={}, title={}, attempts={}",
+                notification.getUserId(), notification.getType(), notification.getSourceType(),
+                notification.getSourceId(), notification.getTitle(), attempts, e);
+    }
+
+    /**
+     * 放回发件箱；同一窗口内已有新的相同通知时以新通知为准
+     */
+    private void requeue(NotificationEntity notification) {
+        String key = dedupKey(notification);
+        if (pending.putIfAbsent(key, notification) != null) {
+            failedAttempts.remove(key);
+        }
+    }
+
+    /**
+     * 写入成功：累加未读数并推送
+     */
+    private void onWritten(List<NotificationEntity> batch) {
+        Map<Long, Integer> increments = new HashMap<>();
+        batch.forEach(notification -> {
+            failedAttempts.remove(dedupKey(notification));
+            increments.merge(notification.getUserId(), 1, Integer::sum);
+        });
+        unreadCounter.incrementIfPresent(increments);
+        batch.forEach(this::push);
+        log.debug("通知批量写入: size={}, users={}", batch.size(), increments.size());
+    }
+
+    /**
+     * 推送新通知（只推送标识，标题、内容和已读状态由客户端通过通知接口拉取）
+     */
+    private void push(NotificationEntity notification) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", notification.getId());
+        payload.put("type", notification.getType() == null ? null : notification.getType().name());
+        payload.put("sourceId", notification.getSourceId());
+        payload.put("sourceType", notification.getSourceType());
+        realtimePublisher.publish(RealtimeTopics.userTopic(notification.getUserId()),
+                RealtimeTopics.EVENT_NOTIFICATION, payload);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("通知发件箱写入任务异常", e);
+        }
+    }
+
+    private static String dedupKey(NotificationEntity notification) {
+        return notification.getUserId() + ":" + notification.getType() + ":"
+                + notification.getSourceType() + ":" + notification.getSourceId();
+    }
+}
@@ -0,0 +1,108 @@
+package com.blog.system.infrastructure.notification;
+
+import com.blog.common.constants.CacheKeys;
+import com.blog.common.utils.RedisUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 用户未读通知数 Redis 镜像
+ *
+ * <p>
+ * 键格式 {@code notification:unread:{userId}}，数据库为准：
+ * </p>
+ * <ul>
+ *   <li>读取 — 命中直接返回；未命中时回源 {@code COUNT(*)} 并以 SET NX 写入镜像</li>
+ *   <li>新通知写入后 — 镜像存在时原子 INCRBY，不存在时跳过（由读路径回源）</li>
+ *   <li>全部已读 — 直接置 0</li>
+ * </ul>
+ *
+ * <p>
+ * Redis 不可用时读路径退化为查库，写路径只记录日志，不影响通知写入。
+ * </p>
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationUnreadCounter {
+
+    private final RedisUtils redisUtils;
+
+    @Value("${app.notification.unread-ttl-seconds:86400}")
+    private long ttlSeconds;
+
+    /**
+     * 读取未读数
+     *
+     * @param userId 用户ID
+     * @param loader 镜像未命中时的数据库回源
+     * @return 未读数
+     */
+    public long get(Long userId, LongSupplier loader) {
+        String key = CacheKeys.notificationUnreadKey(userId);
+        try {
+            if (redisUtils.get(key) instanceof Number cached) {
+                return cached.longValue();
+            }
+        } catch (Exception e) {
+            log.warn("读取未读数镜像失败，回源数据库: userId={}", userId, e);
+        }
+
+        long count = loader.getAsLong();
+        try {
+            redisUtils.setIfAbsent(key, count, ttlSeconds, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            log.warn("写入未读数镜像失败: userId={}", userId, e);
+        }
+        return count;
+    }
+
+    /**
+     * 新通知写入后累加未读数
+     *
+     * @param increments 用户ID → 新增通知数
+     */
+    public void incrementIfPresent(Map<Long, Integer> increments) {
+        increments.forEach((userId, increment) -> {
+            String key = CacheKeys.notificationUnreadKey(userId);
+            try {
+                redisUtils.incrementIfPresent(key, increment);
+            } catch (Exception e) {
+                log.warn("未读数镜像累加失败，删除镜像等待回源: userId={}", userId, e);
+                deleteQuietly(key);
+            }
+        });
+    }
+
+    /**
+     * 全部已读后将未读数置 0
+     *
+     * @param userId 用户ID
+     */
+    public void reset(Long userId) {
+        String key = CacheKeys.notificationUnreadKey(userId);
+        try {
+            redisUtils.set(key, 0L, ttlSeconds, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            log.warn("重置未读数镜像失败，删除镜像等待回源: userId={}", userId, e);
+            deleteQuietly(key);
+        }
+    }
+
+    private void deleteQuietly(String key) {
+        try {
+            redisUtils.delete(key);
+        } catch (Exception e) {
+            log.warn("删除未读数镜像失败: key={}", key, e);
+        }
+    }
+}
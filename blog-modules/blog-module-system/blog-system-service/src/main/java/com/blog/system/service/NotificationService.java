@@ -4,6 +4,8 @@ import com.blog.common.enums.NotificationType;
 import com.blog.system.api.service.INotificationService;
 import com.blog.system.domain.entity.NotificationEntity;
 import com.blog.system.infrastructure.mapper.NotificationMapper;
+import com.blog.system.infrastructure.notification.NotificationOutbox;
+import com.blog.system.infrastructure.notification.NotificationUnreadCounter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -13,6 +15,11 @@ import java.util.Set;
 /**
  * 通知服务
  *
+ * <p>
+ * 创建通知只入队到 {@link NotificationOutbox}，由发件箱去重后批量写入；
+ * 未读数读取 {@link NotificationUnreadCounter} 维护的 Redis 镜像。
+ * </p>
+ *
  * @author liusxml
  * @since 1.6.0
  */
@@ -22,6 +29,8 @@ import java.util.Set;
 public class NotificationService implements INotificationService {
 
     private final NotificationMapper notificationMapper;
+    private final NotificationOutbox notificationOutbox;
+    private final NotificationUnreadCounter unreadCounter;
 
     /**
      * 创建@提及通知
@@ -48,8 +57,9 @@ public class NotificationService implements INotificationService {
             notification.setSourceId(commentId);
             notification.setSourceType("COMMENT");
             notification.setIsRead(false);
+            notification.setCreateBy(mentionerId);
 
-            notificationMapper.insert(notification);
+            notificationOutbox.enqueue(notification);
         }
     }
 
@@ -89,8 +99,33 @@ public class NotificationService implements INotificationService {
         notification.setSourceId(commentId);
         notification.setSourceType("COMMENT");
         notification.setIsRead(false);
+        notification.setCreateBy(replierId);
 
-        notificationMapper.insert(notification);
+        notificationOutbox.enqueue(notification);
         log.info("创建回复通知: commentId={}, userId={}", commentId, parentUserId);
     }
+
+    /**
+     * 查询用户未读通知数（Redis 镜像优先）
+     *
+     * @param userId 用户ID
+     * @return 未读通知数
+     */
+    public long getUnreadCount(Long userId) {
+        return unreadCounter.get(userId, () -> notificationMapper.countUnreadByUserId(userId));
+    }
+
+    /**
+     * 标记用户全部通知为已读
+     * <p>
+     * 单条 UPDATE 自动提交后再将未读数镜像置 0
+     *
+     * @param userId 用户ID
+     * @return 更新数量
+     */
+    public int markAllAsRead(Long userId) {
+        int updated = notificationMapper.markAllAsRead(userId);
+        unreadCounter.reset(userId);
+        return updated;
+    }
 }
@@ -1,6 +1,8 @@
 package com.blog.system.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.blog.common.cache.BloomFilterRegistry;
+import com.blog.common.cache.CacheStampedeGuard;
 import com.blog.common.utils.RedisUtils;
 import com.blog.system.api.RemoteUserService;
 import com.blog.system.api.dto.UserDTO;
@@ -15,6 +17,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -35,34 +38,25 @@ public class RemoteUserServiceImpl implements RemoteUserService {
     private final UserMapper userMapper;
     private final UserConverter userConverter;
     private final RedisUtils redisUtils;
+    private final CacheStampedeGuard cacheStampedeGuard;
+    private final BloomFilterRegistry bloomFilterRegistry;
 
     @Override
     public UserDTO getUserById(Long userId) {
         if (userId == null) {
             return null;
         }
-
-        // 1. 从缓存获取
-        String cacheKey = USER_CACHE_KEY_PREFIX + userId;
-        Object cached = redisUtils.get(cacheKey);
-        if (cached instanceof UserDTO userDTO) {
-            log.debug("缓存命中: userId={}", userId);
-            return userDTO;
-        }
-
-        // 2. 从数据库查询
-        UserEntity user = userMapper.selectById(userId);
-        if (user == null) {
+        // 一定不存在的用户ID不查缓存和数据库（不存在的ID不缓存空值，否则每次都会回源）
+        if (!bloomFilterRegistry.mightContain("user", userId)) {
             return null;
         }
 
-        UserDTO userDTO = userConverter.entityToDto(user);
-
-        // 3. 写入缓存（带随机 TTL，防止雪崩）
-        redisUtils.setWithRandomTTL(cacheKey, userDTO,
-                USER_CACHE_TTL_MINUTES, TimeUnit.MINUTES, 10); // ±10% 随机
-
-        return userDTO;
+        // 缓存未命中时同一用户只有一个请求回源，临近过期时提前异步刷新（防击穿）
+        return cacheStampedeGuard.getOrLoad(USER_CACHE_KEY_PREFIX + userId,
+                USER_CACHE_TTL_MINUTES, TimeUnit.MINUTES, () -> {
+                    UserEntity user = userMapper.selectById(userId);
+                    return user == null ? null : userConverter.entityToDto(user);
+                });
     }
 
     @Override
@@ -71,28 +65,25 @@ public class RemoteUserServiceImpl implements RemoteUserService {
             return List.of();
         }
 
-        // 1. 构建缓存键
-        List<String> cacheKeys = userIds.stream()
+        // 1. 去重并构建缓存键
+        List<Long> distinctIds = userIds.stream().filter(Objects::nonNull).distinct().toList();
+        List<String> cacheKeys = distinctIds.stream()
                 .map(id -> USER_CACHE_KEY_PREFIX + id)
                 .toList();
 
-        // 2. 批量从 Redis 获取 (MGET)
-        log.debug("批量查询用户: userIds={}", userIds);
-        List<Object> cachedValues = redisUtils.mGet(cacheKeys);
+        // 2. 批量从 Redis 获取（超过 100 个键时分片为多条 MGET，同一个 Pipeline 发送）
+        log.debug("批量查询用户: userIds={}", distinctIds.size());
+        List<Object> cachedValues = redisUtils.pipelinedMGet(cacheKeys);
 
         // 3. 分离缓存命中和未命中的用户
         List<UserDTO> result = new ArrayList<>();
         List<Long> missedUserIds = new ArrayList<>();
-        Map<String, Object> cacheToSet = new HashMap<>();
 
-        for (int i = 0; i < userIds.size(); i++) {
-            Object cached = cachedValues.get(i);
-            if (cached instanceof UserDTO userDTO) {
-                // 缓存命中
+        for (int i = 0; i < distinctIds.size(); i++) {
+            if (cachedValues.get(i) instanceof UserDTO userDTO) {
                 result.add(userDTO);
             } else {
-                // 缓存未命中
-                missedUserIds.add(userIds.get(i));
+                missedUserIds.add(distinctIds.get(i));
             }
         }
 
@@ -104,23 +95,16 @@ public class RemoteUserServiceImpl implements RemoteUserService {
                     new LambdaQueryWrapper<UserEntity>()
                             .in(UserEntity::getId, missedUserIds));
 
-            // 5. 转换并准备批量写入缓存
+            Map<String, Object> cacheToSet = new HashMap<>();
             for (UserEntity user : users) {
                 UserDTO userDTO = userConverter.entityToDto(user);
                 result.add(userDTO);
-
-                // 准备批量写入缓存
-                String cacheKey = USER_CACHE_KEY_PREFIX + user.getId();
-                cacheToSet.put(cacheKey, userDTO);
+                cacheToSet.put(USER_CACHE_KEY_PREFIX + user.getId(), userDTO);
             }
 
-            // 6. 批量写入缓存 (MSET)
+            // 5. 回填缓存（Lua 脚本一次往返写入值与过期时间，带随机 TTL 防止雪崩）
             if (!cacheToSet.isEmpty()) {
-                redisUtils.mSet(cacheToSet);
-
-                // 设置过期时间（需逐个设置，因为 MSET 不支持 TTL）
-                cacheToSet.keySet().forEach(key -> redisUtils.expire(key, USER_CACHE_TTL_MINUTES, TimeUnit.MINUTES));
-
+                redisUtils.mSetWithRandomTTL(cacheToSet, USER_CACHE_TTL_MINUTES, TimeUnit.MINUTES, 10);
                 log.debug("批量缓存用户数: {}", cacheToSet.size());
             }
         }
@@ -58,6 +58,25 @@ public class RoleServiceImpl extends BaseServiceImpl<RoleMapper, RoleEntity, Rol
         return true;
     }
 
+    /**
+     * 更新角色
+     * <p>
+     * 角色标识可能变更，清除所有用户角色缓存与角色详情缓存
+     *
+     * @param dto 角色更新 DTO
+     * @return 更新结果
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    @CacheEvict(value = "user:roles", allEntries = true)
+    public boolean updateByDto(RoleDTO dto) {
+        boolean updated = super.updateByDto(dto);
+        if (updated && dto.getId() != null) {
+            evictRoleDetail(dto.getId());
+        }
+        return updated;
+    }
+
     /**
      * 删除角色（重写以添加业务校验和清理关联数据）
      * <p>
@@ -104,9 +123,7 @@ public class RoleServiceImpl extends BaseServiceImpl<RoleMapper, RoleEntity, Rol
 
         // 5. 清除角色详情缓存（使用 RedisUtils 工具类）
         if (success) {
-            String roleDetailKey = CacheKeys.roleDetailKey(roleId);
-            redisUtils.delete(roleDetailKey);
-            log.info("已清除角色详情缓存: key={}", roleDetailKey);
+            evictRoleDetail(roleId);
         }
 
         if (success) {
@@ -117,4 +134,13 @@ public class RoleServiceImpl extends BaseServiceImpl<RoleMapper, RoleEntity, Rol
 
         return success;
     }
+
+    /**
+     * 清除角色详情缓存
+     */
+    private void evictRoleDetail(Long roleId) {
+        String roleDetailKey = CacheKeys.roleDetailKey(roleId);
+        redisUtils.delete(roleDetailKey);
+        log.info("已清除角色详情缓存: key={}", roleDetailKey);
+    }
 }
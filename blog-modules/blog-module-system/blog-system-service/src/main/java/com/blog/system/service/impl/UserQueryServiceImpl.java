@@ -1,6 +1,8 @@
 package com.blog.system.service.impl;
 
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.blog.system.api.service.IUserQueryService;
+import com.blog.system.domain.entity.UserEntity;
 import com.blog.system.infrastructure.mapper.UserMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -8,6 +10,8 @@ import org.springframework.stereotype.Service;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * 用户查询服务实现
@@ -28,4 +32,16 @@ public class UserQueryServiceImpl implements IUserQueryService {
         }
         return userMapper.selectUserIdsByUsernames(usernames);
     }
+
+    @Override
+    public Map<String, Long> getUserIdMapByUsernames(Collection<String> usernames) {
+        if (usernames == null || usernames.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return userMapper.selectList(new LambdaQueryWrapper<UserEntity>()
+                        .select(UserEntity::getId, UserEntity::getUsername)
+                        .in(UserEntity::getUsername, usernames))
+                .stream()
+                .collect(Collectors.toMap(UserEntity::getUsername, UserEntity::getId, (first, second) -> first));
+    }
 }
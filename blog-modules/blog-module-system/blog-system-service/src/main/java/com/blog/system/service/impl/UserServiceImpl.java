@@ -2,12 +2,15 @@ package com.blog.system.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.blog.common.base.BaseServiceImpl;
+import com.blog.common.constants.CacheKeys;
 import com.blog.common.exception.BusinessException;
 import com.blog.common.exception.SystemErrorCode;
 import com.blog.common.security.JwtTokenProvider;
+import com.blog.common.utils.RedisUtils;
 import com.blog.system.api.dto.LoginDTO;
 import com.blog.system.api.dto.RegisterDTO;
 import com.blog.system.api.dto.UserDTO;
+import com.blog.system.api.event.UsernameChangedEvent;
 import com.blog.system.api.vo.LoginVO;
 import com.blog.system.api.vo.UserVO;
 import com.blog.system.constant.RoleConstants;
@@ -21,6 +24,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
@@ -29,7 +33,9 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.Serializable;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -47,16 +53,29 @@ public class UserServiceImpl extends BaseServiceImpl<UserMapper, UserEntity, Use
     private final RoleMapper roleMapper;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final RedisUtils redisUtils;
     @Value("${app.security.jwt-expiration:7200000}")
     private Long jwtExpiration;
 
     public UserServiceImpl(UserConverter userConverter, UserMapper userMapper, RoleMapper roleMapper,
-                           PasswordEncoder passwordEncoder, JwtTokenProvider jwtTokenProvider) {
+                           PasswordEncoder passwordEncoder, JwtTokenProvider jwtTokenProvider,
+                           ApplicationEventPublisher applicationEventPublisher, RedisUtils redisUtils) {
         super(userConverter);
         this.userMapper = userMapper;
         this.roleMapper = roleMapper;
         this.passwordEncoder = passwordEncoder;
         this.jwtTokenProvider = jwtTokenProvider;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.redisUtils = redisUtils;
+    }
+
+    /**
+     * 启用用户ID布隆过滤器，{@link #getVoById} 直接拒绝不存在的用户ID
+     */
+    @Override
+    protected String bloomFilterName() {
+        return "user";
     }
 
     @Override
@@ -90,6 +109,7 @@ public class UserServiceImpl extends BaseServiceImpl<UserMapper, UserEntity, Use
         user.setVersion(0);
 
         userMapper.insert(user);
+        recordInserted(user.getId());
 
         // 分配默认角色 (USER)
         RoleEntity userRole = roleMapper.selectOne(
@@ -100,6 +120,7 @@ public class UserServiceImpl extends BaseServiceImpl<UserMapper, UserEntity, Use
         }
 
         log.info("用户注册成功: userId={}", user.getId());
+        applicationEventPublisher.publishEvent(new UsernameChangedEvent(user.getId(), null, user.getUsername()));
 
         // 转换为 VO 返回
         UserVO userVO = converter.entityToVo(user);
@@ -168,7 +189,7 @@ public class UserServiceImpl extends BaseServiceImpl<UserMapper, UserEntity, Use
     /**
      * 更新用户信息
      * <p>
-     * 更新后自动清除用户角色缓存，确保数据一致性
+     * 更新后自动清除用户角色缓存与用户详情缓存，确保数据一致性；用户名变更时发布 {@link UsernameChangedEvent}
      *
      * @param dto 用户更新 DTO
      * @return 更新结果
@@ -176,13 +197,57 @@ public class UserServiceImpl extends BaseServiceImpl<UserMapper, UserEntity, Use
     @Override
     @CacheEvict(value = "user:roles", key = "#dto.id", condition = "#dto != null && #dto.id != null")
     public boolean updateByDto(UserDTO dto) {
+        // 仅在 DTO 携带用户名时才需要比对旧值
+        String previousUsername = dto.getUsername() != null ? findUsername(dto.getId()) : null;
         boolean updated = super.updateByDto(dto);
         if (updated) {
+            evictUserDetail(dto.getId());
             log.info("用户信息已更新，缓存已失效: userId={}", dto.getId());
+            if (previousUsername != null && !Objects.equals(previousUsername, dto.getUsername())) {
+                applicationEventPublisher.publishEvent(
+                        new UsernameChangedEvent(dto.getId(), previousUsername, dto.getUsername()));
+            }
         }
         return updated;
     }
 
+    /**
+     * 删除用户，成功后发布 {@link UsernameChangedEvent}
+     *
+     * @param id 用户ID
+     * @return 是否删除成功
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public boolean removeById(Serializable id) {
+        String username = findUsername(id);
+        boolean removed = super.removeById(id);
+        if (removed) {
+            evictUserDetail(id);
+        }
+        if (removed && username != null) {
+            applicationEventPublisher.publishEvent(new UsernameChangedEvent((Long) id, username, null));
+        }
+        return removed;
+    }
+
+    /**
+     * 删除 Redis 中的用户详情缓存
+     */
+    private void evictUserDetail(Serializable userId) {
+        redisUtils.delete(CacheKeys.USER_DETAIL_PREFIX + userId);
+    }
+
+    private String findUsername(Serializable userId) {
+        if (userId == null) {
+            return null;
+        }
+        UserEntity user = userMapper.selectOne(new LambdaQueryWrapper<UserEntity>()
+                .select(UserEntity::getUsername)
+                .eq(UserEntity::getId, userId));
+        return user != null ? user.getUsername() : null;
+    }
+
     @Override
     public UserEntity getUserByUsername(String username) {
         return userMapper.selectOne(
@@ -196,14 +261,15 @@ public class UserServiceImpl extends BaseServiceImpl<UserMapper, UserEntity, Use
      * 缓存策略：
      * <ul>
      * <li>缓存键：user:roles:{userId}</li>
-     * <li>过期时间：30 分钟（由 CacheManager 配置）</li>
+     * <li>过期时间：30 分钟，另有 30 秒本地缓存（由 {@code blog.cache.caches[user:roles]} 配置）</li>
      * <li>失效时机：角色分配/移除时</li>
+     * <li>击穿防护：{@code sync = true}，缓存过期时同一用户只有一个请求回源</li>
      * </ul>
      *
      * @param userId 用户ID
      * @return 角色键列表（带 ROLE_ 前缀）
      */
-    @Cacheable(value = "user:roles", key = "#userId")
+    @Cacheable(value = "user:roles", key = "#userId", sync = true)
     public List<String> getUserRoleKeys(Long userId) {
         log.debug("从数据库查询用户角色: userId={}", userId);
         List<RoleEntity> roles = userMapper.selectRolesByUserId(userId);
@@ -3,6 +3,7 @@ package com.blog.system.controller;
 import com.blog.system.TestBlogSystemApplication;
 import com.blog.system.service.IRoleService;
 import com.blog.system.service.IUserService;
+import com.blog.system.service.NotificationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -31,4 +32,7 @@ public abstract class BaseControllerTest {
 
     @MockitoBean
     protected IRoleService roleService;
+
+    @MockitoBean
+    protected NotificationService notificationService;
 }
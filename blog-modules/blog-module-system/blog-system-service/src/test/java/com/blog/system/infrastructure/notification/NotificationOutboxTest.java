@@ -0,0 +1,199 @@
+package com.blog.system.infrastructure.notification;
+
+import com.blog.common.enums.NotificationType;
+import com.blog.common.realtime.RealtimePublisher;
+import com.blog.common.realtime.RealtimeTopics;
+import com.blog.system.domain.entity.NotificationEntity;
+import com.blog.system.infrastructure.mapper.NotificationMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * NotificationOutbox 功能测试
+ *
+ * @author liusxml
+ * @since 1.8.0
+ */
+@ExtendWith(MockitoExtension.class)
+class NotificationOutboxTest {
+
+    @Mock
+    private NotificationMapper notificationMapper;
+
+    @Mock
+    private NotificationUnreadCounter unreadCounter;
+
+    @Mock
+    private RealtimePublisher realtimePublisher;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private NotificationOutbox outbox;
+
+    @BeforeEach
+    void setUp() {
+        outbox = new NotificationOutbox(notificationMapper, unreadCounter, realtimePublisher, taskScheduler);
+        ReflectionTestUtils.setField(outbox, "maxBatchSize", 2);
+        ReflectionTestUtils.setField(outbox, "maxPending", 100);
+        ReflectionTestUtils.setField(outbox, "maxAttempts", 3);
+    }
+
+    @Test
+    @DisplayName("同一窗口内的重复通知被去重，其余按批次多行写入")
+    @SuppressWarnings("unchecked")
+    void should_dedupAndWriteInBatches_when_flushed() {
+        // Given
+        assertThat(outbox.enqueue(notification(1L, 10L))).isTrue();
+        assertThat(outbox.enqueue(notification(1L, 10L))).isFalse();
+        outbox.enqueue(notification(1L, 11L));
+        outbox.enqueue(notification(2L, 10L));
+
+        // When
+        int flushed = outbox.flush();
+
+        // Then
+        assertThat(flushed).isEqualTo(3);
+        ArgumentCaptor<List<NotificationEntity>> batches = ArgumentCaptor.forClass(List.class);
+        verify(notificationMapper, times(2)).insertBatch(batches.capture());
+        assertThat(batches.getAllValues()).allSatisfy(batch ->
+                assertThat(batch).allSatisfy(n -> assertThat(n.getId()).isNotNull()));
+        assertThat(outbox.flush()).isZero();
+    }
+
+    @Test
+    @DisplayName("写入失败时通知放回发件箱，未读数不累加")
+    void should_requeue_when_insertFails() {
+        // Given
+        outbox.enqueue(notification(1L, 10L));
+        when(notificationMapper.insertBatch(anyList())).thenThrow(new RuntimeException("db down"));
+
+        // When
+        int flushed = outbox.flush();
+
+        // Then
+        assertThat(flushed).isZero();
+        verify(unreadCounter, never()).incrementIfPresent(Map.of(1L, 1));
+        assertThat(outbox.enqueue(notification(1L, 10L))).isFalse();
+    }
+
+    @Test
+    @DisplayName("批次写入失败时逐条写入，问题通知放回重试，同批其他通知正常写入")
+    void should_writeOthersOneByOne_when_batchContainsBadRow() {
+        // Given
+        NotificationEntity bad = notification(1L, 10L);
+        bad.setTitle("x".repeat(1000));
+        NotificationEntity good = notification(2L, 10L);
+        outbox.enqueue(bad);
+        outbox.enqueue(good);
+        when(notificationMapper.insertBatch(anyList())).thenAnswer(invocation -> {
+            List<NotificationEntity> batch = invocation.getArgument(0);
+            if (batch.contains(bad)) {
+                throw new DataIntegrityViolationException("Data too long for column 'title'");
+            }
+            return batch.size();
+        });
+
+        // When
+        int flushed = outbox.flush();
+
+        // Then
+        assertThat(flushed).isEqualTo(1);
+        verify(notificationMapper).insertBatch(List.of(good));
+        verify(unreadCounter).incrementIfPresent(Map.of(2L, 1));
+        assertThat(outbox.enqueue(notification(1L, 10L))).isFalse();
+        assertThat(outbox.enqueue(notification(2L, 10L))).isTrue();
+    }
+
+    @Test
+    @DisplayName("同一通知写入失败达到最大次数后丢弃，不再重试")
+    void should_dropNotification_when_attemptsExhausted() {
+        // Given
+        outbox.enqueue(notification(1L, 10L));
+        when(notificationMapper.insertBatch(anyList()))
+                .thenThrow(new DataIntegrityViolationException("Data too long for column 'title'"));
+
+        // When
+        outbox.flush();
+        outbox.flush();
+        outbox.flush();
+
+        // Then
+        verify(notificationMapper, times(3)).insertBatch(anyList());
+        assertThat(outbox.flush()).isZero();
+        verify(notificationMapper, times(3)).insertBatch(anyList());
+        assertThat(outbox.enqueue(notification(1L, 10L))).isTrue();
+    }
+
+    @Test
+    @DisplayName("数据库暂不可用时整批放回，不逐条写入、不计失败次数")
+    void should_requeueWholeBatch_when_databaseUnavailable() {
+        // Given
+        outbox.enqueue(notification(1L, 10L));
+        outbox.enqueue(notification(2L, 10L));
+        when(notificationMapper.insertBatch(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("db down"));
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            outbox.flush();
+        }
+
+        // Then
+        verify(notificationMapper, times(5)).insertBatch(anyList());
+        assertThat(outbox.enqueue(notification(1L, 10L))).isFalse();
+        assertThat(outbox.enqueue(notification(2L, 10L))).isFalse();
+    }
+
+    @Test
+    @DisplayName("写入成功后向接收人推送通知标识，不推送标题和内容")
+    @SuppressWarnings("unchecked")
+    void should_pushIdentifiersOnly_when_written() {
+        // Given
+        NotificationEntity notification = notification(1L, 10L);
+        notification.setTitle("新的回复");
+        notification.setContent("回复内容");
+        outbox.enqueue(notification);
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+
+        // When
+        outbox.flush();
+
+        // Then
+        verify(realtimePublisher).publish(eq(RealtimeTopics.userTopic(1L)),
+                eq(RealtimeTopics.EVENT_NOTIFICATION), payload.capture());
+        assertThat((Map<String, Object>) payload.getValue())
+                .containsOnlyKeys("id", "type", "sourceId", "sourceType")
+                .containsEntry("id", notification.getId())
+                .containsEntry("sourceId", 10L);
+    }
+
+    private static NotificationEntity notification(Long userId, Long sourceId) {
+        NotificationEntity notification = new NotificationEntity();
+        notification.setUserId(userId);
+        notification.setType(NotificationType.USER_MENTION);
+        notification.setSourceType("COMMENT");
+        notification.setSourceId(sourceId);
+        return notification;
+    }
+}
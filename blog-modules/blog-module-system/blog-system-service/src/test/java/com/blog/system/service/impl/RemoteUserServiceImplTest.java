@@ -1,10 +1,14 @@
 package com.blog.system.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.blog.common.cache.BloomFilterRegistry;
+import com.blog.common.cache.CacheStampedeGuard;
+import com.blog.common.utils.RedisUtils;
 import com.blog.system.api.dto.UserDTO;
 import com.blog.system.infrastructure.converter.UserConverter;
 import com.blog.system.domain.entity.UserEntity;
 import com.blog.system.infrastructure.mapper.UserMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -14,9 +18,17 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -35,9 +47,23 @@ class RemoteUserServiceImplTest {
     @Mock
     private UserConverter userConverter;
 
+    @Mock
+    private RedisUtils redisUtils;
+
+    @Mock
+    private CacheStampedeGuard cacheStampedeGuard;
+
+    @Mock
+    private BloomFilterRegistry bloomFilterRegistry;
+
     @InjectMocks
     private RemoteUserServiceImpl remoteUserService;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(bloomFilterRegistry.mightContain(eq("user"), any())).thenReturn(true);
+    }
+
     @Test
     void should_return_empty_list_when_userIds_is_null() {
         // When
@@ -79,6 +105,7 @@ class RemoteUserServiceImplTest {
         dto2.setId(2L);
         dto2.setUsername("user2");
 
+        when(redisUtils.pipelinedMGet(anyList())).thenReturn(Arrays.asList(null, null));
         when(userMapper.selectList(any(LambdaQueryWrapper.class))).thenReturn(users);
         when(userConverter.entityToDto(user1)).thenReturn(dto1);
         when(userConverter.entityToDto(user2)).thenReturn(dto2);
@@ -91,6 +118,22 @@ class RemoteUserServiceImplTest {
         assertThat(result.get(0).getId()).isEqualTo(1L);
         assertThat(result.get(1).getId()).isEqualTo(2L);
         verify(userMapper).selectList(any(LambdaQueryWrapper.class));
+        verify(redisUtils).mSetWithRandomTTL(anyMap(), eq(30L), eq(TimeUnit.MINUTES), eq(10));
+    }
+
+    @Test
+    void should_skip_database_when_all_users_cached() {
+        // Given：重复的ID只查询一次
+        UserDTO dto = new UserDTO();
+        dto.setId(1L);
+        when(redisUtils.pipelinedMGet(List.of("user:detail:1"))).thenReturn(List.of(dto));
+
+        // When
+        List<UserDTO> result = remoteUserService.getUsersByIds(Arrays.asList(1L, 1L));
+
+        // Then
+        assertThat(result).containsExactly(dto);
+        verify(userMapper, never()).selectList(any(LambdaQueryWrapper.class));
     }
 
     @Test
@@ -105,6 +148,7 @@ class RemoteUserServiceImplTest {
     @Test
     void should_return_null_when_user_not_found() {
         // Given
+        stubCacheMiss();
         when(userMapper.selectById(1L)).thenReturn(null);
 
         // When
@@ -126,6 +170,7 @@ class RemoteUserServiceImplTest {
         dto.setId(1L);
         dto.setUsername("testuser");
 
+        stubCacheMiss();
         when(userMapper.selectById(1L)).thenReturn(user);
         when(userConverter.entityToDto(user)).thenReturn(dto);
 
@@ -139,4 +184,42 @@ class RemoteUserServiceImplTest {
         verify(userMapper).selectById(1L);
         verify(userConverter).entityToDto(user);
     }
+
+    @Test
+    void should_return_cached_user_without_database() {
+        // Given
+        UserDTO dto = new UserDTO();
+        dto.setId(1L);
+        when(cacheStampedeGuard.getOrLoad(eq("user:detail:1"), eq(30L), eq(TimeUnit.MINUTES), any()))
+                .thenReturn(dto);
+
+        // When
+        UserDTO result = remoteUserService.getUserById(1L);
+
+        // Then
+        assertThat(result).isSameAs(dto);
+        verify(userMapper, never()).selectById(any());
+    }
+
+    @Test
+    void should_reject_user_id_not_in_bloom_filter() {
+        // Given
+        when(bloomFilterRegistry.mightContain("user", 404L)).thenReturn(false);
+
+        // When
+        UserDTO result = remoteUserService.getUserById(404L);
+
+        // Then
+        assertThat(result).isNull();
+        verify(cacheStampedeGuard, never()).getOrLoad(any(), anyLong(), any(), any());
+        verify(userMapper, never()).selectById(any());
+    }
+
+    /**
+     * 缓存未命中：直接执行回源加载
+     */
+    private void stubCacheMiss() {
+        when(cacheStampedeGuard.getOrLoad(eq("user:detail:1"), eq(30L), eq(TimeUnit.MINUTES), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(3).get());
+    }
 }
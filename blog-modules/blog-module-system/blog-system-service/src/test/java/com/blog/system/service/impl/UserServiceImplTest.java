@@ -2,6 +2,7 @@ package com.blog.system.service.impl;
 
 import com.blog.common.exception.BusinessException;
 import com.blog.common.security.JwtTokenProvider;
+import com.blog.common.utils.RedisUtils;
 import com.blog.system.api.dto.RegisterDTO;
 import com.blog.system.api.vo.UserVO;
 import com.blog.system.constant.RoleConstants;
@@ -20,6 +21,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.List;
@@ -64,6 +66,12 @@ class UserServiceImplTest {
     @Mock
     private UserConverter userConverter;
 
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    private RedisUtils redisUtils;
+
     @InjectMocks
     private UserServiceImpl userService;
 